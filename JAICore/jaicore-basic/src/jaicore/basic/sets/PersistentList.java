@@ -0,0 +1,153 @@
+package jaicore.basic.sets;
+
+import java.io.Serializable;
+import java.util.AbstractList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.NoSuchElementException;
+
+/**
+ * Immutable singly linked list whose tails are shared between lists. Prepending elements to a list and getting the tail of a list do
+ * not copy the list, so many lists that only differ in their first elements (e.g. the remaining tasks of the nodes of a search graph)
+ * need memory only for these elements.
+ *
+ * Access by index is linear in the index, so lists should be traversed by their iterator.
+ *
+ * @param <T>
+ */
+@SuppressWarnings("serial")
+public class PersistentList<T> extends AbstractList<T> implements Serializable {
+
+	private static final PersistentList<?> EMPTY = new PersistentList<>(null, null);
+
+	private final T head;
+	private final PersistentList<T> tail;
+	private final int size;
+
+	private PersistentList(T head, PersistentList<T> tail) {
+		this.head = head;
+		this.tail = tail;
+		this.size = tail != null ? tail.size + 1 : 0;
+	}
+
+	@SuppressWarnings("unchecked")
+	public static <T> PersistentList<T> empty() {
+		return (PersistentList<T>) EMPTY;
+	}
+
+	/**
+	 * @return A persistent list with the elements of the given list, which is the list itself if it is already persistent
+	 */
+	@SuppressWarnings("unchecked")
+	public static <T> PersistentList<T> of(List<? extends T> elements) {
+		if (elements instanceof PersistentList) {
+			return (PersistentList<T>) elements;
+		}
+		return PersistentList.<T>empty().prependAll(elements);
+	}
+
+	/**
+	 * @return A list with the given element followed by the elements of this list
+	 */
+	public PersistentList<T> prepend(T element) {
+		return new PersistentList<>(element, this);
+	}
+
+	/**
+	 * @return A list with the given elements followed by the elements of this list
+	 */
+	public PersistentList<T> prependAll(List<? extends T> elements) {
+		PersistentList<T> list = this;
+		for (int i = elements.size() - 1; i >= 0; i--) {
+			list = new PersistentList<>(elements.get(i), list);
+		}
+		return list;
+	}
+
+	public T getFirst() {
+		if (size == 0) {
+			throw new NoSuchElementException("The list is empty.");
+		}
+		return head;
+	}
+
+	/**
+	 * @return The list without its first element
+	 */
+	public PersistentList<T> getTail() {
+		if (size == 0) {
+			throw new NoSuchElementException("The list is empty.");
+		}
+		return tail;
+	}
+
+	@Override
+	public T get(int index) {
+		if (index < 0 || index >= size) {
+			throw new IndexOutOfBoundsException("Index: " + index + ", Size: " + size);
+		}
+		PersistentList<T> list = this;
+		for (int i = 0; i < index; i++) {
+			list = list.tail;
+		}
+		return list.head;
+	}
+
+	@Override
+	public int size() {
+		return size;
+	}
+
+	@Override
+	public Iterator<T> iterator() {
+		return new Iterator<T>() {
+			private PersistentList<T> current = PersistentList.this;
+
+			@Override
+			public boolean hasNext() {
+				return current.size > 0;
+			}
+
+			@Override
+			public T next() {
+				if (current.size == 0) {
+					throw new NoSuchElementException();
+				}
+				T element = current.head;
+				current = current.tail;
+				return element;
+			}
+		};
+	}
+
+	@Override
+	public boolean equals(Object obj) {
+		if (this == obj) {
+			return true;
+		}
+		if (!(obj instanceof List)) {
+			return false;
+		}
+		List<?> other = (List<?>) obj;
+		if (other.size() != size) {
+			return false;
+		}
+		Iterator<?> otherIterator = other.iterator();
+		for (PersistentList<T> list = this; list.size > 0; list = list.tail) {
+			Object otherElement = otherIterator.next();
+			if (list.head == null ? otherElement != null : !list.head.equals(otherElement)) {
+				return false;
+			}
+		}
+		return true;
+	}
+
+	@Override
+	public int hashCode() {
+		int hashCode = 1;
+		for (PersistentList<T> list = this; list.size > 0; list = list.tail) {
+			hashCode = 31 * hashCode + (list.head == null ? 0 : list.head.hashCode());
+		}
+		return hashCode;
+	}
+}
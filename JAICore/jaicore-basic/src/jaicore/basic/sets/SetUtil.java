@@ -1,5 +1,6 @@
 package jaicore.basic.sets;
 
+import java.io.Serializable;
 import java.util.ArrayList;
 import java.util.Collection;
 import java.util.HashMap;
@@ -28,7 +29,8 @@ import jaicore.basic.sets.PartialOrderedSet;
  */
 public class SetUtil {
 
-	public static class Pair<X, Y> {
+	public static class Pair<X, Y> implements Serializable {
+		private static final long serialVersionUID = 8349466380297969581L;
 		private X x;
 		private Y y;
 
@@ -1,5 +1,6 @@
 package jaicore.graph;
 
+import java.io.Serializable;
 import java.util.ArrayList;
 import java.util.HashMap;
 import java.util.List;
@@ -11,7 +12,8 @@ import jaicore.basic.sets.SetUtil.Pair;
 @SuppressWarnings("serial")
 public class LabeledGraph<T, L> extends Graph<T> {
 
-	private static class Edge<T> {
+	private static class Edge<T> implements Serializable {
+		private static final long serialVersionUID = -3846393937652271516L;
 		private T from, to;
 
 		public Edge(T from, T to) {
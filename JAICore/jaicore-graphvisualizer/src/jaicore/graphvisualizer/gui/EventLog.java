@@ -0,0 +1,501 @@
+package jaicore.graphvisualizer.gui;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.Closeable;
+import java.io.DataInput;
+import java.io.DataInputStream;
+import java.io.DataOutput;
+import java.io.DataOutputStream;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.RandomAccessFile;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.zip.DeflaterOutputStream;
+import java.util.zip.InflaterInputStream;
+
+import jaicore.graphvisualizer.events.graphEvents.GraphEvent;
+import jaicore.graphvisualizer.events.graphEvents.GraphInitializedEvent;
+import jaicore.graphvisualizer.events.graphEvents.NodeReachedEvent;
+import jaicore.graphvisualizer.events.graphEvents.NodeTypeSwitchEvent;
+
+/**
+ * A log of graph events on disk, which is written while the events arrive and read lazily when they are replayed.
+ * Like in the files that the recorder used to save, nodes are represented by their hash codes, so the events that are read from the log carry integers
+ * instead of nodes.
+ *
+ * The events are written in chunks, which may be compressed. Only the chunk that is currently written and the chunk that was read last are kept in memory,
+ * together with an index of the chunks, which allows to find the event that was received at a given time.
+ */
+public class EventLog implements Closeable {
+
+	public static final int DEFAULT_CHUNK_SIZE = 4096;
+
+	private static final int MAGIC = 0x4A455654;
+	private static final byte VERSION = 1;
+	private static final int SUPPLIER_BLOCK = -1;
+
+	private static final byte GRAPH_INITIALIZED = 1;
+	private static final byte NODE_TYPE_SWITCH = 2;
+	private static final byte NODE_REACHED = 3;
+
+	//index entry of a chunk on disk
+	private static class Chunk {
+		private final long offset;
+		private final int length;
+		private final int firstEvent;
+		private final int size;
+		private final long lastTime;
+
+		public Chunk(long offset, int length, int firstEvent, int size, long lastTime) {
+			this.offset = offset;
+			this.length = length;
+			this.firstEvent = firstEvent;
+			this.size = size;
+			this.lastTime = lastTime;
+		}
+	}
+
+	private final File path;
+	private final RandomAccessFile file;
+	private final boolean compressed;
+	private final boolean writable;
+	private final int chunkSize;
+
+	//index of the chunks on disk and the number of events in them
+	private final List<Chunk> chunks = new ArrayList<>();
+	private int eventsOnDisk;
+	private byte[] supplierData;
+
+	//events that are not yet written
+	private final List<GraphEvent> pendingEvents = new ArrayList<>();
+	private final List<Long> pendingTimes = new ArrayList<>();
+
+	//the chunk that was read last
+	private Chunk cachedChunk;
+	private List<GraphEvent> cachedEvents;
+	private long[] cachedTimes;
+
+	/**
+	 * Creates a new log, which overwrites the given file.
+	 * @param file
+	 * 		The file to which the events are written.
+	 * @param compressed
+	 * 		Whether the chunks are compressed.
+	 * @throws IOException
+	 */
+	public EventLog(File file, boolean compressed) throws IOException {
+		this(file, compressed, DEFAULT_CHUNK_SIZE);
+	}
+
+	/**
+	 * Creates a new log, which overwrites the given file.
+	 * @param file
+	 * 		The file to which the events are written.
+	 * @param compressed
+	 * 		Whether the chunks are compressed.
+	 * @param chunkSize
+	 * 		The number of events that are written together.
+	 * @throws IOException
+	 */
+	public EventLog(File file, boolean compressed, int chunkSize) throws IOException {
+		this.path = file;
+		this.file = new RandomAccessFile(file, "rw");
+		this.file.setLength(0);
+		this.file.writeInt(MAGIC);
+		this.file.writeByte(VERSION);
+		this.file.writeBoolean(compressed);
+		this.compressed = compressed;
+		this.writable = true;
+		this.chunkSize = chunkSize;
+	}
+
+	private EventLog(File path, RandomAccessFile file) throws IOException {
+		this.path = path;
+		this.file = file;
+		if (file.readInt() != MAGIC)
+			throw new IOException("Not an event log.");
+		if (file.readByte() != VERSION)
+			throw new IOException("Unsupported version of the event log.");
+		this.compressed = file.readBoolean();
+		this.writable = false;
+		this.chunkSize = 0;
+
+		//build the index by skipping from one chunk header to the next
+		while (file.getFilePointer() < file.length()) {
+			int size = file.readInt();
+			if (size == SUPPLIER_BLOCK) {
+				supplierData = new byte[file.readInt()];
+				file.readFully(supplierData);
+				continue;
+			}
+			long lastTime = file.readLong();
+			int length = file.readInt();
+			chunks.add(new Chunk(file.getFilePointer(), length, eventsOnDisk, size, lastTime));
+			eventsOnDisk += size;
+			file.seek(file.getFilePointer() + length);
+		}
+	}
+
+	/**
+	 * Opens an existing log for reading.
+	 * @param file
+	 * 		The file of the log.
+	 * @return
+	 * 		The log, which cannot be appended to.
+	 * @throws IOException
+	 */
+	public static EventLog open(File file) throws IOException {
+		RandomAccessFile raf = new RandomAccessFile(file, "r");
+		try {
+			return new EventLog(file, raf);
+		} catch (IOException e) {
+			raf.close();
+			throw e;
+		}
+	}
+
+	/**
+	 * Checks whether the file is an event log.
+	 * @param file
+	 * 		The file to check.
+	 * @return
+	 * 		true if the file starts like an event log.
+	 */
+	public static boolean isEventLog(File file) {
+		try (DataInputStream in = new DataInputStream(new FileInputStream(file))) {
+			return in.readInt() == MAGIC;
+		} catch (IOException e) {
+			return false;
+		}
+	}
+
+	/**
+	 * Checks whether an event can be written to the log.
+	 * @param event
+	 * 		The event to check.
+	 * @return
+	 * 		true for the events which are replayed by the recorder.
+	 */
+	public static boolean isSupported(Object event) {
+		return event instanceof GraphInitializedEvent || event instanceof NodeTypeSwitchEvent || event instanceof NodeReachedEvent;
+	}
+
+	/**
+	 * Appends an event. The nodes of the event are replaced by their hash codes.
+	 * @param event
+	 * 		The event.
+	 * @param time
+	 * 		The time at which the event was received.
+	 * @throws IOException
+	 */
+	public synchronized void append(GraphEvent event, long time) throws IOException {
+		if (!writable)
+			throw new IllegalStateException("The event log has been opened for reading only.");
+		if (!isSupported(event))
+			throw new IllegalArgumentException("Cannot write events of type " + event.getClass().getSimpleName());
+		pendingEvents.add(toHashCodes(event));
+		pendingTimes.add(time);
+		if (pendingEvents.size() >= chunkSize)
+			flush();
+	}
+
+	/**
+	 * Writes the events which have been appended so far to the disk.
+	 * @throws IOException
+	 */
+	public synchronized void flush() throws IOException {
+		if (pendingEvents.isEmpty())
+			return;
+
+		//encode the events; the types are given by their position in a table that is built within the chunk
+		ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+		try (DataOutputStream out = new DataOutputStream(compressed ? new DeflaterOutputStream(bytes) : bytes)) {
+			Map<String, Integer> types = new HashMap<>();
+			long previousTime = 0;
+			for (int i = 0; i < pendingEvents.size(); i++) {
+				GraphEvent event = pendingEvents.get(i);
+				long time = pendingTimes.get(i);
+				long delta = time - previousTime;
+				writeVarLong(delta << 1 ^ delta >> 63, out);
+				previousTime = time;
+				if (event instanceof GraphInitializedEvent) {
+					out.writeByte(GRAPH_INITIALIZED);
+					out.writeInt((Integer) ((GraphInitializedEvent<?>) event).getRoot());
+				} else if (event instanceof NodeTypeSwitchEvent) {
+					out.writeByte(NODE_TYPE_SWITCH);
+					out.writeInt((Integer) ((NodeTypeSwitchEvent<?>) event).getNode());
+					writeType(((NodeTypeSwitchEvent<?>) event).getType(), types, out);
+				} else {
+					out.writeByte(NODE_REACHED);
+					out.writeInt((Integer) ((NodeReachedEvent<?>) event).getParent());
+					out.writeInt((Integer) ((NodeReachedEvent<?>) event).getNode());
+					writeType(((NodeReachedEvent<?>) event).getType(), types, out);
+				}
+			}
+		}
+		byte[] payload = bytes.toByteArray();
+
+		//write header and payload at the end of the file
+		long lastTime = pendingTimes.get(pendingTimes.size() - 1);
+		file.seek(file.length());
+		file.writeInt(pendingEvents.size());
+		file.writeLong(lastTime);
+		file.writeInt(payload.length);
+		chunks.add(new Chunk(file.getFilePointer(), payload.length, eventsOnDisk, pendingEvents.size(), lastTime));
+		file.write(payload);
+		eventsOnDisk += pendingEvents.size();
+		pendingEvents.clear();
+		pendingTimes.clear();
+	}
+
+	/**
+	 * @return
+	 * 		The number of events in the log.
+	 */
+	public synchronized int size() {
+		return eventsOnDisk + pendingEvents.size();
+	}
+
+	/**
+	 * @param index
+	 * 		The position of the event in the log.
+	 * @return
+	 * 		The event, whose nodes are represented by their hash codes.
+	 * @throws IOException
+	 */
+	public synchronized GraphEvent getEvent(int index) throws IOException {
+		if (index >= eventsOnDisk)
+			return pendingEvents.get(index - eventsOnDisk);
+		Chunk chunk = readChunk(index);
+		return cachedEvents.get(index - chunk.firstEvent);
+	}
+
+	/**
+	 * @param index
+	 * 		The position of the event in the log.
+	 * @return
+	 * 		The time at which the event was received.
+	 * @throws IOException
+	 */
+	public synchronized long getTime(int index) throws IOException {
+		if (index >= eventsOnDisk)
+			return pendingTimes.get(index - eventsOnDisk);
+		Chunk chunk = readChunk(index);
+		return cachedTimes[index - chunk.firstEvent];
+	}
+
+	/**
+	 * Determines the first event that was received at or after the given time.
+	 * @param time
+	 * 		The time.
+	 * @return
+	 * 		The position of the event in the log, or the size of the log if all events were received before.
+	 * @throws IOException
+	 */
+	public synchronized int getIndexAt(long time) throws IOException {
+
+		//binary search for the first chunk that ends at or after the given time
+		int low = 0;
+		int high = chunks.size();
+		while (low < high) {
+			int mid = (low + high) >>> 1;
+			if (chunks.get(mid).lastTime < time)
+				low = mid + 1;
+			else
+				high = mid;
+		}
+		int index = low < chunks.size() ? chunks.get(low).firstEvent : eventsOnDisk;
+		while (index < size() && getTime(index) < time)
+			index++;
+		return index;
+	}
+
+	/**
+	 * @return
+	 * 		true if events can be appended to the log.
+	 */
+	public boolean isWritable() {
+		return writable;
+	}
+
+	/**
+	 * Stores data of the suppliers with the log, e.g. their serialization.
+	 * @param supplierData
+	 * 		The data of the suppliers.
+	 * @throws IOException
+	 */
+	public synchronized void writeSupplierData(byte[] supplierData) throws IOException {
+		if (!writable)
+			throw new IllegalStateException("The event log has been opened for reading only.");
+		flush();
+		file.seek(file.length());
+		file.writeInt(SUPPLIER_BLOCK);
+		file.writeInt(supplierData.length);
+		file.write(supplierData);
+		this.supplierData = supplierData;
+	}
+
+	/**
+	 * @return
+	 * 		The data of the suppliers, which was stored with the log, or null.
+	 */
+	public byte[] getSupplierData() {
+		return supplierData;
+	}
+
+	/**
+	 * Copies the log to another file and stores the data of the suppliers with it.
+	 * @param target
+	 * 		The file to which the log is copied.
+	 * @param supplierData
+	 * 		The data of the suppliers.
+	 * @throws IOException
+	 */
+	public synchronized void saveAs(File target, byte[] supplierData) throws IOException {
+		if (target.getCanonicalFile().equals(path.getCanonicalFile())) {
+			if (writable)
+				writeSupplierData(supplierData);
+			return;
+		}
+		if (writable)
+			flush();
+		try (RandomAccessFile out = new RandomAccessFile(target, "rw")) {
+			out.setLength(0);
+			out.writeInt(MAGIC);
+			out.writeByte(VERSION);
+			out.writeBoolean(compressed);
+			byte[] buffer = new byte[0];
+			for (Chunk chunk : chunks) {
+				if (buffer.length < chunk.length)
+					buffer = new byte[chunk.length];
+				file.seek(chunk.offset);
+				file.readFully(buffer, 0, chunk.length);
+				out.writeInt(chunk.size);
+				out.writeLong(chunk.lastTime);
+				out.writeInt(chunk.length);
+				out.write(buffer, 0, chunk.length);
+			}
+			if (supplierData != null) {
+				out.writeInt(SUPPLIER_BLOCK);
+				out.writeInt(supplierData.length);
+				out.write(supplierData);
+			}
+		}
+	}
+
+	@Override
+	public synchronized void close() throws IOException {
+		if (writable)
+			flush();
+		file.close();
+	}
+
+	//reads the chunk which contains the event, unless it is the chunk that was read last
+	private Chunk readChunk(int index) throws IOException {
+		if (cachedChunk != null && index >= cachedChunk.firstEvent && index < cachedChunk.firstEvent + cachedChunk.size)
+			return cachedChunk;
+		int low = 0;
+		int high = chunks.size() - 1;
+		while (low < high) {
+			int mid = (low + high + 1) >>> 1;
+			if (chunks.get(mid).firstEvent <= index)
+				low = mid;
+			else
+				high = mid - 1;
+		}
+		Chunk chunk = chunks.get(low);
+		byte[] payload = new byte[chunk.length];
+		file.seek(chunk.offset);
+		file.readFully(payload);
+
+		List<GraphEvent> events = new ArrayList<>(chunk.size);
+		long[] times = new long[chunk.size];
+		InputStream bytes = new ByteArrayInputStream(payload);
+		try (DataInputStream in = new DataInputStream(compressed ? new InflaterInputStream(bytes) : bytes)) {
+			List<String> types = new ArrayList<>();
+			long time = 0;
+			for (int i = 0; i < chunk.size; i++) {
+				long delta = readVarLong(in);
+				time += delta >>> 1 ^ -(delta & 1);
+				times[i] = time;
+				byte kind = in.readByte();
+				switch (kind) {
+					case GRAPH_INITIALIZED:
+						events.add(new GraphInitializedEvent<>(in.readInt()));
+						break;
+					case NODE_TYPE_SWITCH:
+						int node = in.readInt();
+						events.add(new NodeTypeSwitchEvent<>(node, readType(types, in)));
+						break;
+					case NODE_REACHED:
+						int parent = in.readInt();
+						node = in.readInt();
+						events.add(new NodeReachedEvent<>(parent, node, readType(types, in)));
+						break;
+					default:
+						throw new IOException("Unknown event " + kind + " in chunk at " + chunk.offset);
+				}
+			}
+		}
+		cachedChunk = chunk;
+		cachedEvents = events;
+		cachedTimes = times;
+		return chunk;
+	}
+
+	//replaces the nodes of an event by their hash codes
+	private static GraphEvent toHashCodes(GraphEvent event) {
+		if (event instanceof GraphInitializedEvent)
+			return new GraphInitializedEvent<>(((GraphInitializedEvent<?>) event).getRoot().hashCode());
+		if (event instanceof NodeTypeSwitchEvent) {
+			NodeTypeSwitchEvent<?> nodeTypeSwitchEvent = (NodeTypeSwitchEvent<?>) event;
+			return new NodeTypeSwitchEvent<>(nodeTypeSwitchEvent.getNode().hashCode(), nodeTypeSwitchEvent.getType());
+		}
+		NodeReachedEvent<?> nodeReachedEvent = (NodeReachedEvent<?>) event;
+		return new NodeReachedEvent<>(nodeReachedEvent.getParent().hashCode(), nodeReachedEvent.getNode().hashCode(), nodeReachedEvent.getType());
+	}
+
+	private static void writeType(String type, Map<String, Integer> types, DataOutput out) throws IOException {
+		Integer position = types.get(type);
+		if (position != null) {
+			writeVarLong(position, out);
+			return;
+		}
+		writeVarLong(types.size(), out);
+		out.writeUTF(type);
+		types.put(type, types.size());
+	}
+
+	private static String readType(List<String> types, DataInput in) throws IOException {
+		int position = (int) readVarLong(in);
+		if (position == types.size())
+			types.add(in.readUTF());
+		return types.get(position);
+	}
+
+	private static void writeVarLong(long value, DataOutput out) throws IOException {
+		while ((value & ~0x7FL) != 0) {
+			out.writeByte((int) (value & 0x7F) | 0x80);
+			value >>>= 7;
+		}
+		out.writeByte((int) value);
+	}
+
+	private static long readVarLong(DataInput in) throws IOException {
+		long value = 0;
+		int shift = 0;
+		byte b;
+		do {
+			b = in.readByte();
+			value |= (long) (b & 0x7F) << shift;
+			shift += 7;
+		} while ((b & 0x80) != 0);
+		return value;
+	}
+}
@@ -2,6 +2,7 @@ package jaicore.graphvisualizer.gui;
 
 import java.io.File;
 import java.io.IOException;
+import java.io.UncheckedIOException;
 import java.util.ArrayList;
 import java.util.HashMap;
 import java.util.HashSet;
@@ -11,7 +12,6 @@ import java.util.Map;
 
 import com.fasterxml.jackson.databind.JsonNode;
 import com.fasterxml.jackson.databind.ObjectMapper;
-import com.fasterxml.jackson.databind.SerializationFeature;
 import com.google.common.eventbus.EventBus;
 import com.google.common.eventbus.Subscribe;
 
@@ -39,6 +39,12 @@ import jaicore.graphvisualizer.gui.dataSupplier.ReconstructionDataSupplier;
  * It is possible to store these events in a file or load them out of a file.
  * Furthermore these class listens to controllEvents and acts accordingly.
  * 
+ * By default, the events are kept in memory. A recorder that is created with a log file streams them into an {@link EventLog} instead, 
+ * and saved or loaded event logs are replayed from the disk, so the memory used by the recorder does not grow with the number of events.
+ * Since the log represents nodes by their hash codes, all events that such a recorder posts to its listeners carry hash codes instead of nodes, 
+ * also in live mode, so the listeners see the same node for all events of a session. Suppliers that need the nodes themselves receive the events 
+ * from the algorithm (see {@link #addDataSupplier(ISupplier)}).
+ * 
  * @author jkoepe
  *
  * @param <T>
@@ -56,6 +62,9 @@ public class Recorder<T> implements IObservableGraphAlgorithm {
 	private List<Long> receivingTimes;
 	private long firstEventTime;
 
+	//Log on disk, which is used instead of the lists if it is set
+	private EventLog log;
+
 
 	//Index to know where in the replay the recorder is
 	private int index;
@@ -83,6 +92,26 @@ public class Recorder<T> implements IObservableGraphAlgorithm {
 	 * 		The algorith to which the recorder should listen.
 	 */
 	public Recorder(IObservableGraphAlgorithm algorithm){
+		this(algorithm, (EventLog) null);
+	}
+
+	/**
+	 * Creates a recorder which listens to an algorithm and streams the events into a log on disk.
+	 * The events which are posted to the listeners of the recorder carry the hash codes of the nodes.
+	 * @param algorithm
+	 * 		The algorith to which the recorder should listen.
+	 * @param logFile
+	 * 		The file of the log, which is overwritten.
+	 * @param compressed
+	 * 		Whether the log is compressed.
+	 * @throws IOException
+	 */
+	public Recorder(IObservableGraphAlgorithm algorithm, File logFile, boolean compressed) throws IOException {
+		this(algorithm, new EventLog(logFile, compressed));
+	}
+
+	private Recorder(IObservableGraphAlgorithm algorithm, EventLog log){
+		this.log = log;
 		if(algorithm != null)
 			algorithm.registerListener(this);
 
@@ -113,14 +142,13 @@ public class Recorder<T> implements IObservableGraphAlgorithm {
 	 */
 	public void registerInfoListener(Object listener){
 		this.infoBus.register(listener);
-		if(!receivedEvents.isEmpty())
-			this.infoBus.post(new InfoEvent(receivedEvents.size()-1, receivingTimes.get(receivingTimes.size()-1), this.suppliers.size() ));
+		if(numberOfEvents() > 0)
+			this.infoBus.post(new InfoEvent(numberOfEvents()-1, getTime(numberOfEvents()-1), this.suppliers.size() ));
 	}
 
 	@Subscribe
 	public void receiveVisuEvent(GraphEvent event){
 		//receive event and save the time
-		this.receivedEvents.add(event);
 		long receiveTime = System.currentTimeMillis();
 
 		//check if it is the first event
@@ -129,15 +157,17 @@ public class Recorder<T> implements IObservableGraphAlgorithm {
 
 		//compute the absolute time of the event in relation to the first event
 		long eventTime = receiveTime - firstEventTime;
-		receivingTimes.add(eventTime);
 
-		//post a new infoevent to update the listener.
-		this.infoBus.post(new InfoEvent(receivedEvents.size(), eventTime , this.suppliers.size()));
+		//record the event and post a new infoevent to update the listener.
+		boolean recorded = record(event, eventTime);
+		if(recorded)
+			this.infoBus.post(new InfoEvent(numberOfEvents(), eventTime , this.suppliers.size()));
 
-		//if the livemodus is enabled post every event and set the index on the maxindex
-		if(live){
-			this.replayBus.post(event);
-			this.index = receivedEvents.size()-1;
+		//if the livemodus is enabled post every event and set the index on the maxindex.
+		//With a log, the recorded version of the event is posted, which carries hash codes like the events that are replayed from the log.
+		if(live && (log == null || recorded)){
+			this.replayBus.post(log == null ? event : getEvent(numberOfEvents()-1));
+			this.index = numberOfEvents()-1;
 		}
 	}
 
@@ -191,9 +221,9 @@ public class Recorder<T> implements IObservableGraphAlgorithm {
 	 */
 	private void forward(int steps){
 		//run as long there are steps
-		while(index < receivedEvents.size() && steps != 0) {
-			this.replayBus.post(receivedEvents.get(index));
-			Object event = receivedEvents.get(index);
+		while(index < numberOfEvents() && steps != 0) {
+			Object event = getEvent(index);
+			this.replayBus.post(event);
 
 			List<String> types;
 			//switch the event corresponding to the current events and post them to the replaybus
@@ -237,7 +267,7 @@ public class Recorder<T> implements IObservableGraphAlgorithm {
 			return;
 		while(index > 0 && steps != 0) {
 			index --;
-			this.replayBus.post(counterEvent(receivedEvents.get(index)));
+			this.replayBus.post(counterEvent(getEvent(index)));
 			steps --;
 
 		}
@@ -289,65 +319,32 @@ public class Recorder<T> implements IObservableGraphAlgorithm {
 	 * 		The file to which the events are stored.
 	 */
 	private void save(File file){
-		ObjectMapper mapper = new ObjectMapper();
-
-		mapper.enable(SerializationFeature.INDENT_OUTPUT);
 		try{
-			List mapperList = new ArrayList();
-
-			List<LinkedHashMap<Long,Object>> saveList = new ArrayList();
-
-			for(int i = 0; i < receivedEvents.size(); i++){
-				Object event = receivedEvents.get(i);
-				LinkedHashMap<Long, Object> timeToEvent = new LinkedHashMap();
-				int code = 0;
-
-				//Maps times to the hashcodes of the events
-				switch (event.getClass().getSimpleName()){
-					case "GraphInitializedEvent":
-						GraphInitializedEvent graphInitializedEvent = (GraphInitializedEvent) event;
-						code = graphInitializedEvent.getRoot().hashCode();
-						timeToEvent.put(receivingTimes.get(i), new GraphInitializedEvent(code));
-						break;
-
-					case "NodeTypeSwitchEvent":
-						NodeTypeSwitchEvent nodeTypeSwitchEvent = (NodeTypeSwitchEvent) event;
-						code = nodeTypeSwitchEvent.getNode().hashCode();
-
-						timeToEvent.put(receivingTimes.get(i), new NodeTypeSwitchEvent(code, nodeTypeSwitchEvent.getType()));
-						break;
-
-					case "NodeReachedEvent":
-						NodeReachedEvent nodeReachedEvent = (NodeReachedEvent) event;
-						code = nodeReachedEvent.getNode().hashCode();
-						timeToEvent.put(receivingTimes.get(i), new NodeReachedEvent(nodeReachedEvent.getParent().hashCode(),code, nodeReachedEvent.getType()));
-						break;
-
-					default:
-						System.out.println("not an allowed event");
-						break;
-				}
-				saveList.add(timeToEvent);
-			}
-//			add the serialized supplier to a list which gets saved
-			mapperList.add(saveList);
+			//serialize the suppliers, which are stored together with the events
 			HashSet<JsonNode> supplierHashSet = new HashSet<>();
 
 			suppliers.stream().forEach(supplier->{
 				supplierHashSet.add(supplier.getSerialization());
 			});
-
-			mapperList.add(supplierHashSet);
-
-			mapper.writeValue(file, mapperList);
-
-
-
+			byte[] supplierData = new ObjectMapper().writeValueAsBytes(supplierHashSet);
+
+			//copy the log or write the events which are kept in memory into a new one
+			if(log != null)
+				log.saveAs(file, supplierData);
+			else {
+				try(EventLog newLog = new EventLog(file, true)){
+					for(int i = 0; i < receivedEvents.size(); i++){
+						if(EventLog.isSupported(receivedEvents.get(i)))
+							newLog.append((GraphEvent) receivedEvents.get(i), receivingTimes.get(i));
+						else
+							System.out.println("not an allowed event");
+					}
+					newLog.writeSupplierData(supplierData);
+				}
+			}
 		} catch (IOException e){
 			e.printStackTrace();
 		}
-
-
 	}
 
 	/**
@@ -365,6 +362,22 @@ public class Recorder<T> implements IObservableGraphAlgorithm {
 		ObjectMapper mapper = new ObjectMapper();
 
 		try {
+			closeLog();
+
+			//event logs are not loaded but replayed from the disk
+			if(EventLog.isEventLog(file)){
+				this.log = EventLog.open(file);
+				if(log.getSupplierData() != null){
+					List supplierList = mapper.readValue(log.getSupplierData(), List.class);
+					for(Object o : supplierList)
+						this.addDataSupplier(new ReconstructionDataSupplier((LinkedHashMap) o));
+				}
+				if(log.size() > 0)
+					this.infoBus.post(new InfoEvent(log.size(), log.getTime(log.size()-1), this.suppliers.size()));
+				return;
+			}
+
+			//files which were saved as json
 			List mapperList = mapper.readValue(file, mapper.getTypeFactory().constructCollectionType(List.class, Object.class));
 			ArrayList eventList = (ArrayList) mapperList.get(0);
 //			create the events out of the stored ones. In the newly loaded events the hashcode of the nodes of the old ones are the whole node
@@ -418,6 +431,67 @@ public class Recorder<T> implements IObservableGraphAlgorithm {
 
 	}
 
+	/**
+	 * Closes the log of the recorder, after which the events are kept in memory again.
+	 * @throws IOException
+	 */
+	private void closeLog() throws IOException {
+		if(log != null)
+			log.close();
+		log = null;
+	}
+
+	private int numberOfEvents() {
+		return log != null ? log.size() : receivedEvents.size();
+	}
+
+	private Object getEvent(int index) {
+		if(log == null)
+			return receivedEvents.get(index);
+		try {
+			return log.getEvent(index);
+		} catch (IOException e) {
+			throw new UncheckedIOException(e);
+		}
+	}
+
+	private long getTime(int index) {
+		if(log == null)
+			return receivingTimes.get(index);
+		try {
+			return log.getTime(index);
+		} catch (IOException e) {
+			throw new UncheckedIOException(e);
+		}
+	}
+
+	/**
+	 * Records an event either in memory or in the log. 
+	 * The log only stores the events which can be replayed, and events which are received after a log has been loaded are not recorded.
+	 * @param event
+	 * 		The event.
+	 * @param time
+	 * 		The time of the event in relation to the first event.
+	 * @return
+	 * 		true if the event was recorded.
+	 */
+	private boolean record(GraphEvent event, long time) {
+		if(log == null){
+			receivedEvents.add(event);
+			receivingTimes.add(time);
+			return true;
+		}
+		if(!log.isWritable() || !EventLog.isSupported(event))
+			return false;
+		try {
+			log.append(event, time);
+			return true;
+		} catch (IOException e) {
+			e.printStackTrace();
+			return false;
+		}
+	}
+
 	/**
 	 * Resets the recorder.
 	 * To do this only the current nodemap and the index a clear or set to 0.
@@ -0,0 +1,135 @@
+package jaicore.graphvisualizer.gui;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.junit.Test;
+
+import jaicore.graphvisualizer.events.graphEvents.GraphEvent;
+import jaicore.graphvisualizer.events.graphEvents.GraphInitializedEvent;
+import jaicore.graphvisualizer.events.graphEvents.NodeReachedEvent;
+import jaicore.graphvisualizer.events.graphEvents.NodeTypeSwitchEvent;
+
+/**
+ * Writes events into an event log with small chunks and checks that they are read back with the hash codes of their nodes, that events can be found by
+ * their time, and that saved logs can be opened again.
+ */
+public class EventLogTest {
+
+	private static final int CHUNK_SIZE = 16;
+	private static final int NODES = 100;
+
+	private static List<GraphEvent> getEvents() {
+		List<GraphEvent> events = new ArrayList<>();
+		events.add(new GraphInitializedEvent<>("n0"));
+		for (int i = 1; i < NODES; i++) {
+			events.add(new NodeReachedEvent<>("n" + (i / 2), "n" + i, "or_open"));
+			events.add(new NodeTypeSwitchEvent<>("n" + i, i % 3 == 0 ? "or_closed" : "or_solution"));
+		}
+		return events;
+	}
+
+	/* events are received in pairs, one every 10ms */
+	private static long getTime(int index) {
+		return 10 * (index / 2);
+	}
+
+	private static EventLog write(File file, boolean compressed, List<GraphEvent> events) throws IOException {
+		EventLog log = new EventLog(file, compressed, CHUNK_SIZE);
+		for (int i = 0; i < events.size(); i++)
+			log.append(events.get(i), getTime(i));
+		return log;
+	}
+
+	private static void assertEvents(List<GraphEvent> expected, EventLog log) throws IOException {
+		assertEquals(expected.size(), log.size());
+
+		/* read backwards, so that every chunk has to be read again */
+		for (int i = expected.size() - 1; i >= 0; i--) {
+			GraphEvent event = expected.get(i);
+			GraphEvent logged = log.getEvent(i);
+			assertEquals(getTime(i), log.getTime(i));
+			assertEquals(event.getClass(), logged.getClass());
+			if (event instanceof GraphInitializedEvent) {
+				assertEquals(((GraphInitializedEvent<?>) event).getRoot().hashCode(), ((GraphInitializedEvent<?>) logged).getRoot());
+			} else if (event instanceof NodeReachedEvent) {
+				NodeReachedEvent<?> nodeReachedEvent = (NodeReachedEvent<?>) event;
+				assertEquals(nodeReachedEvent.getParent().hashCode(), ((NodeReachedEvent<?>) logged).getParent());
+				assertEquals(nodeReachedEvent.getNode().hashCode(), ((NodeReachedEvent<?>) logged).getNode());
+				assertEquals(nodeReachedEvent.getType(), ((NodeReachedEvent<?>) logged).getType());
+			} else {
+				NodeTypeSwitchEvent<?> nodeTypeSwitchEvent = (NodeTypeSwitchEvent<?>) event;
+				assertEquals(nodeTypeSwitchEvent.getNode().hashCode(), ((NodeTypeSwitchEvent<?>) logged).getNode());
+				assertEquals(nodeTypeSwitchEvent.getType(), ((NodeTypeSwitchEvent<?>) logged).getType());
+			}
+		}
+	}
+
+	@Test
+	public void testRoundTrip() throws IOException {
+		List<GraphEvent> events = getEvents();
+		for (boolean compressed : new boolean[] { false, true }) {
+			File file = File.createTempFile("events", ".log");
+			file.deleteOnExit();
+
+			/* events can be read while they are written, also the ones that have not been flushed yet */
+			try (EventLog log = write(file, compressed, events)) {
+				assertTrue(log.isWritable());
+				assertEvents(events, log);
+			}
+			assertTrue(EventLog.isEventLog(file));
+			try (EventLog log = EventLog.open(file)) {
+				assertFalse(log.isWritable());
+				assertNull(log.getSupplierData());
+				assertEvents(events, log);
+			}
+		}
+	}
+
+	@Test
+	public void testSeek() throws IOException {
+		List<GraphEvent> events = getEvents();
+		File file = File.createTempFile("events", ".log");
+		file.deleteOnExit();
+		try (EventLog log = write(file, true, events)) {
+			assertEquals(0, log.getIndexAt(-1));
+			assertEquals(0, log.getIndexAt(0));
+			for (int i = 0; i < events.size(); i += 2) {
+				assertEquals(i, log.getIndexAt(getTime(i)));
+				assertEquals(Math.min(i + 2, events.size()), log.getIndexAt(getTime(i) + 1));
+			}
+			assertEquals(events.size(), log.getIndexAt(getTime(events.size() - 1) + 1));
+		}
+	}
+
+	@Test
+	public void testSaveAndLoad() throws IOException {
+		List<GraphEvent> events = getEvents();
+		File file = File.createTempFile("events", ".log");
+		File copy = File.createTempFile("copy", ".log");
+		file.deleteOnExit();
+		copy.deleteOnExit();
+		byte[] supplierData = "[{\"Title\":\"test\"}]".getBytes();
+		try (EventLog log = write(file, true, events)) {
+			log.saveAs(copy, supplierData);
+
+			/* saving a log as itself only adds the data of the suppliers */
+			log.saveAs(file, supplierData);
+		}
+		for (File savedFile : new File[] { file, copy }) {
+			try (EventLog log = EventLog.open(savedFile)) {
+				assertArrayEquals(supplierData, log.getSupplierData());
+				assertEvents(events, log);
+			}
+		}
+		assertFalse(EventLog.isEventLog(File.createTempFile("empty", ".json")));
+	}
+}
@@ -0,0 +1,65 @@
+package jaicore.graphvisualizer.gui;
+
+import static org.junit.Assert.assertEquals;
+
+import java.io.File;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.junit.Test;
+
+import com.google.common.eventbus.Subscribe;
+
+import jaicore.graphvisualizer.events.controlEvents.IsLiveEvent;
+import jaicore.graphvisualizer.events.controlEvents.ResetEvent;
+import jaicore.graphvisualizer.events.controlEvents.StepEvent;
+import jaicore.graphvisualizer.events.graphEvents.GraphEvent;
+import jaicore.graphvisualizer.events.graphEvents.GraphInitializedEvent;
+import jaicore.graphvisualizer.events.graphEvents.NodeReachedEvent;
+import jaicore.graphvisualizer.events.graphEvents.NodeTypeSwitchEvent;
+
+/**
+ * Checks that the listeners of a recorder that streams its events into a log see the same representation of the nodes in live mode and in the replay.
+ */
+public class RecorderTest {
+
+	private static class NodeCollector {
+		private final List<Object> nodes = new ArrayList<>();
+
+		@Subscribe
+		public void receiveGraphEvent(GraphEvent event) {
+			if (event instanceof GraphInitializedEvent)
+				nodes.add(((GraphInitializedEvent<?>) event).getRoot());
+			else if (event instanceof NodeReachedEvent)
+				nodes.add(((NodeReachedEvent<?>) event).getNode());
+			else if (event instanceof NodeTypeSwitchEvent)
+				nodes.add(((NodeTypeSwitchEvent<?>) event).getNode());
+		}
+	}
+
+	@Test
+	public void testNodesOfStreamingRecorder() throws Exception {
+		File file = File.createTempFile("events", ".log");
+		file.deleteOnExit();
+		Recorder<String> recorder = new Recorder<>(null, file, true);
+		NodeCollector collector = new NodeCollector();
+		recorder.registerListener(collector);
+
+		/* live events carry hash codes like the ones that are replayed from the log */
+		recorder.receiveControlEvent(new IsLiveEvent(true));
+		recorder.receiveVisuEvent(new GraphInitializedEvent<>("root"));
+		recorder.receiveVisuEvent(new NodeReachedEvent<>("root", "child", "or_open"));
+		recorder.receiveVisuEvent(new NodeTypeSwitchEvent<>("child", "or_closed"));
+		recorder.receiveControlEvent(new IsLiveEvent(false));
+		recorder.receiveControlEvent(new ResetEvent());
+		recorder.receiveControlEvent(new StepEvent(true, 3));
+
+		List<Object> expectedNodes = new ArrayList<>();
+		for (int i = 0; i < 2; i++) {
+			expectedNodes.add("root".hashCode());
+			expectedNodes.add("child".hashCode());
+			expectedNodes.add("child".hashCode());
+		}
+		assertEquals(expectedNodes, collector.nodes);
+	}
+}
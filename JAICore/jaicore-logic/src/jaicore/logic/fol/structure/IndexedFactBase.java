@@ -0,0 +1,75 @@
+package jaicore.logic.fol.structure;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Read-only index of a set of facts (literals) by their property (the predicate name plus its polarity) and by their property and first
+ * parameter. This allows to retrieve the facts that may match a literal without scanning the whole fact base.
+ *
+ * The index does not reflect later changes of the collection it has been created from, so it must not be used once the collection has
+ * been modified (see {@link Monom#getFactBase()}, which takes care of this).
+ */
+public class IndexedFactBase {
+
+	private final Set<Literal> facts;
+	private final Map<String, List<Literal>> factsByProperty = new HashMap<>();
+	private final Map<String, Map<LiteralParam, List<Literal>>> factsByPropertyAndFirstParam = new HashMap<>();
+
+	public IndexedFactBase(Collection<Literal> facts) {
+		this.facts = facts instanceof Set ? (Set<Literal>) facts : new HashSet<>(facts);
+		for (Literal fact : this.facts) {
+			String property = fact.getProperty();
+			this.factsByProperty.computeIfAbsent(property, p -> new ArrayList<>()).add(fact);
+			List<LiteralParam> params = fact.getParameters();
+			if (!params.isEmpty()) {
+				this.factsByPropertyAndFirstParam.computeIfAbsent(property, p -> new HashMap<>()).computeIfAbsent(params.get(0), p -> new ArrayList<>()).add(fact);
+			}
+		}
+	}
+
+	/**
+	 * @param property
+	 *            The property, i.e. the predicate name preceded by "!" for negative facts
+	 * @return The facts with this property in an unmodifiable list
+	 */
+	public List<Literal> getFacts(String property) {
+		List<Literal> factsWithProperty = this.factsByProperty.get(property);
+		return factsWithProperty != null ? Collections.unmodifiableList(factsWithProperty) : Collections.emptyList();
+	}
+
+	/**
+	 * @param property
+	 *            The property, i.e. the predicate name preceded by "!" for negative facts
+	 * @param firstParam
+	 *            The first parameter of the facts
+	 * @return The facts with this property and first parameter in an unmodifiable list
+	 */
+	public List<Literal> getFacts(String property, LiteralParam firstParam) {
+		Map<LiteralParam, List<Literal>> factsByFirstParam = this.factsByPropertyAndFirstParam.get(property);
+		if (factsByFirstParam == null) {
+			return Collections.emptyList();
+		}
+		List<Literal> factsWithFirstParam = factsByFirstParam.get(firstParam);
+		return factsWithFirstParam != null ? Collections.unmodifiableList(factsWithFirstParam) : Collections.emptyList();
+	}
+
+	public boolean contains(Literal literal) {
+		return this.facts.contains(literal);
+	}
+
+	public int size() {
+		return this.facts.size();
+	}
+
+	@Override
+	public String toString() {
+		return this.facts.toString();
+	}
+}
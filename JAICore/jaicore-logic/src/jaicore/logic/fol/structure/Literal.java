@@ -4,7 +4,6 @@ import java.io.Serializable;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collections;
-import java.util.LinkedList;
 import java.util.List;
 import java.util.Map;
 import java.util.stream.Collectors;
@@ -26,25 +25,26 @@ public class Literal implements Serializable {
 
 	private static Logger logger = LoggerFactory.getLogger(Literal.class);
 
-	// private short getIntProperty(String property) {
-	// boolean isNegated = property.startsWith("!");
-	// String propertyName = !isNegated ? property : property.substring(1);
-	// if (!ext2int.containsKey(propertyName)) {
-	// short id = counter ++;
-	// if (id < 0)
-	// throw new IllegalArgumentException("No support for more than " + Short.MAX_VALUE + " predicates!");
-	// ext2int.put(propertyName, id);
-	// int2ext.put(id, propertyName);
-	// }
-	// return (short)(ext2int.get(propertyName) * (isNegated ? -1 : 1));
-	// }
-
-	private String property;
+	/*
+	 * The property is stored as the name of the predicate, which is the canonical instance from the symbol table, and a negation flag. The
+	 * id of the name in the symbol table (plus 1) is determined lazily, because it is not serialized.
+	 *
+	 * Ground literals are not packed into arrays of ints, since this would require interning their constants, and constants are created
+	 * without bound during planning (see SymbolTable). Instead, equal literals are recognized by the cached hash code and the predicate id
+	 * before their parameters are compared.
+	 */
+	private String propertyName;
+	private boolean negated;
+	private transient int propertyId;
+	private transient int hashCode;
+
+	/* subclasses must only modify the parameters while the literal is created, because the hash code is cached */
 	protected List<LiteralParam> parameters;
 
 	public Literal(Literal l, Map<? extends LiteralParam, ? extends LiteralParam> map) {
-		this(l.getProperty());
-		for (LiteralParam p : l.getParameters()) {
+		this.parameters = new ArrayList<>(l.parameters.size());
+		this.copyPropertyOf(l);
+		for (LiteralParam p : l.parameters) {
 			parameters.add(map.containsKey(p) ? map.get(p) : p);
 		}
 	}
@@ -62,24 +62,6 @@ public class Literal implements Serializable {
 		this.parameters.add(parameter);
 	}
 
-	/**
-	 * Creates a monadic literal (with only one parameter).
-	 * 
-	 * @param property
-	 *            The property defined by this literal.
-	 * @param parameter
-	 *            The parameter of this literal.
-	 */
-	// private Literal(short property, List<LiteralParam> parameters) {
-	// this(property);
-	// this.parameters.addAll(parameters);
-	// }
-	//
-	// private Literal(short property) {
-	// this.parameters = new ArrayList<>();
-	// this.property = property;
-	// }
-
 	/**
 	 * Creates a literal with a list of parameters.
 	 * 
@@ -101,12 +83,13 @@ public class Literal implements Serializable {
 	public Literal(String propertyWithParams) {
 		super();
 		this.parameters = new ArrayList<>();
+		String property = null;
 
 		/* detect special predicates = or != */
 		if (propertyWithParams.contains("=")) {
 			String[] params = StringUtil.explode(propertyWithParams, "=");
 			boolean isNegated = params.length > 0 && params[0].endsWith("!");
-			this.property = isNegated ? "!=" : "=";
+			property = isNegated ? "!=" : "=";
 			if (params.length == 2) {
 				int p1Length = isNegated ? params[0].length() - 1 : params[0].length();
 				this.parameters.add(LogicUtil.parseParamName(params[0].substring(0, p1Length).trim()));
@@ -128,7 +111,7 @@ public class Literal implements Serializable {
 			if (propertyWithParams.contains("(")) {
 				if (propertyWithParams.contains(")")) {
 					int index = propertyWithParams.indexOf('(');
-					this.property = propertyWithParams.substring(0, index);
+					property = propertyWithParams.substring(0, index);
 					if (index < propertyWithParams.length() - 2) {
 						this.parameters.addAll(Arrays.asList(StringUtil.explode(propertyWithParams.substring(index + 1, propertyWithParams.length() - 1), ",")).stream().map(s -> {
 							return LogicUtil.parseParamName(s.trim());
@@ -136,12 +119,13 @@ public class Literal implements Serializable {
 					}
 				}
 			} else {
-				this.property = propertyWithParams;
+				property = propertyWithParams;
 			}
 			if (!isPositive) {
-				this.property = "!" + this.property;
+				property = "!" + property;
 			}
 		}
+		this.setProperty(property);
 	}
 
 	public Literal(String property2, boolean isPositive) {
@@ -162,18 +146,47 @@ public class Literal implements Serializable {
 		}
 	}
 
+	private void setProperty(String property) {
+		this.negated = property != null && property.startsWith("!");
+		String name = this.negated ? property.substring(1) : property;
+		if (name != null) {
+			this.propertyId = SymbolTable.getId(name) + 1;
+			this.propertyName = SymbolTable.getSymbol(this.propertyId - 1);
+		} else {
+			this.propertyId = -1;
+			this.propertyName = null;
+		}
+	}
+
+	private void copyPropertyOf(Literal l) {
+		this.negated = l.negated;
+		this.propertyName = l.propertyName;
+		this.propertyId = l.propertyId;
+	}
+
+	private int getPropertyId() {
+		if (this.propertyId == 0) {
+			this.propertyId = this.propertyName != null ? SymbolTable.getId(this.propertyName) + 1 : -1;
+		}
+		return this.propertyId;
+	}
+
 	/**
 	 * Returns a String representation of the property stated by this literal.
 	 */
 	public final String getProperty() {
-		return (isNegated() ? "!" : "") + getPropertyName();
+		if (!this.negated) {
+			return this.propertyName;
+		}
+		int id = this.getPropertyId();
+		return id > 0 ? SymbolTable.getNegatedSymbol(id - 1) : "!null";
 	}
 
 	/**
 	 * Returns only the property name of this literal.
 	 */
 	public final String getPropertyName() {
-		return isNegated() ? property.substring(1) : property;
+		return this.propertyName;
 	}
 
 	/**
@@ -184,11 +197,12 @@ public class Literal implements Serializable {
 	}
 
 	public final boolean isNegated() {
-		return property.startsWith("!");
+		return this.negated;
 	}
 
 	public Literal toggleNegation() {
-		property = isNegated() ? getPropertyName() : "!" + getPropertyName();
+		this.negated = !this.negated;
+		this.hashCode = 0;
 		return this;
 	}
 
@@ -196,7 +210,7 @@ public class Literal implements Serializable {
 	 * @return The variable parameters of this literal in an unmodifiable list.
 	 */
 	public final List<VariableParam> getVariableParams() {
-		List<VariableParam> vars = new LinkedList<>();
+		List<VariableParam> vars = new ArrayList<>(parameters.size());
 		for (LiteralParam param : parameters)
 			if (param instanceof VariableParam)
 				vars.add((VariableParam) param);
@@ -213,10 +227,15 @@ public class Literal implements Serializable {
 
 	@Override
 	public int hashCode() {
-		final int prime = 31;
-		int result = 1;
-		result = prime * result + ((parameters == null) ? 0 : parameters.hashCode());
-		result = prime * result + ((property == null) ? 0 : property.hashCode());
+		int result = this.hashCode;
+		if (result == 0) {
+			final int prime = 31;
+			String property = getProperty();
+			result = 1;
+			result = prime * result + ((parameters == null) ? 0 : parameters.hashCode());
+			result = prime * result + ((property == null) ? 0 : property.hashCode());
+			this.hashCode = result;
+		}
 		return result;
 	}
 
@@ -229,22 +248,18 @@ public class Literal implements Serializable {
 		if (getClass() != obj.getClass())
 			return false;
 		Literal other = (Literal) obj;
-		if (parameters == null) {
-			if (other.parameters != null)
-				return false;
-		} else if (!parameters.equals(other.parameters))
+		if (negated != other.negated || getPropertyId() != other.getPropertyId())
 			return false;
-		if (property == null) {
-			if (other.property != null)
-				return false;
-		} else if (!property.equals(other.property))
+		if (hashCode != 0 && other.hashCode != 0 && hashCode != other.hashCode)
 			return false;
-		return true;
+		if (parameters == null)
+			return other.parameters == null;
+		return parameters.equals(other.parameters);
 	}
 
 	@Override
 	public Literal clone() {
-		return new Literal(this.property, this.parameters);
+		return new Literal(this, Collections.emptyMap());
 	}
 
 	/**
@@ -256,7 +271,8 @@ public class Literal implements Serializable {
 	 */
 	public Literal clone(Map<? extends VariableParam, ? extends LiteralParam> mapping) {
 		logger.debug("start cloning");
-		Literal clone = new Literal(this.property);
+		Literal clone = new Literal(this, Collections.emptyMap());
+		clone.parameters.clear();
 
 		// add parameters corresponding to mapping
 		for (LiteralParam v : this.getParameters()) {
@@ -276,7 +292,7 @@ public class Literal implements Serializable {
 	public String toString() {
 
 		StringBuilder sb = new StringBuilder();
-		sb.append(property + "(");
+		sb.append(getProperty() + "(");
 
 		// iterate through parameter list
 		int params = this.parameters.size();
@@ -301,10 +317,13 @@ public class Literal implements Serializable {
 	}
 
 	public boolean hasVariableParams() {
-		return !this.getVariableParams().isEmpty();
+		return !this.isGround();
 	}
 
 	public final boolean isGround() {
-		return !hasVariableParams();
+		for (LiteralParam param : parameters)
+			if (param instanceof VariableParam)
+				return false;
+		return true;
 	}
 }
\ No newline at end of file
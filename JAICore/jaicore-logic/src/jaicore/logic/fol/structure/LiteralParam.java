@@ -13,6 +13,9 @@ public abstract class LiteralParam implements Serializable {
 	private String name;
 	protected Type type;
 
+	/* hash code of the name, 0 if not determined yet (e.g. after deserialization) */
+	private transient int nameHash;
+
 	/**
 	 * @param name
 	 *            The name of this parameter;
@@ -34,7 +37,7 @@ public abstract class LiteralParam implements Serializable {
 	public int hashCode() {
 		final int prime = 31;
 		int result = 1;
-		result = prime * result + ((name == null) ? 0 : name.hashCode());
+		result = prime * result + getNameHash();
 		return result;
 	}
 
@@ -53,6 +56,8 @@ public abstract class LiteralParam implements Serializable {
 		if (getClass() != obj.getClass())
 			return false;
 		LiteralParam other = (LiteralParam) obj;
+		if (getNameHash() != other.getNameHash())
+			return false;
 		if (name == null) {
 			if (other.name != null)
 				return false;
@@ -61,6 +66,12 @@ public abstract class LiteralParam implements Serializable {
 		return true;
 	}
 
+	private int getNameHash() {
+		if (nameHash == 0 && name != null)
+			nameHash = name.hashCode();
+		return nameHash;
+	}
+
 	public String getName() {
 		return name;
 	}
@@ -1,6 +1,7 @@
 package jaicore.logic.fol.structure;
 
 import java.util.Collection;
+import java.util.Iterator;
 import java.util.Map;
 
 import jaicore.basic.sets.SetUtil;
@@ -32,6 +33,10 @@ public class Monom extends LiteralSet {
 	
 	public Monom(Collection<Literal> set, boolean deep) {
 		super(set, deep);
+		if (set instanceof Monom && ((Monom) set).isHashCodeValid) {
+			this.hashCode = ((Monom) set).hashCode;
+			this.isHashCodeValid = true;
+		}
 	}
 
 	public Monom(Collection<Literal> literals, Map<? extends LiteralParam, ? extends LiteralParam> mapping) {
@@ -43,6 +48,93 @@ public class Monom extends LiteralSet {
 	 */
 	private static final long serialVersionUID = 1279300062766067057L;
 
+	/* index of the literals of this monom, which is created on demand and discarded whenever the monom is modified */
+	private transient IndexedFactBase factBase;
+
+	/*
+	 * hash code of this monom (the sum of the hash codes of its literals), which is computed on demand and then updated whenever a literal is
+	 * added or removed. The fields must not have initializers, because the super constructors already add literals.
+	 */
+	private transient int hashCode;
+	private transient boolean isHashCodeValid;
+
+	/**
+	 * @return An index of the literals of this monom by their properties (and first parameters), e.g. to use the monom as a fact base
+	 */
+	public IndexedFactBase getFactBase() {
+		IndexedFactBase index = this.factBase;
+		if (index == null) {
+			index = new IndexedFactBase(this);
+			this.factBase = index;
+		}
+		return index;
+	}
+
+	@Override
+	public boolean add(Literal literal) {
+		this.factBase = null;
+		boolean added = super.add(literal);
+		if (added && this.isHashCodeValid) {
+			this.hashCode += literal.hashCode();
+		}
+		return added;
+	}
+
+	@Override
+	public boolean remove(Object o) {
+		this.factBase = null;
+		boolean removed = super.remove(o);
+		if (removed && this.isHashCodeValid) {
+			this.hashCode -= o.hashCode();
+		}
+		return removed;
+	}
+
+	@Override
+	public void clear() {
+		this.factBase = null;
+		super.clear();
+		this.hashCode = 0;
+		this.isHashCodeValid = true;
+	}
+
+	@Override
+	public Iterator<Literal> iterator() {
+		Iterator<Literal> iterator = super.iterator();
+		return new Iterator<Literal>() {
+			private Literal current;
+
+			@Override
+			public boolean hasNext() {
+				return iterator.hasNext();
+			}
+
+			@Override
+			public Literal next() {
+				current = iterator.next();
+				return current;
+			}
+
+			@Override
+			public void remove() {
+				Monom.this.factBase = null;
+				iterator.remove();
+				if (Monom.this.isHashCodeValid) {
+					Monom.this.hashCode -= current.hashCode();
+				}
+			}
+		};
+	}
+
+	@Override
+	public int hashCode() {
+		if (!this.isHashCodeValid) {
+			this.hashCode = super.hashCode();
+			this.isHashCodeValid = true;
+		}
+		return this.hashCode;
+	}
+
 	@Override
 	public String toString() {
 		StringBuilder sb = new StringBuilder();
@@ -0,0 +1,66 @@
+package jaicore.logic.fol.structure;
+
+import java.util.Arrays;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+/**
+ * Global table that interns the names of predicates to ints, so that literals can be compared by comparing ints instead of strings.
+ * Symbols are never removed, so only names from a bounded vocabulary such as the predicates of a domain should be interned; the
+ * parameters of literals are not. Ids are only valid within one JVM and must not be serialized.
+ */
+public class SymbolTable {
+
+	private static final ConcurrentMap<String, Integer> ids = new ConcurrentHashMap<>();
+	private static volatile String[] symbols = new String[1024];
+	private static volatile String[] negatedSymbols = new String[1024];
+	private static int numberOfSymbols = 0;
+
+	private SymbolTable() {
+	}
+
+	/**
+	 * @return The id of the symbol, which is created if the symbol has not been interned yet
+	 */
+	public static int getId(String symbol) {
+		Integer id = ids.get(symbol);
+		if (id != null) {
+			return id;
+		}
+		synchronized (ids) {
+			id = ids.get(symbol);
+			if (id != null) {
+				return id;
+			}
+			id = numberOfSymbols++;
+			if (id == symbols.length) {
+				negatedSymbols = Arrays.copyOf(negatedSymbols, 2 * id);
+				symbols = Arrays.copyOf(symbols, 2 * id);
+			}
+			negatedSymbols[id] = "!" + symbol;
+			symbols[id] = symbol;
+			ids.put(symbol, id);
+			return id;
+		}
+	}
+
+	/**
+	 * @return The canonical instance of the symbol with the given id
+	 */
+	public static String getSymbol(int id) {
+		return symbols[id];
+	}
+
+	/**
+	 * @return The canonical instance of the symbol with the given id preceded by "!"
+	 */
+	public static String getNegatedSymbol(int id) {
+		return negatedSymbols[id];
+	}
+
+	public static int size() {
+		synchronized (ids) {
+			return numberOfSymbols;
+		}
+	}
+}
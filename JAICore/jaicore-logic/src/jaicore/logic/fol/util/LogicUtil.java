@@ -14,6 +14,7 @@ import jaicore.basic.sets.SetUtil;
 import jaicore.logic.fol.structure.CNFFormula;
 import jaicore.logic.fol.structure.Clause;
 import jaicore.logic.fol.structure.ConstantParam;
+import jaicore.logic.fol.structure.IndexedFactBase;
 import jaicore.logic.fol.structure.Literal;
 import jaicore.logic.fol.structure.LiteralParam;
 import jaicore.logic.fol.structure.LiteralSet;
@@ -55,8 +56,138 @@ public class LogicUtil {
 
 	}
 	
+	/**
+	 * Computes all substitutions of the variables of the premise under which each literal of the premise is contained in the fact base.
+	 * 
+	 * @param factbase
+	 *            The facts. If this is a {@link Monom}, its index is used; otherwise, an index is created for this call.
+	 * @param premise
+	 *            The literals to match
+	 * @return The substitutions, each of which maps all variables of the premise
+	 */
 	public static Collection<Map<VariableParam, LiteralParam>> getSubstitutionsThatEnableForwardChaining(Collection<Literal> factbase, Collection<Literal> premise) {
-		return getSubstitutionsThatEnableForwardChaining(factbase, new ArrayList<>(premise));
+		return getSubstitutionsThatEnableForwardChaining(factbase, null, premise);
+	}
+
+	/**
+	 * Computes all substitutions of the variables of the premise under which each literal of the premise is contained in the fact base.
+	 * 
+	 * The substitutions are enumerated by backtracking over a single partial substitution. In each step, the literal with the fewest
+	 * candidate facts under the current partial substitution is matched next, so literals that are (almost) bound are checked early, and
+	 * literals are only matched against facts with the same property (and first parameter if it is bound).
+	 * 
+	 * @param factbase
+	 *            The indexed facts
+	 * @param premise
+	 *            The literals to match
+	 * @return The substitutions, each of which maps all variables of the premise
+	 */
+	public static Collection<Map<VariableParam, LiteralParam>> getSubstitutionsThatEnableForwardChaining(IndexedFactBase factbase, Collection<Literal> premise) {
+		return getSubstitutionsThatEnableForwardChaining(null, factbase, premise);
+	}
+
+	/**
+	 * Computes the substitutions on the index of the fact base, which is only obtained if the premise has variables
+	 */
+	private static Collection<Map<VariableParam, LiteralParam>> getSubstitutionsThatEnableForwardChaining(Collection<Literal> factbase, IndexedFactBase index, Collection<Literal> premise) {
+		logger.debug("Computing substitutions for {} that enable forward chaining", premise);
+		Collection<Map<VariableParam, LiteralParam>> mappings = new HashSet<>();
+
+		/* ground literals are checked once; the others are matched */
+		List<Literal> openLiterals = new ArrayList<>(premise.size());
+		for (Literal l : premise) {
+			if (l.isGround()) {
+				if (!(index != null ? index.contains(l) : factbase.contains(l))) {
+					logger.debug("Ground literal {} is not in the fact base, so there is no substitution.", l);
+					return mappings;
+				}
+			} else {
+				openLiterals.add(l);
+			}
+		}
+		if (openLiterals.isEmpty()) {
+			mappings.add(new HashMap<>());
+			return mappings;
+		}
+		if (index == null)
+			index = factbase instanceof Monom ? ((Monom) factbase).getFactBase() : new IndexedFactBase(factbase);
+		String[] properties = new String[openLiterals.size()];
+		for (int i = 0; i < properties.length; i++) {
+			properties[i] = openLiterals.get(i).getProperty();
+		}
+		enumerateSubstitutionsThatEnableForwardChaining(index, openLiterals, properties, new boolean[properties.length], properties.length, new HashMap<>(), mappings);
+		logger.debug("Found {} substitutions for {}", mappings.size(), premise);
+		return mappings;
+	}
+
+	private static void enumerateSubstitutionsThatEnableForwardChaining(IndexedFactBase factbase, List<Literal> premise, String[] properties, boolean[] matched, int numberOfOpenLiterals,
+			Map<VariableParam, LiteralParam> substitution, Collection<Map<VariableParam, LiteralParam>> mappings) {
+		if (numberOfOpenLiterals == 0) {
+			mappings.add(new HashMap<>(substitution));
+			return;
+		}
+
+		/* select the literal with the fewest candidates */
+		int selectedLiteral = -1;
+		List<Literal> candidates = null;
+		for (int i = 0; i < matched.length; i++) {
+			if (matched[i])
+				continue;
+			List<Literal> candidatesForLiteral = getCandidateFacts(factbase, premise.get(i), properties[i], substitution);
+			if (candidatesForLiteral.isEmpty())
+				return;
+			if (candidates == null || candidatesForLiteral.size() < candidates.size()) {
+				selectedLiteral = i;
+				candidates = candidatesForLiteral;
+			}
+		}
+
+		/* try each candidate and undo its bindings afterwards */
+		List<LiteralParam> params = premise.get(selectedLiteral).getParameters();
+		List<VariableParam> newlyBoundVariables = new ArrayList<>(params.size());
+		matched[selectedLiteral] = true;
+		for (Literal fact : candidates) {
+			if (bindParams(params, fact.getParameters(), substitution, newlyBoundVariables))
+				enumerateSubstitutionsThatEnableForwardChaining(factbase, premise, properties, matched, numberOfOpenLiterals - 1, substitution, mappings);
+			for (VariableParam var : newlyBoundVariables)
+				substitution.remove(var);
+			newlyBoundVariables.clear();
+		}
+		matched[selectedLiteral] = false;
+	}
+
+	private static List<Literal> getCandidateFacts(IndexedFactBase factbase, Literal literal, String property, Map<VariableParam, LiteralParam> substitution) {
+		List<LiteralParam> params = literal.getParameters();
+		if (!params.isEmpty()) {
+			LiteralParam firstParam = params.get(0) instanceof VariableParam ? substitution.get(params.get(0)) : params.get(0);
+			if (firstParam != null)
+				return factbase.getFacts(property, firstParam);
+		}
+		return factbase.getFacts(property);
+	}
+
+	/**
+	 * Extends the substitution such that the params are mapped to the params of the fact. Variables that are bound by this call are added to the given list.
+	 * 
+	 * @return false if the params cannot be mapped to the params of the fact
+	 */
+	private static boolean bindParams(List<LiteralParam> params, List<LiteralParam> factParams, Map<VariableParam, LiteralParam> substitution, List<VariableParam> newlyBoundVariables) {
+		if (params.size() != factParams.size())
+			return false;
+		for (int i = 0; i < params.size(); i++) {
+			LiteralParam param = params.get(i);
+			LiteralParam factParam = factParams.get(i);
+			if (param instanceof VariableParam) {
+				LiteralParam value = substitution.get(param);
+				if (value == null) {
+					substitution.put((VariableParam) param, factParam);
+					newlyBoundVariables.add((VariableParam) param);
+				} else if (!value.equals(factParam))
+					return false;
+			} else if (!param.equals(factParam))
+				return false;
+		}
+		return true;
 	}
 	
 	public static boolean doesPremiseContainAGroundLiteralThatIsNotInFactBase(Collection<Literal> factbase, Collection<Literal> premise) {
@@ -83,71 +214,6 @@ public class LogicUtil {
 		return false;
 	}
 
-	private static Collection<Map<VariableParam, LiteralParam>> getSubstitutionsThatEnableForwardChaining(Collection<Literal> factbase, List<Literal> premise) {
-		
-		logger.info("Computing substitution for {} that enable forward chaining from {}", premise, factbase);
-		Collection<Map<VariableParam, LiteralParam>> mappings = new HashSet<>();
-
-		/* if the premise is empty, add the empty mapping */
-		if (premise.isEmpty()) {
-			mappings.add(new HashMap<>());
-			return mappings;
-		}
-
-		/* in any other case, select a literal and compute remaining premise, which is the premise minus the first element, minus all other ground elements */
-		Literal nextLiteral = premise.get(0);
-		List<Literal> remainingPremise = new ArrayList<>();
-		for (int i = 1; i < premise.size(); i++) {
-			if (!premise.get(i).getVariableParams().isEmpty())
-				remainingPremise.add(premise.get(i));
-		}
-		List<VariableParam> openParams = nextLiteral.getVariableParams();
-
-		/* if there are no open params, we do not need to make decisions here, so just compute subsolutions */
-		Collection<Map<VariableParam, LiteralParam>> choices = new HashSet<>();
-		if (openParams.isEmpty()) {
-			choices.add(new HashMap<>());
-		}
-
-		/* otherwise, select literal from the factbase that could be used for unification */
-		else {
-			for (Literal fact : factbase) {
-				if (!fact.getPropertyName().equals(nextLiteral.getPropertyName()) || fact.isPositive() != nextLiteral.isPositive())
-					continue;
-				List<LiteralParam> factParams = fact.getParameters(); // should only contain constant params
-				List<LiteralParam> nextLiteralParams = nextLiteral.getParameters();
-				Map<VariableParam, LiteralParam> submap = new HashMap<>();
-
-				/* create a substitution that grounds the rest of the literal */
-				for (int i = 0; i < factParams.size(); i++) {
-					if (nextLiteralParams.get(i) instanceof VariableParam) {
-						submap.put((VariableParam) nextLiteralParams.get(i), factParams.get(i));
-					}
-				}
-				choices.add(submap);
-			}
-		}
-
-		/* now apply the different possible choices substitution to the remaining premise and compute possible submappings */
-		for (Map<VariableParam, LiteralParam> submap : choices) {
-			Monom modifiedRemainingPremise = new Monom(remainingPremise, submap);
-			
-			/* if there is a ground literal in the modified remaining premise that is not in the fact base, skip this option */
-			if (doesPremiseContainAGroundLiteralThatIsNotInFactBase(factbase, modifiedRemainingPremise))
-				continue;
-			
-			/* otherwise recurse */
-			Collection<Map<VariableParam, LiteralParam>> subsolutions = getSubstitutionsThatEnableForwardChaining(factbase, modifiedRemainingPremise);
-			for (Map<VariableParam, LiteralParam> subsolution : subsolutions) {
-				Map<VariableParam, LiteralParam> solutionToReturn = new HashMap<>(subsolution);
-				solutionToReturn.putAll(submap);
-				mappings.add(solutionToReturn);
-			}
-		}
-		logger.info("Finished computation of substitution for {} that enable forward chaining from {}: {}", premise, factbase, mappings);
-		return mappings;
-	}
-
 	public static boolean canLiteralBeUnifiedWithLiteralFromDatabase(Collection<Literal> set, Literal literal) {
 		for (Literal candidate : set) {
 			if (areLiteralsUnifiable(candidate, literal))
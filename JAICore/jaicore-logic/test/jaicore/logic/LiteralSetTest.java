@@ -1,7 +1,9 @@
 package jaicore.logic;
 
+import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertTrue;
 
+import java.util.HashSet;
 import java.util.LinkedList;
 import java.util.List;
 
@@ -12,6 +14,7 @@ import jaicore.logic.fol.structure.ConstantParam;
 import jaicore.logic.fol.structure.Literal;
 import jaicore.logic.fol.structure.LiteralParam;
 import jaicore.logic.fol.structure.LiteralSet;
+import jaicore.logic.fol.structure.Monom;
 import jaicore.logic.fol.structure.Type;
 import jaicore.logic.fol.structure.TypeModule;
 import jaicore.logic.fol.structure.VariableParam;
@@ -67,4 +70,27 @@ public class LiteralSetTest {
 
 	} // testImplies
 
+	/**
+	 * Tests that the incrementally maintained hash code of a monom equals the hash code of a set with the same literals.
+	 */
+	@Test
+	public void testHashCodeOfMonomIsUpdated() {
+		Monom monom = new Monom("p('a') & q('a', 'b')");
+		assertEquals(new HashSet<>(monom).hashCode(), monom.hashCode());
+
+		monom.add(new Literal("r('c')"));
+		monom.add(new Literal("p('a')"));
+		assertEquals(new HashSet<>(monom).hashCode(), monom.hashCode());
+		Monom copy = new Monom(monom, false);
+		monom.remove(new Literal("p('a')"));
+		monom.removeIf(l -> l.getPropertyName().equals("q"));
+		assertEquals(new HashSet<>(monom).hashCode(), monom.hashCode());
+		assertEquals(new HashSet<>(copy).hashCode(), copy.hashCode());
+		copy.removeAll(new Monom("p('a') & q('a', 'b')"));
+		assertEquals(monom, copy);
+		assertEquals(monom.hashCode(), copy.hashCode());
+		monom.clear();
+		assertEquals(0, monom.hashCode());
+	}
+
 }
@@ -70,4 +70,28 @@ public class LiteralTest {
 
 	} // testMappingConstructor
 
+	/**
+	 * Tests that the negation is part of the property, equality, and the (cached) hash code of a literal.
+	 */
+	@Test
+	public void testNegation() {
+		Literal positive = new Literal("p('a', x)");
+		Literal negative = new Literal("!p('a', x)");
+		assertEquals("p", negative.getPropertyName());
+		assertEquals("!p", negative.getProperty());
+		assertTrue(!positive.equals(negative));
+
+		int hashOfPositive = positive.hashCode();
+		Literal toggled = positive.clone().toggleNegation();
+		assertEquals(negative, toggled);
+		assertEquals(negative.hashCode(), toggled.hashCode());
+		assertEquals(hashOfPositive, toggled.toggleNegation().hashCode());
+		assertEquals(positive, toggled);
+
+		Literal inequality = new Literal("x != y");
+		assertEquals("!=", inequality.getProperty());
+		assertEquals("=", inequality.getPropertyName());
+		assertEquals(new Literal("=", inequality.getParameters(), false), inequality);
+	}
+
 }
@@ -0,0 +1,115 @@
+package jaicore.logic;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotSame;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.Set;
+
+import org.junit.Test;
+
+import jaicore.logic.fol.structure.ConstantParam;
+import jaicore.logic.fol.structure.IndexedFactBase;
+import jaicore.logic.fol.structure.Literal;
+import jaicore.logic.fol.structure.LiteralParam;
+import jaicore.logic.fol.structure.Monom;
+import jaicore.logic.fol.structure.VariableParam;
+import jaicore.logic.fol.util.LogicUtil;
+
+/**
+ * Test case for the forward chaining of the LogicUtil class.
+ */
+public class LogicUtilTest {
+
+	@Test
+	public void testConstantsAndRepeatedVariables() {
+		Monom factbase = new Monom("p('a', 'b') & p('b', 'b') & q('b') & !r('a')");
+		Map<VariableParam, LiteralParam> expected = new HashMap<>();
+		expected.put(new VariableParam("x"), new ConstantParam("b"));
+		assertEquals(new HashSet<>(Arrays.asList(expected)), LogicUtil.getSubstitutionsThatEnableForwardChaining(factbase, new Monom("p(x, x)")));
+		assertEquals(new HashSet<>(Arrays.asList(expected)), LogicUtil.getSubstitutionsThatEnableForwardChaining(factbase, new Monom("p('a', x) & q(x)")));
+		assertTrue(LogicUtil.getSubstitutionsThatEnableForwardChaining(factbase, new Monom("p(x, 'a')")).isEmpty());
+		assertTrue(LogicUtil.getSubstitutionsThatEnableForwardChaining(factbase, new Monom("q(x) & q('a')")).isEmpty());
+		expected.put(new VariableParam("x"), new ConstantParam("a"));
+		assertEquals(new HashSet<>(Arrays.asList(expected)), LogicUtil.getSubstitutionsThatEnableForwardChaining(factbase, new Monom("!r(x)")));
+		assertEquals(new HashSet<>(Arrays.asList(new HashMap<>())), LogicUtil.getSubstitutionsThatEnableForwardChaining(factbase, new Monom("q('b')")));
+	}
+
+	@Test
+	public void testAgainstAllMappings() {
+		Random random = new Random(0);
+		List<ConstantParam> constants = Arrays.asList(new ConstantParam("a"), new ConstantParam("b"), new ConstantParam("c"), new ConstantParam("d"));
+		List<VariableParam> variables = Arrays.asList(new VariableParam("x"), new VariableParam("y"), new VariableParam("z"));
+		for (int run = 0; run < 100; run++) {
+
+			/* create random facts over binary predicates p, q and unary predicate r */
+			Monom factbase = new Monom();
+			for (int i = 0; i < 12; i++) {
+				factbase.add(new Literal(random.nextBoolean() ? "p" : "q", Arrays.asList(constants.get(random.nextInt(4)), constants.get(random.nextInt(4)))));
+				factbase.add(new Literal("r", constants.get(random.nextInt(4))));
+			}
+
+			/* create a random premise over the variables and constants */
+			Monom premise = new Monom();
+			for (int i = 0; i < 3; i++) {
+				List<LiteralParam> params = new ArrayList<>();
+				for (int j = 0; j < 2; j++) {
+					params.add(random.nextInt(4) == 0 ? constants.get(random.nextInt(4)) : variables.get(random.nextInt(3)));
+				}
+				premise.add(new Literal(random.nextBoolean() ? "p" : "q", params));
+			}
+			premise.add(new Literal("r", variables.get(random.nextInt(3))));
+
+			/* compare with all mappings of the variables of the premise to constants */
+			Collection<Map<VariableParam, LiteralParam>> expected = new HashSet<>();
+			for (Map<VariableParam, LiteralParam> mapping : getAllMappings(new ArrayList<>(premise.getVariableParams()), constants)) {
+				if (factbase.containsAll(new Monom(premise, mapping))) {
+					expected.add(mapping);
+				}
+			}
+			assertEquals(expected, LogicUtil.getSubstitutionsThatEnableForwardChaining(factbase, premise));
+			assertEquals(expected, LogicUtil.getSubstitutionsThatEnableForwardChaining(new ArrayList<>(factbase), premise));
+		}
+	}
+
+	private static Set<Map<VariableParam, LiteralParam>> getAllMappings(List<VariableParam> variables, List<ConstantParam> constants) {
+		Set<Map<VariableParam, LiteralParam>> mappings = new HashSet<>();
+		if (variables.isEmpty()) {
+			mappings.add(new HashMap<>());
+			return mappings;
+		}
+		for (Map<VariableParam, LiteralParam> mapping : getAllMappings(variables.subList(1, variables.size()), constants)) {
+			for (ConstantParam c : constants) {
+				Map<VariableParam, LiteralParam> extendedMapping = new HashMap<>(mapping);
+				extendedMapping.put(variables.get(0), c);
+				mappings.add(extendedMapping);
+			}
+		}
+		return mappings;
+	}
+
+	@Test
+	public void testFactBaseOfMonomIsUpdated() {
+		Monom factbase = new Monom("p('a') & p('b')");
+		IndexedFactBase index = factbase.getFactBase();
+		assertSame(index, factbase.getFactBase());
+		assertEquals(2, index.getFacts("p").size());
+		assertEquals(1, index.getFacts("p", new ConstantParam("a")).size());
+
+		factbase.add(new Literal("p('c')"));
+		assertNotSame(index, factbase.getFactBase());
+		assertEquals(3, factbase.getFactBase().getFacts("p").size());
+		factbase.removeIf(l -> l.getParameters().get(0).getName().equals("a"));
+		assertEquals(2, factbase.getFactBase().getFacts("p").size());
+		assertTrue(factbase.getFactBase().getFacts("p", new ConstantParam("a")).isEmpty());
+	}
+}
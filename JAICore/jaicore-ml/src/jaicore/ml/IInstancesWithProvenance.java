@@ -0,0 +1,20 @@
+package jaicore.ml;
+
+import weka.core.Instances;
+
+/**
+ * Datasets that know from which positions of another dataset their instances stem, e.g. the folds of a split. This makes it
+ * unnecessary to look up the instances in the original dataset.
+ */
+public interface IInstancesWithProvenance {
+
+	/**
+	 * @return The dataset the instances stem from or null if it is not known (anymore)
+	 */
+	public Instances getOrigin();
+
+	/**
+	 * @return For each instance, its index in the origin. The array must not be modified.
+	 */
+	public int[] getIndicesInOrigin();
+}
@@ -0,0 +1,106 @@
+package jaicore.ml;
+
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Map;
+
+import weka.core.Attribute;
+import weka.core.Instance;
+import weka.core.InstanceComparator;
+import weka.core.Instances;
+
+/**
+ * Index from the values of instances to their positions in a dataset. Instances are hashed by their values, and instances with the
+ * same fingerprint are told apart with {@link InstanceComparator}. Hence, building the index and looking up an instance take linear
+ * time in the number of attributes (and the number of instances with the same fingerprint) instead of a scan over the dataset.
+ *
+ * Since the comparator tolerates tiny differences of numeric values (see {@link weka.core.Utils#eq(double, double)}), which no hash
+ * can respect, the index only finds instances whose numeric values are identical to those of the given instance. This is the case for
+ * all instances that have been copied from the dataset. {@link #indexOfOrScan(Instance)} falls back to a scan for the other ones.
+ */
+public class InstanceFingerprintIndex {
+
+	private static final int[] NO_ROWS = new int[0];
+
+	private final Instances data;
+	private final InstanceComparator comparator = new InstanceComparator();
+	private final Map<Integer, int[]> rowsByFingerprint = new HashMap<>();
+
+	public InstanceFingerprintIndex(final Instances data) {
+		this.data = data;
+		for (int row = 0; row < data.size(); row++) {
+			int fingerprint = getFingerprint(data.get(row));
+			int[] rows = this.rowsByFingerprint.get(fingerprint);
+			if (rows == null) {
+				rows = new int[] { row };
+			} else {
+				rows = Arrays.copyOf(rows, rows.length + 1);
+				rows[rows.length - 1] = row;
+			}
+			this.rowsByFingerprint.put(fingerprint, rows);
+		}
+	}
+
+	/**
+	 * @return The index of the first instance of the dataset that is equal to the given one or -1 if there is no such instance
+	 */
+	public int indexOf(final Instance instance) {
+		for (int row : this.rowsByFingerprint.getOrDefault(getFingerprint(instance), NO_ROWS)) {
+			if (this.comparator.compare(instance, this.data.get(row)) == 0) {
+				return row;
+			}
+		}
+		return -1;
+	}
+
+	/**
+	 * Same as {@link #indexOf(Instance)} but scans the dataset with the comparator if the instance has no identical counterpart, so
+	 * instances are found exactly if the comparator considers them equal to one of the dataset.
+	 */
+	public int indexOfOrScan(final Instance instance) {
+		int index = this.indexOf(instance);
+		if (index >= 0) {
+			return index;
+		}
+		for (int row = 0; row < this.data.size(); row++) {
+			if (this.comparator.compare(instance, this.data.get(row)) == 0) {
+				return row;
+			}
+		}
+		return -1;
+	}
+
+	public boolean contains(final Instance instance) {
+		return this.indexOf(instance) >= 0;
+	}
+
+	public Instances getData() {
+		return this.data;
+	}
+
+	/**
+	 * Computes a hash of the values of the instance. Missing values are equal to each other, 0.0 equals -0.0, strings are hashed by their
+	 * content, and relational values are ignored.
+	 */
+	public static int getFingerprint(final Instance instance) {
+		int fingerprint = 1;
+		for (int i = 0; i < instance.numAttributes(); i++) {
+			int hash;
+			if (instance.isMissing(i)) {
+				hash = 0x7ff80000;
+			} else {
+				Attribute attribute = instance.attribute(i);
+				if (attribute.isString()) {
+					hash = instance.stringValue(i).hashCode();
+				} else if (attribute.isRelationValued()) {
+					hash = 0;
+				} else {
+					double value = instance.value(i);
+					hash = Double.hashCode(value == 0 ? 0.0 : value); // -0.0 equals 0.0
+				}
+			}
+			fingerprint = 31 * fingerprint + hash;
+		}
+		return fingerprint;
+	}
+}
@@ -0,0 +1,34 @@
+package jaicore.ml;
+
+import weka.core.Instances;
+
+/**
+ * Copy of a subset of a dataset that remembers the indices of its instances in the dataset. Note that the indices are not updated if
+ * the copy is modified, so users of the provenance should check that the instances still match (see
+ * {@link WekaUtil#getIndicesOfContainedInstances(Instances, Instances)}). The origin is not serialized.
+ */
+@SuppressWarnings("serial")
+public class ProvenanceInstances extends Instances implements IInstancesWithProvenance {
+
+	private final transient Instances origin;
+	private final int[] indicesInOrigin;
+
+	public ProvenanceInstances(final Instances origin, final int[] indicesInOrigin) {
+		super(origin, indicesInOrigin.length);
+		this.origin = origin;
+		this.indicesInOrigin = indicesInOrigin;
+		for (int index : indicesInOrigin) {
+			this.add(origin.get(index));
+		}
+	}
+
+	@Override
+	public Instances getOrigin() {
+		return this.origin;
+	}
+
+	@Override
+	public int[] getIndicesInOrigin() {
+		return this.indicesInOrigin;
+	}
+}
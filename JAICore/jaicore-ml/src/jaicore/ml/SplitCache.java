@@ -0,0 +1,143 @@
+package jaicore.ml;
+
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+
+import weka.core.Instances;
+
+/**
+ * Cache for splits of datasets. A split is identified by the id of the dataset, the seed of the random source that is used to compute
+ * it, whether it is stratified, and the portions of the folds. So if several candidates are evaluated on the splits with the same
+ * seeds, the splits are only computed once. The splits are stored as index arrays. By default, they are realized as copies of the
+ * instances; a cache created with views realizes them as views on the dataset ({@link SubInstances}), so no instances are copied. Views
+ * cannot be modified, so they may only be used if the classifiers do not modify their training data.
+ *
+ * The cache holds at most the given number of splits and evicts the least recently used one if it is full.
+ */
+public class SplitCache {
+
+	private static class SplitKey {
+		private final String datasetId;
+		private final long seed;
+		private final boolean stratified;
+		private final double[] portions;
+
+		private SplitKey(final String datasetId, final long seed, final boolean stratified, final double[] portions) {
+			this.datasetId = datasetId;
+			this.seed = seed;
+			this.stratified = stratified;
+			this.portions = portions;
+		}
+
+		@Override
+		public int hashCode() {
+			final int prime = 31;
+			int result = 1;
+			result = prime * result + this.datasetId.hashCode();
+			result = prime * result + Long.hashCode(this.seed);
+			result = prime * result + Boolean.hashCode(this.stratified);
+			result = prime * result + Arrays.hashCode(this.portions);
+			return result;
+		}
+
+		@Override
+		public boolean equals(final Object obj) {
+			if (this == obj) {
+				return true;
+			}
+			if (!(obj instanceof SplitKey)) {
+				return false;
+			}
+			SplitKey other = (SplitKey) obj;
+			return this.seed == other.seed && this.stratified == other.stratified && this.datasetId.equals(other.datasetId) && Arrays.equals(this.portions, other.portions);
+		}
+	}
+
+	private final Map<SplitKey, int[][]> splits;
+	private final boolean splitsAsViews;
+	private int hits;
+	private int misses;
+
+	public SplitCache(final int maxSize) {
+		this(maxSize, false);
+	}
+
+	/**
+	 * @param maxSize
+	 *            The maximum number of splits that are held
+	 * @param splitsAsViews
+	 *            Whether {@link #getSplit(String, Instances, long, boolean, double...)} realizes the folds as views on the dataset instead of copies
+	 */
+	public SplitCache(final int maxSize, final boolean splitsAsViews) {
+		this.splitsAsViews = splitsAsViews;
+		if (maxSize <= 0) {
+			throw new IllegalArgumentException("The size of the split cache must be positive but is " + maxSize);
+		}
+		this.splits = new LinkedHashMap<SplitKey, int[][]>(16, 0.75f, true) {
+			private static final long serialVersionUID = -4811716282893516440L;
+
+			@Override
+			protected boolean removeEldestEntry(final Map.Entry<SplitKey, int[][]> eldest) {
+				return this.size() > maxSize;
+			}
+		};
+	}
+
+	/**
+	 * @param datasetId
+	 *            An id that uniquely identifies the dataset (e.g. its OpenML id); different datasets must not share an id
+	 * @param data
+	 *            The dataset, which is only used if the split is not in the cache yet
+	 * @param seed
+	 *            The seed of the random source used to compute the split
+	 * @param stratified
+	 *            Whether the split is stratified (see {@link WekaUtil#getStratifiedSplitIndicesAsArrays(Instances, Random, double...)})
+	 *            or not (see {@link WekaUtil#getArbitrarySplitIndices(Instances, Random, double...)})
+	 * @param portions
+	 *            The portions of the folds except the last one
+	 * @return For each fold, the indices of the instances in the fold. The arrays must not be modified.
+	 */
+	public int[][] getSplitIndices(final String datasetId, final Instances data, final long seed, final boolean stratified, final double... portions) {
+		SplitKey key = new SplitKey(datasetId, seed, stratified, portions.clone());
+		synchronized (this.splits) {
+			int[][] split = this.splits.get(key);
+			if (split != null) {
+				this.hits++;
+				return split;
+			}
+			this.misses++;
+		}
+
+		/* compute the split outside the lock; if two threads compute the same split, they obtain the same result anyway */
+		Random random = new Random(seed);
+		int[][] split = stratified ? WekaUtil.getStratifiedSplitIndicesAsArrays(data, random, portions) : WekaUtil.getArbitrarySplitIndices(data, random, portions);
+		synchronized (this.splits) {
+			this.splits.put(key, split);
+		}
+		return split;
+	}
+
+	/**
+	 * Same as {@link #getSplitIndices(String, Instances, long, boolean, double...)} but returns the folds as copies of the instances or, if the cache has
+	 * been created with views, as views on the dataset.
+	 */
+	public List<Instances> getSplit(final String datasetId, final Instances data, final long seed, final boolean stratified, final double... portions) {
+		int[][] split = this.getSplitIndices(datasetId, data, seed, stratified, portions);
+		return this.splitsAsViews ? WekaUtil.realizeSplitAsSubInstances(data, split) : WekaUtil.realizeSplitAsCopiedInstances(data, split);
+	}
+
+	public int getHits() {
+		synchronized (this.splits) {
+			return this.hits;
+		}
+	}
+
+	public int getMisses() {
+		synchronized (this.splits) {
+			return this.misses;
+		}
+	}
+}
@@ -1,13 +1,15 @@
 package jaicore.ml;
 
 import java.util.ArrayList;
+import java.util.Enumeration;
 
 import weka.core.Instance;
 import weka.core.Instances;
 import weka.core.Utils;
+import weka.core.WekaEnumeration;
 
 @SuppressWarnings("serial")
-public class SubInstances extends Instances {
+public class SubInstances extends Instances implements IInstancesWithProvenance {
 
 	private final Instances supset;
 	private final int[] indices;
@@ -20,6 +22,16 @@ public class SubInstances extends Instances {
 		this.m_Instances = null;
 	}
 
+	@Override
+	public Instances getOrigin() {
+		return supset;
+	}
+
+	@Override
+	public int[] getIndicesInOrigin() {
+		return indices;
+	}
+
 	@Override
 	public boolean add(/* @non_null@ */Instance instance) {
 		throwError();
@@ -55,6 +67,11 @@ public class SubInstances extends Instances {
 		return supset.get(indices[index]);
 	}
 	
+	@Override
+	public Enumeration<Instance> enumerateInstances() {
+		return new WekaEnumeration<Instance>(this);
+	}
+
 	@Override
 	public/* @pure@ */int numInstances() {
 
@@ -3,6 +3,8 @@ package jaicore.ml;
 import java.io.BufferedReader;
 import java.io.File;
 import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
 import java.io.StringReader;
 import java.lang.reflect.Method;
 import java.nio.file.Files;
@@ -27,11 +29,13 @@ import org.apache.commons.lang3.reflect.MethodUtils;
 
 import com.fasterxml.jackson.databind.ObjectMapper;
 import com.fasterxml.jackson.databind.node.ArrayNode;
-import com.google.common.collect.ContiguousSet;
-import com.google.common.collect.DiscreteDomain;
-import com.google.common.collect.Range;
 
 import jaicore.basic.sets.SetUtil.Pair;
+import jaicore.ml.core.BinaryDatasetHeader;
+import jaicore.ml.core.BinaryDatasetReader;
+import jaicore.ml.core.BinaryDatasetWriter;
+import jaicore.ml.core.ColumnarInstancesImpl;
+import jaicore.ml.core.ColumnarLabeledInstancesImpl;
 import jaicore.ml.core.SimpleInstanceImpl;
 import jaicore.ml.core.SimpleInstancesImpl;
 import jaicore.ml.core.SimpleLabeledInstanceImpl;
@@ -344,6 +348,90 @@ public class WekaUtil {
 		return wekaInstances;
 	}
 
+	/**
+	 * Converts a columnar dataset into WEKA instances without boxing the values. An empty dataset to which no instance has ever been added has no
+	 * attributes.
+	 */
+	public static Instances fromJAICoreInstances(final ColumnarInstancesImpl instances) {
+		int numAttributes = Math.max(0, instances.getNumberOfColumns());
+		ArrayList<Attribute> attributes = new ArrayList<>(numAttributes);
+		for (int i = 1; i <= numAttributes; i++) {
+			attributes.add(new Attribute("a" + i));
+		}
+		Instances wekaInstances = new Instances("JAICore-extracted dataset", attributes, instances.size());
+		for (int row = 0; row < instances.size(); row++) {
+			wekaInstances.add(new DenseInstance(1.0, instances.toDoubleArray(row)));
+		}
+		return wekaInstances;
+	}
+
+	/**
+	 * Converts a labeled columnar dataset into WEKA instances without boxing the values. The class attribute is the last one. An empty dataset to which
+	 * no instance has ever been added only has the class attribute.
+	 */
+	public static Instances fromJAICoreInstances(final ColumnarLabeledInstancesImpl labeledInstances) {
+		int numAttributes = Math.max(0, labeledInstances.getNumberOfColumns());
+		ArrayList<Attribute> attributes = new ArrayList<>(numAttributes + 1);
+		for (int i = 1; i <= numAttributes; i++) {
+			attributes.add(new Attribute("a" + i));
+		}
+		Attribute classAttribute = new Attribute("label", labeledInstances.getOccurringLabels());
+		attributes.add(classAttribute);
+		Instances wekaInstances = new Instances("JAICore-extracted dataset", attributes, labeledInstances.size());
+		wekaInstances.setClassIndex(numAttributes);
+		for (int row = 0; row < labeledInstances.size(); row++) {
+			double[] values = new double[numAttributes + 1];
+			for (int column = 0; column < numAttributes; column++) {
+				values[column] = labeledInstances.getValue(row, column);
+			}
+			values[numAttributes] = classAttribute.indexOfValue(labeledInstances.getLabel(row));
+			wekaInstances.add(new DenseInstance(1.0, values));
+		}
+		return wekaInstances;
+	}
+
+	/**
+	 * Converts WEKA instances into a columnar dataset without boxing the values. All attributes, including a possible class attribute,
+	 * become columns.
+	 */
+	public static ColumnarInstancesImpl toColumnarInstances(final Instances wekaInstances) {
+		ColumnarInstancesImpl instances = new ColumnarInstancesImpl(wekaInstances.numAttributes(), wekaInstances.size());
+		for (Instance inst : wekaInstances) {
+			instances.add(inst.toDoubleArray());
+		}
+		return instances;
+	}
+
+	/**
+	 * Converts WEKA instances with a nominal class attribute into a labeled columnar dataset without boxing the values.
+	 *
+	 * @throws IllegalArgumentException
+	 *             if the dataset has no class attribute or an instance has a missing class value, which labeled instances cannot represent
+	 */
+	public static ColumnarLabeledInstancesImpl toColumnarLabeledInstances(final Instances wekaInstances) {
+		int classIndex = wekaInstances.classIndex();
+		if (classIndex < 0) {
+			throw new IllegalArgumentException("Cannot create labeled instances from a dataset without class attribute.");
+		}
+		int numAttributes = wekaInstances.numAttributes();
+		ColumnarLabeledInstancesImpl labeledInstances = new ColumnarLabeledInstancesImpl(numAttributes - 1, wekaInstances.size());
+		Attribute classAttribute = wekaInstances.classAttribute();
+		for (Instance inst : wekaInstances) {
+			if (inst.classIsMissing()) {
+				throw new IllegalArgumentException("Cannot create labeled instances from a dataset with missing class values: " + inst);
+			}
+			double[] values = new double[numAttributes - 1];
+			int column = 0;
+			for (int att = 0; att < numAttributes; att++) {
+				if (att != classIndex) {
+					values[column++] = inst.value(att);
+				}
+			}
+			labeledInstances.add(values, classAttribute.value((int) inst.classValue()));
+		}
+		return labeledInstances;
+	}
+
 	public static WekaCompatibleInstancesImpl toJAICoreLabeledInstances(final Instances wekaInstances) {
 		WekaCompatibleInstancesImpl labeledInstances = new WekaCompatibleInstancesImpl(getClassesDeclaredInDataset(wekaInstances));
 		for (Instance inst : wekaInstances) {
@@ -566,42 +654,42 @@ public class WekaUtil {
 	}
 
 	public static Collection<Integer>[] getArbitrarySplit(final Instances data, final Random rand, final double... portions) {
+		return toCollections(getArbitrarySplitIndices(data, rand, portions));
+	}
 
-		/* check that portions sum up to s.th. smaller than 1 */
-		double sum = 0;
-		for (double p : portions) {
-			sum += p;
-		}
-		if (sum > 1) {
-			throw new IllegalArgumentException("Portions must sum up to at most 1.");
-		}
-
-		LinkedList<Integer> indices = new LinkedList<>(ContiguousSet.create(Range.closed(0, data.size() - 1), DiscreteDomain.integers()).asList());
-		Collections.shuffle(indices, rand);
-
-		@SuppressWarnings("unchecked")
-		Collection<Integer>[] folds = new ArrayList[portions.length + 1];
-		Instances emptyInstances = new Instances(data);
-		emptyInstances.clear();
+	/**
+	 * Computes a random split of the dataset into folds whose sizes correspond to the given portions; the last fold contains the
+	 * remaining instances. The split is the same as the one of {@link #getArbitrarySplit(Instances, Random, double...)} but is computed
+	 * on primitive arrays.
+	 *
+	 * @return For each fold, the indices of the instances in the fold
+	 */
+	public static int[][] getArbitrarySplitIndices(final Instances data, final Random rand, final double... portions) {
+		double sum = getSumOfPortions(portions);
+		int n = data.size();
+		int[] indices = getShuffledIndices(n, rand);
 
 		/* distribute instances over the folds */
-		for (int i = 0; i <= portions.length; i++) {
+		int numFolds = portions.length + 1;
+		int[] foldOfPosition = new int[n];
+		int[] foldSizes = new int[numFolds];
+		int position = 0;
+		for (int i = 0; i < numFolds; i++) {
 			double portion = i < portions.length ? portions[i] : 1 - sum;
-			int numberOfItems = (int) Math.floor(data.size() * portion);
-			Collection<Integer> fold = new ArrayList<>(numberOfItems);
+			int numberOfItems = (int) Math.floor(n * portion);
 			for (int j = 0; j < numberOfItems; j++) {
-				fold.add(indices.poll());
+				foldOfPosition[position++] = i;
 			}
-			folds[i] = fold;
+			foldSizes[i] = numberOfItems;
 		}
 
 		/* distribute remaining ones over the folds */
-		while (!indices.isEmpty()) {
-			folds[rand.nextInt(folds.length)].add(indices.poll());
+		while (position < n) {
+			int fold = rand.nextInt(numFolds);
+			foldOfPosition[position++] = fold;
+			foldSizes[fold]++;
 		}
-		assert Arrays.asList(folds).stream().mapToInt(l -> l.size()).sum() == data
-				.size() : "The number of instancens in the folds does not equal the number of instances in the original dataset";
-		return folds;
+		return collectFolds(indices, foldOfPosition, foldSizes);
 	}
 
 	public static List<Instances> realizeSplit(final Instances data, final Collection<Integer>[] split) {
@@ -609,13 +697,21 @@ public class WekaUtil {
 	}
 
 	public static List<Instances> realizeSplitAsCopiedInstances(final Instances data, final Collection<Integer>[] split) {
-		List<Instances> folds = new ArrayList<>();
-		Instances emptyInstances = new Instances(data);
-		emptyInstances.clear();
-		for (Collection<Integer> foldIndices : split) {
-			Instances fold = new Instances(emptyInstances);
-			foldIndices.stream().forEach(i -> fold.add(data.get(i)));
-			folds.add(fold);
+		int[][] indices = new int[split.length][];
+		for (int fold = 0; fold < split.length; fold++) {
+			indices[fold] = split[fold].stream().mapToInt(Integer::intValue).toArray();
+		}
+		return realizeSplitAsCopiedInstances(data, indices);
+	}
+
+	/**
+	 * Realizes the split as copies of the instances. The folds remember the indices of their instances in the given dataset (see
+	 * {@link ProvenanceInstances}), so the instances do not need to be looked up later.
+	 */
+	public static List<Instances> realizeSplitAsCopiedInstances(final Instances data, final int[][] split) {
+		List<Instances> folds = new ArrayList<>(split.length);
+		for (int[] foldIndices : split) {
+			folds.add(new ProvenanceInstances(data, foldIndices));
 		}
 		return folds;
 	}
@@ -634,60 +730,137 @@ public class WekaUtil {
 	}
 
 	public static Collection<Integer>[] getStratifiedSplitIndices(final Instances data, final Random rand, final double... pPortions) {
+		return toCollections(getStratifiedSplitIndicesAsArrays(data, rand, pPortions));
+	}
+
+	/**
+	 * Computes a random stratified split of the dataset into folds whose sizes correspond to the given portions; the last fold
+	 * contains the remaining instances. The split is the same as the one of {@link #getStratifiedSplitIndices(Instances, Random, double...)}
+	 * but is computed on the class indices of the instances with primitive counters.
+	 *
+	 * @return For each fold, the indices of the instances in the fold
+	 */
+	public static int[][] getStratifiedSplitIndicesAsArrays(final Instances data, final Random rand, final double... pPortions) {
+		double sum = getSumOfPortions(pPortions);
+		double[] portions = Arrays.copyOf(pPortions, pPortions.length + 1);
+		portions[pPortions.length] = 1 - sum;
+		int numFolds = portions.length;
+
+		/* determine how many instance of each class should be in each fold */
+		int[] classes = getClassIndices(data);
+		int numClasses = data.classAttribute().isNominal() ? Math.max(1, data.numClasses()) : 1;
+		int[] numberOfInstancesPerClass = new int[numClasses];
+		for (int c : classes) {
+			numberOfInstancesPerClass[c]++;
+		}
+		int[][] remainingCapacityPerClassAndFold = new int[numClasses][numFolds];
+		for (int c = 0; c < numClasses; c++) {
+			for (int foldId = 0; foldId < numFolds; foldId++) {
+				remainingCapacityPerClassAndFold[c][foldId] = (int) Math.ceil(numberOfInstancesPerClass[c] * portions[foldId]);
+			}
+		}
+
+		/* assign the instances in random order to the next fold of their class that has capacity left */
+		int n = data.size();
+		int[] indices = getShuffledIndices(n, rand);
+		int[] nextFoldForClass = new int[numClasses];
+		int[] foldOfPosition = new int[n];
+		int[] foldSizes = new int[numFolds];
+		for (int position = 0; position < n; position++) {
+			int assignedClass = classes[indices[position]];
+			int foldId = nextFoldForClass[assignedClass];
+			foldOfPosition[position] = foldId;
+			foldSizes[foldId]++;
+			int[] remainingCapacity = remainingCapacityPerClassAndFold[assignedClass];
+			remainingCapacity[foldId]--;
+			for (int attempt = 0; attempt < numFolds; attempt++) {
+				foldId = (foldId + 1) % numFolds;
+				if (remainingCapacity[foldId] > 0) {
+					break;
+				}
+			}
+			nextFoldForClass[assignedClass] = foldId;
+		}
+		return collectFolds(indices, foldOfPosition, foldSizes);
+	}
+
+	/**
+	 * @return For each instance, the index of its class value (0 for all instances if the class attribute is not nominal)
+	 */
+	public static int[] getClassIndices(final Instances data) {
+		int[] classes = new int[data.size()];
+		if (data.classAttribute().isNominal()) {
+			for (int i = 0; i < classes.length; i++) {
+				classes[i] = (int) data.get(i).classValue();
+			}
+		}
+		return classes;
+	}
+
+	/**
+	 * Realizes the split as views on the given dataset, i.e. the instances are not copied.
+	 */
+	public static List<Instances> realizeSplitAsSubInstances(final Instances data, final int[][] split) {
+		List<Instances> folds = new ArrayList<>(split.length);
+		for (int[] foldIndices : split) {
+			folds.add(new SubInstances(data, foldIndices));
+		}
+		return folds;
+	}
+
+	private static double getSumOfPortions(final double[] portions) {
 
 		/* check that portions sum up to s.th. smaller than 1 */
 		double sum = 0;
-		double[] portions = new double[pPortions.length + 1];
-		for (int i = 0; i < pPortions.length; i++) {
-			sum += pPortions[i];
-			portions[i] = pPortions[i];
+		for (double p : portions) {
+			sum += p;
 		}
 		if (sum > 1) {
 			throw new IllegalArgumentException("Portions must sum up to at most 1.");
 		}
-		portions[pPortions.length] = 1 - sum;
+		return sum;
+	}
 
-		/* determine how many instance of each class should be in each fold */
-		Map<String, Integer> numberOfInstancesPerClass = getNumberOfInstancesPerClass(data);
-		Map<String, Map<Integer, Integer>> numberOfInstancesPerClassAndFold = new HashMap<>();
-		for (String className : numberOfInstancesPerClass.keySet()) {
-			numberOfInstancesPerClassAndFold.put(className, new HashMap<>());
-			for (int foldId = 0; foldId < portions.length; foldId++) {
-				numberOfInstancesPerClassAndFold.get(className).put(foldId, (int) Math.ceil(numberOfInstancesPerClass.get(className) * portions[foldId]));
-			}
+	/**
+	 * Shuffles the indices 0, ..., n - 1 in the way {@link Collections#shuffle(List, Random)} does.
+	 */
+	private static int[] getShuffledIndices(final int n, final Random rand) {
+		int[] indices = new int[n];
+		for (int i = 0; i < n; i++) {
+			indices[i] = i;
+		}
+		for (int i = n; i > 1; i--) {
+			int j = rand.nextInt(i);
+			int tmp = indices[i - 1];
+			indices[i - 1] = indices[j];
+			indices[j] = tmp;
 		}
+		return indices;
+	}
 
-		/* compute basic structures for iteration over all instances */
-		Map<String, Integer> nextBinForClass = new HashMap<>();
-		numberOfInstancesPerClass.keySet().forEach(c -> nextBinForClass.put(c, 0));
-		Collection<Integer>[] folds = new ArrayList[portions.length];
-		LinkedList<Integer> indices = new LinkedList<>(ContiguousSet.create(Range.closed(0, data.size() - 1), DiscreteDomain.integers()).asList());
-		Collections.shuffle(indices, rand);
+	private static int[][] collectFolds(final int[] indices, final int[] foldOfPosition, final int[] foldSizes) {
+		int[][] folds = new int[foldSizes.length][];
+		for (int i = 0; i < folds.length; i++) {
+			folds[i] = new int[foldSizes[i]];
+		}
+		int[] fill = new int[folds.length];
+		for (int position = 0; position < indices.length; position++) {
+			int fold = foldOfPosition[position];
+			folds[fold][fill[fold]++] = indices[position];
+		}
+		return folds;
+	}
 
-		/* first assign one item of each class to each fold */
-		while (!indices.isEmpty()) {
-			int index = indices.poll();
-
-			/* determine fold where to place this instance */
-			String assignedClass = WekaUtil.getClassName(data.get(index));
-			int foldId = nextBinForClass.get(assignedClass);
-			if (folds[foldId] == null)
-				folds[foldId] = new ArrayList<>();
-			Collection<Integer> fold = folds[foldId];
-			fold.add(index);
-
-			/* update point for class */
-			numberOfInstancesPerClassAndFold.get(assignedClass).put(foldId, numberOfInstancesPerClassAndFold.get(assignedClass).get(foldId) - 1);
-			do {
-				foldId++;
-				if (foldId >= portions.length)
-					foldId = 0;
-			} while (numberOfInstancesPerClassAndFold.get(assignedClass).get(foldId) <= 0);
-			nextBinForClass.put(assignedClass, foldId);
-		}
-
-		assert Arrays.asList(folds).stream().mapToInt(l -> l.size()).sum() == data
-				.size() : "The number of instancens in the folds does not equal the number of instances in the original dataset";
+	@SuppressWarnings("unchecked")
+	private static Collection<Integer>[] toCollections(final int[][] split) {
+		Collection<Integer>[] folds = new ArrayList[split.length];
+		for (int i = 0; i < split.length; i++) {
+			List<Integer> fold = new ArrayList<>(split[i].length);
+			for (int index : split[i]) {
+				fold.add(index);
+			}
+			folds[i] = fold;
+		}
 		return folds;
 	}
 
@@ -950,33 +1123,114 @@ public class WekaUtil {
 		}
 	}
 
+	/**
+	 * Writes the given instances in the binary dataset format of {@link BinaryDatasetWriter}, which is much more compact and faster to
+	 * read than JSON. Only numeric and nominal attributes are supported, and instance weights are not stored.
+	 */
+	public static void instancesToBinary(final Instances data, final OutputStream out) throws IOException {
+		List<String> attributeNames = new ArrayList<>(data.numAttributes());
+		List<List<String>> nominalValues = new ArrayList<>(data.numAttributes());
+		for (int i = 0; i < data.numAttributes(); i++) {
+			Attribute attribute = data.attribute(i);
+			attributeNames.add(attribute.name());
+			if (attribute.isNumeric()) {
+				nominalValues.add(null);
+			} else if (attribute.isNominal()) {
+				List<String> values = new ArrayList<>(attribute.numValues());
+				for (int j = 0; j < attribute.numValues(); j++) {
+					values.add(attribute.value(j));
+				}
+				nominalValues.add(values);
+			} else {
+				throw new IllegalArgumentException("Attribute " + attribute.name() + " is neither numeric nor nominal and cannot be written in binary format.");
+			}
+		}
+		try (BinaryDatasetWriter writer = new BinaryDatasetWriter(out, new BinaryDatasetHeader(data.relationName(), attributeNames, nominalValues, data.classIndex()))) {
+			for (Instance instance : data) {
+				writer.writeRow(instance.toDoubleArray());
+			}
+		}
+	}
+
+	public static Instances binaryToInstances(final InputStream in) throws IOException {
+		try (BinaryDatasetReader reader = new BinaryDatasetReader(in)) {
+			return binaryToInstances(reader);
+		}
+	}
+
+	/**
+	 * Reads instances from a file in binary dataset format. The file is memory-mapped.
+	 */
+	public static Instances binaryToInstances(final File file) throws IOException {
+		try (BinaryDatasetReader reader = new BinaryDatasetReader(file)) {
+			return binaryToInstances(reader);
+		}
+	}
+
+	private static Instances binaryToInstances(final BinaryDatasetReader reader) throws IOException {
+		BinaryDatasetHeader header = reader.getHeader();
+		ArrayList<Attribute> attributes = new ArrayList<>(header.getNumberOfAttributes());
+		for (int i = 0; i < header.getNumberOfAttributes(); i++) {
+			String name = header.getAttributeNames().get(i);
+			attributes.add(header.isNominal(i) ? new Attribute(name, new ArrayList<>(header.getNominalValues(i))) : new Attribute(name));
+		}
+		Instances data = new Instances(header.getRelationName(), attributes, BinaryDatasetWriter.DEFAULT_BLOCK_SIZE);
+		data.setClassIndex(header.getClassIndex());
+		double[] values;
+		while ((values = reader.readRow()) != null) {
+			data.add(new DenseInstance(1.0, values));
+		}
+		return data;
+	}
+
 	/**
 	 * Compute indices of instances of the original data set that are contained in the given subset. This does only work for data sets that contain an instance at most once!
 	 *
+	 * If the subset knows the indices of its instances in the dataset (see {@link IInstancesWithProvenance}) and the instances still
+	 * match, these indices are returned. Otherwise, the instances are looked up in an {@link InstanceFingerprintIndex}.
+	 *
 	 * @param dataset
 	 * @param subset
 	 * @return
 	 */
 	public static int[] getIndicesOfContainedInstances(final Instances dataset, final Instances subset) {
-		int[] indices = new int[subset.size()];
-		InstanceComparator comp = new InstanceComparator();
+		int[] indices = getIndicesFromProvenance(dataset, subset);
+		if (indices != null) {
+			return indices;
+		}
+		indices = new int[subset.size()];
+		InstanceFingerprintIndex index = new InstanceFingerprintIndex(dataset);
 		for (int i = 0; i < indices.length; i++) {
 			Instance inst = subset.get(i);
-			int index = -1;
-			for (int j = 0; j < dataset.size(); j++) {
-				if (comp.compare(inst, dataset.get(j)) == 0) {
-					index = j;
-					break;
-				}
-			}
-			if (index == -1) {
+			indices[i] = index.indexOfOrScan(inst);
+			if (indices[i] == -1) {
 				throw new IllegalArgumentException("The instance " + inst + " is not contained in the given dataset.");
 			}
-			indices[i] = index;
 		}
 		return indices;
 	}
 
+	/**
+	 * @return A copy of the indices of the subset in the dataset if the subset stems from the dataset and its instances still match the
+	 *         ones at these indices, and null otherwise
+	 */
+	private static int[] getIndicesFromProvenance(final Instances dataset, final Instances subset) {
+		if (!(subset instanceof IInstancesWithProvenance) || ((IInstancesWithProvenance) subset).getOrigin() != dataset) {
+			return null;
+		}
+		int[] indices = ((IInstancesWithProvenance) subset).getIndicesInOrigin();
+		if (indices.length != subset.size()) {
+			return null;
+		}
+		InstanceComparator comp = new InstanceComparator();
+		for (int i = 0; i < indices.length; i++) {
+			if (indices[i] >= dataset.size() || comp.compare(subset.get(i), dataset.get(indices[i])) != 0) {
+				return null;
+			}
+		}
+		return indices.clone();
+	}
+
 	public static Instance useFilterOnSingleInstance(final Instance instance, final Filter filter) throws Exception {
 		Instances data = new Instances(instance.dataset());
 		data.clear();
@@ -1009,26 +1263,28 @@ public class WekaUtil {
 		return AbstractClassifier.makeCopy(c);
 	}
 
+	/**
+	 * Computes the rows of the data that contain the instances of the subset in ascending order. Instances of the subset that are not
+	 * contained in the data are skipped, so the remaining entries of the result are 0.
+	 */
 	public static int[] getIndicesOfSubset(final Instances data, final Instances subset) {
 
-		InstanceComparator comp = new InstanceComparator();
-		List<Instance> copy = new ArrayList<>(subset);
-
 		/* init rows object */
-		int[] result = new int[subset.size()];
-		int row = 0;
+		int[] result = getIndicesFromProvenance(data, subset);
+		if (result != null) {
+			Arrays.sort(result);
+			return result;
+		}
+		result = new int[subset.size()];
+		InstanceFingerprintIndex index = new InstanceFingerprintIndex(data);
 		int i = 0;
-		for (Instance ref : data) {
-			for (int j = 0; j < copy.size(); j++) {
-				Instance inst = copy.get(j);
-				if (inst != null && comp.compare(inst, ref) == 0) {
-					result[i++] = row;
-					copy.remove(j--);
-				}
+		for (Instance inst : subset) {
+			int row = index.indexOfOrScan(inst);
+			if (row >= 0) {
+				result[i++] = row;
 			}
-			row++;
-			System.out.println(i + "/" + copy.size());
 		}
+		Arrays.sort(result, 0, i);
 		return result;
 	}
 }
@@ -1,57 +1,249 @@
 package jaicore.ml.classification.multiclass.reduction;
 
-import java.util.HashMap;
-import java.util.concurrent.locks.Lock;
-import java.util.concurrent.locks.ReentrantLock;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeSet;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.AtomicLong;
 
-import org.apache.commons.lang3.builder.HashCodeBuilder;
+import com.google.common.collect.MapMaker;
 
-import jaicore.basic.sets.SetUtil.Pair;
+import jaicore.ml.IInstancesWithProvenance;
+import jaicore.ml.WekaUtil;
+import weka.classifiers.AbstractClassifier;
 import weka.classifiers.Classifier;
 import weka.core.Instances;
 
-public class ClassifierCache extends HashMap<Integer, Pair<Classifier, Instances>> {
+/**
+ * Bounded cache of classifiers that have been trained on a dataset whose classes have been merged into clusters, e.g. by the inner
+ * nodes of reduction trees. A classifier is identified by its configuration (class and options before training), the class clusters,
+ * and the training data. The training data are identified by the id of a dataset and the set of indices of the rows of this dataset
+ * they consist of. If the data are a fold of another dataset (see {@link IInstancesWithProvenance}), this is the dataset they stem
+ * from, and otherwise the data themselves. Datasets get their id when they are used for the first time and are only referenced weakly,
+ * so the cache does not keep them alive. Since datasets are identified by their identity, they must not be modified once classifiers
+ * trained on them have been cached.
+ *
+ * Since trained classifiers are mutable, the cache stores a copy of the classifier and returns a fresh copy on each hit. If the cache
+ * is full, the least recently used classifier is evicted.
+ */
+public class ClassifierCache {
+
+  public static final int DEFAULT_MAX_SIZE = 1000;
 
   /**
-   *
+   * Key of the training data of a classifier.
    */
-  private static final long serialVersionUID = -8463580964568016772L;
+  private static class DataKey {
+    private final long datasetId;
+    private final int numberOfRows;
+    private final int[] sortedRows; // null if all rows of the dataset are used
+    private final int hashCode;
+
+    private DataKey(final long datasetId, final int numberOfRows, final int[] rows) {
+      this.datasetId = datasetId;
+      this.numberOfRows = numberOfRows;
+      if (rows != null) {
+        this.sortedRows = Arrays.copyOf(rows, rows.length);
+        Arrays.sort(this.sortedRows);
+      } else {
+        this.sortedRows = null;
+      }
+      this.hashCode = 31 * (31 * Long.hashCode(datasetId) + numberOfRows) + Arrays.hashCode(this.sortedRows);
+    }
 
-  private Lock cacheLock = new ReentrantLock();
+    @Override
+    public int hashCode() {
+      return this.hashCode;
+    }
+
+    @Override
+    public boolean equals(final Object obj) {
+      if (this == obj) {
+        return true;
+      }
+      if (!(obj instanceof DataKey)) {
+        return false;
+      }
+      DataKey other = (DataKey) obj;
+      return this.datasetId == other.datasetId && this.numberOfRows == other.numberOfRows && Arrays.equals(this.sortedRows, other.sortedRows);
+    }
+  }
+
+  private static class ClassifierKey {
+    private final String classifierDescriptor;
+    private final List<Set<String>> clusters;
+    private final DataKey data;
+
+    private ClassifierKey(final String classifierDescriptor, final List<Set<String>> clusters, final DataKey data) {
+      this.classifierDescriptor = classifierDescriptor;
+      this.clusters = clusters;
+      this.data = data;
+    }
+
+    @Override
+    public int hashCode() {
+      final int prime = 31;
+      int result = 1;
+      result = prime * result + this.classifierDescriptor.hashCode();
+      result = prime * result + this.clusters.hashCode();
+      result = prime * result + this.data.hashCode();
+      return result;
+    }
+
+    @Override
+    public boolean equals(final Object obj) {
+      if (this == obj) {
+        return true;
+      }
+      if (!(obj instanceof ClassifierKey)) {
+        return false;
+      }
+      ClassifierKey other = (ClassifierKey) obj;
+      return this.classifierDescriptor.equals(other.classifierDescriptor) && this.clusters.equals(other.clusters) && this.data.equals(other.data);
+    }
+  }
+
+  private final Map<ClassifierKey, Classifier> classifiers;
+  private final ConcurrentMap<Instances, Long> datasetIds = new MapMaker().weakKeys().makeMap();
+  private final AtomicLong nextDatasetId = new AtomicLong();
+  private int hits;
+  private int misses;
 
   public ClassifierCache() {
+    this(DEFAULT_MAX_SIZE);
+  }
 
+  public ClassifierCache(final int maxSize) {
+    if (maxSize <= 0) {
+      throw new IllegalArgumentException("The size of the classifier cache must be positive but is " + maxSize);
+    }
+    this.classifiers = new LinkedHashMap<ClassifierKey, Classifier>(16, 0.75f, true) {
+      private static final long serialVersionUID = -8463580964568016772L;
+
+      @Override
+      protected boolean removeEldestEntry(final Map.Entry<ClassifierKey, Classifier> eldest) {
+        return this.size() > maxSize;
+      }
+    };
   }
 
-  public Classifier getCachedClassifier(final String classifierName, final EMCNodeType classificationStrategy, final Instances data) {
-    int hashCode = new HashCodeBuilder().append(classifierName).append(classificationStrategy).append(data.toString()).toHashCode();
-    Pair<Classifier, Instances> pair = this.get(hashCode);
-    if (pair == null) {
-      return null;
-    } else {
-      return this.get(hashCode).getX();
+  /**
+   * Computes the key of a classifier. The key should be computed before the classifier is trained, because training may change its
+   * options.
+   *
+   * @param classifier
+   *          The (untrained) classifier
+   * @param clusters
+   *          The clusters of class values whose instances are merged into one class each
+   * @param data
+   *          The training data before their classes are merged
+   * @return The key under which the trained classifier can be cached and retrieved
+   */
+  public Object getKey(final Classifier classifier, final List<Set<String>> clusters, final Instances data) {
+    Instances origin = data instanceof IInstancesWithProvenance ? ((IInstancesWithProvenance) data).getOrigin() : null;
+    if (origin != null && ((IInstancesWithProvenance) data).getIndicesInOrigin().length == data.size()) {
+      return this.getKey(classifier, clusters, this.getDatasetId(origin), ((IInstancesWithProvenance) data).getIndicesInOrigin());
     }
+    return this.getKey(classifier, clusters, this.getDatasetId(data), data.size(), null);
   }
 
-  public void cacheClassifier(final String classifierName, final EMCNodeType classificationStrategy, final Instances data, final Classifier classifier) {
-    // int hashCode = new
-    // HashCodeBuilder().append(classifierName).append(classificationStrategy).append(data.toString()).toHashCode();
-    // this.cacheLock.lock();
-    // try {
-    // this.put(hashCode, new Pair<>(classifier, data));
-    // } finally {
-    // this.cacheLock.unlock();
-    // }
+  /**
+   * Computes the key of a classifier that is trained on some rows of a dataset.
+   *
+   * @param classifier
+   *          The (untrained) classifier
+   * @param clusters
+   *          The clusters of class values whose instances are merged into one class each
+   * @param datasetId
+   *          An id of the dataset the training data stem from, e.g. one obtained by {@link #getDatasetId(Instances)}
+   * @param rows
+   *          The indices of the rows of the dataset the training data consist of; their order does not matter
+   * @return The key under which the trained classifier can be cached and retrieved
+   */
+  public Object getKey(final Classifier classifier, final List<Set<String>> clusters, final long datasetId, final int[] rows) {
+    return this.getKey(classifier, clusters, datasetId, rows.length, rows);
   }
 
-  public Instances getCachedTrainingData(final String classifierName, final EMCNodeType classificationStrategy, final Instances data) {
-    int hashCode = new HashCodeBuilder().append(classifierName).append(classificationStrategy).append(data.toString()).toHashCode();
-    Pair<Classifier, Instances> pair = this.get(hashCode);
-    if (pair == null) {
-      return null;
-    } else {
-      return this.get(hashCode).getY();
+  private Object getKey(final Classifier classifier, final List<Set<String>> clusters, final long datasetId, final int numberOfRows, final int[] rows) {
+    List<Set<String>> sortedClusters = new ArrayList<>(clusters.size());
+    for (Set<String> cluster : clusters) {
+      sortedClusters.add(new TreeSet<>(cluster));
     }
+    return new ClassifierKey(WekaUtil.getClassifierDescriptor(classifier), sortedClusters, new DataKey(datasetId, numberOfRows, rows));
   }
 
+  /**
+   * @return The id of the given dataset in this cache; the same object always gets the same id, and different objects get different ones
+   */
+  public long getDatasetId(final Instances data) {
+    return this.datasetIds.computeIfAbsent(data, d -> this.nextDatasetId.getAndIncrement());
+  }
+
+  /**
+   * @return A copy of the classifier cached under the given key or null if there is none
+   */
+  public Classifier getCachedClassifier(final Object key) throws Exception {
+    Classifier classifier;
+    synchronized (this.classifiers) {
+      classifier = this.classifiers.get(key);
+      if (classifier == null) {
+        this.misses++;
+        return null;
+      }
+      this.hits++;
+    }
+    return AbstractClassifier.makeCopy(classifier);
+  }
+
+  /**
+   * Caches a copy of the given trained classifier under the given key.
+   */
+  public void cacheClassifier(final Object key, final Classifier classifier) throws Exception {
+    if (!(key instanceof ClassifierKey)) {
+      throw new IllegalArgumentException("Keys must be computed with getKey but " + key + " has been given.");
+    }
+    Classifier copy = AbstractClassifier.makeCopy(classifier);
+    synchronized (this.classifiers) {
+      this.classifiers.put((ClassifierKey) key, copy);
+    }
+  }
+
+  public int size() {
+    synchronized (this.classifiers) {
+      return this.classifiers.size();
+    }
+  }
+
+  public void clear() {
+    synchronized (this.classifiers) {
+      this.classifiers.clear();
+      this.hits = 0;
+      this.misses = 0;
+    }
+  }
+
+  public int getHits() {
+    synchronized (this.classifiers) {
+      return this.hits;
+    }
+  }
+
+  public int getMisses() {
+    synchronized (this.classifiers) {
+      return this.misses;
+    }
+  }
+
+  /**
+   * @return The fraction of lookups that have been answered from the cache or 0 if there have been no lookups
+   */
+  public double getHitRate() {
+    synchronized (this.classifiers) {
+      return this.hits + this.misses == 0 ? 0 : this.hits / (double) (this.hits + this.misses);
+    }
+  }
 }
@@ -6,20 +6,13 @@ import jaicore.ml.WekaUtil;
 import java.io.Serializable;
 import java.util.ArrayList;
 import java.util.Collection;
-import java.util.HashMap;
 import java.util.HashSet;
 import java.util.Iterator;
 import java.util.List;
-import java.util.Map;
 import java.util.Set;
-import java.util.concurrent.atomic.AtomicInteger;
-import java.util.concurrent.locks.Lock;
-import java.util.concurrent.locks.ReentrantLock;
 import java.util.stream.Collectors;
 import java.util.stream.IntStream;
 
-import org.apache.commons.lang3.builder.HashCodeBuilder;
-
 import weka.classifiers.AbstractClassifier;
 import weka.classifiers.Classifier;
 import weka.classifiers.meta.MultiClassClassifier;
@@ -43,9 +36,7 @@ public class MCTreeNode implements Classifier, ITreeClassifier, Serializable, It
   private boolean trained = false;
   private boolean fromCache = false;
 
-  public static AtomicInteger cacheRetrievals = new AtomicInteger();
-  private static Map<String, Classifier> classifierCacheMap = new HashMap<>();
-  private static Lock classifierCacheMapLock = new ReentrantLock();
+  private static ClassifierCache classifierCache = new ClassifierCache();
 
   public MCTreeNode(Classifier left, Classifier right, String baseClassifier) {
 	  containedClasses = new ArrayList<>();
@@ -119,38 +110,22 @@ public class MCTreeNode implements Classifier, ITreeClassifier, Serializable, It
       index++;
     }
 
-    String classifierKey = this.classifier.getClass().getName() + "#" + instancesCluster + "#" + data.size() + "#" + new HashCodeBuilder().append(data.toString()).toHashCode();
-
-    // refactor training data with respect to the split clusters and build the classifier
-    Instances trainingData = WekaUtil.mergeClassesOfInstances(data, instancesCluster);
-
-    Classifier cachedClassifier = null;
-    classifierCacheMapLock.lock();
-    try {
-      cachedClassifier = AbstractClassifier.makeCopy(classifierCacheMap.get(classifierKey));
-      this.fromCache = true;
-    } finally {
-      classifierCacheMapLock.unlock();
-    }
-    cachedClassifier = null;
-
+    Object classifierKey = classifierCache.getKey(this.classifier, instancesCluster, data);
+    Classifier cachedClassifier = classifierCache.getCachedClassifier(classifierKey);
+    this.fromCache = cachedClassifier != null;
     if (cachedClassifier != null) {
       this.classifier = cachedClassifier;
     } else {
+
+      // refactor training data with respect to the split clusters and build the classifier
+      Instances trainingData = WekaUtil.mergeClassesOfInstances(data, instancesCluster);
       try {
         this.classifier.buildClassifier(trainingData);
       } catch (WekaException e) {
         this.classifier = new MajorityClassifier();
         this.classifier.buildClassifier(trainingData);
       }
-
-      classifierCacheMapLock.lock();
-      try {
-        classifierCacheMap.put(classifierKey, this.classifier);
-      } finally {
-        classifierCacheMapLock.unlock();
-      }
-
+      classifierCache.cacheClassifier(classifierKey, this.classifier);
     }
 
     // recursively build classifiers for children
@@ -225,11 +200,25 @@ public class MCTreeNode implements Classifier, ITreeClassifier, Serializable, It
   }
 
   public static void clearCache() {
-    classifierCacheMap.clear();
+    classifierCache.clear();
+  }
+
+  public static ClassifierCache getClassifierCache() {
+    return classifierCache;
   }
 
-  public static Map<String, Classifier> getClassifierCache() {
-    return classifierCacheMap;
+  /**
+   * Replaces the cache shared by all nodes, e.g. by one with a different size.
+   */
+  public static void setClassifierCache(final ClassifierCache classifierCache) {
+    MCTreeNode.classifierCache = classifierCache;
+  }
+
+  /**
+   * @return Whether the classifier of this node has been taken from the cache in the last call of buildClassifier
+   */
+  public boolean isFromCache() {
+    return this.fromCache;
   }
 
   public Classifier getClassifier() {
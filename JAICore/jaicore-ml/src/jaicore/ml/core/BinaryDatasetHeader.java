@@ -0,0 +1,124 @@
+package jaicore.ml.core;
+
+import java.io.DataInput;
+import java.io.DataOutput;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Header of the binary dataset format written by {@link BinaryDatasetWriter} and read by {@link BinaryDatasetReader}. It describes the
+ * attributes of the dataset: each attribute is either numeric or nominal, and values of nominal attributes are stored as the index of
+ * the value in the list of declared values (as in WEKA). One attribute may be declared as the class attribute.
+ */
+public class BinaryDatasetHeader {
+
+	static final int MAGIC = 0x4A414944; // "JAID"
+	static final short VERSION = 1;
+
+	private final String relationName;
+	private final List<String> attributeNames;
+	private final List<List<String>> nominalValues;
+	private final int classIndex;
+
+	/**
+	 * @param relationName
+	 *            The name of the dataset
+	 * @param attributeNames
+	 *            The names of the attributes
+	 * @param nominalValues
+	 *            For each attribute, the list of its values if it is nominal or null if it is numeric
+	 * @param classIndex
+	 *            The index of the class attribute or -1 if there is none
+	 */
+	public BinaryDatasetHeader(final String relationName, final List<String> attributeNames, final List<List<String>> nominalValues, final int classIndex) {
+		super();
+		if (attributeNames.size() != nominalValues.size()) {
+			throw new IllegalArgumentException("Got " + attributeNames.size() + " attribute names but " + nominalValues.size() + " declarations of nominal values.");
+		}
+		if (classIndex < -1 || classIndex >= attributeNames.size()) {
+			throw new IllegalArgumentException("Class index " + classIndex + " is not valid for " + attributeNames.size() + " attributes.");
+		}
+		this.relationName = relationName;
+		this.attributeNames = new ArrayList<>(attributeNames);
+		this.nominalValues = new ArrayList<>(nominalValues);
+		this.classIndex = classIndex;
+	}
+
+	public String getRelationName() {
+		return this.relationName;
+	}
+
+	public int getNumberOfAttributes() {
+		return this.attributeNames.size();
+	}
+
+	public List<String> getAttributeNames() {
+		return Collections.unmodifiableList(this.attributeNames);
+	}
+
+	public boolean isNominal(final int attribute) {
+		return this.nominalValues.get(attribute) != null;
+	}
+
+	/**
+	 * @return The declared values of the given attribute or null if it is numeric
+	 */
+	public List<String> getNominalValues(final int attribute) {
+		List<String> values = this.nominalValues.get(attribute);
+		return values != null ? Collections.unmodifiableList(values) : null;
+	}
+
+	public int getClassIndex() {
+		return this.classIndex;
+	}
+
+	void write(final DataOutput out) throws IOException {
+		out.writeInt(MAGIC);
+		out.writeShort(VERSION);
+		out.writeUTF(this.relationName);
+		out.writeInt(this.attributeNames.size());
+		for (int i = 0; i < this.attributeNames.size(); i++) {
+			out.writeUTF(this.attributeNames.get(i));
+			List<String> values = this.nominalValues.get(i);
+			if (values == null) {
+				out.writeInt(-1);
+			} else {
+				out.writeInt(values.size());
+				for (String value : values) {
+					out.writeUTF(value);
+				}
+			}
+		}
+		out.writeInt(this.classIndex);
+	}
+
+	static BinaryDatasetHeader read(final DataInput in) throws IOException {
+		if (in.readInt() != MAGIC) {
+			throw new IOException("Input is not a binary dataset.");
+		}
+		short version = in.readShort();
+		if (version != VERSION) {
+			throw new IOException("Unsupported version " + version + " of binary dataset format.");
+		}
+		String relationName = in.readUTF();
+		int numAttributes = in.readInt();
+		List<String> attributeNames = new ArrayList<>(numAttributes);
+		List<List<String>> nominalValues = new ArrayList<>(numAttributes);
+		for (int i = 0; i < numAttributes; i++) {
+			attributeNames.add(in.readUTF());
+			int numValues = in.readInt();
+			if (numValues < 0) {
+				nominalValues.add(null);
+			} else {
+				List<String> values = new ArrayList<>(numValues);
+				for (int j = 0; j < numValues; j++) {
+					values.add(in.readUTF());
+				}
+				nominalValues.add(values);
+			}
+		}
+		return new BinaryDatasetHeader(relationName, attributeNames, nominalValues, in.readInt());
+	}
+}
@@ -0,0 +1,185 @@
+package jaicore.ml.core;
+
+import java.io.BufferedInputStream;
+import java.io.Closeable;
+import java.io.DataInputStream;
+import java.io.EOFException;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.RandomAccessFile;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.channels.FileChannel.MapMode;
+import java.util.List;
+
+/**
+ * Reads datasets written by {@link BinaryDatasetWriter}. Rows are read one by one, so datasets do not need to be held in memory. Files
+ * are memory-mapped (unless they are too large for a single mapping), so blocks are copied directly from the page cache into the
+ * column arrays.
+ */
+public class BinaryDatasetReader implements Closeable {
+
+	private final Closeable source;
+	private final DataInputStream in;
+	private final ByteBuffer mappedFile;
+	private final BinaryDatasetHeader header;
+	private double[][] block = new double[0][0];
+	private byte[] buffer = new byte[0];
+	private int rowsInBlock;
+	private int nextRowInBlock;
+	private boolean finished;
+
+	/**
+	 * Reads a dataset from the given stream.
+	 */
+	public BinaryDatasetReader(final InputStream in) throws IOException {
+		this.source = in;
+		this.in = new DataInputStream(new BufferedInputStream(in));
+		this.mappedFile = null;
+		this.header = BinaryDatasetHeader.read(this.in);
+	}
+
+	/**
+	 * Reads a dataset from the given file, which is memory-mapped if possible.
+	 */
+	public BinaryDatasetReader(final File file) throws IOException {
+		if (file.length() > Integer.MAX_VALUE) {
+			FileInputStream stream = new FileInputStream(file);
+			this.source = stream;
+			this.in = new DataInputStream(new BufferedInputStream(stream));
+			this.mappedFile = null;
+			this.header = BinaryDatasetHeader.read(this.in);
+		} else {
+			try (RandomAccessFile raf = new RandomAccessFile(file, "r"); FileChannel channel = raf.getChannel()) {
+				this.mappedFile = channel.map(MapMode.READ_ONLY, 0, channel.size());
+			}
+			this.source = null;
+			this.in = null;
+			this.header = BinaryDatasetHeader.read(new DataInputStream(new InputStream() {
+				@Override
+				public int read() throws IOException {
+					return BinaryDatasetReader.this.mappedFile.hasRemaining() ? BinaryDatasetReader.this.mappedFile.get() & 0xFF : -1;
+				}
+			}));
+		}
+	}
+
+	public BinaryDatasetHeader getHeader() {
+		return this.header;
+	}
+
+	/**
+	 * Reads the next row into the given array.
+	 *
+	 * @return false if there are no more rows
+	 */
+	public boolean readRow(final double[] values) throws IOException {
+		if (values.length != this.header.getNumberOfAttributes()) {
+			throw new IllegalArgumentException("Cannot read row of dataset with " + this.header.getNumberOfAttributes() + " attributes into array of length " + values.length);
+		}
+		if (this.nextRowInBlock == this.rowsInBlock && !this.readBlock()) {
+			return false;
+		}
+		for (int column = 0; column < values.length; column++) {
+			values[column] = this.block[column][this.nextRowInBlock];
+		}
+		this.nextRowInBlock++;
+		return true;
+	}
+
+	/**
+	 * @return The next row or null if there are no more rows
+	 */
+	public double[] readRow() throws IOException {
+		double[] values = new double[this.header.getNumberOfAttributes()];
+		return this.readRow(values) ? values : null;
+	}
+
+	private boolean readBlock() throws IOException {
+		if (this.finished) {
+			return false;
+		}
+		int rows = this.mappedFile != null ? this.mappedFile.getInt() : this.in.readInt();
+		if (rows == 0) {
+			this.finished = true;
+			return false;
+		}
+		if (rows < 0) {
+			throw new IOException("Corrupt block with " + rows + " rows.");
+		}
+		int numAttributes = this.header.getNumberOfAttributes();
+		if (this.block.length != numAttributes || this.block.length > 0 && this.block[0].length < rows) {
+			this.block = new double[numAttributes][rows];
+		}
+		for (double[] column : this.block) {
+			if (this.mappedFile != null) {
+				if (this.mappedFile.remaining() < 8 * rows) {
+					throw new EOFException("Dataset ends within a block.");
+				}
+				this.mappedFile.asDoubleBuffer().get(column, 0, rows);
+				this.mappedFile.position(this.mappedFile.position() + 8 * rows);
+			} else {
+				if (this.buffer.length < 8 * rows) {
+					this.buffer = new byte[8 * rows];
+				}
+				this.in.readFully(this.buffer, 0, 8 * rows);
+				ByteBuffer.wrap(this.buffer, 0, 8 * rows).asDoubleBuffer().get(column, 0, rows);
+			}
+		}
+		this.rowsInBlock = rows;
+		this.nextRowInBlock = 0;
+		return true;
+	}
+
+	/**
+	 * Reads all remaining rows into a columnar dataset. All attributes, including a possible class attribute, become columns.
+	 */
+	public ColumnarInstancesImpl readInstances() throws IOException {
+		ColumnarInstancesImpl instances = new ColumnarInstancesImpl(this.header.getNumberOfAttributes(), BinaryDatasetWriter.DEFAULT_BLOCK_SIZE);
+		double[] values = new double[this.header.getNumberOfAttributes()];
+		while (this.readRow(values)) {
+			instances.add(values);
+		}
+		return instances;
+	}
+
+	/**
+	 * Reads all remaining rows into a labeled columnar dataset. The dataset must have a nominal class attribute.
+	 *
+	 * @throws IOException
+	 *             if a row has a missing class value, which labeled instances cannot represent, or a class value that is not declared in the header
+	 */
+	public ColumnarLabeledInstancesImpl readLabeledInstances() throws IOException {
+		int classIndex = this.header.getClassIndex();
+		if (classIndex < 0 || !this.header.isNominal(classIndex)) {
+			throw new IllegalStateException("Cannot read labeled instances from a dataset without nominal class attribute.");
+		}
+		int numAttributes = this.header.getNumberOfAttributes();
+		ColumnarLabeledInstancesImpl instances = new ColumnarLabeledInstancesImpl(numAttributes - 1, BinaryDatasetWriter.DEFAULT_BLOCK_SIZE);
+		double[] row = new double[numAttributes];
+		double[] values = new double[numAttributes - 1];
+		List<String> labels = this.header.getNominalValues(classIndex);
+		while (this.readRow(row)) {
+			double label = row[classIndex];
+			if (Double.isNaN(label)) {
+				throw new IOException("Row " + instances.size() + " has a missing class value, which labeled instances cannot represent.");
+			}
+			if (label < 0 || label >= labels.size() || label != (int) label) {
+				throw new IOException("Row " + instances.size() + " has the class value " + label + ", but only " + labels.size() + " labels are declared.");
+			}
+			System.arraycopy(row, 0, values, 0, classIndex);
+			System.arraycopy(row, classIndex + 1, values, classIndex, numAttributes - classIndex - 1);
+			instances.add(values, labels.get((int) label));
+		}
+		return instances;
+	}
+
+	@Override
+	public void close() throws IOException {
+		if (this.source != null) {
+			this.source.close();
+		}
+	}
+}
@@ -0,0 +1,184 @@
+package jaicore.ml.core;
+
+import java.io.BufferedOutputStream;
+import java.io.Closeable;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.ByteBuffer;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import jaicore.ml.interfaces.Instance;
+import jaicore.ml.interfaces.Instances;
+import jaicore.ml.interfaces.LabeledInstance;
+import jaicore.ml.interfaces.LabeledInstances;
+
+/**
+ * Writes datasets in a compact binary format that can be read by {@link BinaryDatasetReader}. Rows are written one by one, so datasets
+ * do not need to be held in memory.
+ *
+ * The format consists of a {@link BinaryDatasetHeader} followed by blocks of rows. Each block starts with the number of its rows and
+ * then contains the values of the first column for these rows, followed by the values of the second column and so on. Values are
+ * 8-byte big-endian doubles (missing values are NaN). A block with 0 rows terminates the dataset.
+ */
+public class BinaryDatasetWriter implements Closeable {
+
+	public static final int DEFAULT_BLOCK_SIZE = 4096;
+
+	private final DataOutputStream out;
+	private final BinaryDatasetHeader header;
+	private final int blockSize;
+	private final double[][] block;
+	private final ByteBuffer buffer;
+	private int rowsInBlock;
+	private boolean closed;
+
+	public BinaryDatasetWriter(final OutputStream out, final BinaryDatasetHeader header) throws IOException {
+		this(out, header, DEFAULT_BLOCK_SIZE);
+	}
+
+	public BinaryDatasetWriter(final OutputStream out, final BinaryDatasetHeader header, final int blockSize) throws IOException {
+		if (blockSize <= 0) {
+			throw new IllegalArgumentException("Block size must be positive but is " + blockSize);
+		}
+		this.out = new DataOutputStream(new BufferedOutputStream(out));
+		this.header = header;
+		this.blockSize = blockSize;
+		this.block = new double[header.getNumberOfAttributes()][blockSize];
+		this.buffer = ByteBuffer.allocate(8 * blockSize);
+		header.write(this.out);
+	}
+
+	public BinaryDatasetHeader getHeader() {
+		return this.header;
+	}
+
+	/**
+	 * @param values
+	 *            The values of the row. Values of nominal attributes are the indices of the values in the header.
+	 */
+	public void writeRow(final double[] values) throws IOException {
+		if (this.closed) {
+			throw new IllegalStateException("Writer has already been closed.");
+		}
+		if (values.length != this.block.length) {
+			throw new IllegalArgumentException("Cannot write " + values.length + "-valued row to dataset with " + this.block.length + " attributes.");
+		}
+		for (int column = 0; column < values.length; column++) {
+			this.block[column][this.rowsInBlock] = values[column];
+		}
+		this.rowsInBlock++;
+		if (this.rowsInBlock == this.blockSize) {
+			this.writeBlock();
+		}
+	}
+
+	private void writeBlock() throws IOException {
+		if (this.rowsInBlock == 0) {
+			return;
+		}
+		this.out.writeInt(this.rowsInBlock);
+		for (double[] column : this.block) {
+			this.buffer.clear();
+			this.buffer.asDoubleBuffer().put(column, 0, this.rowsInBlock);
+			this.out.write(this.buffer.array(), 0, 8 * this.rowsInBlock);
+		}
+		this.rowsInBlock = 0;
+	}
+
+	/**
+	 * Writes all complete rows to the underlying stream. This ends the current block.
+	 */
+	public void flush() throws IOException {
+		this.writeBlock();
+		this.out.flush();
+	}
+
+	/**
+	 * Writes the remaining rows and the end of the dataset and closes the underlying stream.
+	 */
+	@Override
+	public void close() throws IOException {
+		if (this.closed) {
+			return;
+		}
+		this.writeBlock();
+		this.out.writeInt(0);
+		this.closed = true;
+		this.out.close();
+	}
+
+	/**
+	 * Writes the given dataset with numeric attributes a1, ..., an.
+	 */
+	public static void write(final Instances instances, final OutputStream out) throws IOException {
+		int numAttributes = Math.max(0, instances.getNumberOfColumns());
+		List<String> attributeNames = new ArrayList<>(numAttributes);
+		List<List<String>> nominalValues = new ArrayList<>(numAttributes);
+		for (int i = 1; i <= numAttributes; i++) {
+			attributeNames.add("a" + i);
+			nominalValues.add(null);
+		}
+		try (BinaryDatasetWriter writer = new BinaryDatasetWriter(out, new BinaryDatasetHeader("JAICore-extracted dataset", attributeNames, nominalValues, -1))) {
+			if (instances instanceof ColumnarInstancesImpl) {
+				ColumnarInstancesImpl columnar = (ColumnarInstancesImpl) instances;
+				for (int row = 0; row < columnar.size(); row++) {
+					writer.writeRow(columnar.toDoubleArray(row));
+				}
+			} else {
+				double[] values = new double[numAttributes];
+				for (Instance instance : instances) {
+					for (int i = 0; i < numAttributes; i++) {
+						values[i] = instance.get(i);
+					}
+					writer.writeRow(values);
+				}
+			}
+		}
+	}
+
+	/**
+	 * Writes the given dataset with numeric attributes a1, ..., an and a nominal class attribute "label" with the occurring labels as
+	 * values, which is the last attribute.
+	 */
+	public static void write(final LabeledInstances<String> instances, final OutputStream out) throws IOException {
+		int numAttributes = Math.max(0, instances.getNumberOfColumns());
+		List<String> attributeNames = new ArrayList<>(numAttributes + 1);
+		List<List<String>> nominalValues = new ArrayList<>(numAttributes + 1);
+		for (int i = 1; i <= numAttributes; i++) {
+			attributeNames.add("a" + i);
+			nominalValues.add(null);
+		}
+		List<String> labels = instances.getOccurringLabels();
+		Map<String, Integer> indicesOfLabels = new HashMap<>();
+		for (String label : labels) {
+			indicesOfLabels.put(label, indicesOfLabels.size());
+		}
+		attributeNames.add("label");
+		nominalValues.add(labels);
+		try (BinaryDatasetWriter writer = new BinaryDatasetWriter(out, new BinaryDatasetHeader("JAICore-extracted dataset", attributeNames, nominalValues, numAttributes))) {
+			double[] values = new double[numAttributes + 1];
+			if (instances instanceof ColumnarLabeledInstancesImpl) {
+				ColumnarLabeledInstancesImpl columnar = (ColumnarLabeledInstancesImpl) instances;
+				for (int row = 0; row < columnar.size(); row++) {
+					for (int i = 0; i < numAttributes; i++) {
+						values[i] = columnar.getValue(row, i);
+					}
+					values[numAttributes] = indicesOfLabels.get(columnar.getLabel(row));
+					writer.writeRow(values);
+				}
+			} else {
+				for (LabeledInstance<String> instance : instances) {
+					for (int i = 0; i < numAttributes; i++) {
+						values[i] = instance.get(i);
+					}
+					values[numAttributes] = indicesOfLabels.get(instance.getLabel());
+					writer.writeRow(values);
+				}
+			}
+		}
+	}
+}
@@ -0,0 +1,345 @@
+package jaicore.ml.core;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.AbstractList;
+import java.util.Arrays;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ArrayNode;
+
+import jaicore.basic.FileUtil;
+import jaicore.ml.interfaces.Instance;
+import jaicore.ml.interfaces.Instances;
+
+/**
+ * Dataset that stores the values of each column in a primitive double array instead of boxing every value as in
+ * {@link SimpleInstancesImpl}. Use {@link #getValue(int, int)} and {@link #setValue(int, int, double)} to access values without boxing.
+ *
+ * The instances returned by {@link #get(int)}, the columns returned by {@link #getColumn(int)}, and the datasets returned by
+ * {@link #getRows(int...)} are views that are backed by this dataset, i.e. no values are copied, and changes of values are visible
+ * in both directions. Views of rows cannot be extended; instances can only be added to the original dataset.
+ */
+public class ColumnarInstancesImpl extends AbstractList<Instance> implements Instances {
+
+	/**
+	 * The storage is shared among a dataset and its views. The column arrays are replaced when the dataset grows, so views must always
+	 * access them through the storage.
+	 */
+	private static class Storage {
+		private double[][] columns;
+		private int numRows;
+		private int numColumns = -1;
+	}
+
+	private final Storage storage;
+	private final int[] rowIndices;
+
+	public ColumnarInstancesImpl() {
+		this(new Storage(), null);
+	}
+
+	public ColumnarInstancesImpl(final int numColumns, final int initialCapacity) {
+		this();
+		this.storage.numColumns = numColumns;
+		this.storage.columns = new double[numColumns][initialCapacity];
+	}
+
+	public ColumnarInstancesImpl(final String json) throws IOException {
+		this();
+		this.addAllFromJson(json);
+	}
+
+	public ColumnarInstancesImpl(final JsonNode jsonNode) {
+		this();
+		this.addAllFromJson(jsonNode);
+	}
+
+	public ColumnarInstancesImpl(final File jsonFile) throws IOException {
+		this();
+		this.addAllFromJson(jsonFile);
+	}
+
+	private ColumnarInstancesImpl(final Storage storage, final int[] rowIndices) {
+		this.storage = storage;
+		this.rowIndices = rowIndices;
+	}
+
+	public boolean add(final double[] values) {
+		if (this.rowIndices != null) {
+			throw new UnsupportedOperationException("Cannot add instances to a view of a dataset.");
+		}
+
+		/* check instance format */
+		if (this.storage.numColumns < 0) {
+			this.storage.numColumns = values.length;
+			this.storage.columns = new double[values.length][16];
+		} else if (this.storage.numColumns != values.length) {
+			throw new IllegalArgumentException("Cannot add " + values.length + "-valued instance to dataset with " + this.storage.numColumns + " instances.");
+		}
+
+		int row = this.storage.numRows;
+		for (int column = 0; column < values.length; column++) {
+			double[] columnValues = this.storage.columns[column];
+			if (row == columnValues.length) {
+				columnValues = Arrays.copyOf(columnValues, Math.max(16, 2 * row));
+				this.storage.columns[column] = columnValues;
+			}
+			columnValues[row] = values[column];
+		}
+		this.storage.numRows++;
+		this.modCount++;
+		return true;
+	}
+
+	@Override
+	public boolean add(final Instance instance) {
+		if (instance instanceof Row) {
+			return this.add(((Row) instance).toDoubleArray());
+		}
+		double[] values = new double[instance.getNumberOfColumns()];
+		for (int i = 0; i < values.length; i++) {
+			values[i] = instance.get(i);
+		}
+		return this.add(values);
+	}
+
+	/**
+	 * @return A view of the given row
+	 */
+	@Override
+	public Row get(final int row) {
+		return new Row(this, this.getPhysicalRow(row));
+	}
+
+	/**
+	 * @return A view of the given column
+	 */
+	public Column getColumn(final int column) {
+		this.checkColumn(column);
+		return new Column(column);
+	}
+
+	/**
+	 * @return A view of the dataset that only contains the given rows in the given order
+	 */
+	public ColumnarInstancesImpl getRows(final int... rows) {
+		int[] physicalRows = new int[rows.length];
+		for (int i = 0; i < rows.length; i++) {
+			physicalRows[i] = this.getPhysicalRow(rows[i]);
+		}
+		return new ColumnarInstancesImpl(this.storage, physicalRows);
+	}
+
+	public double getValue(final int row, final int column) {
+		this.checkColumn(column);
+		return this.storage.columns[column][this.getPhysicalRow(row)];
+	}
+
+	public void setValue(final int row, final int column, final double value) {
+		this.checkColumn(column);
+		this.storage.columns[column][this.getPhysicalRow(row)] = value;
+	}
+
+	/**
+	 * @return A copy of the values of the given row
+	 */
+	public double[] toDoubleArray(final int row) {
+		return this.get(row).toDoubleArray();
+	}
+
+	/**
+	 * Maps the index of a row in this dataset (which may be a view) to the index of the row in the storage.
+	 */
+	int getPhysicalRow(final int row) {
+		if (row < 0 || row >= this.size()) {
+			throw new IndexOutOfBoundsException("Row " + row + " does not exist in dataset with " + this.size() + " rows.");
+		}
+		return this.rowIndices != null ? this.rowIndices[row] : row;
+	}
+
+	private void checkColumn(final int column) {
+		if (column < 0 || column >= this.storage.numColumns) {
+			throw new IndexOutOfBoundsException("Column " + column + " does not exist in dataset with " + this.storage.numColumns + " columns.");
+		}
+	}
+
+	@Override
+	public int size() {
+		return this.rowIndices != null ? this.rowIndices.length : this.storage.numRows;
+	}
+
+	@Override
+	public int getNumberOfRows() {
+		return this.size();
+	}
+
+	@Override
+	public int getNumberOfColumns() {
+		return this.storage.numColumns;
+	}
+
+	ArrayNode toJsonArray(final ObjectMapper om) {
+		ArrayNode instances = om.createArrayNode();
+		for (int row = 0; row < this.size(); row++) {
+			ArrayNode instance = instances.addArray();
+			int physicalRow = this.getPhysicalRow(row);
+			for (int column = 0; column < this.storage.numColumns; column++) {
+				instance.add(this.storage.columns[column][physicalRow]);
+			}
+		}
+		return instances;
+	}
+
+	@Override
+	public String toJson() {
+		ObjectMapper om = new ObjectMapper();
+		try {
+			return om.writeValueAsString(this.toJsonArray(om));
+		} catch (JsonProcessingException e) {
+			e.printStackTrace();
+			return null;
+		}
+	}
+
+	@Override
+	public void addAllFromJson(final String json) throws IOException {
+		this.addAllFromJson(new ObjectMapper().readTree(json));
+	}
+
+	public void addAllFromJson(final JsonNode jsonNode) {
+		if (!jsonNode.isArray()) {
+			throw new IllegalArgumentException("Root node from parsed JSON tree is not an array!");
+		}
+		for (JsonNode instanceAsJson : jsonNode) {
+			double[] values = new double[instanceAsJson.size()];
+			int i = 0;
+			for (JsonNode val : instanceAsJson) {
+				values[i++] = val.asDouble();
+			}
+			this.add(values);
+		}
+	}
+
+	@Override
+	public void addAllFromJson(final File jsonFile) throws IOException {
+		this.addAllFromJson(FileUtil.readFileAsString(jsonFile));
+	}
+
+	/**
+	 * View of a single row of a {@link ColumnarInstancesImpl}.
+	 */
+	public static class Row extends AbstractList<Double> implements Instance {
+		private final ColumnarInstancesImpl dataset;
+		private final int physicalRow;
+
+		protected Row(final ColumnarInstancesImpl dataset, final int physicalRow) {
+			this.dataset = dataset;
+			this.physicalRow = physicalRow;
+		}
+
+		public double getValue(final int column) {
+			this.dataset.checkColumn(column);
+			return this.dataset.storage.columns[column][this.physicalRow];
+		}
+
+		public void setValue(final int column, final double value) {
+			this.dataset.checkColumn(column);
+			this.dataset.storage.columns[column][this.physicalRow] = value;
+		}
+
+		public double[] toDoubleArray() {
+			double[][] columns = this.dataset.storage.columns;
+			double[] values = new double[columns.length];
+			for (int column = 0; column < values.length; column++) {
+				values[column] = columns[column][this.physicalRow];
+			}
+			return values;
+		}
+
+		@Override
+		public Double get(final int column) {
+			return this.getValue(column);
+		}
+
+		@Override
+		public Double set(final int column, final Double value) {
+			double oldValue = this.getValue(column);
+			this.setValue(column, value);
+			return oldValue;
+		}
+
+		@Override
+		public int size() {
+			return this.dataset.storage.numColumns;
+		}
+
+		@Override
+		public int getNumberOfColumns() {
+			return this.size();
+		}
+
+		protected int getPhysicalRow() {
+			return this.physicalRow;
+		}
+
+		@Override
+		public String toJson() {
+			try {
+				return new ObjectMapper().writeValueAsString(this.toDoubleArray());
+			} catch (JsonProcessingException e) {
+				e.printStackTrace();
+				return null;
+			}
+		}
+	}
+
+	/**
+	 * View of a single column of a {@link ColumnarInstancesImpl}.
+	 */
+	public class Column extends AbstractList<Double> {
+		private final int column;
+
+		private Column(final int column) {
+			this.column = column;
+		}
+
+		public double getValue(final int row) {
+			return ColumnarInstancesImpl.this.storage.columns[this.column][ColumnarInstancesImpl.this.getPhysicalRow(row)];
+		}
+
+		public void setValue(final int row, final double value) {
+			ColumnarInstancesImpl.this.storage.columns[this.column][ColumnarInstancesImpl.this.getPhysicalRow(row)] = value;
+		}
+
+		public double[] toDoubleArray() {
+			if (ColumnarInstancesImpl.this.rowIndices == null) {
+				return Arrays.copyOf(ColumnarInstancesImpl.this.storage.columns[this.column], ColumnarInstancesImpl.this.storage.numRows);
+			}
+			double[] values = new double[this.size()];
+			for (int row = 0; row < values.length; row++) {
+				values[row] = this.getValue(row);
+			}
+			return values;
+		}
+
+		@Override
+		public Double get(final int row) {
+			return this.getValue(row);
+		}
+
+		@Override
+		public Double set(final int row, final Double value) {
+			double oldValue = this.getValue(row);
+			this.setValue(row, value);
+			return oldValue;
+		}
+
+		@Override
+		public int size() {
+			return ColumnarInstancesImpl.this.size();
+		}
+	}
+}
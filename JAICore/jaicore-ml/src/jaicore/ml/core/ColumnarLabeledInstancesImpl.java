@@ -0,0 +1,286 @@
+package jaicore.ml.core;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.AbstractList;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ArrayNode;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+
+import jaicore.basic.FileUtil;
+import jaicore.ml.interfaces.LabeledInstance;
+import jaicore.ml.interfaces.LabeledInstances;
+
+/**
+ * Labeled counterpart of {@link ColumnarInstancesImpl}. The attribute values are held in a {@link ColumnarInstancesImpl}, and the label
+ * of each row is stored as the index of the label in the list of occurring labels. As for the unlabeled dataset, the instances
+ * returned by {@link #get(int)} and the datasets returned by {@link #getRows(int...)} are views.
+ */
+public class ColumnarLabeledInstancesImpl extends AbstractList<LabeledInstance<String>> implements LabeledInstances<String> {
+
+	/**
+	 * Labels are shared among a dataset and its views and are indexed by the physical rows of the attribute storage.
+	 */
+	private static class Labels {
+		private int[] labelIndices = new int[16];
+		private final List<String> labels = new ArrayList<>();
+		private final Map<String, Integer> indicesOfLabels = new HashMap<>();
+
+		private int getIndexOfLabel(final String label) {
+			Integer index = this.indicesOfLabels.get(label);
+			if (index == null) {
+				index = this.labels.size();
+				this.labels.add(label);
+				this.indicesOfLabels.put(label, index);
+			}
+			return index;
+		}
+	}
+
+	private final ColumnarInstancesImpl attributes;
+	private final Labels labels;
+	private final boolean isView;
+
+	public ColumnarLabeledInstancesImpl() {
+		this(new ColumnarInstancesImpl(), new Labels(), false);
+	}
+
+	public ColumnarLabeledInstancesImpl(final int numColumns, final int initialCapacity) {
+		this(new ColumnarInstancesImpl(numColumns, initialCapacity), new Labels(), false);
+		this.labels.labelIndices = new int[initialCapacity];
+	}
+
+	public ColumnarLabeledInstancesImpl(final String json) throws IOException {
+		this();
+		this.addAllFromJson(json);
+	}
+
+	public ColumnarLabeledInstancesImpl(final JsonNode jsonNode) {
+		this();
+		this.addAllFromJson(jsonNode);
+	}
+
+	public ColumnarLabeledInstancesImpl(final File jsonFile) throws IOException {
+		this();
+		this.addAllFromJson(jsonFile);
+	}
+
+	private ColumnarLabeledInstancesImpl(final ColumnarInstancesImpl attributes, final Labels labels, final boolean isView) {
+		this.attributes = attributes;
+		this.labels = labels;
+		this.isView = isView;
+	}
+
+	public boolean add(final double[] values, final String label) {
+		if (this.isView) {
+			throw new UnsupportedOperationException("Cannot add instances to a view of a dataset.");
+		}
+		this.attributes.add(values);
+		int row = this.attributes.size() - 1;
+		if (row == this.labels.labelIndices.length) {
+			this.labels.labelIndices = Arrays.copyOf(this.labels.labelIndices, Math.max(16, 2 * row));
+		}
+		this.labels.labelIndices[row] = this.labels.getIndexOfLabel(label);
+		this.modCount++;
+		return true;
+	}
+
+	@Override
+	public boolean add(final LabeledInstance<String> instance) {
+		if (instance instanceof ColumnarInstancesImpl.Row) {
+			return this.add(((ColumnarInstancesImpl.Row) instance).toDoubleArray(), instance.getLabel());
+		}
+		double[] values = new double[instance.getNumberOfColumns()];
+		for (int i = 0; i < values.length; i++) {
+			values[i] = instance.get(i);
+		}
+		return this.add(values, instance.getLabel());
+	}
+
+	/**
+	 * @return A view of the given row
+	 */
+	@Override
+	public LabeledRow get(final int row) {
+		return new LabeledRow(this.attributes.getPhysicalRow(row));
+	}
+
+	/**
+	 * @return A view of the given column
+	 */
+	public ColumnarInstancesImpl.Column getColumn(final int column) {
+		return this.attributes.getColumn(column);
+	}
+
+	/**
+	 * @return A view of the dataset that only contains the given rows in the given order
+	 */
+	public ColumnarLabeledInstancesImpl getRows(final int... rows) {
+		return new ColumnarLabeledInstancesImpl(this.attributes.getRows(rows), this.labels, true);
+	}
+
+	/**
+	 * @return A view of the attribute values without labels
+	 */
+	public ColumnarInstancesImpl getAttributeValues() {
+		return this.attributes;
+	}
+
+	public double getValue(final int row, final int column) {
+		return this.attributes.getValue(row, column);
+	}
+
+	public void setValue(final int row, final int column, final double value) {
+		this.attributes.setValue(row, column, value);
+	}
+
+	public String getLabel(final int row) {
+		return this.labels.labels.get(this.labels.labelIndices[this.attributes.getPhysicalRow(row)]);
+	}
+
+	public void setLabel(final int row, final String label) {
+		this.labels.labelIndices[this.attributes.getPhysicalRow(row)] = this.labels.getIndexOfLabel(label);
+	}
+
+	@Override
+	public int size() {
+		return this.attributes.size();
+	}
+
+	@Override
+	public int getNumberOfRows() {
+		return this.size();
+	}
+
+	@Override
+	public int getNumberOfColumns() {
+		return this.attributes.getNumberOfColumns();
+	}
+
+	/**
+	 * @return The labels that occur in the dataset in the order of their first occurrence. For views, these are the labels of the
+	 *         dataset the view has been created from.
+	 */
+	@Override
+	public ArrayList<String> getOccurringLabels() {
+		return new ArrayList<>(this.labels.labels);
+	}
+
+	@Override
+	public String toJson() {
+		ObjectMapper om = new ObjectMapper();
+		ObjectNode root = om.createObjectNode();
+		root.set("instances", this.attributes.toJsonArray(om));
+		ArrayNode labels = root.putArray("labels");
+		for (int row = 0; row < this.size(); row++) {
+			labels.add(this.getLabel(row));
+		}
+		try {
+			return om.writeValueAsString(root);
+		} catch (JsonProcessingException e) {
+			e.printStackTrace();
+			return null;
+		}
+	}
+
+	@Override
+	public void addAllFromJson(final String json) throws IOException {
+		this.addAllFromJson(new ObjectMapper().readTree(json));
+	}
+
+	public void addAllFromJson(final JsonNode jsonNode) {
+		JsonNode instances = jsonNode.get("instances");
+		JsonNode labels = jsonNode.get("labels");
+		if (labels == null) {
+			throw new IllegalArgumentException("No labels provided in the dataset!");
+		}
+		if (instances.size() != labels.size()) {
+			throw new IllegalArgumentException("Number of labels does not match the number of instances!");
+		}
+		int index = 0;
+		for (JsonNode instance : instances) {
+			double[] values = new double[instance.size()];
+			int i = 0;
+			for (JsonNode val : instance) {
+				values[i++] = val.asDouble();
+			}
+			this.add(values, labels.get(index++).asText());
+		}
+	}
+
+	@Override
+	public void addAllFromJson(final File jsonFile) throws IOException {
+		this.addAllFromJson(FileUtil.readFileAsString(jsonFile));
+	}
+
+	/**
+	 * View of a single row of a {@link ColumnarLabeledInstancesImpl}.
+	 */
+	public class LabeledRow extends ColumnarInstancesImpl.Row implements LabeledInstance<String> {
+
+		private LabeledRow(final int physicalRow) {
+			super(ColumnarLabeledInstancesImpl.this.attributes, physicalRow);
+		}
+
+		@Override
+		public void setLabel(final String label) {
+			Labels labels = ColumnarLabeledInstancesImpl.this.labels;
+			labels.labelIndices[this.getPhysicalRow()] = labels.getIndexOfLabel(label);
+		}
+
+		@Override
+		public String getLabel() {
+			Labels labels = ColumnarLabeledInstancesImpl.this.labels;
+			return labels.labels.get(labels.labelIndices[this.getPhysicalRow()]);
+		}
+
+		@Override
+		public String toJson() {
+			ObjectMapper om = new ObjectMapper();
+			ObjectNode root = om.createObjectNode();
+			ArrayNode attributes = root.putArray("attributes");
+			root.put("label", this.getLabel());
+			for (double d : this.toDoubleArray()) {
+				attributes.add(d);
+			}
+			try {
+				return om.writeValueAsString(root);
+			} catch (JsonProcessingException e) {
+				e.printStackTrace();
+				return null;
+			}
+		}
+
+		@Override
+		public String toString() {
+			return "{data=" + super.toString() + ", label=" + this.getLabel() + "}";
+		}
+
+		@Override
+		public int hashCode() {
+			final int prime = 31;
+			int result = super.hashCode();
+			result = prime * result + this.getLabel().hashCode();
+			return result;
+		}
+
+		@Override
+		public boolean equals(final Object obj) {
+			if (this == obj) {
+				return true;
+			}
+			if (!super.equals(obj) || !(obj instanceof LabeledInstance)) {
+				return false;
+			}
+			return this.getLabel().equals(((LabeledInstance<?>) obj).getLabel());
+		}
+	}
+}
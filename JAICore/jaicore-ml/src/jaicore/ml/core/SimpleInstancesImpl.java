@@ -37,7 +37,7 @@ public class SimpleInstancesImpl extends ArrayList<Instance> implements Instance
   }
 
   public boolean add(final double[] values) {
-    return super.add(new SimpleInstanceImpl(values));
+    return this.add(new SimpleInstanceImpl(values));
   }
 
   @Override
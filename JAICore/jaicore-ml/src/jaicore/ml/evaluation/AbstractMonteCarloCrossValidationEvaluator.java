@@ -0,0 +1,259 @@
+package jaicore.ml.evaluation;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletionService;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorCompletionService;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
+
+import org.apache.commons.math3.distribution.TDistribution;
+import org.apache.commons.math3.stat.descriptive.DescriptiveStatistics;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import jaicore.basic.IObjectEvaluator;
+import jaicore.ml.SplitCache;
+import weka.classifiers.Classifier;
+import weka.core.Instances;
+
+/**
+ * Monte Carlo cross-validation (MCCV) for classifiers, i.e. the mean error of a classifier over a number of random train/test splits.
+ *
+ * By default, the splits are evaluated one after the other. If an executor is set, the splits are drawn in the calling thread (so that
+ * they only depend on the random source of the basic evaluator) and are then evaluated concurrently on the executor. The basic
+ * evaluator trains a copy of the classifier for each split, so the given classifier is never trained itself.
+ *
+ * Optionally, the evaluation stops before all repeats have been evaluated. This happens if, after at least two splits, the confidence
+ * interval of the mean error is narrower than the maximum width, or if its lower bound exceeds the score of an incumbent, i.e. the
+ * classifier is worse than the incumbent with the configured confidence. In this case, the mean over the splits evaluated so far is
+ * returned. Note that in the concurrent mode the splits are registered in the order in which they are completed, so the moment of an
+ * early stop is not deterministic.
+ *
+ * @param <C>
+ *            type of the classifiers to evaluate
+ */
+public abstract class AbstractMonteCarloCrossValidationEvaluator<C extends Classifier> implements IObjectEvaluator<C, Double> {
+
+	private static final Logger logger = LoggerFactory.getLogger(AbstractMonteCarloCrossValidationEvaluator.class);
+	private final BasicMLEvaluator basicEvaluator;
+	private final Instances data;
+	private volatile boolean canceled = false;
+	private final int repeats;
+	private final float trainingPortion;
+
+	/* configuration of concurrent evaluation and early stopping */
+	private ExecutorService executor;
+	private double confidenceLevel = 0.95;
+	private double maxConfidenceIntervalWidth = 0;
+	private volatile Double incumbentScore;
+	private final List<Future<Double>> activeEvaluations = new ArrayList<>();
+
+	/* configuration of fixed splits */
+	private SplitCache splitCache;
+	private String datasetId;
+	private long splitSeed;
+
+	public AbstractMonteCarloCrossValidationEvaluator(final BasicMLEvaluator basicEvaluator, final int repeats, final Instances data, final float trainingPortion) {
+		super();
+		this.basicEvaluator = basicEvaluator;
+		this.repeats = repeats;
+		if (data == null) {
+			throw new IllegalArgumentException("NULL data given to MCCV!");
+		}
+		this.data = data;
+		this.trainingPortion = trainingPortion;
+	}
+
+	public void cancel() {
+		logger.info("Received cancel");
+		this.canceled = true;
+		synchronized (this.activeEvaluations) {
+			for (Future<Double> evaluation : this.activeEvaluations) {
+				evaluation.cancel(true);
+			}
+		}
+	}
+
+	@Override
+	public Double evaluate(final C pl) throws Exception {
+		if (pl == null) {
+			throw new IllegalArgumentException("Cannot compute score for null pipeline!");
+		}
+
+		/* perform random stratified split */
+		DescriptiveStatistics stats = new DescriptiveStatistics();
+		logger.info("Starting evaluation of {}", pl);
+		if (this.executor == null) {
+			for (int i = 0; i < this.repeats && !this.canceled && !this.canStop(stats, pl); i++) {
+				logger.info("Evaluating {} with split #{}/{}", pl, i + 1, this.repeats);
+				double score;
+				if (this.splitCache != null) {
+					List<Instances> split = this.getSplit(i);
+					score = this.basicEvaluator.getErrorRateForSplit(pl, split.get(0), split.get(1));
+				} else {
+					score = this.basicEvaluator.getErrorRateForRandomSplit(pl, this.data, this.trainingPortion);
+				}
+				logger.info("Score for evaluation of {} with split #{}/{}: {}", pl, i + 1, this.repeats, score);
+				stats.addValue(score);
+			}
+		} else {
+			this.evaluateConcurrently(pl, stats);
+		}
+
+		Double score = stats.getMean();
+		logger.info("Obtained score of {} for classifier {}.", score, pl);
+		return score;
+	}
+
+	private void evaluateConcurrently(final C pl, final DescriptiveStatistics stats) throws Exception {
+		CompletionService<Double> completionService = new ExecutorCompletionService<>(this.executor);
+		List<Future<Double>> evaluations = new ArrayList<>();
+		try {
+			for (int i = 0; i < this.repeats && !this.canceled; i++) {
+				List<Instances> split = this.getSplit(i);
+				final int splitIndex = i + 1;
+				Future<Double> evaluation = completionService.submit(() -> {
+					logger.info("Evaluating {} with split #{}/{}", pl, splitIndex, this.repeats);
+					double score = this.basicEvaluator.getErrorRateForSplit(pl, split.get(0), split.get(1));
+					logger.info("Score for evaluation of {} with split #{}/{}: {}", pl, splitIndex, this.repeats, score);
+					return score;
+				});
+				evaluations.add(evaluation);
+				synchronized (this.activeEvaluations) {
+					this.activeEvaluations.add(evaluation);
+				}
+			}
+			for (int i = 0; i < evaluations.size() && !this.canceled && !this.canStop(stats, pl); i++) {
+				try {
+					stats.addValue(completionService.take().get());
+				} catch (ExecutionException e) {
+					if (e.getCause() instanceof Exception) {
+						throw (Exception) e.getCause();
+					}
+					throw e;
+				}
+			}
+		} finally {
+			synchronized (this.activeEvaluations) {
+				for (Future<Double> evaluation : evaluations) {
+					evaluation.cancel(true);
+					this.activeEvaluations.remove(evaluation);
+				}
+			}
+		}
+	}
+
+	private List<Instances> getSplit(final int repeat) throws Exception {
+		if (this.splitCache != null) {
+			return this.splitCache.getSplit(this.datasetId, this.data, this.splitSeed + repeat, this.usesStratifiedSplits(), this.trainingPortion);
+		}
+		return this.basicEvaluator.getRandomSplit(this.data, this.trainingPortion);
+	}
+
+	/**
+	 * @return Whether the splits obtained from a split cache are stratified
+	 */
+	protected boolean usesStratifiedSplits() {
+		return true;
+	}
+
+	/**
+	 * Decides whether the evaluation can stop before all repeats have been evaluated.
+	 */
+	private boolean canStop(final DescriptiveStatistics stats, final C pl) {
+		long n = stats.getN();
+		if (n < 2 || (this.maxConfidenceIntervalWidth <= 0 && this.incumbentScore == null)) {
+			return false;
+		}
+		double halfWidth = new TDistribution(n - 1).inverseCumulativeProbability((1 + this.confidenceLevel) / 2) * stats.getStandardDeviation() / Math.sqrt(n);
+		if (2 * halfWidth <= this.maxConfidenceIntervalWidth) {
+			logger.info("Stopping evaluation of {} after {} splits, because the confidence interval of the mean error {} has width {}.", pl, n, stats.getMean(), 2 * halfWidth);
+			return true;
+		}
+		Double incumbent = this.incumbentScore;
+		if (incumbent != null && stats.getMean() - halfWidth > incumbent) {
+			logger.info("Stopping evaluation of {} after {} splits, because its mean error {} is significantly worse than the incumbent score {}.", pl, n, stats.getMean(), incumbent);
+			return true;
+		}
+		return false;
+	}
+
+	public BasicMLEvaluator getEvaluator() {
+		return this.basicEvaluator;
+	}
+
+	public ExecutorService getExecutor() {
+		return this.executor;
+	}
+
+	/**
+	 * @param executor
+	 *            The executor on which the splits are evaluated concurrently or null if they should be evaluated in the calling thread
+	 */
+	public void setExecutor(final ExecutorService executor) {
+		this.executor = executor;
+	}
+
+	public double getConfidenceLevel() {
+		return this.confidenceLevel;
+	}
+
+	public void setConfidenceLevel(final double confidenceLevel) {
+		if (confidenceLevel <= 0 || confidenceLevel >= 1) {
+			throw new IllegalArgumentException("The confidence level must be in (0, 1) but is " + confidenceLevel);
+		}
+		this.confidenceLevel = confidenceLevel;
+	}
+
+	public double getMaxConfidenceIntervalWidth() {
+		return this.maxConfidenceIntervalWidth;
+	}
+
+	/**
+	 * @param maxConfidenceIntervalWidth
+	 *            The evaluation stops once the confidence interval of the mean error is at most this wide. Values that are not positive
+	 *            disable this criterion.
+	 */
+	public void setMaxConfidenceIntervalWidth(final double maxConfidenceIntervalWidth) {
+		this.maxConfidenceIntervalWidth = maxConfidenceIntervalWidth;
+	}
+
+	/**
+	 * Lets the i-th repeat use the split with seed splitSeed + i from the given cache instead of a split drawn by the basic evaluator.
+	 * Hence, all classifiers are evaluated on the same splits, and the splits are computed only once.
+	 *
+	 * @param splitCache
+	 *            The cache to obtain the splits from or null to let the basic evaluator draw the splits
+	 * @param datasetId
+	 *            An id that uniquely identifies the data of this evaluator in the cache
+	 * @param splitSeed
+	 *            The seed of the first split
+	 */
+	public void setSplitCache(final SplitCache splitCache, final String datasetId, final long splitSeed) {
+		if (splitCache != null && datasetId == null) {
+			throw new IllegalArgumentException("A dataset id is required to use a split cache.");
+		}
+		this.splitCache = splitCache;
+		this.datasetId = datasetId;
+		this.splitSeed = splitSeed;
+	}
+
+	public SplitCache getSplitCache() {
+		return this.splitCache;
+	}
+
+	public Double getIncumbentScore() {
+		return this.incumbentScore;
+	}
+
+	/**
+	 * @param incumbentScore
+	 *            The evaluation stops once the classifier is significantly worse than this score. May be updated between (or during)
+	 *            evaluations; null disables this criterion.
+	 */
+	public void setIncumbentScore(final Double incumbentScore) {
+		this.incumbentScore = incumbentScore;
+	}
+}
@@ -1,5 +1,7 @@
 package jaicore.ml.evaluation;
 
+import java.util.List;
+
 import weka.classifiers.Classifier;
 import weka.core.Instances;
 
@@ -10,6 +12,13 @@ import weka.core.Instances;
  *
  */
 public interface BasicMLEvaluator {
+	/**
+	 * Draws a random split of the data in the way getErrorRateForRandomSplit does, so that splits can be drawn in one thread and be
+	 * evaluated in others.
+	 *
+	 * @return A list containing the training and the test data
+	 */
+	public List<Instances> getRandomSplit(Instances data, double splitSize) throws Exception;
 	public double getErrorRateForRandomSplit(Classifier c, Instances data, double splitSize) throws Exception;	
 	public double getErrorRateForSplit(Classifier c, Instances train, Instances test) throws Exception;	
 }
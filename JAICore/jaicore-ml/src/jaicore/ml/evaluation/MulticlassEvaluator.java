@@ -21,6 +21,7 @@ public class MulticlassEvaluator implements BasicMLEvaluator, Serializable {
 	private final static Logger logger = LoggerFactory.getLogger(MulticlassEvaluator.class);
 
 	private final Random rand;
+	private boolean splitsAsViews = false;
 	private boolean canceled;
 	private final EventBus measurementEventBus = new EventBus();
 
@@ -34,12 +35,20 @@ public class MulticlassEvaluator implements BasicMLEvaluator, Serializable {
 			throw new IllegalArgumentException("Cannnot get error rate for classifier NULL");
 		if (data == null)
 			throw new IllegalArgumentException("Cannnot get error rate for data NULL");
-		List<Instances> split = WekaUtil.getStratifiedSplit(data, rand, splitSize);
+		List<Instances> split = getRandomSplit(data, splitSize);
 		Instances train = split.get(0);
 		Instances test = split.get(1);
 		return getErrorRateForSplit(c, train, test);
 	}
 
+	/**
+	 * Computes a stratified split. By default, the folds are copies of the data; with {@link #setSplitsAsViews(boolean)}, they are views on the data.
+	 */
+	public List<Instances> getRandomSplit(Instances data, double splitSize) {
+		int[][] split = WekaUtil.getStratifiedSplitIndicesAsArrays(data, rand, splitSize);
+		return splitsAsViews ? WekaUtil.realizeSplitAsSubInstances(data, split) : WekaUtil.realizeSplitAsCopiedInstances(data, split);
+	}
+
 	public double getErrorRateForSplit(Classifier c, Instances train, Instances test) throws Exception {
 		logger.info("Split size is {}/{}", train.size(), test.size());
 		try {
@@ -83,6 +92,19 @@ public class MulticlassEvaluator implements BasicMLEvaluator, Serializable {
 		}
 	}
 
+	public boolean isSplitsAsViews() {
+		return splitsAsViews;
+	}
+
+	/**
+	 * Lets {@link #getRandomSplit(Instances, double)} return the folds as views on the data ({@link jaicore.ml.SubInstances}), so no instances are copied.
+	 * Views cannot be modified, and changes of the data are visible in them, so this may only be enabled if the classifiers do not modify their training
+	 * data (e.g. by filters, setClassIndex, or adding instances).
+	 */
+	public void setSplitsAsViews(boolean splitsAsViews) {
+		this.splitsAsViews = splitsAsViews;
+	}
+
 	public boolean isCanceled() {
 		return canceled;
 	}
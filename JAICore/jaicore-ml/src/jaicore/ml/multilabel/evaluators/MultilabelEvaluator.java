@@ -27,13 +27,17 @@ public abstract class MultilabelEvaluator implements BasicMLEvaluator, Serializa
 	}
 
 	public double getErrorRateForRandomSplit(Classifier c, Instances data, double splitSize) throws Exception {
-		List<Instances> split = WekaUtil.realizeSplit(data, WekaUtil.getArbitrarySplit(data, rand, splitSize));
+		List<Instances> split = getRandomSplit(data, splitSize);
 		Instances train = split.get(0);
 		Instances test = split.get(1);
 		logger.info("Split data set with {} items into {}/{}", data.size(), train.size(), test.size());
 		return getErrorRateForSplit(c, train, test);
 	}
 	
+	public List<Instances> getRandomSplit(Instances data, double splitSize) {
+		return WekaUtil.realizeSplit(data, WekaUtil.getArbitrarySplit(data, rand, splitSize));
+	}
+
 	public double getErrorRateForSplit(Classifier c, Instances train, Instances test) throws Exception {
 		MultiLabelClassifier cCopy = (MultiLabelClassifier)WekaUtil.cloneClassifier(c);
 		cCopy.buildClassifier(train);
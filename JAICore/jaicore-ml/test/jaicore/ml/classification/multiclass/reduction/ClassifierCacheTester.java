@@ -0,0 +1,129 @@
+package jaicore.ml.classification.multiclass.reduction;
+
+import java.io.BufferedReader;
+import java.io.File;
+import java.io.FileReader;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Random;
+import java.util.Set;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+import jaicore.ml.SubInstances;
+import jaicore.ml.WekaUtil;
+import weka.classifiers.Classifier;
+import weka.classifiers.trees.J48;
+import weka.core.Instance;
+import weka.core.Instances;
+
+public class ClassifierCacheTester {
+
+  private static final File folder = new File("testsrc/ml/orig/");
+
+  private static Instances getData() throws Exception {
+    Instances inst = new Instances(new BufferedReader(new FileReader(folder + File.separator + "vowel.arff")));
+    inst.setClassIndex(inst.numAttributes() - 1);
+    return inst;
+  }
+
+  private static List<Set<String>> getClusters(final Instances data) {
+    List<Set<String>> clusters = new ArrayList<>();
+    clusters.add(new HashSet<>());
+    clusters.add(new HashSet<>());
+    for (int i = 0; i < data.numClasses(); i++) {
+      clusters.get(i % 2).add(data.classAttribute().value(i));
+    }
+    return clusters;
+  }
+
+  @Test
+  public void testCopyOnHit() throws Exception {
+    Instances data = getData();
+    List<Instances> split = WekaUtil.realizeSplitAsSubInstances(data, WekaUtil.getStratifiedSplitIndicesAsArrays(data, new Random(0), .7));
+    ClassifierCache cache = new ClassifierCache(10);
+    Classifier classifier = new J48();
+    Object key = cache.getKey(classifier, getClusters(data), split.get(0));
+    Assert.assertNull(cache.getCachedClassifier(key));
+    classifier.buildClassifier(WekaUtil.mergeClassesOfInstances(split.get(0), getClusters(data)));
+    cache.cacheClassifier(key, classifier);
+
+    /* equal folds of the same dataset have equal keys, and each hit yields a new copy */
+    List<Instances> sameSplit = WekaUtil.realizeSplitAsSubInstances(data, WekaUtil.getStratifiedSplitIndicesAsArrays(data, new Random(0), .7));
+    Classifier hit1 = cache.getCachedClassifier(cache.getKey(new J48(), getClusters(data), sameSplit.get(0)));
+    Classifier hit2 = cache.getCachedClassifier(cache.getKey(new J48(), getClusters(data), sameSplit.get(0)));
+    Assert.assertNotNull(hit1);
+    Assert.assertNotSame(classifier, hit1);
+    Assert.assertNotSame(hit1, hit2);
+    Instances testData = WekaUtil.mergeClassesOfInstances(split.get(1), getClusters(data));
+    for (Instance i : testData) {
+      Assert.assertEquals(classifier.classifyInstance(i), hit1.classifyInstance(i), 0);
+    }
+
+    /* other data, classifier options, or clusters yield misses */
+    J48 unpruned = new J48();
+    unpruned.setUnpruned(true);
+    Assert.assertNull(cache.getCachedClassifier(cache.getKey(unpruned, getClusters(data), split.get(0))));
+    Assert.assertNull(cache.getCachedClassifier(cache.getKey(new J48(), getClusters(data), split.get(1))));
+    List<Set<String>> otherClusters = getClusters(data);
+    otherClusters.add(otherClusters.remove(0));
+    Assert.assertNull(cache.getCachedClassifier(cache.getKey(new J48(), otherClusters, split.get(0))));
+    Assert.assertEquals(2, cache.getHits());
+    Assert.assertEquals(4, cache.getMisses());
+    Assert.assertEquals(1 / 3.0, cache.getHitRate(), 1E-9);
+  }
+
+  @Test
+  public void testDataWithoutProvenance() throws Exception {
+    Instances data = getData();
+    ClassifierCache cache = new ClassifierCache(10);
+    Classifier classifier = new J48();
+    classifier.buildClassifier(WekaUtil.mergeClassesOfInstances(data, getClusters(data)));
+    cache.cacheClassifier(cache.getKey(new J48(), getClusters(data), data), classifier);
+    Assert.assertNotNull(cache.getCachedClassifier(cache.getKey(new J48(), getClusters(data), data)));
+
+    /* datasets are identified by their identity, so copies are other datasets */
+    Assert.assertNull(cache.getCachedClassifier(cache.getKey(new J48(), getClusters(data), new Instances(data))));
+  }
+
+  @Test
+  public void testOrderOfRows() throws Exception {
+    Instances data = getData();
+    ClassifierCache cache = new ClassifierCache(10);
+    int[] rows = WekaUtil.getArbitrarySplitIndices(data, new Random(0), .3)[0];
+    int[] reversedRows = new int[rows.length];
+    for (int i = 0; i < rows.length; i++) {
+      reversedRows[i] = rows[rows.length - 1 - i];
+    }
+    Instances fold = new SubInstances(data, rows);
+    Classifier classifier = new J48();
+    Object key = cache.getKey(classifier, getClusters(data), fold);
+    classifier.buildClassifier(WekaUtil.mergeClassesOfInstances(fold, getClusters(data)));
+    cache.cacheClassifier(key, classifier);
+    Assert.assertNotNull(cache.getCachedClassifier(cache.getKey(new J48(), getClusters(data), new SubInstances(data, reversedRows))));
+    Assert.assertNotNull(cache.getCachedClassifier(cache.getKey(new J48(), getClusters(data), cache.getDatasetId(data), reversedRows)));
+    Assert.assertNull(cache.getCachedClassifier(cache.getKey(new J48(), getClusters(data), cache.getDatasetId(data), Arrays.copyOf(rows, rows.length - 1))));
+  }
+
+  @Test
+  public void testEviction() throws Exception {
+    Instances data = getData();
+    ClassifierCache cache = new ClassifierCache(2);
+    List<Object> keys = new ArrayList<>();
+    for (int seed = 0; seed < 3; seed++) {
+      Instances fold = WekaUtil.realizeSplitAsSubInstances(data, WekaUtil.getArbitrarySplitIndices(data, new Random(seed), .3)).get(0);
+      Classifier classifier = new J48();
+      keys.add(cache.getKey(classifier, getClusters(data), fold));
+      classifier.buildClassifier(WekaUtil.mergeClassesOfInstances(fold, getClusters(data)));
+      cache.cacheClassifier(keys.get(seed), classifier);
+    }
+    Assert.assertEquals(2, cache.size());
+    Assert.assertNull(cache.getCachedClassifier(keys.get(0)));
+    for (Object key : Arrays.asList(keys.get(1), keys.get(2))) {
+      Assert.assertNotNull(cache.getCachedClassifier(key));
+    }
+  }
+}
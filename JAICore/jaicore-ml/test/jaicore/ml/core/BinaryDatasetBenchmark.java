@@ -0,0 +1,61 @@
+package jaicore.ml.core;
+
+import static org.junit.Assert.assertEquals;
+
+import java.io.BufferedReader;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.File;
+import java.io.FileReader;
+
+import org.junit.Ignore;
+import org.junit.Test;
+
+import jaicore.ml.WekaUtil;
+import weka.core.Instances;
+import weka.core.json.JSONInstances;
+
+/**
+ * Compares the binary format with the JSON format of WEKA (including the header, which WekaUtil.instancesToJsonString omits) on 100000 rows of the
+ * vowel dataset.
+ *
+ * The benchmark prints its results, so it is not part of the regular tests and must be run explicitly.
+ */
+@Ignore("Long-running benchmark")
+public class BinaryDatasetBenchmark {
+
+	private static final File folder = new File("testsrc/ml/orig/");
+
+	@Test
+	public void benchmarkAgainstJson() throws Exception {
+		Instances vowel = new Instances(new BufferedReader(new FileReader(folder + File.separator + "vowel.arff")));
+		vowel.setClassIndex(vowel.numAttributes() - 1);
+		Instances data = new Instances(vowel, 0);
+		while (data.size() < 100000) {
+			data.addAll(vowel);
+		}
+
+		for (int repetition = 0; repetition < 2; repetition++) {
+			long start = System.currentTimeMillis();
+			StringBuffer buffer = new StringBuffer();
+			JSONInstances.toJSON(data).toString(buffer);
+			String json = buffer.toString();
+			long jsonWriteTime = System.currentTimeMillis() - start;
+			start = System.currentTimeMillis();
+			Instances fromJson = WekaUtil.jsonStringToInstances(json);
+			long jsonReadTime = System.currentTimeMillis() - start;
+
+			start = System.currentTimeMillis();
+			ByteArrayOutputStream out = new ByteArrayOutputStream();
+			WekaUtil.instancesToBinary(data, out);
+			long binaryWriteTime = System.currentTimeMillis() - start;
+			start = System.currentTimeMillis();
+			Instances fromBinary = WekaUtil.binaryToInstances(new ByteArrayInputStream(out.toByteArray()));
+			long binaryReadTime = System.currentTimeMillis() - start;
+
+			System.out.println("JSON: " + json.length() / 1024 + "KB, written in " + jsonWriteTime + "ms, read in " + jsonReadTime + "ms");
+			System.out.println("Binary: " + out.size() / 1024 + "KB, written in " + binaryWriteTime + "ms, read in " + binaryReadTime + "ms");
+			assertEquals(fromJson.size(), fromBinary.size());
+		}
+	}
+}
@@ -0,0 +1,121 @@
+package jaicore.ml.core;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+
+import java.io.BufferedReader;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.FileReader;
+import java.io.IOException;
+import java.util.Arrays;
+import java.util.List;
+
+import org.junit.Test;
+
+import jaicore.ml.WekaUtil;
+import weka.core.Instances;
+
+public class BinaryDatasetTester {
+
+	private static final File folder = new File("testsrc/ml/orig/");
+
+	private Instances getData() throws Exception {
+		Instances inst = new Instances(new BufferedReader(new FileReader(folder + File.separator + "vowel.arff")));
+		inst.setClassIndex(inst.numAttributes() - 1);
+		return inst;
+	}
+
+	private void assertSameInstances(Instances expected, Instances actual) {
+		assertEquals(expected.relationName(), actual.relationName());
+		assertEquals(expected.numAttributes(), actual.numAttributes());
+		assertEquals(expected.classIndex(), actual.classIndex());
+		assertEquals(expected.size(), actual.size());
+		for (int i = 0; i < expected.numAttributes(); i++) {
+			assertEquals(expected.attribute(i).name(), actual.attribute(i).name());
+			assertEquals(expected.attribute(i).type(), actual.attribute(i).type());
+		}
+		for (int i = 0; i < expected.size(); i++) {
+			assertEquals(expected.get(i).toString(), actual.get(i).toString());
+		}
+	}
+
+	@Test
+	public void testWekaRoundTrip() throws Exception {
+		Instances data = getData();
+
+		/* via streams */
+		ByteArrayOutputStream out = new ByteArrayOutputStream();
+		WekaUtil.instancesToBinary(data, out);
+		assertSameInstances(data, WekaUtil.binaryToInstances(new ByteArrayInputStream(out.toByteArray())));
+
+		/* via memory-mapped file */
+		File file = File.createTempFile("dataset", ".bin");
+		try {
+			try (FileOutputStream fos = new FileOutputStream(file)) {
+				WekaUtil.instancesToBinary(data, fos);
+			}
+			assertSameInstances(data, WekaUtil.binaryToInstances(file));
+		} finally {
+			file.delete();
+		}
+	}
+
+	@Test
+	public void testJAICoreRoundTrip() throws Exception {
+		ColumnarLabeledInstancesImpl data = new ColumnarLabeledInstancesImpl();
+		for (int i = 0; i < 10000; i++) {
+			data.add(new double[] { i, Math.sqrt(i), Double.NaN }, "c" + (i % 3));
+		}
+		ByteArrayOutputStream out = new ByteArrayOutputStream();
+		BinaryDatasetWriter.write(data, out);
+		ColumnarLabeledInstancesImpl read;
+		try (BinaryDatasetReader reader = new BinaryDatasetReader(new ByteArrayInputStream(out.toByteArray()))) {
+			read = reader.readLabeledInstances();
+		}
+		assertEquals(data.toJson(), read.toJson());
+
+		/* rows can be streamed in blocks of any size */
+		out.reset();
+		try (BinaryDatasetWriter writer = new BinaryDatasetWriter(out, new BinaryDatasetHeader("test", Arrays.asList("x"), Arrays.asList((List<String>) null), -1), 7)) {
+			for (int i = 0; i < 100; i++) {
+				writer.writeRow(new double[] { i });
+			}
+		}
+		try (BinaryDatasetReader reader = new BinaryDatasetReader(new ByteArrayInputStream(out.toByteArray()))) {
+			for (int i = 0; i < 100; i++) {
+				assertEquals(i, reader.readRow()[0], 0);
+			}
+			assertNull(reader.readRow());
+		}
+
+		/* labeled instances of the simple implementation can be written as well */
+		SimpleLabeledInstancesImpl simple = new SimpleLabeledInstancesImpl(data.toJson());
+		out.reset();
+		BinaryDatasetWriter.write(simple, out);
+		try (BinaryDatasetReader reader = new BinaryDatasetReader(new ByteArrayInputStream(out.toByteArray()))) {
+			assertEquals(data.toJson(), reader.readLabeledInstances().toJson());
+		}
+
+		/* unlabeled instances */
+		out.reset();
+		BinaryDatasetWriter.write(data.getAttributeValues(), out);
+		try (BinaryDatasetReader reader = new BinaryDatasetReader(new ByteArrayInputStream(out.toByteArray()))) {
+			assertEquals(data.getAttributeValues().toJson(), reader.readInstances().toJson());
+		}
+	}
+
+	@Test(expected = IOException.class)
+	public void testMissingLabel() throws Exception {
+		ByteArrayOutputStream out = new ByteArrayOutputStream();
+		try (BinaryDatasetWriter writer = new BinaryDatasetWriter(out, new BinaryDatasetHeader("test", Arrays.asList("x", "label"), Arrays.asList(null, Arrays.asList("a", "b")), 1))) {
+			writer.writeRow(new double[] { 1, 0 });
+			writer.writeRow(new double[] { 2, Double.NaN });
+		}
+		try (BinaryDatasetReader reader = new BinaryDatasetReader(new ByteArrayInputStream(out.toByteArray()))) {
+			reader.readLabeledInstances();
+		}
+	}
+}
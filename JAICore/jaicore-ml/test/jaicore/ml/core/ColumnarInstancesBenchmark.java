@@ -0,0 +1,108 @@
+package jaicore.ml.core;
+
+import static org.junit.Assert.assertEquals;
+
+import java.util.Random;
+
+import org.junit.Ignore;
+import org.junit.Test;
+
+import jaicore.ml.interfaces.Instance;
+import jaicore.ml.interfaces.Instances;
+
+/**
+ * Compares the memory consumption and the time to fill and scan a dataset of 200000 rows and 20 columns of {@link SimpleInstancesImpl} and
+ * {@link ColumnarInstancesImpl}.
+ *
+ * The benchmark measures memory after explicit garbage collections and prints its results, so it is not part of the regular tests and must be run
+ * explicitly.
+ */
+@Ignore("Long-running benchmark")
+public class ColumnarInstancesBenchmark {
+
+	@Test
+	public void benchmarkAgainstSimpleInstances() {
+		int rows = 200000;
+		int columns = 20;
+		Random random = new Random(0);
+		double[][] values = new double[rows][columns];
+		for (double[] row : values) {
+			for (int j = 0; j < columns; j++) {
+				row[j] = random.nextDouble();
+			}
+		}
+
+		for (int repetition = 0; repetition < 2; repetition++) {
+			long memoryBefore = usedMemory();
+			long start = System.currentTimeMillis();
+			SimpleInstancesImpl simple = new SimpleInstancesImpl(rows);
+			for (double[] row : values) {
+				simple.add(row);
+			}
+			long simpleFillTime = System.currentTimeMillis() - start;
+			long simpleMemory = usedMemory() - memoryBefore;
+			start = System.currentTimeMillis();
+			double simpleSum = 0;
+			for (Instance instance : simple) {
+				for (double value : instance) {
+					simpleSum += value;
+				}
+			}
+			long simpleScanTime = System.currentTimeMillis() - start;
+			double[] simpleColumnSums = columnSums(simple);
+			simple = null;
+
+			memoryBefore = usedMemory();
+			start = System.currentTimeMillis();
+			ColumnarInstancesImpl columnar = new ColumnarInstancesImpl(columns, rows);
+			for (double[] row : values) {
+				columnar.add(row);
+			}
+			long columnarFillTime = System.currentTimeMillis() - start;
+			long columnarMemory = usedMemory() - memoryBefore;
+			start = System.currentTimeMillis();
+			double columnarSum = 0;
+			for (int i = 0; i < rows; i++) {
+				for (int j = 0; j < columns; j++) {
+					columnarSum += columnar.getValue(i, j);
+				}
+			}
+			long columnarScanTime = System.currentTimeMillis() - start;
+			double[] columnarColumnSums = columnSums(columnar);
+
+			System.out.println("Simple instances: " + simpleMemory / 1024 + "KB, filled in " + simpleFillTime + "ms, scanned in " + simpleScanTime + "ms");
+			System.out.println("Columnar instances: " + columnarMemory / 1024 + "KB, filled in " + columnarFillTime + "ms, scanned in " + columnarScanTime + "ms");
+			assertEquals(simpleSum, columnarSum, 1E-6);
+			for (int j = 0; j < columns; j++) {
+				assertEquals(simpleColumnSums[j], columnarColumnSums[j], 1E-6);
+			}
+		}
+	}
+
+	private static double[] columnSums(final Instances instances) {
+		double[] sums = new double[instances.getNumberOfColumns()];
+		if (instances instanceof ColumnarInstancesImpl) {
+			ColumnarInstancesImpl columnar = (ColumnarInstancesImpl) instances;
+			for (int j = 0; j < sums.length; j++) {
+				for (double value : columnar.getColumn(j).toDoubleArray()) {
+					sums[j] += value;
+				}
+			}
+		} else {
+			for (Instance instance : instances) {
+				for (int j = 0; j < sums.length; j++) {
+					sums[j] += instance.get(j);
+				}
+			}
+		}
+		return sums;
+	}
+
+	private static long usedMemory() {
+		Runtime runtime = Runtime.getRuntime();
+		for (int i = 0; i < 3; i++) {
+			System.gc();
+		}
+		return runtime.totalMemory() - runtime.freeMemory();
+	}
+}
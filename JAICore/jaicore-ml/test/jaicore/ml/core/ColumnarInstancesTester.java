@@ -0,0 +1,96 @@
+package jaicore.ml.core;
+
+import static org.junit.Assert.assertEquals;
+
+import java.io.BufferedReader;
+import java.io.File;
+import java.io.FileReader;
+import java.util.ArrayList;
+
+import org.junit.Test;
+
+import jaicore.ml.WekaUtil;
+import jaicore.ml.interfaces.LabeledInstance;
+
+public class ColumnarInstancesTester {
+
+	private static final File folder = new File("testsrc/ml/orig/");
+
+	@Test
+	public void testWekaConversion() throws Exception {
+		weka.core.Instances data = new weka.core.Instances(new BufferedReader(new FileReader(folder + File.separator + "vowel.arff")));
+		data.setClassIndex(data.numAttributes() - 1);
+		ColumnarLabeledInstancesImpl columnar = WekaUtil.toColumnarLabeledInstances(data);
+		WekaCompatibleInstancesImpl simple = WekaUtil.toJAICoreLabeledInstances(data);
+		assertEquals(simple.size(), columnar.size());
+		assertEquals(simple.getNumberOfColumns(), columnar.getNumberOfColumns());
+		for (int i = 0; i < simple.size(); i++) {
+			assertEquals(new ArrayList<>(simple.get(i)), new ArrayList<>(columnar.get(i)));
+			assertEquals(simple.get(i).getLabel(), columnar.get(i).getLabel());
+		}
+
+		weka.core.Instances back = WekaUtil.fromJAICoreInstances(columnar);
+		assertEquals(data.size(), back.size());
+		for (int i = 0; i < data.size(); i++) {
+			for (int att = 0; att < data.numAttributes() - 1; att++) {
+				assertEquals(data.get(i).value(att), back.get(i).value(att), 0);
+			}
+			assertEquals(data.get(i).stringValue(data.classIndex()), back.get(i).stringValue(back.classIndex()));
+		}
+	}
+
+	@Test
+	public void testViews() throws Exception {
+		ColumnarLabeledInstancesImpl data = new ColumnarLabeledInstancesImpl();
+		for (int i = 0; i < 100; i++) {
+			data.add(new double[] { i, 2 * i, 3 * i }, i % 2 == 0 ? "even" : "odd");
+		}
+		ColumnarLabeledInstancesImpl view = data.getRows(5, 10, 42);
+		assertEquals(3, view.size());
+		assertEquals(42.0, view.getValue(2, 0), 0);
+		assertEquals("odd", view.get(0).getLabel());
+
+		/* changes of views are visible in the dataset and vice versa */
+		view.get(1).set(2, -1.0);
+		assertEquals(-1.0, data.getValue(10, 2), 0);
+		data.setLabel(42, "answer");
+		assertEquals("answer", view.getLabel(2));
+		data.getColumn(1).setValue(5, 7.0);
+		assertEquals(7.0, view.getColumn(1).getValue(0), 0);
+
+		/* views remain valid when the dataset grows */
+		for (int i = 100; i < 1000; i++) {
+			data.add(new double[] { i, 2 * i, 3 * i }, "more");
+		}
+		assertEquals(-1.0, view.getValue(1, 2), 0);
+
+		/* JSON representation is the one of the simple implementation */
+		int[] rowsOfView = { 5, 10, 42 };
+		for (int i = 0; i < rowsOfView.length; i++) {
+			LabeledInstance<String> row = view.get(i);
+			assertEquals(new SimpleLabeledInstanceImpl(data.get(rowsOfView[i]).toJson()), new SimpleLabeledInstanceImpl(row.toJson()));
+		}
+		assertEquals(new SimpleLabeledInstancesImpl(view.toJson()).toJson(), view.toJson());
+	}
+
+	@Test
+	public void testEmptyDatasets() {
+		weka.core.Instances empty = WekaUtil.fromJAICoreInstances(new ColumnarInstancesImpl());
+		assertEquals(0, empty.size());
+		assertEquals(0, empty.numAttributes());
+		assertEquals(3, WekaUtil.fromJAICoreInstances(new ColumnarInstancesImpl(3, 0)).numAttributes());
+
+		weka.core.Instances emptyLabeled = WekaUtil.fromJAICoreInstances(new ColumnarLabeledInstancesImpl());
+		assertEquals(0, emptyLabeled.size());
+		assertEquals(1, emptyLabeled.numAttributes());
+		assertEquals(0, emptyLabeled.classIndex());
+	}
+
+	@Test(expected = IllegalArgumentException.class)
+	public void testMissingLabel() throws Exception {
+		weka.core.Instances data = new weka.core.Instances(new BufferedReader(new FileReader(folder + File.separator + "vowel.arff")));
+		data.setClassIndex(data.numAttributes() - 1);
+		data.get(3).setClassMissing();
+		WekaUtil.toColumnarLabeledInstances(data);
+	}
+}
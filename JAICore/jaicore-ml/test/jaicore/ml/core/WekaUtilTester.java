@@ -3,14 +3,25 @@ package jaicore.ml.core;
 import java.io.BufferedReader;
 import java.io.File;
 import java.io.FileReader;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.List;
 import java.util.Random;
+import java.util.stream.Collectors;
 
 import org.junit.Assert;
 import org.junit.Test;
 
+import jaicore.ml.InstanceFingerprintIndex;
+import jaicore.ml.ProvenanceInstances;
+import jaicore.ml.SplitCache;
+import jaicore.ml.WekaUtil;
 import weka.classifiers.Classifier;
 import weka.classifiers.evaluation.Evaluation;
 import weka.classifiers.trees.RandomForest;
+import weka.core.DenseInstance;
+import weka.core.InstanceComparator;
 import weka.core.Instances;
 
 public class WekaUtilTester {
@@ -53,4 +64,119 @@ public class WekaUtilTester {
 		}
 	}
 
+	@Test
+	public void checkIndexBasedSplits() throws Exception {
+		Instances inst = new Instances(new BufferedReader(new FileReader(folder + File.separator + "vowel.arff")));
+		inst.setClassIndex(inst.numAttributes() - 1);
+		for (boolean stratified : new boolean[] { true, false }) {
+			int[][] split = stratified ? WekaUtil.getStratifiedSplitIndicesAsArrays(inst, new Random(0), .3, .3) : WekaUtil.getArbitrarySplitIndices(inst, new Random(0), .3, .3);
+			Assert.assertEquals(3, split.length);
+
+			/* every instance is in exactly one fold */
+			boolean[] covered = new boolean[inst.size()];
+			for (int[] fold : split) {
+				for (int index : fold) {
+					Assert.assertFalse(covered[index]);
+					covered[index] = true;
+				}
+			}
+			for (boolean c : covered)
+				Assert.assertTrue(c);
+
+			/* the index-based split is the same as the collection-based one */
+			Collection<Integer>[] collectionSplit = stratified ? WekaUtil.getStratifiedSplitIndices(inst, new Random(0), .3, .3) : WekaUtil.getArbitrarySplit(inst, new Random(0), .3, .3);
+			for (int i = 0; i < split.length; i++) {
+				Assert.assertEquals(Arrays.stream(split[i]).boxed().collect(Collectors.toList()), new ArrayList<>(collectionSplit[i]));
+			}
+
+			/* views on the folds contain the original instances */
+			List<Instances> folds = WekaUtil.realizeSplitAsSubInstances(inst, split);
+			for (int i = 0; i < split.length; i++) {
+				Assert.assertEquals(split[i].length, folds.get(i).size());
+				for (int j = 0; j < split[i].length; j++)
+					Assert.assertSame(inst.get(split[i][j]), folds.get(i).get(j));
+			}
+		}
+
+		/* stratification: each class is distributed according to the portions */
+		int[][] split = WekaUtil.getStratifiedSplitIndicesAsArrays(inst, new Random(0), .7);
+		int[] classes = WekaUtil.getClassIndices(inst);
+		for (int c = 0; c < inst.numClasses(); c++) {
+			final int currentClass = c;
+			long inTrain = Arrays.stream(split[0]).filter(i -> classes[i] == currentClass).count();
+			long total = Arrays.stream(classes).filter(x -> x == currentClass).count();
+			Assert.assertEquals(Math.ceil(total * .7), inTrain, 1);
+		}
+	}
+
+	@Test
+	public void checkSplitCache() throws Exception {
+		Instances inst = new Instances(new BufferedReader(new FileReader(folder + File.separator + "vowel.arff")));
+		inst.setClassIndex(inst.numAttributes() - 1);
+		SplitCache cache = new SplitCache(2);
+		int[][] split1 = cache.getSplitIndices("vowel", inst, 1, true, .7);
+		Assert.assertSame(split1, cache.getSplitIndices("vowel", inst, 1, true, .7));
+		Assert.assertNotSame(split1, cache.getSplitIndices("vowel", inst, 1, false, .7));
+		Assert.assertEquals(1, cache.getHits());
+		Assert.assertEquals(2, cache.getMisses());
+		Assert.assertArrayEquals(WekaUtil.getStratifiedSplitIndicesAsArrays(inst, new Random(1), .7), split1);
+
+		/* the least recently used split is evicted */
+		cache.getSplitIndices("vowel", inst, 2, true, .7);
+		Assert.assertNotSame(split1, cache.getSplitIndices("vowel", inst, 1, true, .7));
+	}
+
+	@Test
+	public void checkIndicesOfContainedInstances() throws Exception {
+		Instances inst = new Instances(new BufferedReader(new FileReader(folder + File.separator + "vowel.arff")));
+		inst.setClassIndex(inst.numAttributes() - 1);
+		int[][] split = WekaUtil.getStratifiedSplitIndicesAsArrays(inst, new Random(0), .7);
+		List<Instances> folds = WekaUtil.realizeSplitAsCopiedInstances(inst, split);
+		Assert.assertTrue(folds.get(1) instanceof ProvenanceInstances);
+
+		/* compare the provenance and the fingerprint index with a scan of the dataset */
+		Instances fold = folds.get(1);
+		Instances copyWithoutProvenance = new Instances(fold);
+		copyWithoutProvenance.randomize(new Random(0));
+		Instances shuffledFold = WekaUtil.realizeSplitAsCopiedInstances(inst, split).get(1);
+		shuffledFold.randomize(new Random(0));
+		for (Instances subset : Arrays.asList(fold, WekaUtil.realizeSplitAsSubInstances(inst, split).get(1), copyWithoutProvenance, shuffledFold)) {
+			int[] expected = getIndicesByScan(inst, subset);
+			Assert.assertArrayEquals(expected, WekaUtil.getIndicesOfContainedInstances(inst, subset));
+			Arrays.sort(expected);
+			Assert.assertArrayEquals(expected, WekaUtil.getIndicesOfSubset(inst, subset));
+		}
+		Assert.assertArrayEquals(split[1], WekaUtil.getIndicesOfContainedInstances(inst, fold));
+
+		/* instances that are not in the dataset are not found */
+		Instances other = new Instances(inst, 1);
+		double[] values = inst.get(0).toDoubleArray();
+		int numericAttribute = 0;
+		while (!inst.attribute(numericAttribute).isNumeric()) {
+			numericAttribute++;
+		}
+		values[numericAttribute] += 1000;
+		other.add(new DenseInstance(1.0, values));
+		Assert.assertEquals(-1, new InstanceFingerprintIndex(inst).indexOfOrScan(other.get(0)));
+		try {
+			WekaUtil.getIndicesOfContainedInstances(inst, other);
+			Assert.fail("Instance that is not contained in the dataset has been found.");
+		} catch (IllegalArgumentException e) {
+			/* expected */
+		}
+	}
+
+	private static int[] getIndicesByScan(final Instances data, final Instances subset) {
+		InstanceComparator comp = new InstanceComparator();
+		int[] indices = new int[subset.size()];
+		for (int i = 0; i < indices.length; i++) {
+			indices[i] = -1;
+			for (int j = 0; j < data.size() && indices[i] < 0; j++) {
+				if (comp.compare(subset.get(i), data.get(j)) == 0) {
+					indices[i] = j;
+				}
+			}
+		}
+		return indices;
+	}
 }
@@ -0,0 +1,127 @@
+package jaicore.ml.evaluation;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import java.io.BufferedReader;
+import java.io.File;
+import java.io.FileReader;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.Test;
+
+import jaicore.ml.SplitCache;
+import jaicore.ml.SubInstances;
+import weka.classifiers.Classifier;
+import weka.classifiers.trees.J48;
+import weka.core.Instances;
+
+public class MonteCarloCrossValidationEvaluatorTester {
+
+	private static final File folder = new File("testsrc/ml/orig/");
+
+	private Instances getData() throws Exception {
+		Instances inst = new Instances(new BufferedReader(new FileReader(folder + File.separator + "vowel.arff")));
+		inst.setClassIndex(inst.numAttributes() - 1);
+		return inst;
+	}
+
+	@Test
+	public void testConcurrentEvaluationYieldsSameScore() throws Exception {
+		Instances data = getData();
+		MonteCarloCrossValidationEvaluator sequential = new MonteCarloCrossValidationEvaluator(new MulticlassEvaluator(new Random(0)), 8, data, .7f);
+		MonteCarloCrossValidationEvaluator concurrent = new MonteCarloCrossValidationEvaluator(new MulticlassEvaluator(new Random(0)), 8, data, .7f);
+		ExecutorService executor = Executors.newFixedThreadPool(4);
+		try {
+			concurrent.setExecutor(executor);
+			long start = System.currentTimeMillis();
+			double sequentialScore = sequential.evaluate(new J48());
+			long sequentialTime = System.currentTimeMillis() - start;
+			start = System.currentTimeMillis();
+			double concurrentScore = concurrent.evaluate(new J48());
+			long concurrentTime = System.currentTimeMillis() - start;
+			System.out.println("Sequential MCCV: " + sequentialTime + "ms, concurrent MCCV: " + concurrentTime + "ms");
+			assertEquals(sequentialScore, concurrentScore, 1E-10);
+		} finally {
+			executor.shutdownNow();
+		}
+	}
+
+	@Test
+	public void testEarlyStopping() throws Exception {
+		Instances data = getData();
+		AtomicInteger evaluatedSplits = new AtomicInteger();
+		MulticlassEvaluator countingEvaluator = new MulticlassEvaluator(new Random(0)) {
+			@Override
+			public double getErrorRateForSplit(Classifier c, Instances train, Instances test) throws Exception {
+				evaluatedSplits.incrementAndGet();
+				return super.getErrorRateForSplit(c, train, test);
+			}
+		};
+		MonteCarloCrossValidationEvaluator mccv = new MonteCarloCrossValidationEvaluator(countingEvaluator, 10, data, .7f);
+
+		/* every classifier is significantly worse than a perfect incumbent */
+		mccv.setIncumbentScore(0.0);
+		mccv.evaluate(new J48());
+		assertTrue(evaluatedSplits.get() < 10);
+
+		/* a very wide confidence interval is narrow enough */
+		evaluatedSplits.set(0);
+		mccv.setIncumbentScore(null);
+		mccv.setMaxConfidenceIntervalWidth(10);
+		mccv.evaluate(new J48());
+		assertEquals(2, evaluatedSplits.get());
+
+		/* without early stopping, all splits are evaluated */
+		evaluatedSplits.set(0);
+		mccv.setMaxConfidenceIntervalWidth(0);
+		mccv.evaluate(new J48());
+		assertEquals(10, evaluatedSplits.get());
+	}
+
+	@Test
+	public void testSplitCacheYieldsIdenticalSplits() throws Exception {
+		Instances data = getData();
+		SplitCache cache = new SplitCache(100);
+		MonteCarloCrossValidationEvaluator mccv1 = new MonteCarloCrossValidationEvaluator(new MulticlassEvaluator(new Random(0)), 5, data, .7f);
+		MonteCarloCrossValidationEvaluator mccv2 = new MonteCarloCrossValidationEvaluator(new MulticlassEvaluator(new Random(1)), 5, data, .7f);
+		mccv1.setSplitCache(cache, "vowel", 0);
+		mccv2.setSplitCache(cache, "vowel", 0);
+		assertEquals(mccv1.evaluate(new J48()), mccv2.evaluate(new J48()), 0);
+		assertEquals(5, cache.getMisses());
+		assertEquals(5, cache.getHits());
+	}
+
+	@Test
+	public void testSplitsAreCopiesUnlessViewsAreEnabled() throws Exception {
+		Instances data = getData();
+		List<Instances> copies = new MulticlassEvaluator(new Random(0)).getRandomSplit(data, .7);
+		MulticlassEvaluator viewingEvaluator = new MulticlassEvaluator(new Random(0));
+		viewingEvaluator.setSplitsAsViews(true);
+		List<Instances> views = viewingEvaluator.getRandomSplit(data, .7);
+		assertTrue(views.get(0) instanceof SubInstances);
+		assertFalse(copies.get(0) instanceof SubInstances);
+		for (int fold = 0; fold < 2; fold++) {
+			assertEquals(views.get(fold).size(), copies.get(fold).size());
+			for (int i = 0; i < views.get(fold).size(); i++)
+				assertEquals(views.get(fold).get(i).toString(), copies.get(fold).get(i).toString());
+		}
+
+		/* classifiers may modify the copies without affecting the data */
+		String dataBefore = data.toString();
+		Instances train = copies.get(0);
+		train.setClassIndex(0);
+		train.get(0).setValue(1, -100);
+		train.add(data.get(0));
+		assertEquals(data.numAttributes() - 1, data.classIndex());
+		assertEquals(dataBefore, data.toString());
+
+		assertFalse(new SplitCache(1).getSplit("vowel", data, 0, true, .7).get(0) instanceof SubInstances);
+		assertTrue(new SplitCache(1, true).getSplit("vowel", data, 0, true, .7).get(0) instanceof SubInstances);
+	}
+}
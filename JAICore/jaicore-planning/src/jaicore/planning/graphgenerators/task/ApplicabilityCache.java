@@ -0,0 +1,171 @@
+package jaicore.planning.graphgenerators.task;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import jaicore.basic.sets.PersistentList;
+import jaicore.logic.fol.structure.Literal;
+import jaicore.logic.fol.structure.Monom;
+
+/**
+ * Bounded cache of the method instances or actions that are applicable for a task in a state. An entry is identified by the methods or
+ * operation (by identity), the task, a copy of the state, and, for methods, the remaining tasks (which determine the names of new
+ * objects). States are hashed incrementally by {@link Monom#hashCode()}, so computing a key is cheap, but keys hold a copy of the state,
+ * so the memory used by the cache is dominated by the number of literals in the states of its entries.
+ *
+ * If the cache is full, the least recently used entry is evicted.
+ *
+ * @param <T>
+ *            Method instances or actions
+ */
+public class ApplicabilityCache<T> {
+
+	private static class Key {
+		private final Object methodsOrOperation;
+		private final Literal task;
+		private final Monom state;
+		private final List<Literal> remainingTasks;
+		private final int hashCode;
+
+		private Key(Object methodsOrOperation, Literal task, Monom state, List<Literal> remainingTasks) {
+			this.methodsOrOperation = methodsOrOperation;
+			this.task = task;
+			this.state = state;
+			this.remainingTasks = remainingTasks;
+			final int prime = 31;
+			int result = System.identityHashCode(methodsOrOperation);
+			result = prime * result + task.hashCode();
+			result = prime * result + state.hashCode();
+			result = prime * result + (remainingTasks == null ? 0 : remainingTasks.hashCode());
+			this.hashCode = result;
+		}
+
+		@Override
+		public int hashCode() {
+			return hashCode;
+		}
+
+		@Override
+		public boolean equals(Object obj) {
+			if (this == obj)
+				return true;
+			if (!(obj instanceof Key))
+				return false;
+			Key other = (Key) obj;
+			if (hashCode != other.hashCode || methodsOrOperation != other.methodsOrOperation || !task.equals(other.task))
+				return false;
+			if (remainingTasks == null ? other.remainingTasks != null : !remainingTasks.equals(other.remainingTasks))
+				return false;
+			return state.equals(other.state);
+		}
+	}
+
+	private final Map<Key, List<T>> entries;
+	private long numberOfLiterals;
+	private long hits;
+	private long misses;
+
+	public ApplicabilityCache(int maxSize) {
+		if (maxSize <= 0) {
+			throw new IllegalArgumentException("The size of the cache must be positive but is " + maxSize);
+		}
+		this.entries = new LinkedHashMap<Key, List<T>>(16, 0.75f, true) {
+			private static final long serialVersionUID = 3522452574283741305L;
+
+			@Override
+			protected boolean removeEldestEntry(Map.Entry<Key, List<T>> eldest) {
+				if (this.size() > maxSize) {
+					numberOfLiterals -= eldest.getKey().state.size();
+					return true;
+				}
+				return false;
+			}
+		};
+	}
+
+	/**
+	 * @param methodsOrOperation
+	 *            The methods or the operation whose applicable instances are cached (compared by identity)
+	 * @param task
+	 *            The task
+	 * @param state
+	 *            The state
+	 * @param remainingTasks
+	 *            The other remaining tasks if they are relevant for the result and null otherwise
+	 * @return The cached method instances or actions in a new list or null if there is no entry for the arguments
+	 */
+	public List<T> get(Object methodsOrOperation, Literal task, Monom state, List<Literal> remainingTasks) {
+		Key key = new Key(methodsOrOperation, task, state, remainingTasks);
+		synchronized (entries) {
+			List<T> applicableInstances = entries.get(key);
+			if (applicableInstances == null) {
+				misses++;
+				return null;
+			}
+			hits++;
+			return new ArrayList<>(applicableInstances);
+		}
+	}
+
+	/**
+	 * Caches the method instances or actions for the given arguments. The state and remaining tasks are copied.
+	 */
+	public void put(Object methodsOrOperation, Literal task, Monom state, List<Literal> remainingTasks, Collection<T> applicableInstances) {
+		Key key = new Key(methodsOrOperation, task.clone(), new Monom(state, false), remainingTasks != null ? PersistentList.of(new ArrayList<>(remainingTasks)) : null);
+		List<T> copyOfApplicableInstances = new ArrayList<>(applicableInstances);
+		synchronized (entries) {
+			List<T> replacedInstances = entries.put(key, copyOfApplicableInstances);
+			if (replacedInstances == null) {
+				numberOfLiterals += key.state.size();
+			}
+		}
+	}
+
+	public int size() {
+		synchronized (entries) {
+			return entries.size();
+		}
+	}
+
+	public void clear() {
+		synchronized (entries) {
+			entries.clear();
+			numberOfLiterals = 0;
+			hits = 0;
+			misses = 0;
+		}
+	}
+
+	/**
+	 * @return The number of literals in the states held by the entries of the cache, which is a measure of its memory footprint
+	 */
+	public long getNumberOfLiterals() {
+		synchronized (entries) {
+			return numberOfLiterals;
+		}
+	}
+
+	public long getHits() {
+		synchronized (entries) {
+			return hits;
+		}
+	}
+
+	public long getMisses() {
+		synchronized (entries) {
+			return misses;
+		}
+	}
+
+	/**
+	 * @return The fraction of lookups that have been answered from the cache or 0 if there have been no lookups
+	 */
+	public double getHitRate() {
+		synchronized (entries) {
+			return hits + misses == 0 ? 0 : hits / (double) (hits + misses);
+		}
+	}
+}
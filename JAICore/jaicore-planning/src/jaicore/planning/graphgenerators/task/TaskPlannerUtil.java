@@ -43,8 +43,18 @@ public class TaskPlannerUtil {
 
 	private static final Logger logger = LoggerFactory.getLogger(TaskPlannerUtil.class);
 
+	/* suggested number of entries of the caches if caching is enabled by {@link #setCacheSize(int)} */
+	public static final int DEFAULT_CACHE_SIZE = 1000;
+
 	private Map<String, EvaluablePredicate> evaluablePlanningPredicates;
 
+	/*
+	 * caches of the applicable method instances and actions for tasks without knowledge (null if caching is disabled, which is the
+	 * default). Caching assumes that the evaluable predicates are deterministic.
+	 */
+	private volatile ApplicabilityCache<MethodInstance> methodInstanceCache;
+	private volatile ApplicabilityCache<Action> actionCache;
+
 	public TaskPlannerUtil(Map<String, EvaluablePredicate> evaluablePlanningPredicates) {
 		super();
 		this.evaluablePlanningPredicates = evaluablePlanningPredicates;
@@ -52,12 +62,20 @@ public class TaskPlannerUtil {
 
 	public Collection<MethodInstance> getMethodInstancesForTaskThatAreApplicableInState(CNFFormula knowledge, Collection<? extends Method> methods, Literal task, Monom state,
 			List<Literal> remainingProblems) {
+		ApplicabilityCache<MethodInstance> cache = knowledge == null ? methodInstanceCache : null;
+		if (cache != null) {
+			Collection<MethodInstance> cachedMethodInstances = cache.get(methods, task, state, remainingProblems);
+			if (cachedMethodInstances != null)
+				return cachedMethodInstances;
+		}
 		Collection<MethodInstance> applicableDerivedMethods = new ArrayList<>();
 		for (Method m : methods) {
 			if (m.getTask().getPropertyName().equals(task.getPropertyName())) {
 				applicableDerivedMethods.addAll(getMethodInstancesForTaskThatAreApplicableInState(knowledge, m, task, state, remainingProblems));
 			}
 		}
+		if (cache != null)
+			cache.put(methods, task, state, remainingProblems, applicableDerivedMethods);
 		return applicableDerivedMethods;
 	}
 
@@ -270,6 +288,12 @@ public class TaskPlannerUtil {
 	}
 
 	public Collection<Action> getActionsForPrimitiveTaskThatAreApplicableInState(CNFFormula knowledge, Operation op, Literal task, Monom state) {
+		ApplicabilityCache<Action> cache = knowledge == null ? actionCache : null;
+		if (cache != null) {
+			Collection<Action> cachedActions = cache.get(op, task, state, null);
+			if (cachedActions != null)
+				return cachedActions;
+		}
 		Collection<Action> applicableDerivedActions = new ArrayList<>();
 		List<VariableParam> allParams = new ArrayList<>();
 		allParams.addAll(op.getParams());
@@ -291,6 +315,8 @@ public class TaskPlannerUtil {
 			else
 				applicableDerivedActions.add(new Action(op, constantGrounding));
 		}
+		if (cache != null)
+			cache.put(op, task, state, null, applicableDerivedActions);
 		return applicableDerivedActions;
 	}
 
@@ -321,9 +347,13 @@ public class TaskPlannerUtil {
 
 		/* create knowledge for the check */
 		assert knowledge == null || !knowledge.hasDisjunctions() : "Currently no support for non-factbase knowledge!";
-		Monom unitedKnowledge = new Monom(state);
-		if (knowledge != null)
+		/* the state is only copied if there is additional knowledge, so that the index of the state can be reused for forward chaining */
+		final Monom unitedKnowledge;
+		if (knowledge != null && !knowledge.isEmpty()) {
+			unitedKnowledge = new Monom(state);
 			unitedKnowledge.addAll(knowledge.extractMonom());
+		} else
+			unitedKnowledge = state;
 		try {
 
 			/* determine potential output parameters of the task */
@@ -417,12 +447,68 @@ public class TaskPlannerUtil {
 		return taskSequence;
 	}
 
+	/**
+	 * Grounds the task chain of the network of a method for an instance of the method, which avoids computing the network of the instance.
+	 * 
+	 * @param taskChainOfMethod
+	 *            The task chain of the network of the method (possibly with modified task names or order)
+	 * @param instance
+	 *            The method instance
+	 * @return The tasks of the chain grounded by the instance
+	 */
+	public List<Literal> getGroundTaskChain(List<Literal> taskChainOfMethod, MethodInstance instance) {
+		List<Literal> groundTaskChain = new ArrayList<>(taskChainOfMethod.size());
+		for (Literal task : taskChainOfMethod) {
+			groundTaskChain.add(new Literal(task, instance.getGrounding()));
+		}
+		return groundTaskChain;
+	}
+
 	public Map<String, EvaluablePredicate> getEvaluablePlanningPredicates() {
 		return evaluablePlanningPredicates;
 	}
 
 	public void setEvaluablePlanningPredicates(Map<String, EvaluablePredicate> evaluablePlanningPredicates) {
 		this.evaluablePlanningPredicates = evaluablePlanningPredicates;
+		clearCaches();
+	}
+
+	/**
+	 * Sets the number of entries of the caches of applicable method instances and actions, which are cleared. Caching is disabled by
+	 * default. It only pays off if the same tasks are resolved in the same states repeatedly, e.g. in random completions, and it assumes
+	 * that the evaluable predicates are deterministic.
+	 * 
+	 * @param size
+	 *            The maximum number of entries of each cache or 0 to disable caching
+	 */
+	public void setCacheSize(int size) {
+		if (size < 0)
+			throw new IllegalArgumentException("The cache size must not be negative but is " + size);
+		this.methodInstanceCache = size > 0 ? new ApplicabilityCache<>(size) : null;
+		this.actionCache = size > 0 ? new ApplicabilityCache<>(size) : null;
+	}
+
+	public void clearCaches() {
+		ApplicabilityCache<MethodInstance> methodInstanceCache = this.methodInstanceCache;
+		if (methodInstanceCache != null)
+			methodInstanceCache.clear();
+		ApplicabilityCache<Action> actionCache = this.actionCache;
+		if (actionCache != null)
+			actionCache.clear();
+	}
+
+	/**
+	 * @return The cache of applicable method instances or null if caching is disabled
+	 */
+	public ApplicabilityCache<MethodInstance> getMethodInstanceCache() {
+		return methodInstanceCache;
+	}
+
+	/**
+	 * @return The cache of applicable actions or null if caching is disabled
+	 */
+	public ApplicabilityCache<Action> getActionCache() {
+		return actionCache;
 	}
 
 	public Optional<? extends Operation> getOperationWithName(STNPlanningDomain domain, String nameOfOperation) {
@@ -5,11 +5,14 @@ import java.util.Collection;
 import java.util.List;
 import java.util.Map;
 
+import jaicore.basic.sets.PersistentList;
+import jaicore.basic.sets.SetUtil.Pair;
 import jaicore.logic.fol.structure.Literal;
 import jaicore.logic.fol.structure.Monom;
 import jaicore.planning.graphgenerators.task.TaskPlannerUtil;
 import jaicore.planning.graphgenerators.task.ceoctfd.CEOCTFDGraphGenerator;
 import jaicore.planning.graphgenerators.task.tfd.TFDNode;
+import jaicore.planning.graphgenerators.task.tfd.TFDRestProblem;
 import jaicore.planning.model.ceoc.CEOCAction;
 import jaicore.planning.model.ceoc.CEOCOperation;
 import jaicore.planning.model.core.Action;
@@ -32,7 +35,7 @@ public class CEOCIPTFDGraphGenerator extends CEOCTFDGraphGenerator {
 		this.util = new TaskPlannerUtil(problem.getEvaluablePlanningPredicates());
 	}
 
-	protected Collection<TFDNode> getSuccessorsResultingFromResolvingComplexTask(Monom state, Literal taskToBeResolved, List<Literal> remainingOtherTasks) {
+	protected Collection<TFDNode> getSuccessorsResultingFromResolvingComplexTask(TFDNode node, Monom state, Literal taskToBeResolved, List<Literal> remainingOtherTasks) {
 		Collection<TFDNode> successors = new ArrayList<>();
 		String nextTaskName = taskToBeResolved.getPropertyName();
 
@@ -47,12 +50,10 @@ public class CEOCIPTFDGraphGenerator extends CEOCTFDGraphGenerator {
 					if (subsolution.size() > 1)
 						throw new UnsupportedOperationException("Currently only subplans of length 1 possible!");
 					Action applicableAction = subsolution.get(0);
-					Monom updatedState = new Monom(state, false);
-					PlannerUtil.updateState(updatedState, applicableAction);
-					List<Literal> remainingTasks = new ArrayList<>(remainingOtherTasks);
-					remainingTasks.remove(0);
-					successors
-							.add(new TFDNode(updatedState, remainingTasks, null, new CEOCAction((CEOCOperation) applicableAction.getOperation(), applicableAction.getGrounding())));
+					Pair<Collection<Literal>, Collection<Literal>> effects = PlannerUtil.getEffects(state, applicableAction);
+					List<Literal> remainingTasks = PersistentList.<Literal>of(remainingOtherTasks).getTail();
+					TFDRestProblem restProblem = new TFDRestProblem(node.getProblem(), effects.getX(), effects.getY(), remainingTasks);
+					successors.add(new TFDNode(restProblem, null, new CEOCAction((CEOCOperation) applicableAction.getOperation(), applicableAction.getGrounding())));
 				}
 
 				return successors;
@@ -64,7 +65,7 @@ public class CEOCIPTFDGraphGenerator extends CEOCTFDGraphGenerator {
 
 		/* otherwise, ordinary computation */
 		else
-			return super.getSuccessorsResultingFromResolvingComplexTask(state, taskToBeResolved, remainingOtherTasks);
+			return super.getSuccessorsResultingFromResolvingComplexTask(node, state, taskToBeResolved, remainingOtherTasks);
 	}
 
 	@Override
@@ -1,9 +1,14 @@
 package jaicore.planning.graphgenerators.task.ceoctfd;
 
+import java.util.Collections;
+import java.util.List;
+import java.util.stream.Collectors;
+
 import jaicore.logic.fol.structure.Literal;
 import jaicore.logic.fol.structure.Monom;
 import jaicore.planning.graphgenerators.task.tfd.TFDGraphGenerator;
 import jaicore.planning.graphgenerators.task.tfd.TFDNode;
+import jaicore.planning.graphgenerators.task.tfd.TFDRestProblem;
 import jaicore.planning.model.task.ceocstn.CEOCSTNPlanningProblem;
 
 @SuppressWarnings("serial")
@@ -16,8 +21,13 @@ public class CEOCTFDGraphGenerator extends TFDGraphGenerator {
 	@Override
 	protected TFDNode postProcessComplexTaskNode(TFDNode node) {
 		Monom state = node.getState();
-		state.getParameters().stream().filter(p -> p.getName().startsWith("newVar") && !state.contains(new Literal("def('" + p.getName() + "')")))
-				.forEach(p -> state.add(new Literal("def('" + p.getName() + "')")));
-		return node;
+		List<Literal> definitions = state.getParameters().stream().filter(p -> p.getName().startsWith("newVar") && !state.contains(new Literal("def('" + p.getName() + "')")))
+				.map(p -> new Literal("def('" + p.getName() + "')")).collect(Collectors.toList());
+		if (definitions.isEmpty())
+			return node;
+		
+		/* the state of the node may be shared with other nodes, so the definitions are added as an update of it */
+		TFDRestProblem restProblem = new TFDRestProblem(node.getProblem(), Collections.emptyList(), definitions, node.getRemainingTasks());
+		return new TFDNode(restProblem, node.getAppliedMethodInstance(), node.getAppliedAction());
 	}
 }
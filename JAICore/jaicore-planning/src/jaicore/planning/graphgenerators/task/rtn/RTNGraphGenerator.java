@@ -4,6 +4,7 @@ import java.util.ArrayList;
 import java.util.Collection;
 import java.util.HashMap;
 import java.util.HashSet;
+import java.util.IdentityHashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
@@ -40,10 +41,15 @@ public class RTNGraphGenerator implements GraphGenerator<RTNNode, RTNEdge> {
 	private final Map<String, Operation> primitiveTasks = new HashMap<>();
 	private final TaskPlannerUtil util = new TaskPlannerUtil(null);
 
+	/* task chains of the networks of the methods, which are computed once */
+	private final Map<Method, List<Literal>> taskChainsOfMethods = new IdentityHashMap<>();
+
 	public RTNGraphGenerator(RTNPlanningProblem problem) {
 		this.problem = problem;
 		for (Operation op : problem.getDomain().getOperations())
 			primitiveTasks.put(op.getName(), op);
+		for (Method method : problem.getDomain().getMethods())
+			taskChainsOfMethods.put(method, util.getTaskChainOfTotallyOrderedNetwork(method.getNetwork()));
 	}
 
 	@Override
@@ -147,7 +153,9 @@ public class RTNGraphGenerator implements GraphGenerator<RTNNode, RTNEdge> {
 
 						logger.info("Adding successor {}", instance);
 
-						final List<Literal> remainingTasks = new ArrayList<>(util.getTaskChainOfTotallyOrderedNetwork(instance.getNetwork()));
+						final List<Literal> taskChainOfMethod = taskChainsOfMethods.get(instance.getMethod());
+						final List<Literal> remainingTasks = taskChainOfMethod != null ? util.getGroundTaskChain(taskChainOfMethod, instance)
+								: new ArrayList<>(util.getTaskChainOfTotallyOrderedNetwork(instance.getNetwork()));
 
 						final int indexForRemoval = remainingTasks.size();
 						remainingTasks.addAll(currentlyRemainingTasks);
@@ -2,13 +2,18 @@ package jaicore.planning.graphgenerators.task.tfd;
 
 import java.util.ArrayList;
 import java.util.Collection;
+import java.util.Comparator;
 import java.util.HashMap;
+import java.util.IdentityHashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.regex.Matcher;
 import java.util.regex.Pattern;
 import java.util.stream.Collectors;
 
+import jaicore.basic.sets.PersistentList;
+import jaicore.basic.sets.SetUtil.Pair;
 import jaicore.logic.fol.structure.Literal;
 import jaicore.logic.fol.structure.Monom;
 import jaicore.planning.graphgenerators.task.TaskPlannerUtil;
@@ -16,6 +21,7 @@ import jaicore.planning.model.core.Action;
 import jaicore.planning.model.core.Operation;
 import jaicore.planning.model.core.PlannerUtil;
 import jaicore.planning.model.task.IHTNPlanningProblem;
+import jaicore.planning.model.task.stn.Method;
 import jaicore.planning.model.task.stn.MethodInstance;
 import jaicore.search.algorithms.parallel.parallelexploration.distributed.interfaces.SerializableGraphGenerator;
 import jaicore.search.structure.core.NodeExpansionDescription;
@@ -31,35 +37,81 @@ public class TFDGraphGenerator implements SerializableGraphGenerator<TFDNode, St
 	protected final IHTNPlanningProblem problem;
 	protected final Map<String, Operation> primitiveTasks = new HashMap<>();
 
+	/* the priority of a task is given by a numbered prefix of its name, and tasks without such a prefix come after all others */
+	private static final Pattern PRIORITY_PATTERN = Pattern.compile("(\\d+)_");
+	private static final int NO_PRIORITY = Integer.MAX_VALUE;
+
+	/* task chains of the methods with stripped prefixes and ordered by priority, and priorities of tasks by their names */
+	private final Map<Method, List<Literal>> taskChainsOfMethods = new IdentityHashMap<>();
+	private final Map<String, Integer> priorities = new ConcurrentHashMap<>();
+
 	public TFDGraphGenerator(IHTNPlanningProblem problem) {
 		this.problem = problem;
 		for (Operation op : problem.getDomain().getOperations())
 			primitiveTasks.put(op.getName(), op);
+		for (Method method : problem.getDomain().getMethods())
+			taskChainsOfMethods.put(method, getTasksOrderedByPriority(stripTNPrefixes(util.getTaskChainOfTotallyOrderedNetwork(method.getNetwork()))));
 	}
 
-	protected Collection<TFDNode> getSuccessorsResultingFromResolvingPrimitiveTask(Monom state, Literal taskToBeResolved, List<Literal> remainingOtherTasks) {
+	/**
+	 * Creates the successors of a node whose next task is primitive. The state of a successor is only stored as the update of the state
+	 * of the node, and the remaining tasks share the list of the remaining tasks of the node.
+	 * 
+	 * @param node
+	 *            The node that is expanded
+	 * @param state
+	 *            The state of the node
+	 * @param taskToBeResolved
+	 *            The next task of the node
+	 * @param remainingOtherTasks
+	 *            The other remaining tasks of the node
+	 */
+	protected Collection<TFDNode> getSuccessorsResultingFromResolvingPrimitiveTask(TFDNode node, Monom state, Literal taskToBeResolved, List<Literal> remainingOtherTasks) {
 		Collection<TFDNode> successors = new ArrayList<>();
 		for (Action applicableAction : util.getActionsForPrimitiveTaskThatAreApplicableInState(null, primitiveTasks.get(taskToBeResolved.getPropertyName()), taskToBeResolved,
 				state)) {
-			Monom stateCopy = new Monom(state);
-			PlannerUtil.updateState(stateCopy, applicableAction);
-			successors.add(postProcessPrimitiveTaskNode(new TFDNode(stateCopy, remainingOtherTasks, null, applicableAction)));
+			Pair<Collection<Literal>, Collection<Literal>> effects = PlannerUtil.getEffects(state, applicableAction);
+			TFDRestProblem restProblem = new TFDRestProblem(node.getProblem(), effects.getX(), effects.getY(), remainingOtherTasks);
+			successors.add(postProcessPrimitiveTaskNode(new TFDNode(restProblem, null, applicableAction)));
 		}
 		return successors;
 	}
 
-	protected Collection<TFDNode> getSuccessorsResultingFromResolvingComplexTask(Monom state, Literal taskToBeResolved, List<Literal> remainingOtherTasks) {
+	/**
+	 * Creates the successors of a node whose next task is complex. The successors share the state of the node, and their remaining tasks
+	 * share the list of the remaining tasks of the node.
+	 * 
+	 * @param node
+	 *            The node that is expanded
+	 * @param state
+	 *            The state of the node
+	 * @param taskToBeResolved
+	 *            The next task of the node
+	 * @param remainingOtherTasks
+	 *            The other remaining tasks of the node
+	 */
+	protected Collection<TFDNode> getSuccessorsResultingFromResolvingComplexTask(TFDNode node, Monom state, Literal taskToBeResolved, List<Literal> remainingOtherTasks) {
 		Collection<TFDNode> successors = new ArrayList<>();
 		for (MethodInstance instance : util.getMethodInstancesForTaskThatAreApplicableInState(null, this.problem.getDomain().getMethods(), taskToBeResolved, state, remainingOtherTasks)) {
 
 			/* derive remaining network for this instance */
-			List<Literal> remainingTasks = stripTNPrefixes(util.getTaskChainOfTotallyOrderedNetwork(instance.getNetwork()));
-			remainingTasks.addAll(remainingOtherTasks);
-			successors.add(postProcessComplexTaskNode(new TFDNode(state, remainingTasks, instance, null)));
+			List<Literal> remainingTasks = getTasksOrderedByPriority(getTaskChain(instance), PersistentList.of(remainingOtherTasks));
+			successors.add(postProcessComplexTaskNode(new TFDNode(new TFDRestProblem(node.getProblem(), remainingTasks), instance, null)));
 		}
 		return successors;
 	}
 	
+	/**
+	 * Computes the tasks of the network of a method instance with stripped prefixes and ordered by priority. For the methods of the
+	 * domain, this only grounds the task chain that has been computed for the method when the graph generator has been created.
+	 */
+	protected List<Literal> getTaskChain(MethodInstance instance) {
+		List<Literal> taskChainOfMethod = taskChainsOfMethods.get(instance.getMethod());
+		if (taskChainOfMethod == null)
+			return getTasksOrderedByPriority(stripTNPrefixes(util.getTaskChainOfTotallyOrderedNetwork(instance.getNetwork())));
+		return util.getGroundTaskChain(taskChainOfMethod, instance);
+	}
+
 	protected List<Literal> stripTNPrefixes(List<Literal> taskList) {
 		return taskList.stream().map(l ->{
 			String taskName = l.getPropertyName().substring(l.getPropertyName().indexOf("-") + 1, l.getPropertyName().length());
@@ -87,26 +139,30 @@ public class TFDGraphGenerator implements SerializableGraphGenerator<TFDNode, St
 		return node;
 	}
 
+	public TaskPlannerUtil getTaskPlannerUtil() {
+		return util;
+	}
+
 	@Override
 	public SingleRootGenerator<TFDNode> getRootGenerator() {
 		TaskPlannerUtil util = new TaskPlannerUtil(null);
-		return () -> new TFDNode(problem.getInit(), stripTNPrefixes(util.getTaskChainOfTotallyOrderedNetwork(problem.getNetwork())));
+		return () -> new TFDNode(problem.getInit(), PersistentList.of(stripTNPrefixes(util.getTaskChainOfTotallyOrderedNetwork(problem.getNetwork()))));
 	}
 
 	@Override
 	public SuccessorGenerator<TFDNode, String> getSuccessorGenerator() {
 		return l -> {
 			Monom state = l.getState();
-			List<Literal> currentlyRemainingTasks = new ArrayList<>(l.getRemainingTasks());
-			Literal nextTaskTmp = currentlyRemainingTasks.get(0);
-			currentlyRemainingTasks.remove(0);
+			PersistentList<Literal> remainingTasks = PersistentList.of(l.getRemainingTasks());
+			Literal nextTaskTmp = remainingTasks.getFirst();
+			List<Literal> currentlyRemainingTasks = remainingTasks.getTail();
 			String nextTaskName = nextTaskTmp.getPropertyName();
 			Literal nextTask = new Literal(nextTaskName, nextTaskTmp.getParameters());
 
 			/* get the child nodes */
 			Collection<TFDNode> successors = primitiveTasks.containsKey(nextTask.getPropertyName())
-					? getSuccessorsResultingFromResolvingPrimitiveTask(state, nextTask, currentlyRemainingTasks)
-					: getSuccessorsResultingFromResolvingComplexTask(state, nextTask, currentlyRemainingTasks);
+					? getSuccessorsResultingFromResolvingPrimitiveTask(l, state, nextTask, currentlyRemainingTasks)
+					: getSuccessorsResultingFromResolvingComplexTask(l, state, nextTask, currentlyRemainingTasks);
 			
 			/* change order in remaining tasks based on numbered prefixes */
 			successors = successors.stream().map(s -> orderRemainingTasksByPriority(s)).collect(Collectors.toList());
@@ -118,28 +174,63 @@ public class TFDGraphGenerator implements SerializableGraphGenerator<TFDNode, St
 	
 	public TFDNode orderRemainingTasksByPriority(TFDNode node) {
 		
-		/* determine order of tasks based on the prefixes */
-		Pattern p = Pattern.compile("(\\d+)_");
-		List<Literal> unorderedLiterals = new ArrayList<>();
-		Map<Integer,List<Literal>> orderedLiterals = new HashMap<>();
-		node.getRemainingTasks().forEach(t -> {
-			Matcher m = p.matcher(t.getPropertyName());
-			if (m.find()) {
-				int order = Integer.valueOf(m.group(1));
-				if (!orderedLiterals.containsKey(order))
-					orderedLiterals.put(order, new ArrayList<>());
-				List<Literal> tasksWithorder = orderedLiterals.get(order);
-				tasksWithorder.add(t);
-			}
-			else
-				unorderedLiterals.add(t);
-		});
+		/* if the tasks are already ordered, keep the node so that its list of remaining tasks remains shared */
+		if (isOrderedByPriority(node.getRemainingTasks()))
+			return node;
 		
 		/* reorganize task network */
-		List<Literal> newLiteralList = new ArrayList<>();
-		orderedLiterals.keySet().stream().sorted().forEach(order -> newLiteralList.addAll(orderedLiterals.get(order)));
-		newLiteralList.addAll(unorderedLiterals);
-		return new TFDNode(node.getState(), newLiteralList, node.getAppliedMethodInstance(), node.getAppliedAction());
+		List<Literal> orderedTasks = PersistentList.of(getTasksOrderedByPriority(node.getRemainingTasks()));
+		return new TFDNode(new TFDRestProblem(node.getProblem(), orderedTasks), node.getAppliedMethodInstance(), node.getAppliedAction());
+	}
+
+	private int getPriority(Literal task) {
+		return priorities.computeIfAbsent(task.getPropertyName(), name -> {
+			Matcher m = PRIORITY_PATTERN.matcher(name);
+			return m.find() ? Integer.valueOf(m.group(1)) : NO_PRIORITY;
+		});
+	}
+
+	private boolean isOrderedByPriority(List<Literal> tasks) {
+		int lastPriority = Integer.MIN_VALUE;
+		for (Literal task : tasks) {
+			int priority = getPriority(task);
+			if (priority < lastPriority)
+				return false;
+			lastPriority = priority;
+		}
+		return true;
+	}
+
+	/**
+	 * Orders the tasks by their priority. Tasks with the same priority keep their order.
+	 */
+	private List<Literal> getTasksOrderedByPriority(List<Literal> tasks) {
+		List<Literal> orderedTasks = new ArrayList<>(tasks);
+		orderedTasks.sort(Comparator.comparingInt(this::getPriority));
+		return orderedTasks;
+	}
+
+	/**
+	 * Orders the tasks of the given ordered list followed by the remaining tasks by their priority. If the remaining tasks are ordered, too,
+	 * the tasks are merged into them, so that the remaining tasks after the last merged task are shared.
+	 */
+	private List<Literal> getTasksOrderedByPriority(List<Literal> orderedTasks, PersistentList<Literal> remainingTasks) {
+		if (!isOrderedByPriority(remainingTasks)) {
+			List<Literal> tasks = new ArrayList<>(orderedTasks);
+			tasks.addAll(remainingTasks);
+			return PersistentList.of(getTasksOrderedByPriority(tasks));
+		}
+		List<Literal> mergedTasks = new ArrayList<>();
+		PersistentList<Literal> tail = remainingTasks;
+		for (Literal task : orderedTasks) {
+			int priority = getPriority(task);
+			while (!tail.isEmpty() && getPriority(tail.getFirst()) < priority) {
+				mergedTasks.add(tail.getFirst());
+				tail = tail.getTail();
+			}
+			mergedTasks.add(task);
+		}
+		return tail.prependAll(mergedTasks);
 	}
 
 	@Override
@@ -1,42 +1,155 @@
 package jaicore.planning.graphgenerators.task.tfd;
 
+import java.io.ObjectStreamException;
 import java.io.Serializable;
+import java.lang.ref.SoftReference;
+import java.util.ArrayList;
+import java.util.Collection;
 import java.util.List;
 
 import jaicore.logic.fol.structure.Literal;
 import jaicore.logic.fol.structure.Monom;
 
+/**
+ * The rest problem of a TFD node, i.e. the current state and the tasks that remain to be solved.
+ *
+ * To save memory, the state is only stored explicitly for the root and for every {@value #MAX_NUMBER_OF_UPDATES}-th update of it. All
+ * other rest problems only store the literals that have been removed from and added to the state of the rest problem they have been
+ * derived from, and the state is computed on demand. Computed states are cached softly, so they can be reclaimed by the garbage
+ * collector if memory gets short.
+ */
 public class TFDRestProblem implements Serializable {
 
 	private static final long serialVersionUID = 6946349883053172033L;
+
+	/* maximum number of updates that are stored before the state is stored explicitly again */
+	private static final int MAX_NUMBER_OF_UPDATES = 16;
+
+	/* the state if it is stored explicitly (then there is no predecessor) */
 	private final Monom state;
+
+	/* otherwise, the rest problem whose state has been updated and the update */
+	private final TFDRestProblem predecessor;
+	private final Collection<Literal> deleteList;
+	private final Collection<Literal> addList;
+	private final int numberOfUpdates;
+
 	private final List<Literal> remainingTasks;
 
+	/* the state computed from the predecessor and the hash code, both determined lazily */
+	private transient SoftReference<Monom> computedState;
+	private transient int hashCode;
+
 	public TFDRestProblem(Monom state, List<Literal> remainingTasks) {
 		super();
 		this.state = state;
+		this.predecessor = null;
+		this.deleteList = null;
+		this.addList = null;
+		this.numberOfUpdates = 0;
 		this.remainingTasks = remainingTasks;
 	}
 
+	/**
+	 * Creates a rest problem with the same state as the given one (the state is shared, not copied).
+	 */
+	public TFDRestProblem(TFDRestProblem problemWithState, List<Literal> remainingTasks) {
+		super();
+		this.state = problemWithState.state;
+		this.predecessor = problemWithState.predecessor;
+		this.deleteList = problemWithState.deleteList;
+		this.addList = problemWithState.addList;
+		this.numberOfUpdates = problemWithState.numberOfUpdates;
+		this.remainingTasks = remainingTasks;
+	}
+
+	/**
+	 * Creates a rest problem whose state is the state of the given problem after removing the literals of the delete list and adding the
+	 * literals of the add list. The lists must not be modified afterwards.
+	 */
+	public TFDRestProblem(TFDRestProblem predecessor, Collection<Literal> deleteList, Collection<Literal> addList, List<Literal> remainingTasks) {
+		super();
+		if (predecessor.numberOfUpdates < MAX_NUMBER_OF_UPDATES) {
+			this.state = null;
+			this.predecessor = predecessor;
+			this.deleteList = deleteList;
+			this.addList = addList;
+			this.numberOfUpdates = predecessor.numberOfUpdates + 1;
+		} else {
+			Monom updatedState = predecessor.computeState();
+			updatedState.removeAll(deleteList);
+			updatedState.addAll(addList);
+			this.state = updatedState;
+			this.predecessor = null;
+			this.deleteList = null;
+			this.addList = null;
+			this.numberOfUpdates = 0;
+		}
+		this.remainingTasks = remainingTasks;
+	}
+
+	/**
+	 * Returns the state of this rest problem. The returned monom must not be modified, because it may be shared with other rest problems
+	 * and, if the state is not stored explicitly, it is cached for subsequent calls. Use a copy of it to derive a new state.
+	 */
 	public Monom getState() {
-		return state;
+		if (predecessor == null)
+			return state;
+		Monom cachedState = computedState != null ? computedState.get() : null;
+		if (cachedState == null) {
+			cachedState = computeState();
+			computedState = new SoftReference<>(cachedState);
+		}
+		return cachedState;
+	}
+
+	/**
+	 * @return true if the state is stored explicitly and false if it is computed from the state of another rest problem
+	 */
+	public boolean isStateStoredExplicitly() {
+		return predecessor == null;
+	}
+
+	private Monom computeState() {
+		List<TFDRestProblem> updates = new ArrayList<>(numberOfUpdates);
+		TFDRestProblem problem = this;
+		while (problem.predecessor != null) {
+			updates.add(problem);
+			problem = problem.predecessor;
+		}
+		Monom computedState = new Monom(problem.state, false);
+		for (int i = updates.size() - 1; i >= 0; i--) {
+			computedState.removeAll(updates.get(i).deleteList);
+			computedState.addAll(updates.get(i).addList);
+		}
+		return computedState;
 	}
 
 	public List<Literal> getRemainingTasks() {
 		return remainingTasks;
 	}
-	
+
+	/* serialized rest problems store their state explicitly so that they do not depend on their predecessors */
+	private Object writeReplace() throws ObjectStreamException {
+		return predecessor == null ? this : new TFDRestProblem(computeState(), remainingTasks);
+	}
+
 	@Override
 	public String toString() {
-		return "TFDRestProblem [state=" + state + ", remainingTasks=" + remainingTasks + "]";
+		return "TFDRestProblem [state=" + getState() + ", remainingTasks=" + remainingTasks + "]";
 	}
 
 	@Override
 	public int hashCode() {
-		final int prime = 31;
-		int result = 1;
-		result = prime * result + ((remainingTasks == null) ? 0 : remainingTasks.hashCode());
-		result = prime * result + ((state == null) ? 0 : state.hashCode());
+		int result = this.hashCode;
+		if (result == 0) {
+			final int prime = 31;
+			Monom state = getState();
+			result = 1;
+			result = prime * result + ((remainingTasks == null) ? 0 : remainingTasks.hashCode());
+			result = prime * result + ((state == null) ? 0 : state.hashCode());
+			this.hashCode = result;
+		}
 		return result;
 	}
 
@@ -54,10 +167,14 @@ public class TFDRestProblem implements Serializable {
 				return false;
 		} else if (!remainingTasks.equals(other.remainingTasks))
 			return false;
+		if (hashCode() != other.hashCode())
+			return false;
+		Monom state = getState();
+		Monom otherState = other.getState();
 		if (state == null) {
-			if (other.state != null)
+			if (otherState != null)
 				return false;
-		} else if (!state.equals(other.state))
+		} else if (!state.equals(otherState))
 			return false;
 		return true;
 	}
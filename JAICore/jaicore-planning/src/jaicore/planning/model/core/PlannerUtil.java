@@ -7,6 +7,7 @@ import java.util.Map;
 import java.util.stream.Collectors;
 
 import jaicore.basic.sets.SetUtil;
+import jaicore.basic.sets.SetUtil.Pair;
 import jaicore.logic.fol.structure.CNFFormula;
 import jaicore.logic.fol.structure.Clause;
 import jaicore.logic.fol.structure.ConstantParam;
@@ -50,15 +51,25 @@ public class PlannerUtil {
 	
 
 	public static void updateState(Monom state, Action appliedAction) {
+		Pair<Collection<Literal>, Collection<Literal>> effects = getEffects(state, appliedAction);
+		state.removeAll(effects.getX());
+		state.addAll(effects.getY());
+	}
+
+	/**
+	 * Determines the effects of applying an action in a state without changing the state.
+	 * 
+	 * @return The literals that are removed from the state and the literals that are added to the state afterwards (in this order)
+	 */
+	public static Pair<Collection<Literal>, Collection<Literal>> getEffects(Monom state, Action appliedAction) {
 
 		// assert state.containsAll(appliedAction.getPrecondition().stream().filter(lit -> lit.isPositive()).collect(Collectors.toList())) && SetUtil.disjoint(state,
 		// appliedAction.getPrecondition().stream().filter(lit -> lit.isNegated()).collect(Collectors.toList())) : ("Action " + appliedAction + " is supposed to be aplpicable in state " + state + "
 		// but it is not!");
 		/* apply effects of action (STRIPS) */
 		if (appliedAction.getOperation() instanceof StripsOperation) {
-			Action a = new StripsAction((StripsOperation) appliedAction.getOperation(), appliedAction.getGrounding());
-			state.removeAll(((StripsAction) a).getDeleteList());
-			state.addAll(((StripsAction) a).getAddList());
+			StripsAction a = new StripsAction((StripsOperation) appliedAction.getOperation(), appliedAction.getGrounding());
+			return new Pair<>(a.getDeleteList(), a.getAddList());
 		}
 
 		/* apply effects of action (ConditionalEffect operations) */
@@ -104,12 +115,11 @@ public class PlannerUtil {
 				}
 			}
 			
-			/* now conduct update */
-			state.removeAll(toRemove);
-			state.addAll(toAdd);
+			return new Pair<>(toRemove, toAdd);
 			
 		} else {
 			System.err.println("No support for operations of class " + appliedAction.getOperation().getClass());
+			return new Pair<>(new ArrayList<>(), new ArrayList<>());
 		}
 	}
 
@@ -5,18 +5,47 @@ import java.util.Collection;
 
 import jaicore.search.structure.core.Node;
 
+/**
+ * Result of a coworker. A final result contains the nodes that remained on OPEN when the coworker finished its job. A partial result is sent while the
+ * coworker is still working and contains the part of its OPEN it shares with other coworkers.
+ */
 @SuppressWarnings("serial")
 public class DistributedComputationResult<T, V extends Comparable<V>> implements Serializable {
 
 	private final String coworker;
 	private final Collection<Node<T, V>> open;
 	private final Collection<Node<T, V>> solutions;
+	private final boolean partial;
+	private final int numberOfExpansions;
+	private final long computationTime;
 
 	public DistributedComputationResult(String coworker, Collection<Node<T, V>> open, Collection<Node<T, V>> solutions) {
+		this(coworker, open, solutions, false, 0, 0);
+	}
+
+	/**
+	 * @param coworker
+	 *            The id of the coworker
+	 * @param open
+	 *            The nodes on OPEN or the shared part of them
+	 * @param solutions
+	 *            The goal nodes found by the coworker
+	 * @param partial
+	 *            Whether the coworker is still working on its job
+	 * @param numberOfExpansions
+	 *            The number of nodes the coworker has expanded for the job
+	 * @param computationTime
+	 *            The time in ms the coworker has spent on the job
+	 */
+	public DistributedComputationResult(String coworker, Collection<Node<T, V>> open, Collection<Node<T, V>> solutions, boolean partial, int numberOfExpansions,
+			long computationTime) {
 		super();
 		this.coworker = coworker;
 		this.open = open;
 		this.solutions = solutions;
+		this.partial = partial;
+		this.numberOfExpansions = numberOfExpansions;
+		this.computationTime = computationTime;
 	}
 
 	public String getCoworker() {
@@ -30,4 +59,16 @@ public class DistributedComputationResult<T, V extends Comparable<V>> implements
 	public Collection<Node<T, V>> getSolutions() {
 		return solutions;
 	}
+
+	public boolean isPartial() {
+		return partial;
+	}
+
+	public int getNumberOfExpansions() {
+		return numberOfExpansions;
+	}
+
+	public long getComputationTime() {
+		return computationTime;
+	}
 }
@@ -2,6 +2,9 @@ package jaicore.search.algorithms.parallel.parallelexploration.distributed;
 
 import java.util.ArrayList;
 import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
 
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -21,6 +24,7 @@ public class DistributedOrSearch<T, A, V extends Comparable<V>> extends ORGraphS
 
 	private static final Logger logger = LoggerFactory.getLogger(DistributedOrSearch.class);
 	private final DistributedSearchManager<T, A, V> manager;
+	private final Object openLock = new Object(); // OPEN is modified by the search thread and by the threads of the manager
 
 	public DistributedOrSearch(SerializableGraphGenerator<T, A> graphGenerator, SerializableNodeEvaluator<T, V> pNodeEvaluator,
 			DistributedSearchCommunicationLayer<T, A, V> communicationLayer) {
@@ -32,7 +36,7 @@ public class DistributedOrSearch<T, A, V extends Comparable<V>> extends ORGraphS
 			communicationLayer.setGraphGenerator(graphGenerator);
 			communicationLayer.setNodeEvaluator(pNodeEvaluator);
 		} catch (Exception e) {
-			e.printStackTrace();
+			logger.error("Could not initialize the communication layer: {}", e.getMessage(), e);
 		}
 		
 		/* now start distributed manager */
@@ -44,36 +48,77 @@ public class DistributedOrSearch<T, A, V extends Comparable<V>> extends ORGraphS
 	protected boolean beforeSelection() {
 		if (!super.beforeSelection())
 			return false;
-		if (this.manager.getNumberOfHelpers() == this.manager.getNumbetOfIdleCoworkers()) {
-			logger.info("There are no (busy) coworkers, continue exploring on my own.");
+		if (!this.manager.isBusy()) {
+			logger.info("There are no busy coworkers, continue exploring on my own.");
 			return true;
 		}
-		logger.info("No further local exploration since there are sufficient busy coworkers ...");
-		try {
-			Thread.sleep(1000);
-		} catch (InterruptedException e) {
-			e.printStackTrace();
-		}
 		return false;
 	}
 	
+	@Override
+	protected void step() {
+		synchronized (openLock) {
+			super.step();
+		}
+		
+		/* wait outside of the lock, so that the results of the coworkers can be processed in the meantime */
+		if (this.manager.isBusy()) {
+			logger.info("No further local exploration since there are busy coworkers ...");
+			try {
+				this.manager.awaitProcessedResult(1000);
+			} catch (InterruptedException e) {
+
+				/* stop the search like an interrupt during a step, and keep the interrupt for the caller */
+				logger.info("Interrupted while waiting for results of the coworkers.");
+				interrupted = true;
+				Thread.currentThread().interrupt();
+			}
+		}
+	}
+	
+	@Override
+	protected void afterExpansion(Node<T, V> node) {
+		super.afterExpansion(node);
+		this.manager.signalNewNodes();
+	}
+	
 	@Subscribe
 	public void receiveNodeEvent(NodePassedToCoworkerEvent<Node<T,V>> e) {
-		this.graphEventBus.post(new NodeTypeSwitchEvent<>(e.getNode(), "or_distributed"));
+		if (this.graphEventBus.hasSubscribers(NodeTypeSwitchEvent.class))
+			this.graphEventBus.post(new NodeTypeSwitchEvent<>(e.getNode(), "or_distributed"));
 	}
 	
 	@Override
 	public Collection<Node<T,V>> nextJob() {
-		if (open.size() > 1) {
+		synchronized (openLock) {
+			if (open.size() <= 1)
+				return null;
 //			int helpers = manager.getNumbetOfIdleCoworkers() + manager.getNumbetOfPendingCoworkers();
 //			int pendingTasks = manager.getNumberOfUnprocessedJobs();
 //			int nodesToOutsource = Math.min(open.size() -1, helpers - pendingTasks);
 //			logger.info("Finished node expansion, distributing min({} - 1, {} - {}) = {} nodes ...", open.size() - 1, helpers, pendingTasks, nodesToOutsource);
 			Collection<Node<T,V>> nextJob = pollNodesForDistribution(1);
+			activeJobs.incrementAndGet();
 			logger.info("Passing next job with {} node(s) to the DistributedSearchManager.", nextJob.size());
 			return nextJob;
 		}
-		return null;
+	}
+
+	/**
+	 * Polls the given share of the nodes on OPEN, but at least one, for a coworker. At least one node always remains on OPEN.
+	 */
+	@Override
+	public Collection<Node<T,V>> nextJob(double share) {
+		synchronized (openLock) {
+			if (open.size() <= 1)
+				return null;
+			int available = open.size() - 1;
+			int nodesToOutsource = (int)Math.max(1, Math.min(available, Math.round(share * available)));
+			Collection<Node<T,V>> nextJob = pollNodesForDistribution(nodesToOutsource);
+			activeJobs.incrementAndGet();
+			logger.info("Passing next job with {} of {} node(s) to the DistributedSearchManager.", nextJob.size(), available + 1);
+			return nextJob;
+		}
 	}
 
 	@Override
@@ -90,7 +135,11 @@ public class DistributedOrSearch<T, A, V extends Comparable<V>> extends ORGraphS
 		manager.shutdown();
 	}
 
-	private Collection<Node<T, V>> pollNodesForDistribution(int helpers) {
+	public int getNumberOfCoworkers() {
+		return manager.getNumberOfHelpers();
+	}
+
+	private Collection<Node<T, V>> pollNodesForDistribution(int numberOfNodes) {
 		Collection<Node<T, V>> nodes = new ArrayList<>();
 		if (open.isEmpty())
 			return null;
@@ -108,8 +157,13 @@ public class DistributedOrSearch<T, A, V extends Comparable<V>> extends ORGraphS
 		/* return all the not used paths to open */
 //		open.addAll(toPutBack);
 //		logger.info("Distributing " + nodes.size() + " of " + max);
-		nodes.add(open.peek());
-		open.remove(open.peek());
+
+		/* hand out the best nodes; removing the head of OPEN does not require to search OPEN */
+		while (nodes.size() < Math.max(1, numberOfNodes) && !open.isEmpty()) {
+			Node<T, V> node = open.peek();
+			open.remove(node);
+			nodes.add(node);
+		}
 		return nodes;
 	}
 
@@ -117,32 +171,45 @@ public class DistributedOrSearch<T, A, V extends Comparable<V>> extends ORGraphS
 	public void processResult(Collection<Node<T, V>> job, DistributedComputationResult<T, V> result) {
 
 		logger.info("Processing result ...");
+		synchronized (openLock) {
 
-		/* mark the nodes that was outsourced to this coworker as closed and update status */
-		for (Node<T, V> node : job) {
-			getEventBus().post(new NodeTypeSwitchEvent<Node<T, V>>(node, "or_closed"));
-		}
+			/* mark the nodes that was outsourced to this coworker as closed and update status */
+			if (getEventBus().hasSubscribers(NodeTypeSwitchEvent.class)) {
+				for (Node<T, V> node : job) {
+					getEventBus().post(new NodeTypeSwitchEvent<Node<T, V>>(node, "or_closed"));
+				}
+			}
 
-		/* if neither a solution was found nor we add any nodes to open, report that no change was made to the node set */
-		if (result.getOpen().isEmpty() && result.getSolutions().isEmpty())
-			return;
+			/* special hints if */
+			if (result.getOpen().isEmpty()) {
+				if (!result.isPartial())
+					logger.warn("No OPEN nodes were returned in this result. This produces a dead end node!");
+			}
+			else {
+				/* append open nodes */
+				for (Node<T, V> p : result.getOpen()) {
+					insertNodeIntoLocalGraph(p);
+					open.add(getLocalVersionOfNode(p));
+				}
+				logger.info("Added {} nodes to open (and a respective number was added in order to make them reachable).", result.getOpen().size());
+			}
 
-		/* special hints if */
-		if (result.getOpen().isEmpty()) {
-			logger.warn("No OPEN nodes were returned in this result. This produces a dead end node!");
-		}
-		else {
-			/* append open nodes */
-			for (Node<T, V> p : result.getOpen()) {
-				insertNodeIntoLocalGraph(p);
-				open.add(getLocalVersionOfNode(p));
+			/* create solution graphs and register the solutions */
+			for (Node<T, V> solution : result.getSolutions()) {
+				insertNodeIntoLocalGraph(solution);
+				List<T> solutionPath = getLocalVersionOfNode(solution).externalPath();
+				if (!solutions.contains(solutionPath)) {
+					Map<String, Object> annotations = new HashMap<>();
+					annotations.put("f", solution.getInternalLabel());
+					solutionAnnotations.put(solutionPath, annotations);
+					solutions.add(solutionPath);
+				}
 			}
-			logger.info("Added {} nodes to open (and a respective number was added in order to make them reachable).", result.getOpen().size());
 		}
 
-		/* create solution graphs */
-		for (Node<T, V> solution : result.getSolutions()) {
-			insertNodeIntoLocalGraph(solution); // they will be automatically added to the set of solutions by this
-		}
+		/* a final result finishes the job, so the search does not need to wait for it anymore */
+		if (!result.isPartial())
+			activeJobs.decrementAndGet();
+		signalSearchThread();
 	}
 }
@@ -1,5 +1,7 @@
 package jaicore.search.algorithms.parallel.parallelexploration.distributed;
 
+import java.io.IOException;
+import java.net.InetSocketAddress;
 import java.nio.file.Path;
 import java.nio.file.Paths;
 import java.util.ArrayList;
@@ -8,6 +10,10 @@ import java.util.List;
 import java.util.Set;
 import java.util.Timer;
 import java.util.TimerTask;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
 import java.util.stream.Collectors;
 
 import org.slf4j.Logger;
@@ -36,6 +42,53 @@ public class DistributedOrSearchCoworker<T, A, V extends Comparable<V>> {
 	private boolean showGraph;
 	private Class<?> tooltipGenerator;
 
+	/**
+	 * Shares half of the OPEN list of the running search with the master whenever the master asks for it, so it can pass the nodes to idle coworkers.
+	 */
+	private class FrontierSharer extends Thread {
+		private final ORGraphSearch<T, A, V> search;
+
+		public FrontierSharer(ORGraphSearch<T, A, V> search) {
+			super("FrontierSharer-" + id);
+			this.search = search;
+		}
+
+		public void run() {
+			while (!isInterrupted()) {
+				try {
+					coworkerInterface.awaitFrontierRequest(id);
+				} catch (InterruptedException e) {
+					return;
+				}
+
+				/* the search serves the request before its next step; if it does not do so in time, the request is withdrawn */
+				Future<List<Node<T, V>>> request = search.handOverHalfOfOpen();
+				List<Node<T, V>> sharedNodes = null;
+				try {
+					sharedNodes = request.get(1, TimeUnit.SECONDS);
+				} catch (TimeoutException | InterruptedException e) {
+					if (e instanceof InterruptedException)
+						interrupt();
+					if (!request.cancel(false)) {
+						try {
+							sharedNodes = request.get();
+						} catch (InterruptedException | ExecutionException e1) {
+							logger.error("Coworker {} could not obtain the nodes to share: {}", id, e1.getMessage());
+						}
+					}
+				} catch (ExecutionException e) {
+					logger.error("Coworker {} could not obtain the nodes to share: {}", id, e.getMessage());
+				}
+
+				/* always answer, so the master does not wait for the nodes */
+				if (sharedNodes == null)
+					sharedNodes = new ArrayList<>();
+				logger.info("Coworker {} shares {} nodes of its OPEN.", id, sharedNodes.size());
+				coworkerInterface.reportResult(id, new DistributedComputationResult<>(id, sharedNodes, new ArrayList<>(), true, 0, 0));
+			}
+		}
+	}
+
 	public DistributedOrSearchCoworker(IORGraphSearchFactory<T, A, V> algorithmFactory, DistributedSearchCommunicationLayer<T, A, V> coworkerInterface, String id, int uptime, int searchTime, boolean showGraph) {
 		super();
 		this.algorithmFactory = algorithmFactory;
@@ -124,18 +177,29 @@ public class DistributedOrSearchCoworker<T, A, V extends Comparable<V>> {
 				List<T> solution;
 				List<Node<T, V>> solutionNodes = new ArrayList<>();
 				logger.info("Running coworker {} with: {}", this.id, nodes.stream().map(n -> n.getPoint()).collect(Collectors.toList()));
+				long start = System.currentTimeMillis();
 				searchAlgorithm.bootstrap(nodes);
+				Thread frontierSharer = null;
+				if (coworkerInterface.supportsWorkStealing() && searchAlgorithm instanceof ORGraphSearch) {
+					frontierSharer = new FrontierSharer((ORGraphSearch<T, A, V>) searchAlgorithm);
+					frontierSharer.start();
+				}
 				do {
 					solution = searchAlgorithm.nextSolution();
 					if (solution != null)
 						solutionNodes.add(searchAlgorithm.getInternalRepresentationOf(solution.get(solution.size() - 1)));
 				} while (solution != null);
+				if (frontierSharer != null) {
+					frontierSharer.interrupt();
+					frontierSharer.join();
+				}
 				logger.info("Coworker {} finished, reporting results and going to wait for new jobs.", this.id);
 
 				/* report results */
 				Collection<Node<T, V>> openNodes = searchAlgorithm.getOpenSnapshot();
 				logger.info("Reporting open list of size " + openNodes.size() + " and " + solutionNodes.size() + " solutions.");
-				DistributedComputationResult<T, V> result = new DistributedComputationResult<>(this.id, openNodes, solutionNodes);
+				int expansions = (searchAlgorithm instanceof ORGraphSearch) ? ((ORGraphSearch<T, A, V>) searchAlgorithm).getExpandedCounter() : 0;
+				DistributedComputationResult<T, V> result = new DistributedComputationResult<>(this.id, openNodes, solutionNodes, false, expansions, System.currentTimeMillis() - start);
 				coworkerInterface.reportResult(this.id, result);
 				
 				/* if we returned nothing, detach for debugging */
@@ -167,11 +231,10 @@ public class DistributedOrSearchCoworker<T, A, V extends Comparable<V>> {
 	public static <T,A,V extends Comparable<V>> void main(String[] args) {
 		
 		if (args.length < 5) {
-			System.err.println("Need at least 5 args: communicationFolder, coworkerId, searchTime (s), upTime (s), showGraph[, numThreads]");
+			System.err.println("Need at least 5 args: communicationFolder (or tcp://host:port of the master), coworkerId, searchTime (s), upTime (s), showGraph[, numThreads]");
 			System.exit(1);
 		}
 		
-		Path folder = Paths.get(args[0]);
 		String id = args[1];
 		int searchTime = Integer.parseInt(args[2]) * 1000;
 		int uptime = Integer.parseInt(args[3]) * 1000;
@@ -191,7 +254,21 @@ public class DistributedOrSearchCoworker<T, A, V extends Comparable<V>> {
 			search.setTimeoutForComputationOfF(1000, n -> null);
 			return search;
 		};
-		DistributedSearchCommunicationLayer<T, A, V> communicationLayer = new FolderBasedDistributedSearchCommunicationLayer<>(folder, false);
+		DistributedSearchCommunicationLayer<T, A, V> communicationLayer;
+		if (args[0].startsWith("tcp://")) {
+			String[] hostAndPort = args[0].substring("tcp://".length()).split(":");
+			try {
+				communicationLayer = new SocketBasedDistributedSearchCommunicationLayer<>(new InetSocketAddress(hostAndPort[0], Integer.parseInt(hostAndPort[1])), false);
+			} catch (IOException e) {
+				logger.error("Cannot connect to master at {}: {}", args[0], e.getMessage());
+				System.exit(1);
+				return;
+			}
+		}
+		else {
+			Path folder = Paths.get(args[0]);
+			communicationLayer = new FolderBasedDistributedSearchCommunicationLayer<>(folder, false);
+		}
 		DistributedOrSearchCoworker<T, A, V> coworker = new DistributedOrSearchCoworker<>(factory, communicationLayer, id, uptime, searchTime, showGraph);
 		if (args.length > 5) {
 			try {
@@ -9,6 +9,7 @@ import java.util.List;
 import java.util.Map;
 import java.util.Set;
 import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.LinkedBlockingQueue;
 
 import org.slf4j.Logger;
@@ -30,6 +31,13 @@ public class DistributedSearchManager<T, A, V extends Comparable<V>> {
 	private final BlockingQueue<String> idleCoworkers = new LinkedBlockingQueue<>();
 	private final Set<String> pendingCoworkers = Collections.synchronizedSet(new HashSet<>());
 	private final Map<String, Collection<Node<T, V>>> coworkerJobs = Collections.synchronizedMap(new HashMap<>());
+	private final Map<String, Long> jobStartTimes = new ConcurrentHashMap<>();
+	private final Map<String, Double> expansionRates = new ConcurrentHashMap<>(); // moving average of the expansions per second of each coworker
+	private final Set<String> coworkersAskedForFrontier = Collections.newSetFromMap(new ConcurrentHashMap<>());
+	private final Object jobSignal = new Object();
+	private final Object resultSignal = new Object();
+	private boolean nodesAdded = false;
+	private boolean resultProcessed = false;
 	private final EventBus eventBus = new EventBus();
 	private final List<Thread> auxThreads = new ArrayList<>();
 	
@@ -44,7 +52,7 @@ public class DistributedSearchManager<T, A, V extends Comparable<V>> {
 					logger.info("Scanning for new/removed coworkers ...");
 					detectNewCoworkers();
 					detectUnattachedCoworkers();
-					Thread.sleep(1000);
+					communicationLayer.awaitCoworkerChanges(1000);
 				}
 			} catch (InterruptedException e) { }
 		}
@@ -56,21 +64,31 @@ public class DistributedSearchManager<T, A, V extends Comparable<V>> {
 
 			try {
 				while (!Thread.interrupted()) {
-					Collection<Node<T, V>> nodes = null;
-					
-					/* get next nodes */
-					while ((nodes = distAdapter.nextJob())==null)
-						Thread.sleep(1000);
 					
-					/* now create jobs for all pending coworkers */
+					/* wait for the next available coworker */
 					logger.info("Waiting for the next available coworker ...");
 					String coworker = idleCoworkers.take();
 					pendingCoworkers.add(coworker);
 					
-					logger.info("Assigning next job to {}", coworker);
+					/* get next nodes; their number depends on the speed of the coworker. If there are none, let the busy coworkers share their OPEN */
+					Collection<Node<T, V>> nodes = null;
+					while (communicationLayer.isAttached(coworker) && (nodes = distAdapter.nextJob(getShareOfCoworker(coworker))) == null) {
+						requestFrontierFromBusyCoworker();
+						synchronized (jobSignal) {
+							if (!nodesAdded)
+								jobSignal.wait(1000);
+							nodesAdded = false;
+						}
+					}
 					pendingCoworkers.remove(coworker);
+					if (nodes == null) {
+						logger.info("Coworker {} was detached while waiting for a job.", coworker);
+						continue;
+					}
+					
+					logger.info("Assigning next job with {} node(s) to {}", nodes.size(), coworker);
 					coworkerJobs.put(coworker, nodes);
-					idleCoworkers.remove(coworker);
+					jobStartTimes.put(coworker, System.currentTimeMillis());
 					communicationLayer.createNewJobForCoworker(coworker, nodes);
 					for (Node<T,V> node : nodes)
 						eventBus.post(new NodePassedToCoworkerEvent<>(node));
@@ -86,19 +104,41 @@ public class DistributedSearchManager<T, A, V extends Comparable<V>> {
 			try {
 				while (!Thread.interrupted()) {
 
-					/* process results */
+					/* process results; partial results contain nodes a busy coworker shares, and the coworker keeps working on its job */
 					for (String busyCoworker : new ArrayList<>(coworkerJobs.keySet())) {
 						DistributedComputationResult<T, V> result;
-						if ((result = communicationLayer.readResult(busyCoworker)) != null) {
-							logger.info("Received result with {} open nodes and {} solution(s)", result.getOpen().size(), result.getSolutions().size());
-							distAdapter.processResult(coworkerJobs.get(busyCoworker), result);
-							coworkerJobs.remove(busyCoworker);
-							idleCoworkers.add(busyCoworker);
+						while ((result = communicationLayer.readResult(busyCoworker)) != null) {
+							logger.info("Received {} result with {} open nodes and {} solution(s)", result.isPartial() ? "partial" : "final", result.getOpen().size(), result.getSolutions().size());
+							if (result.isPartial()) {
+								coworkersAskedForFrontier.remove(busyCoworker);
+								distAdapter.processResult(Collections.emptyList(), result);
+							}
+							else {
+
+								/* the job is taken atomically, because the coworker may have been detached and its job resubmitted in the meantime */
+								Collection<Node<T,V>> job = coworkerJobs.remove(busyCoworker);
+								if (job == null) {
+									logger.info("Ignoring final result of {}, because its job has already been resubmitted.", busyCoworker);
+									break;
+								}
+								updateExpansionRate(busyCoworker, result);
+								distAdapter.processResult(job, result);
+								jobStartTimes.remove(busyCoworker);
+								coworkersAskedForFrontier.remove(busyCoworker);
+								idleCoworkers.add(busyCoworker);
+							}
+							signalNewNodes();
+							synchronized (resultSignal) {
+								resultProcessed = true;
+								resultSignal.notifyAll();
+							}
+							if (!result.isPartial())
+								break;
 						}
 					}
 
-					/* wait some time to see whether new results are there */
-					Thread.sleep(500);
+					/* wait until new results are there (or some time if the communication layer cannot tell) */
+					communicationLayer.awaitResults(500);
 				}
 			} catch (InterruptedException e) { }
 		}
@@ -162,12 +202,80 @@ public class DistributedSearchManager<T, A, V extends Comparable<V>> {
 		/* check unattached coworkers that were busy before */
 		for (String coworker : new ArrayList<>(coworkerJobs.keySet())) {
 			if (!communicationLayer.isAttached(coworker)) {
-				Collection<Node<T,V>> job = coworkerJobs.get(coworker);
-				coworkerJobs.remove(coworker);
+				Collection<Node<T,V>> job = coworkerJobs.remove(coworker);
+				jobStartTimes.remove(coworker);
+				coworkersAskedForFrontier.remove(coworker);
 //				distributeNodesRemotely(job);
 				logger.warn("Busy coworker {} was detached. Resubmitting his job {}.", coworker, job);
+				if (job != null) {
+					distAdapter.processResult(Collections.emptyList(), new DistributedComputationResult<>(coworker, job, Collections.emptyList()));
+					signalNewNodes();
+				}
+			}
+		}
+	}
+
+	/**
+	 * Determines the share of the nodes available for distribution that a coworker receives, which is its expansion rate relative to the rates of all helpers.
+	 * Coworkers that have not finished a job yet are assumed to be as fast as the average.
+	 */
+	private double getShareOfCoworker(String coworker) {
+		Collection<String> helpers = SetUtil.union(idleCoworkers, pendingCoworkers, coworkerJobs.keySet());
+		double averageRate = expansionRates.values().stream().mapToDouble(r -> r).average().orElse(1.0);
+		double sumOfRates = 0;
+		for (String helper : helpers)
+			sumOfRates += expansionRates.getOrDefault(helper, averageRate);
+		return sumOfRates > 0 ? expansionRates.getOrDefault(coworker, averageRate) / sumOfRates : 1.0;
+	}
+	
+	private void updateExpansionRate(String coworker, DistributedComputationResult<T, V> result) {
+		if (result.getNumberOfExpansions() <= 0)
+			return;
+		double rate = result.getNumberOfExpansions() * 1000.0 / Math.max(1, result.getComputationTime());
+		expansionRates.merge(coworker, rate, (oldRate, newRate) -> (oldRate + newRate) / 2);
+	}
+	
+	/**
+	 * Asks the coworker that has been working on its job for the longest time to share a part of its OPEN, unless every busy coworker has already been asked.
+	 */
+	private void requestFrontierFromBusyCoworker() {
+		if (!communicationLayer.supportsWorkStealing())
+			return;
+		String longestWorkingCoworker = null;
+		long earliestStart = Long.MAX_VALUE;
+		for (String coworker : new ArrayList<>(jobStartTimes.keySet())) {
+			Long start = jobStartTimes.get(coworker);
+			if (start != null && start < earliestStart && !coworkersAskedForFrontier.contains(coworker)) {
+				earliestStart = start;
+				longestWorkingCoworker = coworker;
 			}
 		}
+		if (longestWorkingCoworker != null) {
+			logger.info("Asking coworker {} to share its OPEN.", longestWorkingCoworker);
+			coworkersAskedForFrontier.add(longestWorkingCoworker);
+			communicationLayer.requestFrontier(longestWorkingCoworker);
+		}
+	}
+	
+	/**
+	 * Tells the manager that nodes for distribution have become available, so that waiting coworkers get their jobs immediately.
+	 */
+	public void signalNewNodes() {
+		synchronized (jobSignal) {
+			nodesAdded = true;
+			jobSignal.notifyAll();
+		}
+	}
+	
+	/**
+	 * Blocks until the next result of a coworker has been processed or the timeout has elapsed.
+	 */
+	public void awaitProcessedResult(long timeout) throws InterruptedException {
+		synchronized (resultSignal) {
+			if (!resultProcessed)
+				resultSignal.wait(timeout);
+			resultProcessed = false;
+		}
 	}
 
 	public int getNumberOfHelpers() {
@@ -39,6 +39,7 @@ public class FolderBasedDistributedSearchCommunicationLayer<T, A, V extends Comp
 	private final Path communicationFolder;
 	private Map<String, Semaphore> registerTickets = new HashMap<>();
 	private Map<String, BlockingQueue<Collection<Node<T, V>>>> jobQueues = new HashMap<>();
+	private FrontierCodec<T, A, V> frontierCodec;
 
 	private final Thread masterFolderObserver = new Thread() {
 		public void run() {
@@ -157,7 +158,7 @@ public class FolderBasedDistributedSearchCommunicationLayer<T, A, V extends Comp
 		File tmp = new File(target.getAbsolutePath() + ".tmp");
 		logger.info("Writing job for {}: {}", coworkerId, nodesToBeSolved);
 		try (ObjectOutputStream bw = new ObjectOutputStream(new BufferedOutputStream(new FileOutputStream(tmp)))) {
-			bw.writeObject(nodesToBeSolved);
+			bw.writeObject(getFrontierCodec().encode(nodesToBeSolved));
 			bw.close();
 			Files.move(tmp.toPath(), target.toPath(), StandardCopyOption.REPLACE_EXISTING);
 		} catch (IOException e) {
@@ -165,7 +166,6 @@ public class FolderBasedDistributedSearchCommunicationLayer<T, A, V extends Comp
 		}
 	}
 
-	@SuppressWarnings("unchecked")
 	@Override
 	public DistributedComputationResult<T, V> readResult(String coworker) {
 		File file = new File(communicationFolder.toFile().getAbsolutePath() + "/results-" + coworker);
@@ -182,7 +182,7 @@ public class FolderBasedDistributedSearchCommunicationLayer<T, A, V extends Comp
 				/* read results object */
 				logger.info("Reading file " + file.getAbsolutePath() + " ...");
 				ObjectInputStream in = new ObjectInputStream(new BufferedInputStream(new FileInputStream(file)));
-				result = (DistributedComputationResult<T, V>) in.readObject();
+				result = getFrontierCodec().decodeResult((byte[]) in.readObject());
 				in.close();
 				logger.info("done");
 				Files.delete(file.toPath());
@@ -250,7 +250,7 @@ public class FolderBasedDistributedSearchCommunicationLayer<T, A, V extends Comp
 		File target = new File(communicationFolder.toFile().getAbsolutePath() + "/results-" + coworker);
 		File tmp = new File(target.getAbsolutePath() + ".tmp");
 		try (ObjectOutputStream bw = new ObjectOutputStream(new BufferedOutputStream(new FileOutputStream(tmp)))) {
-			bw.writeObject(result);
+			bw.writeObject(getFrontierCodec().encodeResult(result));
 			bw.close();
 			Files.move(tmp.toPath(), target.toPath(), StandardCopyOption.REPLACE_EXISTING);
 		} catch (IOException e) {
@@ -276,8 +276,9 @@ public class FolderBasedDistributedSearchCommunicationLayer<T, A, V extends Comp
 	}
 
 	@Override
-	public void setGraphGenerator(SerializableGraphGenerator<T, A> generator) throws Exception {
+	public synchronized void setGraphGenerator(SerializableGraphGenerator<T, A> generator) throws Exception {
 		FileUtil.serializeObject(generator, communicationFolder.toAbsolutePath() + "/graphgen.ser");
+		frontierCodec = new FrontierCodec<>(generator);
 	}
 
 	@Override
@@ -303,6 +304,24 @@ public class FolderBasedDistributedSearchCommunicationLayer<T, A, V extends Comp
 		coworkerFolderObserver.interrupt();
 	}
 
+	/**
+	 * Jobs and results are encoded with the graph generator, which the master has stored in the communication folder
+	 */
+	private synchronized FrontierCodec<T, A, V> getFrontierCodec() {
+		if (frontierCodec == null) {
+			SerializableGraphGenerator<T, A> graphGenerator = null;
+			if (new File(communicationFolder.toAbsolutePath() + "/graphgen.ser").exists()) {
+				try {
+					graphGenerator = getGraphGenerator();
+				} catch (Exception e) {
+					logger.error("Could not read graph generator: {}", e.getMessage());
+				}
+			}
+			frontierCodec = new FrontierCodec<>(graphGenerator);
+		}
+		return frontierCodec;
+	}
+
 	private void readCoworkersJob(String coworker) {
 		File f = new File(communicationFolder.toAbsolutePath() + "/job-" + coworker);
 		if (!f.exists())
@@ -310,8 +329,7 @@ public class FolderBasedDistributedSearchCommunicationLayer<T, A, V extends Comp
 		int tries = 0;
 		while (tries < 10) {
 			try (ObjectInputStream in = new ObjectInputStream(new BufferedInputStream(new FileInputStream(f)))) {
-				@SuppressWarnings("unchecked")
-				Collection<Node<T, V>> nodes = (Collection<Node<T, V>>) in.readObject();
+				Collection<Node<T, V>> nodes = getFrontierCodec().decode((byte[]) in.readObject());
 				in.close();
 				Files.delete(f.toPath());
 				jobQueues.get(coworker).add(nodes);
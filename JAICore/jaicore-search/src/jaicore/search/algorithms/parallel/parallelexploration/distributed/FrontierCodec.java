@@ -0,0 +1,324 @@
+package jaicore.search.algorithms.parallel.parallelexploration.distributed;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InvalidClassException;
+import java.io.ObjectInputStream;
+import java.io.ObjectOutputStream;
+import java.io.ObjectStreamClass;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.stream.Collectors;
+
+import jaicore.search.algorithms.parallel.parallelexploration.distributed.interfaces.SerializablePointCodec;
+import jaicore.search.structure.core.GraphGenerator;
+import jaicore.search.structure.core.Node;
+import jaicore.search.structure.graphgenerator.MultipleRootGenerator;
+import jaicore.search.structure.graphgenerator.RootGenerator;
+import jaicore.search.structure.graphgenerator.SingleRootGenerator;
+
+/**
+ * Encodes collections of nodes, e.g. jobs or the OPEN nodes of a result, for the transfer between the master and its coworkers. Instead of serializing every
+ * node with its parent chain and annotations, the paths from the roots to the nodes are merged into a trie, and only the f-values and goal flags of the
+ * encoded nodes are kept. The points on the trie are encoded in one of three ways:
+ *
+ * <ul>
+ * <li>with a {@link SerializablePointCodec}, which is the graph generator itself if it implements the interface,</li>
+ * <li>by their position among the successors of their parent (or among the roots), in which case the receiver reconstructs them with the graph generator,
+ * which therefore must generate the successors of a node in the same order on both sides, or</li>
+ * <li>by Java serialization if there is no graph generator, or if a point is not among the successors generated for its parent.</li>
+ * </ul>
+ *
+ * Encoded nodes are usually received from another process, so they are decoded from a stream that only deserializes classes that have been allowed. By
+ * default, these are strings, the wrappers of primitive types, and arrays of primitive types, which suffices for the usual f-values. Points that are encoded
+ * by Java serialization and other f-values can only be decoded if their classes, including the classes of their fields, are allowed by
+ * {@link #allowClass(Class)}.
+ *
+ * @param <T>
+ *            type of the nodes
+ * @param <A>
+ *            type of the arcs
+ * @param <V>
+ *            type of the node labels
+ */
+public class FrontierCodec<T, A, V extends Comparable<V>> {
+
+	private static final byte POINTS_BY_CODEC = 1;
+	private static final byte POINTS_BY_SUCCESSOR_INDEX = 2;
+	private static final byte POINTS_BY_SERIALIZATION = 3;
+
+	private static final int FLAG_ENCODED_NODE = 1;
+	private static final int FLAG_GOAL = 2;
+	private static final int FLAG_LABELED = 4;
+
+	private static final List<Class<?>> DEFAULT_ALLOWED_CLASSES = Arrays.asList(String.class, Number.class, Boolean.class, Character.class, Byte.class,
+			Short.class, Integer.class, Long.class, Float.class, Double.class);
+
+	private final GraphGenerator<T, A> graphGenerator;
+	private final SerializablePointCodec<T> pointCodec;
+	private final Set<String> allowedClasses = ConcurrentHashMap.newKeySet();
+
+	/**
+	 * Input stream that only deserializes the allowed classes and arrays of primitive types, so a peer cannot instantiate arbitrary classes of the classpath
+	 */
+	private static class ClassFilteringObjectInputStream extends ObjectInputStream {
+		private final Set<String> allowedClasses;
+
+		public ClassFilteringObjectInputStream(InputStream in, Set<String> allowedClasses) throws IOException {
+			super(in);
+			this.allowedClasses = allowedClasses;
+		}
+
+		@Override
+		protected Class<?> resolveClass(ObjectStreamClass desc) throws IOException, ClassNotFoundException {
+			String name = desc.getName();
+			String componentName = name.replaceFirst("^\\[+", "");
+			boolean isArrayOfPrimitives = componentName.length() == 1 && componentName.length() < name.length();
+			if (!isArrayOfPrimitives && !allowedClasses.contains(name))
+				throw new InvalidClassException(name, "Class is not allowed in encoded nodes");
+			return super.resolveClass(desc);
+		}
+
+		@Override
+		protected Class<?> resolveProxyClass(String[] interfaces) throws IOException, ClassNotFoundException {
+			throw new InvalidClassException("Proxy classes are not allowed in encoded nodes");
+		}
+	}
+
+	private class TrieNode {
+		private final T point;
+		private final Map<T, TrieNode> children = new LinkedHashMap<>();
+		private Node<T, V> encodedNode;
+
+		public TrieNode(T point) {
+			this.point = point;
+		}
+	}
+
+	/**
+	 * @param graphGenerator
+	 *            The graph generator of the search, which is also used as the point codec if it implements {@link SerializablePointCodec}; may be null
+	 */
+	@SuppressWarnings("unchecked")
+	public FrontierCodec(GraphGenerator<T, A> graphGenerator) {
+		this(graphGenerator, (graphGenerator instanceof SerializablePointCodec) ? (SerializablePointCodec<T>) graphGenerator : null);
+	}
+
+	/**
+	 * @param graphGenerator
+	 *            The graph generator of the search; may be null
+	 * @param pointCodec
+	 *            The codec for the points; may be null
+	 */
+	public FrontierCodec(GraphGenerator<T, A> graphGenerator, SerializablePointCodec<T> pointCodec) {
+		super();
+		this.graphGenerator = graphGenerator;
+		this.pointCodec = pointCodec;
+		for (Class<?> clazz : DEFAULT_ALLOWED_CLASSES)
+			allowClass(clazz);
+	}
+
+	/**
+	 * Allows to decode serialized objects of the given class, e.g. points that are encoded by Java serialization or f-values that are not numbers. The class is
+	 * allowed exactly, so its superclasses and the classes of its fields must be allowed separately unless they are allowed by default.
+	 *
+	 * @param clazz
+	 *            The class to allow
+	 */
+	public void allowClass(Class<?> clazz) {
+		allowedClasses.add(clazz.getName());
+	}
+
+	public byte[] encode(Collection<Node<T, V>> nodes) throws IOException {
+		ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+		try (ObjectOutputStream out = new ObjectOutputStream(bytes)) {
+			writeNodes(nodes, out);
+		}
+		return bytes.toByteArray();
+	}
+
+	public List<Node<T, V>> decode(byte[] data) throws IOException {
+		try (ObjectInputStream in = new ClassFilteringObjectInputStream(new ByteArrayInputStream(data), allowedClasses)) {
+			return readNodes(in);
+		}
+	}
+
+	public byte[] encodeResult(DistributedComputationResult<T, V> result) throws IOException {
+		ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+		try (ObjectOutputStream out = new ObjectOutputStream(bytes)) {
+			out.writeUTF(result.getCoworker());
+			out.writeBoolean(result.isPartial());
+			out.writeInt(result.getNumberOfExpansions());
+			out.writeLong(result.getComputationTime());
+			writeNodes(result.getOpen(), out);
+			writeNodes(result.getSolutions(), out);
+		}
+		return bytes.toByteArray();
+	}
+
+	public DistributedComputationResult<T, V> decodeResult(byte[] data) throws IOException {
+		try (ObjectInputStream in = new ClassFilteringObjectInputStream(new ByteArrayInputStream(data), allowedClasses)) {
+			String coworker = in.readUTF();
+			boolean partial = in.readBoolean();
+			int numberOfExpansions = in.readInt();
+			long computationTime = in.readLong();
+			List<Node<T, V>> open = readNodes(in);
+			List<Node<T, V>> solutions = readNodes(in);
+			return new DistributedComputationResult<>(coworker, open, solutions, partial, numberOfExpansions, computationTime);
+		}
+	}
+
+	private void writeNodes(Collection<Node<T, V>> nodes, ObjectOutputStream out) throws IOException {
+
+		/* merge the paths of the nodes into a trie */
+		Map<T, TrieNode> roots = new LinkedHashMap<>();
+		for (Node<T, V> node : nodes) {
+			Map<T, TrieNode> level = roots;
+			TrieNode trieNode = null;
+			for (T point : node.externalPath()) {
+				trieNode = level.computeIfAbsent(point, TrieNode::new);
+				level = trieNode.children;
+			}
+			if (trieNode != null)
+				trieNode.encodedNode = node;
+		}
+
+		/* write the trie in pre-order */
+		byte mode = pointCodec != null ? POINTS_BY_CODEC : (graphGenerator != null ? POINTS_BY_SUCCESSOR_INDEX : POINTS_BY_SERIALIZATION);
+		out.writeByte(mode);
+		Map<T, List<T>> successors = new HashMap<>();
+		writeVarInt(roots.size(), out);
+		for (TrieNode root : roots.values())
+			writeTrieNode(root, null, mode, successors, out);
+	}
+
+	private void writeTrieNode(TrieNode trieNode, T parent, byte mode, Map<T, List<T>> successors, ObjectOutputStream out) throws IOException {
+		switch (mode) {
+		case POINTS_BY_CODEC:
+			pointCodec.encode(trieNode.point, out);
+			break;
+		case POINTS_BY_SUCCESSOR_INDEX:
+			int index = successors.computeIfAbsent(parent, this::getSuccessors).indexOf(trieNode.point);
+			writeVarInt(index + 1, out);
+			if (index < 0)
+				out.writeObject(trieNode.point);
+			break;
+		default:
+			out.writeObject(trieNode.point);
+		}
+		Node<T, V> node = trieNode.encodedNode;
+		int flags = 0;
+		if (node != null) {
+			flags |= FLAG_ENCODED_NODE;
+			if (node.isGoal())
+				flags |= FLAG_GOAL;
+			if (node.getInternalLabel() != null)
+				flags |= FLAG_LABELED;
+		}
+		out.writeByte(flags);
+		if ((flags & FLAG_LABELED) != 0)
+			out.writeObject(node.getInternalLabel());
+		writeVarInt(trieNode.children.size(), out);
+		for (TrieNode child : trieNode.children.values())
+			writeTrieNode(child, trieNode.point, mode, successors, out);
+	}
+
+	private List<Node<T, V>> readNodes(ObjectInputStream in) throws IOException {
+		byte mode = in.readByte();
+		if (mode == POINTS_BY_CODEC && pointCodec == null || mode == POINTS_BY_SUCCESSOR_INDEX && graphGenerator == null)
+			throw new IOException("Cannot decode nodes encoded in mode " + mode + ", because the codec or graph generator is missing.");
+		List<Node<T, V>> nodes = new ArrayList<>();
+		Map<T, List<T>> successors = new HashMap<>();
+		int numberOfRoots = readVarInt(in);
+		for (int i = 0; i < numberOfRoots; i++)
+			readTrieNode(null, mode, successors, nodes, in);
+		return nodes;
+	}
+
+	@SuppressWarnings("unchecked")
+	private void readTrieNode(Node<T, V> parent, byte mode, Map<T, List<T>> successors, List<Node<T, V>> nodes, ObjectInputStream in) throws IOException {
+		try {
+			T point;
+			switch (mode) {
+			case POINTS_BY_CODEC:
+				point = pointCodec.decode(in);
+				break;
+			case POINTS_BY_SUCCESSOR_INDEX:
+				int index = readVarInt(in) - 1;
+				if (index < 0) {
+					point = (T) in.readObject();
+					break;
+				}
+				List<T> successorsOfParent = successors.computeIfAbsent(parent != null ? parent.getPoint() : null, this::getSuccessors);
+				if (index >= successorsOfParent.size())
+					throw new IOException("Successor index " + index + " is out of range, because there are only " + successorsOfParent.size() + " successors.");
+				point = successorsOfParent.get(index);
+				break;
+			default:
+				point = (T) in.readObject();
+			}
+			Node<T, V> node = new Node<>(parent, point);
+			int flags = in.readByte();
+			if ((flags & FLAG_LABELED) != 0)
+				node.setInternalLabel((V) in.readObject());
+			if ((flags & FLAG_GOAL) != 0)
+				node.setGoal(true);
+			if ((flags & FLAG_ENCODED_NODE) != 0)
+				nodes.add(node);
+			int numberOfChildren = readVarInt(in);
+			for (int i = 0; i < numberOfChildren; i++)
+				readTrieNode(node, mode, successors, nodes, in);
+		} catch (ClassNotFoundException e) {
+			throw new IOException("Could not reconstruct node: " + e.getMessage(), e);
+		}
+	}
+
+	/**
+	 * Generates the successors of a point or, if the point is null, the roots
+	 */
+	private List<T> getSuccessors(T point) {
+		if (point == null) {
+			RootGenerator<T> rootGenerator = graphGenerator.getRootGenerator();
+			if (rootGenerator instanceof SingleRootGenerator)
+				return Collections.singletonList(((SingleRootGenerator<T>) rootGenerator).getRoot());
+			if (rootGenerator instanceof MultipleRootGenerator)
+				return new ArrayList<>(((MultipleRootGenerator<T>) rootGenerator).getRoots());
+			return Collections.emptyList();
+		}
+		return graphGenerator.getSuccessorGenerator().generateSuccessors(point).stream().map(d -> d.getTo()).collect(Collectors.toList());
+	}
+
+	private static void writeVarInt(int value, ObjectOutputStream out) throws IOException {
+		while ((value & ~0x7F) != 0) {
+			out.writeByte((value & 0x7F) | 0x80);
+			value >>>= 7;
+		}
+		out.writeByte(value);
+	}
+
+	private static int readVarInt(ObjectInputStream in) throws IOException {
+		int value = 0;
+		int shift = 0;
+		byte b;
+		do {
+			if (shift > 28)
+				throw new IOException("Malformed variable-length integer");
+			b = in.readByte();
+			value |= (b & 0x7F) << shift;
+			shift += 7;
+		} while ((b & 0x80) != 0);
+		if (value < 0)
+			throw new IOException("Variable-length integer " + value + " is negative");
+		return value;
+	}
+}
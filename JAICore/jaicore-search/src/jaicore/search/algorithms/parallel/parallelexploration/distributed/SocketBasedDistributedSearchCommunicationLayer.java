@@ -0,0 +1,649 @@
+package jaicore.search.algorithms.parallel.parallelexploration.distributed;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InvalidClassException;
+import java.io.ObjectInputStream;
+import java.io.ObjectOutputStream;
+import java.io.ObjectStreamClass;
+import java.io.Serializable;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.net.ServerSocket;
+import java.net.Socket;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.EnumSet;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Queue;
+import java.util.Set;
+import java.util.Timer;
+import java.util.TimerTask;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.Semaphore;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import jaicore.search.algorithms.parallel.parallelexploration.distributed.interfaces.DistributedSearchCommunicationLayer;
+import jaicore.search.algorithms.parallel.parallelexploration.distributed.interfaces.SerializableGraphGenerator;
+import jaicore.search.algorithms.parallel.parallelexploration.distributed.interfaces.SerializableNodeEvaluator;
+import jaicore.search.algorithms.standard.core.INodeEvaluator;
+import jaicore.search.structure.core.Node;
+
+/**
+ * Communication layer that exchanges registrations, jobs, and results over TCP. The master listens on a server socket, and every coworker keeps a single
+ * connection to it. Jobs and results are pushed through the connection as soon as they are created, and all messages that are queued for a connection at
+ * the same time are written with a single flush. The nodes of jobs and results are encoded with a {@link FrontierCodec}.
+ *
+ * Both sides send heartbeats. A coworker that has not been heard of within the heartbeat timeout is disconnected, so the master recognizes it as detached.
+ * Connections that do not register a coworker within the same timeout are closed as well. A coworker that loses the connection to its master receives an
+ * empty job, which terminates its work loop.
+ *
+ * Only the message envelopes are deserialized from the connections; everything else (jobs, results, and the search problem) is sent as a byte array and
+ * decoded by the receiver. Jobs and results are decoded by a {@link FrontierCodec}, which only deserializes the classes it allows (see
+ * {@link #allowClass(Class)}). The master listens on the loopback interface unless another address is given explicitly, and coworkers trust the master they
+ * connect to, since they execute the graph generator and node evaluator it sends.
+ *
+ * The master identifies the sender of a message by the coworker that has been registered through the connection, not by the name in the message. A
+ * connection must register a coworker before it may send anything but heartbeats, a name can only be registered by one connection at a time, and messages
+ * that are meant for the other role close the connection.
+ *
+ * @param <T>
+ *            type of the nodes
+ * @param <A>
+ *            type of the arcs
+ * @param <V>
+ *            type of the node labels
+ */
+public class SocketBasedDistributedSearchCommunicationLayer<T, A, V extends Comparable<V>> implements DistributedSearchCommunicationLayer<T, A, V> {
+
+	private static final Logger logger = LoggerFactory.getLogger(SocketBasedDistributedSearchCommunicationLayer.class);
+	private static final long HEARTBEAT_INTERVAL = 1000;
+	private static final long HEARTBEAT_TIMEOUT = 5000;
+	private static final long REGISTRATION_TIMEOUT = 5000;
+
+	private enum MessageType {
+		REGISTER, UNREGISTER, ATTACH, DETACH, GRAPH_GENERATOR, NODE_EVALUATOR, JOB, RESULT, FRONTIER_REQUEST, HEARTBEAT
+	}
+
+	private static final Set<MessageType> MESSAGES_TO_MASTER = EnumSet.of(MessageType.REGISTER, MessageType.UNREGISTER, MessageType.RESULT, MessageType.DETACH,
+			MessageType.HEARTBEAT);
+	private static final Set<MessageType> MESSAGES_TO_COWORKER = EnumSet.of(MessageType.ATTACH, MessageType.GRAPH_GENERATOR, MessageType.NODE_EVALUATOR,
+			MessageType.JOB, MessageType.FRONTIER_REQUEST, MessageType.DETACH, MessageType.HEARTBEAT);
+
+	private static class Message implements Serializable {
+		private static final long serialVersionUID = -2389043153577813361L;
+		private final MessageType type;
+		private final String coworker;
+		private final Object payload;
+
+		public Message(MessageType type, String coworker, Object payload) {
+			super();
+			this.type = type;
+			this.coworker = coworker;
+			this.payload = payload;
+		}
+	}
+
+	/**
+	 * Input stream that refuses to deserialize objects other than messages, so a peer cannot instantiate arbitrary classes of the classpath
+	 */
+	private static class MessageInputStream extends ObjectInputStream {
+		private static final Set<String> ALLOWED_CLASSES = new HashSet<>(Arrays.asList(Message.class.getName(), MessageType.class.getName(), Enum.class.getName(),
+				String.class.getName(), byte[].class.getName()));
+
+		public MessageInputStream(InputStream in) throws IOException {
+			super(in);
+		}
+
+		@Override
+		protected Class<?> resolveClass(ObjectStreamClass desc) throws IOException, ClassNotFoundException {
+			if (!ALLOWED_CLASSES.contains(desc.getName()))
+				throw new InvalidClassException(desc.getName(), "Class is not allowed in messages");
+			return super.resolveClass(desc);
+		}
+
+		@Override
+		protected Class<?> resolveProxyClass(String[] interfaces) throws IOException, ClassNotFoundException {
+			throw new InvalidClassException("Proxy classes are not allowed in messages");
+		}
+	}
+
+	private class Connection {
+		private final Socket socket;
+		private final ObjectOutputStream out;
+		private final ObjectInputStream in;
+		private final BlockingQueue<Message> outbox = new LinkedBlockingQueue<>();
+		private final Thread reader;
+		private final Thread writer;
+		private final long opened = System.currentTimeMillis();
+		private volatile long lastSeen = opened;
+		private volatile boolean closed = false;
+		private volatile String coworker;
+
+		public Connection(Socket socket) throws IOException {
+			this.socket = socket;
+			socket.setTcpNoDelay(true);
+
+			/* the header of the output stream must be sent before the input stream is opened, because the latter blocks until it has received the header of the other side */
+			out = new ObjectOutputStream(new BufferedOutputStream(socket.getOutputStream()));
+			out.flush();
+			in = new MessageInputStream(new BufferedInputStream(socket.getInputStream()));
+			reader = new Thread(this::read, "SocketLayer-reader-" + socket.getRemoteSocketAddress());
+			writer = new Thread(this::write, "SocketLayer-writer-" + socket.getRemoteSocketAddress());
+			reader.setDaemon(true);
+			writer.setDaemon(true);
+			reader.start();
+			writer.start();
+		}
+
+		public void send(MessageType type, Object payload) {
+			if (!closed)
+				outbox.add(new Message(type, coworker, payload));
+		}
+
+		private void read() {
+			try {
+				while (!closed) {
+					Message message = (Message) in.readObject();
+					lastSeen = System.currentTimeMillis();
+					handle(this, message);
+				}
+			} catch (IOException | ClassNotFoundException e) {
+				if (!closed)
+					logger.info("Lost connection to {}: {}", socket.getRemoteSocketAddress(), e.getMessage());
+			}
+			close();
+		}
+
+		private void write() {
+			List<Message> batch = new ArrayList<>();
+			try {
+				while (!closed) {
+					batch.add(outbox.take());
+					outbox.drainTo(batch);
+					for (Message message : batch)
+						out.writeObject(message);
+
+					/* forget the written objects, so they can be garbage collected and nodes that have changed are not sent as back references */
+					out.reset();
+					out.flush();
+					batch.clear();
+				}
+			} catch (InterruptedException e) {
+			} catch (IOException e) {
+				if (!closed)
+					logger.info("Could not write to {}: {}", socket.getRemoteSocketAddress(), e.getMessage());
+			}
+			close();
+		}
+
+		public void close() {
+			synchronized (this) {
+				if (closed)
+					return;
+				closed = true;
+			}
+			try {
+				socket.close();
+			} catch (IOException e) {
+				logger.warn("Could not close the socket of {}: {}", socket.getRemoteSocketAddress(), e.getMessage());
+			}
+			writer.interrupt();
+			connectionClosed(this);
+		}
+	}
+
+	private final boolean isMaster;
+	private final Timer heartbeatTimer = new Timer("SocketLayer-heartbeat", true);
+
+	/* master state */
+	private ServerSocket serverSocket;
+	private final Map<String, Connection> coworkerConnections = new ConcurrentHashMap<>();
+	private final Set<Connection> unregisteredConnections = Collections.newSetFromMap(new ConcurrentHashMap<>());
+	private final Set<String> attachedCoworkers = Collections.newSetFromMap(new ConcurrentHashMap<>());
+	private final BlockingQueue<String> newCoworkers = new LinkedBlockingQueue<>();
+	private final Map<String, Queue<byte[]>> results = new ConcurrentHashMap<>();
+	private final Object coworkerSignal = new Object();
+	private final Object resultSignal = new Object();
+	private boolean coworkersChanged = false;
+	private boolean resultsArrived = false;
+
+	/* coworker state */
+	private Connection masterConnection;
+	private volatile boolean attached = false;
+	private volatile Semaphore attachTicket;
+	private final BlockingQueue<byte[]> jobQueue = new LinkedBlockingQueue<>();
+	private final Semaphore frontierRequests = new Semaphore(0);
+
+	/* search problem, which is set on the master and sent to the coworkers when they are attached */
+	private volatile SerializableGraphGenerator<T, A> graphGenerator;
+	private volatile SerializableNodeEvaluator<T, V> nodeEvaluator;
+	private FrontierCodec<T, A, V> frontierCodec;
+	private final List<Class<?>> allowedClasses = new ArrayList<>();
+
+	/**
+	 * Creates the layer of a master that listens on the given port of the loopback interface.
+	 *
+	 * @param port
+	 *            The port the master listens on (use 0 to pick a free port and {@link #getAddress()} to retrieve it)
+	 * @throws IOException
+	 *             if the server socket cannot be bound
+	 */
+	public SocketBasedDistributedSearchCommunicationLayer(int port) throws IOException {
+		this(new InetSocketAddress(InetAddress.getLoopbackAddress(), port), true);
+	}
+
+	/**
+	 * @param address
+	 *            The address the master listens on (use port 0 to pick a free port and {@link #getAddress()} to retrieve it) or the address of the master a
+	 *            coworker connects to. Masters that should be reachable from other hosts must be given the address of a non-loopback interface.
+	 * @param isMaster
+	 *            Whether this is the layer of the master or of a coworker
+	 * @throws IOException
+	 *             if the server socket cannot be bound or the master cannot be reached
+	 */
+	public SocketBasedDistributedSearchCommunicationLayer(InetSocketAddress address, boolean isMaster) throws IOException {
+		super();
+		this.isMaster = isMaster;
+		if (isMaster) {
+			serverSocket = new ServerSocket();
+			serverSocket.bind(address);
+			Thread acceptor = new Thread(this::acceptCoworkers, "SocketLayer-acceptor");
+			acceptor.setDaemon(true);
+			acceptor.start();
+			logger.info("Listening for coworkers on {}", serverSocket.getLocalSocketAddress());
+		} else {
+			Socket socket = new Socket();
+			socket.connect(address);
+			masterConnection = new Connection(socket);
+			logger.info("Connected to master at {}", address);
+		}
+		heartbeatTimer.schedule(new TimerTask() {
+			@Override
+			public void run() {
+				sendHeartbeats();
+			}
+		}, HEARTBEAT_INTERVAL, HEARTBEAT_INTERVAL);
+	}
+
+	/**
+	 * @return The address the master listens on or the address of the master this coworker is connected to
+	 */
+	public InetSocketAddress getAddress() {
+		return (InetSocketAddress) (isMaster ? serverSocket.getLocalSocketAddress() : masterConnection.socket.getRemoteSocketAddress());
+	}
+
+	private void acceptCoworkers() {
+		try {
+			while (!serverSocket.isClosed()) {
+				Socket socket = serverSocket.accept();
+				logger.info("Accepted connection from {}", socket.getRemoteSocketAddress());
+				unregisteredConnections.add(new Connection(socket));
+			}
+		} catch (IOException e) {
+			if (!serverSocket.isClosed())
+				logger.error("Stopped accepting coworkers: {}", e.getMessage());
+		}
+	}
+
+	private void sendHeartbeats() {
+		long now = System.currentTimeMillis();
+		Collection<Connection> connections = isMaster ? new ArrayList<>(coworkerConnections.values()) : Collections.singletonList(masterConnection);
+		for (Connection connection : connections) {
+			if (now - connection.lastSeen > HEARTBEAT_TIMEOUT) {
+				logger.warn("Have not heard of {} for {}ms, closing the connection.", connection.coworker != null ? connection.coworker : "master", now - connection.lastSeen);
+				connection.close();
+			} else
+				connection.send(MessageType.HEARTBEAT, null);
+		}
+
+		/* connections that have been opened but have not registered a coworker would otherwise keep their threads forever */
+		for (Connection connection : new ArrayList<>(unregisteredConnections)) {
+			if (now - connection.opened > REGISTRATION_TIMEOUT) {
+				logger.warn("{} has not registered a coworker within {}ms, closing the connection.", connection.socket.getRemoteSocketAddress(), REGISTRATION_TIMEOUT);
+				connection.close();
+			}
+		}
+	}
+
+	@SuppressWarnings("unchecked")
+	private void handle(Connection connection, Message message) throws IOException, ClassNotFoundException {
+		if (message.type == null || !(isMaster ? MESSAGES_TO_MASTER : MESSAGES_TO_COWORKER).contains(message.type))
+			throw new IOException("Message of type " + message.type + " is not accepted by a " + (isMaster ? "master" : "coworker"));
+
+		/* the sender of a message to the master is the coworker registered through the connection, so a peer cannot act on behalf of another coworker */
+		String coworker = connection.coworker;
+		if (isMaster && coworker == null && message.type != MessageType.REGISTER && message.type != MessageType.HEARTBEAT)
+			throw new IOException("Message of type " + message.type + " from a connection that has not registered a coworker");
+		switch (message.type) {
+		case HEARTBEAT:
+			break;
+
+		/* messages received by the master */
+		case REGISTER: {
+			if (coworker != null)
+				throw new IOException("Connection of coworker " + coworker + " registers another coworker");
+			if (message.coworker == null)
+				throw new IOException("Registration without the name of a coworker");
+			if (coworkerConnections.putIfAbsent(message.coworker, connection) != null)
+				throw new IOException("Coworker " + message.coworker + " is already registered through another connection");
+			connection.coworker = message.coworker;
+			unregisteredConnections.remove(connection);
+			logger.info("Recognized coworker {}", message.coworker);
+			newCoworkers.add(message.coworker);
+			signalCoworkerChange();
+			break;
+		}
+		case UNREGISTER:
+			newCoworkers.remove(coworker);
+			if (!attachedCoworkers.contains(coworker))
+				coworkerConnections.remove(coworker, connection);
+			signalCoworkerChange();
+			break;
+		case RESULT:
+			results.computeIfAbsent(coworker, c -> new LinkedBlockingQueue<>()).add((byte[]) message.payload);
+			synchronized (resultSignal) {
+				resultsArrived = true;
+				resultSignal.notifyAll();
+			}
+			break;
+
+		/* messages received by a coworker */
+		case ATTACH:
+			attached = true;
+			if (attachTicket != null)
+				attachTicket.release();
+			break;
+		case GRAPH_GENERATOR:
+			graphGenerator = (SerializableGraphGenerator<T, A>) deserialize((byte[]) message.payload);
+			break;
+		case NODE_EVALUATOR:
+			nodeEvaluator = (SerializableNodeEvaluator<T, V>) deserialize((byte[]) message.payload);
+			break;
+		case JOB:
+			jobQueue.add((byte[]) message.payload);
+			break;
+		case FRONTIER_REQUEST:
+			frontierRequests.release();
+			break;
+
+		/* detaching may be initiated by both sides */
+		case DETACH:
+			if (isMaster) {
+				attachedCoworkers.remove(coworker);
+				signalCoworkerChange();
+			} else
+				attached = false;
+			break;
+		}
+	}
+
+	private void connectionClosed(Connection connection) {
+		if (isMaster) {
+			unregisteredConnections.remove(connection);
+			String coworker = connection.coworker;
+			if (coworker != null && coworkerConnections.remove(coworker, connection)) {
+				attachedCoworkers.remove(coworker);
+				newCoworkers.remove(coworker);
+				signalCoworkerChange();
+			}
+		} else {
+
+			/* release the coworker if it waits for its attachment or for a job (e.g. because the master refused its registration), because there will be no more jobs */
+			attached = false;
+			Semaphore ticket = attachTicket;
+			if (ticket != null)
+				ticket.release();
+			jobQueue.add(new byte[0]);
+		}
+	}
+
+	private void signalCoworkerChange() {
+		synchronized (coworkerSignal) {
+			coworkersChanged = true;
+			coworkerSignal.notifyAll();
+		}
+	}
+
+	@Override
+	public void init() {
+		results.clear();
+	}
+
+	@Override
+	public Collection<String> detectNewCoworkers() {
+		Collection<String> coworkers = new ArrayList<>();
+		newCoworkers.drainTo(coworkers);
+		return coworkers;
+	}
+
+	@Override
+	public void awaitCoworkerChanges(long timeout) throws InterruptedException {
+		synchronized (coworkerSignal) {
+			if (!coworkersChanged)
+				coworkerSignal.wait(timeout);
+			coworkersChanged = false;
+		}
+	}
+
+	@Override
+	public void createNewJobForCoworker(String coworker, Collection<Node<T, V>> nodes) {
+		Connection connection = coworkerConnections.get(coworker);
+		if (connection == null) {
+			logger.warn("Cannot send job to {}, because it is not connected.", coworker);
+			return;
+		}
+		logger.info("Sending job for {}: {}", coworker, nodes);
+		try {
+			connection.send(MessageType.JOB, getFrontierCodec().encode(nodes));
+		} catch (IOException e) {
+
+			/* treat this like a failed write, so the coworker is detached and the manager takes the job back */
+			logger.error("Could not encode job for {}, closing the connection: {}", coworker, e.getMessage());
+			connection.close();
+		}
+	}
+
+	@Override
+	public void attachCoworker(String coworker) {
+		Connection connection = coworkerConnections.get(coworker);
+		if (connection == null) {
+			logger.warn("Cannot attach {}, because it is not connected.", coworker);
+			return;
+		}
+
+		/* messages are delivered in order, so the coworker knows the search problem once it is attached */
+		try {
+			connection.send(MessageType.GRAPH_GENERATOR, serialize(graphGenerator));
+			connection.send(MessageType.NODE_EVALUATOR, serialize(nodeEvaluator));
+		} catch (IOException e) {
+			logger.error("Could not serialize the search problem for {}, closing the connection: {}", coworker, e.getMessage());
+			connection.close();
+			return;
+		}
+		attachedCoworkers.add(coworker);
+		connection.send(MessageType.ATTACH, null);
+	}
+
+	@Override
+	public void detachCoworker(String coworker) {
+		if (isMaster) {
+			attachedCoworkers.remove(coworker);
+			Connection connection = coworkerConnections.get(coworker);
+			if (connection != null)
+				connection.send(MessageType.DETACH, null);
+		} else {
+			attached = false;
+			masterConnection.send(MessageType.DETACH, null);
+		}
+	}
+
+	@Override
+	public DistributedComputationResult<T, V> readResult(String coworker) {
+		Queue<byte[]> resultsOfCoworker = results.get(coworker);
+		byte[] result = resultsOfCoworker != null ? resultsOfCoworker.poll() : null;
+		if (result == null)
+			return null;
+		try {
+			return getFrontierCodec().decodeResult(result);
+		} catch (IOException e) {
+			logger.error("Could not decode result of {}: {}", coworker, e.getMessage());
+			return null;
+		}
+	}
+
+	@Override
+	public void awaitResults(long timeout) throws InterruptedException {
+		synchronized (resultSignal) {
+			if (!resultsArrived)
+				resultSignal.wait(timeout);
+			resultsArrived = false;
+		}
+	}
+
+	@Override
+	public boolean supportsWorkStealing() {
+		return true;
+	}
+
+	@Override
+	public void requestFrontier(String coworker) {
+		Connection connection = coworkerConnections.get(coworker);
+		if (connection != null)
+			connection.send(MessageType.FRONTIER_REQUEST, null);
+	}
+
+	@Override
+	public void setGraphGenerator(SerializableGraphGenerator<T, A> generator) throws Exception {
+		this.graphGenerator = generator;
+	}
+
+	@Override
+	public void setNodeEvaluator(SerializableNodeEvaluator<T, V> evaluator) throws Exception {
+		this.nodeEvaluator = evaluator;
+	}
+
+	/** Coworker Stuff **/
+	@Override
+	public void register(String coworker) throws InterruptedException {
+		masterConnection.coworker = coworker;
+		attachTicket = new Semaphore(0);
+		masterConnection.send(MessageType.REGISTER, null);
+		attachTicket.acquire();
+	}
+
+	@Override
+	public void unregister(String coworker) {
+		if (!attached)
+			masterConnection.send(MessageType.UNREGISTER, null);
+	}
+
+	@Override
+	public boolean isAttached(String coworker) {
+		return isMaster ? attachedCoworkers.contains(coworker) : attached;
+	}
+
+	@Override
+	public Collection<Node<T, V>> nextJob(String coworker) throws InterruptedException {
+		byte[] job = jobQueue.take();
+		if (job.length == 0)
+			return Collections.emptyList();
+		try {
+			return getFrontierCodec().decode(job);
+		} catch (IOException e) {
+			logger.error("Could not decode job: {}", e.getMessage());
+			return Collections.emptyList();
+		}
+	}
+
+	@Override
+	public void awaitFrontierRequest(String coworker) throws InterruptedException {
+		frontierRequests.acquire();
+	}
+
+	@Override
+	public SerializableGraphGenerator<T, A> getGraphGenerator() throws Exception {
+		return graphGenerator;
+	}
+
+	@Override
+	public INodeEvaluator<T, V> getNodeEvaluator() throws Exception {
+		return nodeEvaluator;
+	}
+
+	@Override
+	public void reportResult(String coworker, DistributedComputationResult<T, V> result) {
+		try {
+			masterConnection.send(MessageType.RESULT, getFrontierCodec().encodeResult(result));
+		} catch (IOException e) {
+			logger.error("Could not encode result, closing the connection: {}", e.getMessage());
+			masterConnection.close();
+		}
+	}
+
+	private static byte[] serialize(Object object) throws IOException {
+		ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+		try (ObjectOutputStream out = new ObjectOutputStream(bytes)) {
+			out.writeObject(object);
+		}
+		return bytes.toByteArray();
+	}
+
+	private static Object deserialize(byte[] data) throws IOException, ClassNotFoundException {
+		try (ObjectInputStream in = new ObjectInputStream(new ByteArrayInputStream(data))) {
+			return in.readObject();
+		}
+	}
+
+	/**
+	 * Allows to decode points and f-values of the given class that are encoded by Java serialization in jobs or results.
+	 *
+	 * @see FrontierCodec#allowClass(Class)
+	 */
+	public synchronized void allowClass(Class<?> clazz) {
+		allowedClasses.add(clazz);
+		if (frontierCodec != null)
+			frontierCodec.allowClass(clazz);
+	}
+
+	/**
+	 * Jobs and results are encoded with the graph generator, which is known on both sides once the coworker is attached
+	 */
+	private synchronized FrontierCodec<T, A, V> getFrontierCodec() {
+		if (frontierCodec == null) {
+			frontierCodec = new FrontierCodec<>(graphGenerator);
+			for (Class<?> clazz : allowedClasses)
+				frontierCodec.allowClass(clazz);
+		}
+		return frontierCodec;
+	}
+
+	@Override
+	public void close() {
+		heartbeatTimer.cancel();
+		if (isMaster) {
+			try {
+				serverSocket.close();
+			} catch (IOException e) {
+				logger.warn("Could not close the server socket: {}", e.getMessage());
+			}
+			for (Connection connection : new ArrayList<>(coworkerConnections.values()))
+				connection.close();
+			for (Connection connection : new ArrayList<>(unregisteredConnections))
+				connection.close();
+		} else
+			masterConnection.close();
+	}
+}
@@ -1,22 +1,34 @@
 package jaicore.search.algorithms.parallel.parallelexploration.distributed.clustertest;
 
-import java.nio.file.Path;
+import java.io.IOException;
+import java.net.InetSocketAddress;
 import java.nio.file.Paths;
 import java.util.List;
 
 import jaicore.graphvisualizer.SimpleGraphVisualizationWindow;
 import jaicore.search.algorithms.parallel.parallelexploration.distributed.DistributedOrSearch;
 import jaicore.search.algorithms.parallel.parallelexploration.distributed.FolderBasedDistributedSearchCommunicationLayer;
+import jaicore.search.algorithms.parallel.parallelexploration.distributed.SocketBasedDistributedSearchCommunicationLayer;
 import jaicore.search.algorithms.parallel.parallelexploration.distributed.interfaces.DistributedSearchCommunicationLayer;
 import jaicore.search.algorithms.parallel.parallelexploration.distributed.interfaces.SerializableNodeEvaluator;
 
 public class DistributedBestFirstClusterTesterMaster {
 
-	public static void main(String[] args) {
-		Path folder = Paths.get("Z:/pc2/distsearch/testrsc/comm");
+	/**
+	 * Runs the master with the folder based communication layer or, if a port is given as the first argument, with the socket based one listening on that port.
+	 * Coworkers then connect with tcp://host:port as their first argument. The master only listens on the loopback interface unless the address to listen on
+	 * is given as the second argument (e.g. 0.0.0.0 for all interfaces).
+	 */
+	public static void main(String[] args) throws IOException {
 		DistributedBestFirstClusterTesterGenerator gen = new DistributedBestFirstClusterTesterGenerator((int)Math.pow(2, 25), 12345678);
 		SerializableNodeEvaluator<TestNode,Integer> evaluator = n -> -1 * n.externalPath().size();
-		DistributedSearchCommunicationLayer<TestNode,String,Integer> communicationLayer = new FolderBasedDistributedSearchCommunicationLayer<>(folder, true);
+		DistributedSearchCommunicationLayer<TestNode,String,Integer> communicationLayer;
+		if (args.length > 1)
+			communicationLayer = new SocketBasedDistributedSearchCommunicationLayer<>(new InetSocketAddress(args[1], Integer.parseInt(args[0])), true);
+		else if (args.length > 0)
+			communicationLayer = new SocketBasedDistributedSearchCommunicationLayer<>(Integer.parseInt(args[0]));
+		else
+			communicationLayer = new FolderBasedDistributedSearchCommunicationLayer<>(Paths.get("Z:/pc2/distsearch/testrsc/comm"), true);
 		DistributedOrSearch<TestNode,String,Integer> master = new DistributedOrSearch<>(gen, evaluator, communicationLayer);
 		new SimpleGraphVisualizationWindow<>(master);
 		List<TestNode> solution = master.nextSolution();
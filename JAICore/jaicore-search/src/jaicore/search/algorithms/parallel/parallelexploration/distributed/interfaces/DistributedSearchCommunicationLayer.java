@@ -21,6 +21,25 @@ public interface DistributedSearchCommunicationLayer<T,A,V extends Comparable<V>
 	public void setGraphGenerator(SerializableGraphGenerator<T, A> generator) throws Exception;
 	public void setNodeEvaluator(SerializableNodeEvaluator<T, V> evaluator) throws Exception;
 	
+	/* blocking operations of the master; layers that cannot notify the master about changes simply wait for the given time */
+	public default void awaitCoworkerChanges(long timeout) throws InterruptedException { // returns early if a coworker has registered or detached
+		Thread.sleep(timeout);
+	}
+	public default void awaitResults(long timeout) throws InterruptedException { // returns early if a coworker has reported a result
+		Thread.sleep(timeout);
+	}
+	
+	/* work stealing; the master asks a busy coworker to share part of its OPEN, which the coworker sends as a partial result */
+	public default boolean supportsWorkStealing() {
+		return false;
+	}
+	public default void requestFrontier(String coworker) {
+		throw new UnsupportedOperationException("This communication layer does not support work stealing.");
+	}
+	public default void awaitFrontierRequest(String coworker) throws InterruptedException { // blocks the coworker until the master requests part of its OPEN
+		throw new UnsupportedOperationException("This communication layer does not support work stealing.");
+	}
+	
 	/* coworker operations */
 	public void register(String coworker) throws InterruptedException; // registers the coworker on the bus and blocks him until it becomes attached
 	public void unregister(String coworker);
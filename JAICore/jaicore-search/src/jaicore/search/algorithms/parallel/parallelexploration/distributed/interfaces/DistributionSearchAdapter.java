@@ -7,5 +7,8 @@ import jaicore.search.structure.core.Node;
 
 public interface DistributionSearchAdapter<T, V extends Comparable<V>> {
 	public Collection<Node<T,V>> nextJob();
+	public default Collection<Node<T,V>> nextJob(double share) { // a job with the given share of the nodes available for distribution
+		return nextJob();
+	}
 	public void processResult(Collection<Node<T, V>> job, DistributedComputationResult<T, V> result);
 }
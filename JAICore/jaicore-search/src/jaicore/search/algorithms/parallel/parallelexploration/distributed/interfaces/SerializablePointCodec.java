@@ -0,0 +1,20 @@
+package jaicore.search.algorithms.parallel.parallelexploration.distributed.interfaces;
+
+import java.io.DataInput;
+import java.io.DataOutput;
+import java.io.IOException;
+import java.io.Serializable;
+
+/**
+ * Compact binary encoding of the points of a search graph, which is used when jobs and results are sent between the master and its coworkers. If the graph
+ * generator of a distributed search implements this interface, the points are encoded with it instead of being identified by their position among the
+ * successors of their parent.
+ *
+ * @param <T>
+ *            type of the nodes
+ */
+public interface SerializablePointCodec<T> extends Serializable {
+	public void encode(T point, DataOutput out) throws IOException;
+
+	public T decode(DataInput in) throws IOException;
+}
@@ -1,6 +1,8 @@
 package jaicore.search.algorithms.standard.awastar;
 
 import java.util.Collection;
+import java.util.HashMap;
+import java.util.Map;
 import java.util.concurrent.Callable;
 import java.util.concurrent.ExecutorService;
 import java.util.concurrent.Executors;
@@ -12,10 +14,9 @@ import org.slf4j.LoggerFactory;
 
 import jaicore.search.algorithms.standard.core.INodeEvaluator;
 import jaicore.search.structure.core.GraphGenerator;
+import jaicore.search.structure.core.IndexedPriorityQueueOpen;
 import jaicore.search.structure.core.Node;
 import jaicore.search.structure.core.NodeExpansionDescription;
-import jaicore.search.structure.core.OpenCollection;
-import jaicore.search.structure.core.PriorityQueueOpen;
 import jaicore.search.structure.graphgenerator.NodeGoalTester;
 import jaicore.search.structure.graphgenerator.SingleRootGenerator;
 import jaicore.search.structure.graphgenerator.SuccessorGenerator;
@@ -24,23 +25,28 @@ public class AwaStarSearch<T, A, V extends Comparable<V>>{
 
 	private static final Logger logger = LoggerFactory.getLogger(AwaStarSearch.class);
 
+	/**
+	 * Search state of AWA*. OPEN is an indexed priority queue, so nodes can be looked up by their point and re-positioned after their f-value
+	 * decreased in logarithmic time. CLOSED and SUSPEND are only used for lookups by point and hence are hash maps. A node is contained in at
+	 * most one of the three lists.
+	 */
 	private class Search implements Callable<T> {
 		
 		private SuccessorGenerator<T, A> successorGenerator;
 		private NodeGoalTester<T> goalTester;
 		private INodeEvaluator<T, V> nodeEvaluator;
-		private OpenCollection<Node<T, V>> closedList, suspendList, openList;
+		private final IndexedPriorityQueueOpen<T, V> openList = new IndexedPriorityQueueOpen<>();
+		private final Map<T, Node<T, V>> closedList = new HashMap<>();
+		private Map<T, Node<T, V>> suspendList = new HashMap<>();
 		private int windowSize;
 		private V bestScore;
 		private T bestSolution;
+		private volatile int expandedCounter = 0;
 		
 		public Search(GraphGenerator<T, A> graphGenerator, INodeEvaluator<T, V> nodeEvaluator) throws Throwable {
 			successorGenerator = graphGenerator.getSuccessorGenerator();
 			goalTester = (NodeGoalTester<T>)graphGenerator.getGoalTester();
 			this.nodeEvaluator = nodeEvaluator;
-			closedList = new PriorityQueueOpen<>();
-			suspendList = new PriorityQueueOpen<>();
-			openList = new PriorityQueueOpen<>();
 			windowSize = 0;
 			Node<T, V> rootNode = new Node<T, V>(null, ((SingleRootGenerator<T>)graphGenerator.getRootGenerator()).getRoot());
 			rootNode.setInternalLabel(this.nodeEvaluator.f(rootNode));
@@ -52,9 +58,12 @@ public class AwaStarSearch<T, A, V extends Comparable<V>>{
 		@Override
 		public T call() throws Exception {
 			do {
-				closedList.addAll(openList);
-				openList.addAll(suspendList);
-				suspendList.clear();
+
+				/* nodes that remained on OPEN stay there, and the suspended nodes are resumed for the next window */
+				Map<T, Node<T, V>> resumedNodes = suspendList;
+				suspendList = new HashMap<>();
+				for (Node<T, V> node : resumedNodes.values())
+					openList.add(node);
 				bestSolution = windowAStar();
 				windowSize++;
 			} while (!suspendList.isEmpty());
@@ -66,16 +75,16 @@ public class AwaStarSearch<T, A, V extends Comparable<V>>{
 			while (!openList.isEmpty()) {
 				Node<T, V> n = openList.peek();
 				openList.remove(n);
-				closedList.add(n);
 				V nScore = n.getInternalLabel();
 				int nLevel = (int) n.getAnnotation("level");
 				if (nScore != null && bestScore != null && nScore.compareTo(bestScore) >= 0) {
+					closedList.put(n.getPoint(), n);
 					return bestSolution;
 				} else {
 					if (nLevel <= (currentLevel - windowSize)) {
-						closedList.remove(n);
-						suspendList.add(n);
+						suspendList.put(n.getPoint(), n);
 					} else {
+						closedList.put(n.getPoint(), n);
 						if (nLevel > currentLevel) {
 							currentLevel = nLevel;
 						}
@@ -85,34 +94,29 @@ public class AwaStarSearch<T, A, V extends Comparable<V>>{
 							bestSolution = n.getPoint();
 							return bestSolution;
 						}
+						expandedCounter++;
 						Collection<NodeExpansionDescription<T, A>> successors = successorGenerator.generateSuccessors(n.getPoint());
 						for (NodeExpansionDescription<T, A> expansionDescription : successors) {
-							Node<T, V> nPrime = new Node<>(n, expansionDescription.getTo());
-							nPrime.setGoal(goalTester.isGoal(nPrime.getPoint()));
+							T point = expansionDescription.getTo();
+							Node<T, V> nPrime = new Node<>(n, point);
+							nPrime.setGoal(goalTester.isGoal(point));
 							V nPrimeScore;
 							try {
 								nPrimeScore = nodeEvaluator.f(nPrime);
-								if (!openList.contains(nPrime) && !closedList.contains(nPrime) && !suspendList.contains(nPrime)) {
-									nPrime.setParent(n);
-									nPrime.setInternalLabel(nPrimeScore);
-									nPrime.setAnnotation("level", ((int)n.getAnnotation("level")) + 1);
-									openList.add(nPrime);
-								} else if(openList.contains(nPrime) || suspendList.contains(nPrime)) {
-									V oldScore = nPrime.getInternalLabel();
-									if (oldScore != null) {
-										if (oldScore.compareTo(nPrimeScore) > 0) {
-											nPrime.setParent(n);
-											nPrime.setInternalLabel(nPrimeScore);
-											nPrime.setAnnotation("level", ((int)n.getAnnotation("level")) + 1);
-										}
-									}
-								} else if(closedList.contains(nPrime)) {
-									V oldScore = nPrime.getInternalLabel();
-									if (oldScore != null && oldScore.compareTo(nPrimeScore) > 0) {
-										nPrime.setParent(n);
-										nPrime.setInternalLabel(nPrimeScore);
-										nPrime.setAnnotation("level", ((int)n.getAnnotation("level")) + 1);
+								Node<T, V> existingNode;
+								if ((existingNode = openList.getNodeWithPoint(point)) != null) {
+									if (improve(existingNode, n, nPrimeScore))
+										openList.update(existingNode);
+								} else if ((existingNode = suspendList.get(point)) != null) {
+									improve(existingNode, n, nPrimeScore);
+								} else if ((existingNode = closedList.get(point)) != null) {
+									if (improve(existingNode, n, nPrimeScore)) {
+										closedList.remove(point);
+										openList.add(existingNode);
 									}
+								} else {
+									nPrime.setInternalLabel(nPrimeScore);
+									nPrime.setAnnotation("level", nLevel + 1);
 									openList.add(nPrime);
 								}
 								
@@ -126,6 +130,21 @@ public class AwaStarSearch<T, A, V extends Comparable<V>>{
 			return bestSolution;
 		}
 
+		/**
+		 * Makes the given parent the parent of an already known node if this decreases the score of the node.
+		 *
+		 * @return true if the node has been changed
+		 */
+		private boolean improve(Node<T, V> node, Node<T, V> parent, V score) {
+			V oldScore = node.getInternalLabel();
+			if (oldScore == null || score == null || oldScore.compareTo(score) <= 0)
+				return false;
+			node.setParent(parent);
+			node.setInternalLabel(score);
+			node.setAnnotation("level", ((int) parent.getAnnotation("level")) + 1);
+			return true;
+		}
+
 	}
 
 	private AwaStarSearch.Search search; 
@@ -150,4 +169,12 @@ public class AwaStarSearch<T, A, V extends Comparable<V>>{
 		return bestSolution;
 	}
 
+	/**
+	 * @return A counter of how many times a node was expanded, which is 0 before {@link #search(int)} has been called. If the search is still
+	 *         running, e.g. because it has timed out, the counter is the number of nodes expanded so far.
+	 */
+	public int getExpandedCounter() {
+		return search.expandedCounter;
+	}
+
 }
@@ -2,13 +2,16 @@ package jaicore.search.algorithms.standard.bestfirst;
 
 import java.util.ArrayList;
 import java.util.Collections;
-import java.util.HashMap;
 import java.util.HashSet;
 import java.util.List;
 import java.util.Map;
 import java.util.Random;
 import java.util.Set;
+import java.util.concurrent.CancellationException;
 import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
 
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -40,8 +43,8 @@ public class RandomCompletionEvaluator<T, V extends Comparable<V>>
   private final static Logger logger = LoggerFactory.getLogger(RandomCompletionEvaluator.class);
   protected Map<List<T>, List<T>> completions = new ConcurrentHashMap<>();
   protected Set<List<T>> unsuccessfulPaths = Collections.synchronizedSet(new HashSet<>());
-  protected Set<List<T>> postedSolutions = new HashSet<>();
-  protected Map<List<T>, Integer> timesToComputeEvaluations = new HashMap<>();
+  protected Set<List<T>> postedSolutions = Collections.synchronizedSet(new HashSet<>());
+  protected Map<List<T>, Integer> timesToComputeEvaluations = new ConcurrentHashMap<>();
 
   protected Map<List<T>, V> scoresOfSolutionPaths = new ConcurrentHashMap<>();
   protected Map<Node<T, ?>, V> fValues = new ConcurrentHashMap<>();
@@ -57,6 +60,10 @@ public class RandomCompletionEvaluator<T, V extends Comparable<V>>
   protected boolean pathCachingActivated = false;
   protected final Random random;
   protected int samples;
+  protected transient ExecutorService completionPool;
+  protected transient Set<Future<?>> activeJobs = ConcurrentHashMap.newKeySet();
+  protected volatile boolean canceled = false;
+  private static final int MAX_ATTEMPTS_PER_SAMPLE = 20;
   
   protected final ISolutionEvaluator<T, V> solutionEvaluator;
   protected transient SolutionEventBus<T> eventBus = new SolutionEventBus<>();
@@ -158,74 +165,107 @@ public class RandomCompletionEvaluator<T, V extends Comparable<V>>
             int j = 0;
             final int maxSamples = this.samples * 20;
 
-            for (; i < this.samples; i++) {
-              if (Thread.currentThread().isInterrupted()) {
-                interrupted = true;
-                break;
-              }
-
-              /* create randomized dfs searcher */
-              BestFirst<T, String> completer = new RandomizedDepthFirstSearch<>(new GraphGenerator<T, String>() {
-                @Override
-                public SingleRootGenerator<T> getRootGenerator() {
-                  return () -> n.getPoint();
-                }
-
-                @Override
-                public SuccessorGenerator<T, String> getSuccessorGenerator() {
-                  return RandomCompletionEvaluator.this.generator.getSuccessorGenerator();
-                }
-
-                @Override
-                public GoalTester<T> getGoalTester() {
-                  return RandomCompletionEvaluator.this.generator.getGoalTester();
+            if (this.completionPool == null) {
+              for (; i < this.samples; i++) {
+                if (Thread.currentThread().isInterrupted() || this.canceled) {
+                  interrupted = true;
+                  break;
                 }
 
-                @Override
-                public boolean isSelfContained() {
-                  return false;
+                /* complete the current path by a random dfs-solution */
+                List<T> completedPath = this.getRandomCompletion(n, this.random);
+                if (completedPath == null) {
+                  return null;
                 }
 
-                @Override
-                public void setNodeNumbering(final boolean nodenumbering) {
-                	throw new UnsupportedOperationException();
+                /* now evaluate this solution */
+                j++;
+                try {
+                  V val = this.getFValueOfSolutionPath(completedPath);
+                  if (val != null) {
+                    if (best == null || val.compareTo(best) < 0) {
+                      best = val;
+                      bestCompletion = completedPath;
+                    }
+                  }
+                } catch (InterruptedException e) {
+                  interrupted = true;
+                  break;
+                } catch (Throwable ex) {
+                  if (j == maxSamples) {
+                    logger.warn("Too many retry attempts, giving up.");
+                    throw ex;
+                  } else {
+                    logger.error("Could not evaluate solution candidate ... retry another completion. {}", LoggerUtil.getExceptionInfo(ex));
+                    i--;
+                  }
                 }
-              }, this.random);
-              
-              /* now complete the current path by the dfs-solution */
-              List<T> completedPath = new ArrayList<>(n.externalPath());
-              logger.info("Starting search for next solution ...");
-//              SimpleGraphVisualizationWindow<Node<T,?>> window = new SimpleGraphVisualizationWindow<>(completer);
-              List<T> pathCompletion = completer.nextSolution();
-              if (pathCompletion == null) {
-                logger.warn("No completion was found for path {}. Nodes expanded in search: {}", path, completer.getExpandedCounter());
-                return null;
               }
-              logger.info("Found solution {}", pathCompletion);
-              pathCompletion.remove(0);
-              completedPath.addAll(pathCompletion);
+            }
 
-              /* now evaluate this solution */
-              j++;
+            /* if a pool is given, draw and evaluate the completions in parallel. Every sample gets its own random source, which is seeded by the random source of this evaluator */
+            else {
+              if (this.activeJobs == null) {
+                this.activeJobs = ConcurrentHashMap.newKeySet();
+              }
+              List<Future<Pair<List<T>, V>>> jobs = new ArrayList<>();
+              for (int k = 0; k < this.samples; k++) {
+                final long seed = this.random.nextLong();
+                jobs.add(this.completionPool.submit(() -> this.sampleCompletion(n, new Random(seed))));
+              }
+              this.activeJobs.addAll(jobs);
               try {
-                V val = this.getFValueOfSolutionPath(completedPath);
-                if (val != null) {
-                  if (best == null || val.compareTo(best) < 0) {
-                    best = val;
-                    bestCompletion = completedPath;
+                for (Future<Pair<List<T>, V>> job : jobs) {
+                  if (this.canceled) {
+                    interrupted = true;
+                    break;
+                  }
+                  Pair<List<T>, V> sample;
+                  try {
+                    sample = job.get();
+                  } catch (InterruptedException | CancellationException e) {
+                    interrupted = true;
+                    break;
+                  } catch (ExecutionException e) {
+                    if (e.getCause() instanceof InterruptedException) {
+                      interrupted = true;
+                      break;
+                    }
+                    logger.warn("Too many retry attempts, giving up.");
+                    throw e.getCause();
+                  }
+                  if (sample == null) {
+                    return null;
+                  }
+                  i++;
+                  if (sample.getY() != null && (best == null || sample.getY().compareTo(best) < 0)) {
+                    best = sample.getY();
+                    bestCompletion = sample.getX();
+                  }
+                }
+
+                /* if we have been interrupted, also accept the results of samples that have finished in the meantime */
+                if (interrupted) {
+                  for (Future<Pair<List<T>, V>> job : jobs) {
+                    if (!job.isDone() || job.isCancelled()) {
+                      continue;
+                    }
+                    try {
+                      Pair<List<T>, V> sample = job.get();
+                      if (sample != null && sample.getY() != null && (best == null || sample.getY().compareTo(best) < 0)) {
+                        best = sample.getY();
+                        bestCompletion = sample.getX();
+                      }
+                    } catch (ExecutionException e) {
+                      logger.debug("Ignoring failed sample after interrupt: {}", e.getCause().toString());
+                    }
                   }
                 }
-              } catch (InterruptedException e) {
-                interrupted = true;
-                break;
-              } catch (Throwable ex) {
-                if (j == maxSamples) {
-                  logger.warn("Too many retry attempts, giving up.");
-                  throw ex;
-                } else {
-                  logger.error("Could not evaluate solution candidate ... retry another completion. {}", LoggerUtil.getExceptionInfo(ex));
-                  i--;
+              } finally {
+                for (Future<Pair<List<T>, V>> job : jobs) {
+                  job.cancel(true);
                 }
+                this.activeJobs.removeAll(jobs);
               }
             }
 
@@ -318,6 +358,84 @@ public class RandomCompletionEvaluator<T, V extends Comparable<V>>
     return f;
   }
 
+  /**
+   * Completes the path to the given node by a randomized depth first search.
+   *
+   * @param n
+   *          The node whose path is completed
+   * @param random
+   *          The random source for the depth first search
+   * @return The completed path or null if no completion exists
+   */
+  protected List<T> getRandomCompletion(final Node<T, ?> n, final Random random) {
+
+    /* create randomized dfs searcher */
+    BestFirst<T, String> completer = new RandomizedDepthFirstSearch<>(new GraphGenerator<T, String>() {
+      @Override
+      public SingleRootGenerator<T> getRootGenerator() {
+        return () -> n.getPoint();
+      }
+
+      @Override
+      public SuccessorGenerator<T, String> getSuccessorGenerator() {
+        return RandomCompletionEvaluator.this.generator.getSuccessorGenerator();
+      }
+
+      @Override
+      public GoalTester<T> getGoalTester() {
+        return RandomCompletionEvaluator.this.generator.getGoalTester();
+      }
+
+      @Override
+      public boolean isSelfContained() {
+        return false;
+      }
+
+      @Override
+      public void setNodeNumbering(final boolean nodenumbering) {
+        throw new UnsupportedOperationException();
+      }
+    }, random);
+
+    /* now complete the current path by the dfs-solution */
+    List<T> completedPath = new ArrayList<>(n.externalPath());
+    logger.info("Starting search for next solution ...");
+    List<T> pathCompletion = completer.nextSolution();
+    if (pathCompletion == null) {
+      logger.warn("No completion was found for path {}. Nodes expanded in search: {}", completedPath, completer.getExpandedCounter());
+      return null;
+    }
+    logger.info("Found solution {}", pathCompletion);
+    pathCompletion.remove(0);
+    completedPath.addAll(pathCompletion);
+    return completedPath;
+  }
+
+  /**
+   * Draws and evaluates one sample in the parallel mode. If the evaluation of a completion fails, another completion is drawn (at most
+   * {@link #MAX_ATTEMPTS_PER_SAMPLE} times).
+   *
+   * @return The completed path together with its score (which may be null) or null if no completion exists
+   */
+  private Pair<List<T>, V> sampleCompletion(final Node<T, ?> n, final Random random) throws Exception {
+    for (int attempt = 1;; attempt++) {
+      List<T> completedPath = this.getRandomCompletion(n, random);
+      if (completedPath == null) {
+        return null;
+      }
+      try {
+        return new Pair<>(completedPath, this.getFValueOfSolutionPath(completedPath));
+      } catch (InterruptedException e) {
+        throw e;
+      } catch (Throwable ex) {
+        if (attempt == MAX_ATTEMPTS_PER_SAMPLE) {
+          throw ex instanceof Exception ? (Exception) ex : new ExecutionException(ex);
+        }
+        logger.error("Could not evaluate solution candidate ... retry another completion. {}", LoggerUtil.getExceptionInfo(ex));
+      }
+    }
+  }
+
   protected V getFValueOfSolutionPath(final List<T> path) throws Throwable {
     // assert isSolutionPath(path) : "Can only compute f-values for completed plans, but it is invoked
     // with a plan that does not yield a goal node!";
@@ -350,9 +468,14 @@ public class RandomCompletionEvaluator<T, V extends Comparable<V>>
         return null;
       }
 
-      this.scoresOfSolutionPaths.put(path, val);
-      this.timesToComputeEvaluations.put(path, (int) duration);
-      this.postSolution(path);
+      /* the same path may have been evaluated by a parallel sample in the meantime */
+      synchronized (this) {
+        if (!this.scoresOfSolutionPaths.containsKey(path)) {
+          this.scoresOfSolutionPaths.put(path, val);
+          this.timesToComputeEvaluations.put(path, (int) duration);
+          this.postSolution(path);
+        }
+      }
     } else {
       logger.info("Associated plan is known. Reading score from cache.");
       if (logger.isTraceEnabled()) {
@@ -362,8 +485,10 @@ public class RandomCompletionEvaluator<T, V extends Comparable<V>>
           }
         }
       }
-      if (!this.postedSolutions.contains(path)) {
-        throw new IllegalStateException("Reading cached score of a plan whose path has not been posted as a solution! Are there several paths to a plan?");
+      synchronized (this) {
+        if (!this.postedSolutions.contains(path)) {
+          throw new IllegalStateException("Reading cached score of a plan whose path has not been posted as a solution! Are there several paths to a plan?");
+        }
       }
     }
     V score = this.scoresOfSolutionPaths.get(path);
@@ -414,6 +539,29 @@ public class RandomCompletionEvaluator<T, V extends Comparable<V>>
   @Override
   public void cancel() {
     logger.info("Receive cancel signal.");
+    this.canceled = true;
+    if (this.activeJobs != null) {
+      for (Future<?> job : this.activeJobs) {
+        job.cancel(true);
+      }
+    }
+  }
+
+  public ExecutorService getCompletionPool() {
+    return this.completionPool;
+  }
+
+  /**
+   * Activates the parallel mode, in which the random completions of a node are drawn and evaluated concurrently on the given pool. The
+   * pool may be shared among several evaluators and should be bounded, since every job evaluates a solution. Every sample uses its own
+   * random source whose seed is drawn from the random source of this evaluator, so results are reproducible. The solution evaluator must
+   * be thread-safe in this mode.
+   *
+   * @param completionPool
+   *          The pool to use or null to draw completions sequentially
+   */
+  public void setCompletionPool(final ExecutorService completionPool) {
+    this.completionPool = completionPool;
   }
 
   public void setNumberOfRandomCompletions(final int randomCompletions) {
@@ -76,7 +76,8 @@ public abstract class ANDORGraphSearch<T, A, V extends Comparable<V>> implements
 		if (!initialized) {
 			initialized = true;
 			root = initialize();
-			this.eventBus.post(new GraphInitializedEvent<T>(root.getPoint()));
+			if (this.eventBus.hasSubscribers(GraphInitializedEvent.class))
+				this.eventBus.post(new GraphInitializedEvent<T>(root.getPoint()));
 		}
 
 		/* run actual algorithm */
@@ -86,7 +87,8 @@ public abstract class ANDORGraphSearch<T, A, V extends Comparable<V>> implements
 
 			simpleSolvedLabeling(root);
 			for (Node<T, V> solvedNode : solvedNodes) {
-				eventBus.post(new NodeTypeSwitchEvent<T>(solvedNode.getPoint(), (solvedNode instanceof AndNode ? "and" : "or") + "_solution"));
+				if (eventBus.hasSubscribers(NodeTypeSwitchEvent.class))
+					eventBus.post(new NodeTypeSwitchEvent<T>(solvedNode.getPoint(), (solvedNode instanceof AndNode ? "and" : "or") + "_solution"));
 			}
 
 			/* now return a solution if we found one; this can actually be done before */
@@ -101,6 +103,7 @@ public abstract class ANDORGraphSearch<T, A, V extends Comparable<V>> implements
 			solutionBase = nextSolutionBase();
 			nodeToExpandNext = nextNode(solutionBase);
 		}
+		eventBus.shutdown();
 		return null;
 	}
 
@@ -108,7 +111,8 @@ public abstract class ANDORGraphSearch<T, A, V extends Comparable<V>> implements
 
 		/* perform expand step */
 		T externalRepresentation = nodeToExpand.getPoint();
-		eventBus.post(new NodeTypeSwitchEvent<T>(externalRepresentation, "expanding"));
+		if (eventBus.hasSubscribers(NodeTypeSwitchEvent.class))
+			eventBus.post(new NodeTypeSwitchEvent<T>(externalRepresentation, "expanding"));
 		Set<Node<T, V>> knownNodes = new HashSet<>(traversalGraph.getItems());
 		PerformanceLogger.logStart("successor node computation");
 		Collection<Node<T, V>> insertedChildren = expand(nodeToExpand);
@@ -116,7 +120,8 @@ public abstract class ANDORGraphSearch<T, A, V extends Comparable<V>> implements
 		PerformanceLogger.logStart("successor node labeling");
 		for (Node<T, V> successor : insertedChildren) {
 			String state = knownNodes.contains(successor) ? "closed" : "open";
-			eventBus.post(new NodeReachedEvent<T>(nodeToExpand.getPoint(), successor.getPoint(), (successor instanceof AndNode ? "and" : "or") + "_" + state));
+			if (eventBus.hasSubscribers(NodeReachedEvent.class))
+				eventBus.post(new NodeReachedEvent<T>(nodeToExpand.getPoint(), successor.getPoint(), (successor instanceof AndNode ? "and" : "or") + "_" + state));
 			exhaustiveSolvedLabeling(successor);
 		}
 		PerformanceLogger.logEnd("successor node labeling");
@@ -127,7 +132,7 @@ public abstract class ANDORGraphSearch<T, A, V extends Comparable<V>> implements
 		}
 
 		expandedCounter++;
-		if (!solvedNodes.contains(nodeToExpand))
+		if (eventBus.hasSubscribers(NodeTypeSwitchEvent.class) && !solvedNodes.contains(nodeToExpand))
 			eventBus.post(new NodeTypeSwitchEvent<T>(externalRepresentation, (nodeToExpand instanceof AndNode ? "and" : "or") + "_closed"));
 	}
 
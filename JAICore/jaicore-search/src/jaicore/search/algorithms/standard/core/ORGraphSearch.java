@@ -4,20 +4,30 @@ import java.util.ArrayList;
 import java.util.Collection;
 import java.util.Collections;
 import java.util.HashMap;
-import java.util.HashSet;
 import java.util.Iterator;
 import java.util.List;
 import java.util.Map;
-import java.util.Optional;
 import java.util.Queue;
-import java.util.Set;
+import java.util.Spliterator;
+import java.util.Spliterators;
+import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executor;
 import java.util.concurrent.ExecutorService;
 import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.FutureTask;
 import java.util.concurrent.LinkedBlockingQueue;
 import java.util.concurrent.Semaphore;
+import java.util.concurrent.ThreadFactory;
 import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Consumer;
 import java.util.stream.Collectors;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
 
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -35,11 +45,15 @@ import jaicore.graphvisualizer.events.graphEvents.NodeRemovedEvent;
 import jaicore.graphvisualizer.events.graphEvents.NodeTypeSwitchEvent;
 import jaicore.logging.LoggerUtil;
 import jaicore.search.algorithms.interfaces.IObservableORGraphSearch;
+import jaicore.search.structure.core.ConcurrentIndexedPriorityQueueOpen;
+import jaicore.search.structure.core.ConcurrentPriorityQueueOpen;
 import jaicore.search.structure.core.GraphEventBus;
 import jaicore.search.structure.core.GraphGenerator;
+import jaicore.search.structure.core.IndexedPriorityQueueOpen;
 import jaicore.search.structure.core.Node;
 import jaicore.search.structure.core.NodeExpansionDescription;
 import jaicore.search.structure.core.OpenCollection;
+import jaicore.search.structure.core.PointIndexedOpenCollection;
 import jaicore.search.structure.core.PriorityQueueOpen;
 import jaicore.search.structure.graphgenerator.MultipleRootGenerator;
 import jaicore.search.structure.graphgenerator.NodeGoalTester;
@@ -51,11 +65,26 @@ import jaicore.search.structure.graphgenerator.SuccessorGenerator;
 public class ORGraphSearch<T, A, V extends Comparable<V>>
 		implements IObservableORGraphSearch<T, A, V>, IIterableAlgorithm<List<NodeExpansionDescription<T, A>>>, Iterator<List<NodeExpansionDescription<T, A>>>, ILoggingCustomizable {
 
+	/**
+	 * Default executor for the computation of successors and, if no additional threads are used, of their f-values. Its threads are reused across expansions and searches, so we avoid
+	 * the creation of a new thread per successor. The pool is unbounded on purpose, because node evaluators may run (and wait for) searches themselves.
+	 */
+	private static final ExecutorService SHARED_EXPANSION_EXECUTOR = Executors.newCachedThreadPool(new ThreadFactory() {
+		private final AtomicInteger counter = new AtomicInteger(0);
+
+		@Override
+		public Thread newThread(Runnable r) {
+			Thread t = new Thread(r, "ORGraphSearch-expansion-" + counter.incrementAndGet());
+			t.setDaemon(true);
+			return t;
+		}
+	});
+
 	private Logger logger = LoggerFactory.getLogger(ORGraphSearch.class);
 
 	/* meta vars for controlling the general behavior */
-	private int createdCounter;
-	private int expandedCounter;
+	private final AtomicInteger createdCounter = new AtomicInteger(0);
+	private final AtomicInteger expandedCounter = new AtomicInteger(0);
 	private boolean initialized = false;
 	protected boolean interrupted = false;
 	protected boolean canceled = false;
@@ -84,21 +113,28 @@ public class ORGraphSearch<T, A, V extends Comparable<V>>
 	private int timeoutForComputationOfF;
 
 	protected final Queue<List<T>> solutions = new LinkedBlockingQueue<>();
-	protected final Map<List<T>, Map<String, Object>> solutionAnnotations = new HashMap<>(); // for solutions that may have been acquired from some subroutine without really knowing all of the nodes
+	protected final Map<List<T>, Map<String, Object>> solutionAnnotations = new ConcurrentHashMap<>(); // for solutions that may have been acquired from some subroutine without really knowing all of the nodes
 																								// on the path
 	/* parallelization */
 	protected int additionalThreadsForExpansion = 0;
 	private Semaphore fComputationTickets;
 	private ExecutorService pool;
 	protected final AtomicInteger activeJobs = new AtomicInteger(0);
+	private final Object jobSignal = new Object();
+	private Executor expansionExecutor = SHARED_EXPANSION_EXECUTOR;
 
-	private final Set<T> expanded = new HashSet<>();
+	private final Map<T, Node<T, V>> expanded = new ConcurrentHashMap<>();
 	private final boolean solutionReportingNodeEvaluator;
 
 	/**
-	 * Memorize the last expansion for when it is requested
+	 * Memorize the last expansion for when it is requested (successors may be added by several node builders in parallel)
+	 */
+	private final List<NodeExpansionDescription<T, A>> lastExpansion = new CopyOnWriteArrayList<>();
+
+	/**
+	 * Requests of other threads to hand over nodes on OPEN, which are served by the search thread
 	 */
-	private List<NodeExpansionDescription<T, A>> lastExpansion = new ArrayList<>();
+	private final Queue<CompletableFuture<List<Node<T, V>>>> handOverRequests = new ConcurrentLinkedQueue<>();
 	private ParentDiscarding parentDiscarding;
 
 	private class NodeBuilder implements Runnable {
@@ -123,7 +159,7 @@ public class ORGraphSearch<T, A, V extends Comparable<V>>
 				Node<T, V> newNode = newNode(expandedNodeInternal, successorDescription.getTo());
 
 				/* update creation counter */
-				createdCounter++;
+				createdCounter.incrementAndGet();
 
 				/* set timeout on thread that interrupts it after the timeout */
 				int taskId = -1;
@@ -147,7 +183,8 @@ public class ORGraphSearch<T, A, V extends Comparable<V>>
 						logger.warn("Computation of f for node {} took {}ms, which is more than the allowed {}ms", newNode, fTime, timeoutForComputationOfF);
 				} catch (InterruptedException e) {
 					logger.debug("Received interrupt during computation of f.");
-					graphEventBus.post(new NodeTypeSwitchEvent<>(newNode, "or_timedout"));
+					if (graphEventBus.hasSubscribers(NodeTypeSwitchEvent.class))
+						graphEventBus.post(new NodeTypeSwitchEvent<>(newNode, "or_timedout"));
 					newNode.setAnnotation("fError", "Timeout");
 					computationTimedout = true;
 					try {
@@ -158,7 +195,8 @@ public class ORGraphSearch<T, A, V extends Comparable<V>>
 				} catch (Throwable e) {
 					logger.error("Observed an execution during computation of f:\n{}", LoggerUtil.getExceptionInfo(e));
 					newNode.setAnnotation("fError", e);
-					graphEventBus.post(new NodeTypeSwitchEvent<>(newNode, "or_ffail"));
+					if (graphEventBus.hasSubscribers(NodeTypeSwitchEvent.class))
+						graphEventBus.post(new NodeTypeSwitchEvent<>(newNode, "or_ffail"));
 				}
 				if (taskId >= 0)
 					timeoutSubmitter.cancelTimeout(taskId);
@@ -175,11 +213,8 @@ public class ORGraphSearch<T, A, V extends Comparable<V>>
 						logger.info("Not inserting node {} because computation of f-value timed out.", newNode);
 					if (!newNode.getAnnotations().containsKey("fError"))
 						newNode.setAnnotation("fError", "f-computer returned NULL");
-					graphEventBus.post(new NodeTypeSwitchEvent<>(newNode, "or_pruned"));
-					if (pool != null) {
-						activeJobs.decrementAndGet();
-						fComputationTickets.release();
-					}
+					if (graphEventBus.hasSubscribers(NodeTypeSwitchEvent.class))
+						graphEventBus.post(new NodeTypeSwitchEvent<>(newNode, "or_pruned"));
 					return;
 				}
 				newNode.setInternalLabel(label);
@@ -191,49 +226,59 @@ public class ORGraphSearch<T, A, V extends Comparable<V>>
 				boolean nodeProcessed = false;
 				if (parentDiscarding != ParentDiscarding.NONE) {
 
-					/* determine whether we already have the node AND it is worse than the one we want to insert */
-					Optional<Node<T, V>> existingIdenticalNodeOnOpen = open.stream().filter(n -> n.getPoint().equals(newNode.getPoint())).findFirst();
-					if (existingIdenticalNodeOnOpen.isPresent()) {
-						Node<T, V> existingNode = existingIdenticalNodeOnOpen.get();
-						if (newNode.compareTo(existingNode) < 0) {
-							graphEventBus.post(new NodeTypeSwitchEvent<>(newNode, "or_" + (newNode.isGoal() ? "solution" : "open")));
-							graphEventBus.post(new NodeRemovedEvent<>(existingNode));
-							open.remove(existingNode);
-							open.add(newNode);
-						} else {
-							graphEventBus.post(new NodeRemovedEvent<>(newNode));
+					/* node builders may run in parallel, so looking up a node with the same point and inserting the new node must not be interleaved */
+					synchronized (open) {
+
+						/* determine whether we already have the node AND it is worse than the one we want to insert */
+						Node<T, V> existingNode = getNodeOnOpenWithPoint(newNode.getPoint());
+						if (existingNode != null) {
+							if (newNode.compareTo(existingNode) < 0) {
+								if (graphEventBus.hasSubscribers(NodeTypeSwitchEvent.class))
+									graphEventBus.post(new NodeTypeSwitchEvent<>(newNode, "or_" + (newNode.isGoal() ? "solution" : "open")));
+								if (graphEventBus.hasSubscribers(NodeRemovedEvent.class))
+									graphEventBus.post(new NodeRemovedEvent<>(existingNode));
+								open.remove(existingNode);
+								open.add(newNode);
+							} else {
+								ext2int.put(existingNode.getPoint(), existingNode);
+								if (graphEventBus.hasSubscribers(NodeRemovedEvent.class))
+									graphEventBus.post(new NodeRemovedEvent<>(newNode));
+							}
+							nodeProcessed = true;
 						}
-						nodeProcessed = true;
-					}
 
-					/* if parent discarding is not only for OPEN but also for CLOSE (and the node was not on OPEN), check the list of expanded nodes */
-					else if (parentDiscarding == ParentDiscarding.ALL) {
-
-						/* reopening, if the node is already on CLOSED */
-						Optional<T> existingIdenticalNodeOnClosed = expanded.stream().filter(n -> n.equals(newNode.getPoint())).findFirst();
-						if (existingIdenticalNodeOnClosed.isPresent()) {
-							Node<T, V> node = ext2int.get(existingIdenticalNodeOnClosed.get());
-							if (newNode.compareTo(node) < 0) {
-								node.setParent(newNode.getParent());
-								node.setInternalLabel(newNode.getInternalLabel());
-								expanded.remove(node.getPoint());
-								open.add(node);
-								graphEventBus.post(new NodeParentSwitchEvent<Node<T, V>>(node, node.getParent(), newNode.getParent()));
+						/* if parent discarding is not only for OPEN but also for CLOSE (and the node was not on OPEN), check the list of expanded nodes */
+						else if (parentDiscarding == ParentDiscarding.ALL) {
+
+							/* reopening, if the node is already on CLOSED */
+							Node<T, V> node = expanded.get(newNode.getPoint());
+							if (node != null) {
+								ext2int.put(node.getPoint(), node);
+								if (newNode.compareTo(node) < 0) {
+									Node<T, V> oldParent = node.getParent();
+									node.setParent(newNode.getParent());
+									node.setInternalLabel(newNode.getInternalLabel());
+									expanded.remove(node.getPoint());
+									open.add(node);
+									if (graphEventBus.hasSubscribers(NodeParentSwitchEvent.class))
+										graphEventBus.post(new NodeParentSwitchEvent<Node<T, V>>(node, oldParent, newNode.getParent()));
+								}
+								if (graphEventBus.hasSubscribers(NodeRemovedEvent.class))
+									graphEventBus.post(new NodeRemovedEvent<Node<T, V>>(newNode));
+								nodeProcessed = true;
 							}
-							graphEventBus.post(new NodeRemovedEvent<Node<T, V>>(newNode));
+						}
+
+						if (!nodeProcessed) {
+							insertNewNodeIntoOpen(newNode);
 							nodeProcessed = true;
 						}
 					}
 				}
 
-				/* if parent discarding is turned off OR if the node was node processed by a parent discarding rule, just insert it on OPEN */
-				if (!nodeProcessed) {
-
-					if (!newNode.isGoal())
-						open.add(newNode);
-					graphEventBus.post(new NodeTypeSwitchEvent<>(newNode, "or_" + (newNode.isGoal() ? "solution" : "open")));
-					createdCounter++;
-				}
+				/* if parent discarding is turned off, just insert it on OPEN */
+				if (!nodeProcessed)
+					insertNewNodeIntoOpen(newNode);
 
 				/* Recognize solution in cache together with annotation */
 				if (newNode.isGoal()) {
@@ -241,19 +286,22 @@ public class ORGraphSearch<T, A, V extends Comparable<V>>
 
 					/* if the node evaluator has not reported the solution already anyway, register the solution and store its annotation */
 					if (!solutionReportingNodeEvaluator && !solutions.contains(solution)) {
+						Map<String, Object> annotations = new HashMap<>();
+						annotations.put("f", newNode.getInternalLabel());
+						solutionAnnotations.put(solution, annotations);
 						solutions.add(solution);
-						solutionAnnotations.put(solution, new HashMap<>());
-						solutionAnnotations.get(solution).put("f", newNode.getInternalLabel());
 					}
 				}
+			} catch (Throwable e) {
+				e.printStackTrace();
+			} finally {
 
-				/* free resources if this is computed by helper threads */
+				/* free resources if this is computed by helper threads and wake up the search thread if it waits for this job */
 				if (pool != null) {
 					activeJobs.decrementAndGet();
 					fComputationTickets.release();
+					signalSearchThread();
 				}
-			} catch (Throwable e) {
-				e.printStackTrace();
 			}
 
 		}
@@ -279,8 +327,10 @@ public class ORGraphSearch<T, A, V extends Comparable<V>>
 			this.pathGoalTester = null;
 		}
 
-		/* set parent discarding */
+		/* set parent discarding; this requires fast lookups of nodes on OPEN by their point */
 		parentDiscarding = pd;
+		if (parentDiscarding != ParentDiscarding.NONE)
+			open = new IndexedPriorityQueueOpen<>();
 
 		// /*setting a priorityqueueopen As a default open collection*/
 		//
@@ -408,17 +458,22 @@ public class ORGraphSearch<T, A, V extends Comparable<V>>
 		}
 		do {
 
-			/* busy waiting for new nodes in OPEN */
-			while (open.isEmpty() && activeJobs.get() > 0) {
-				logger.debug("Waiting 100ms, because OPEN size is {} and there are {} active jobs.", open.size(), activeJobs.get());
-				try {
-					Thread.sleep(100);
-				} catch (InterruptedException e) {
-					logger.info("Received interrupt signal");
-					interrupted = true;
-					break;
+			/* wait until a helper inserts a node into OPEN, reports a solution, or finishes its job */
+			synchronized (jobSignal) {
+				while (open.isEmpty() && solutions.isEmpty() && activeJobs.get() > 0 && !interrupted) {
+					logger.debug("Waiting, because OPEN size is {} and there are {} active jobs.", open.size(), activeJobs.get());
+					try {
+						jobSignal.wait();
+					} catch (InterruptedException e) {
+						logger.info("Received interrupt signal");
+						interrupted = true;
+					}
 				}
 			}
+			if (!solutions.isEmpty()) {
+				logger.debug("A helper found a solution while waiting, return it.");
+				return solutions.poll();
+			}
 			if (open.isEmpty() || interrupted) {
 				logger.debug("OPEN has size {} and interrupted is {}", open.size(), interrupted);
 				break;
@@ -437,7 +492,34 @@ public class ORGraphSearch<T, A, V extends Comparable<V>>
 			logger.info("Algorithm was interrupted");
 		if (open.isEmpty())
 			logger.info("OPEN is empty, terminating (possibly returning a solution)");
-		return solutions.isEmpty() ? null : solutions.poll();
+		if (solutions.isEmpty()) {
+
+			/* the search is over, so the subscribers should have received all events when it returns */
+			graphEventBus.shutdown();
+			return null;
+		}
+		return solutions.poll();
+	}
+
+	/**
+	 * Returns a lazy stream of the solutions of this search. Every element is computed by {@link #nextSolution()} when it is requested, so the stream blocks until the next
+	 * solution is found (or handed over by a helper thread) and ends when the search space is exhausted or the search is interrupted.
+	 *
+	 * @return The stream of solutions
+	 */
+	public Stream<List<T>> solutionStream() {
+		return StreamSupport.stream(new Spliterators.AbstractSpliterator<List<T>>(Long.MAX_VALUE, Spliterator.ORDERED | Spliterator.NONNULL) {
+			@Override
+			public boolean tryAdvance(Consumer<? super List<T>> action) {
+				if (canceled)
+					return false;
+				List<T> solution = nextSolution();
+				if (solution == null)
+					return false;
+				action.accept(solution);
+				return true;
+			}
+		}, false);
 	}
 
 	protected boolean terminates() {
@@ -464,6 +546,7 @@ public class ORGraphSearch<T, A, V extends Comparable<V>>
 	}
 
 	protected void step() {
+		handOverRequestedNodes();
 		if (beforeSelection()) {
 
 			Node<T, V> nodeToExpand = open.peek();
@@ -489,7 +572,7 @@ public class ORGraphSearch<T, A, V extends Comparable<V>>
 			return;
 		}
 		lastExpansion.clear();
-		assert nodeToExpand == null || !expanded.contains(nodeToExpand.getPoint()) : "Node selected for expansion already has been expanded: " + nodeToExpand;
+		assert nodeToExpand == null || !expanded.containsKey(nodeToExpand.getPoint()) : "Node selected for expansion already has been expanded: " + nodeToExpand;
 		open.remove(nodeToExpand);
 		assert !open.contains(nodeToExpand) : "The selected node " + nodeToExpand + " was not really removed from OPEN!";
 		logger.debug("Removed {} from OPEN for expansion. OPEN size now {}", nodeToExpand, open.size());
@@ -505,64 +588,49 @@ public class ORGraphSearch<T, A, V extends Comparable<V>>
 	}
 
 	private void expandNode(Node<T, V> expandedNodeInternal) {
-		graphEventBus.post(new NodeTypeSwitchEvent<Node<T, V>>(expandedNodeInternal, "or_expanding"));
+		if (graphEventBus.hasSubscribers(NodeTypeSwitchEvent.class))
+			graphEventBus.post(new NodeTypeSwitchEvent<Node<T, V>>(expandedNodeInternal, "or_expanding"));
 		logger.info("Expanding node {} with f-value {}", expandedNodeInternal, expandedNodeInternal.getInternalLabel());
-		assert !expanded.contains(expandedNodeInternal.getPoint()) : "Node " + expandedNodeInternal + " expanded twice!!";
-		expanded.add(expandedNodeInternal.getPoint());
-		assert expanded.contains(expandedNodeInternal.getPoint()) : "Expanded node " + expandedNodeInternal + " was not inserted into the set of expanded nodes!";
+		assert !expanded.containsKey(expandedNodeInternal.getPoint()) : "Node " + expandedNodeInternal + " expanded twice!!";
+		expanded.put(expandedNodeInternal.getPoint(), expandedNodeInternal);
+		assert expanded.containsKey(expandedNodeInternal.getPoint()) : "Expanded node " + expandedNodeInternal + " was not inserted into the set of expanded nodes!";
 
 		/* compute successors */
 		logger.debug("Start computation of successors");
 		final Collection<NodeExpansionDescription<T, A>> successorDescriptions = new ArrayList<>();
-		{
-			Thread t = new Thread(new Runnable() {
-
-				@Override
-				public void run() {
-					if (ORGraphSearch.this.canceled || ORGraphSearch.this.interrupted)
-						return;
-					int taskId = -1;
-					if (timeoutForComputationOfF > 0) {
-						if (timeoutSubmitter == null) {
-							timeoutSubmitter = TimeoutTimer.getInstance().getSubmitter();
-						}
-						taskId = timeoutSubmitter.interruptMeAfterMS(timeoutForComputationOfF);
-					}
-					successorDescriptions.addAll(successorGenerator.generateSuccessors(expandedNodeInternal.getPoint()));
-					if (taskId >= 0)
-						timeoutSubmitter.cancelTimeout(taskId);
+		if (!runAndWait(() -> {
+			if (ORGraphSearch.this.canceled || ORGraphSearch.this.interrupted)
+				return;
+			int taskId = -1;
+			if (timeoutForComputationOfF > 0) {
+				if (timeoutSubmitter == null) {
+					timeoutSubmitter = TimeoutTimer.getInstance().getSubmitter();
 				}
-			}, "Node Builder for some child of " + expandedNodeInternal);
-			logger.debug("Starting computation of successors in thread {}", t);
-			t.start();
+				taskId = timeoutSubmitter.interruptMeAfterMS(timeoutForComputationOfF);
+			}
 			try {
-				t.join();
-			} catch (InterruptedException e) {
-				logger.debug("Search has been interrupted");
-				interrupted = true;
-				return;
+				successorDescriptions.addAll(successorGenerator.generateSuccessors(expandedNodeInternal.getPoint()));
+			} finally {
+
+				/* the pooled thread may run another job next, which must not receive the interrupt */
+				if (taskId >= 0)
+					timeoutSubmitter.cancelTimeout(taskId);
 			}
-			logger.debug("Finished computation of successors");
-		}
+		}))
+			return;
+		logger.debug("Finished computation of successors");
 
 		/* attach successors to search graph */
 //		System.out.println(expanded.contains(expandedNodeInternal.getPoint()));
 		if (additionalThreadsForExpansion < 1) {
-			successorDescriptions.stream().forEach(successorDescription -> {
+			for (NodeExpansionDescription<T, A> successorDescription : successorDescriptions) {
 
-				/* perform synchronized computation. The computation is outourced, because it may receive an interrupt-signal, and we do not want the main-thread to be interrupted */
-				Thread t = new Thread(new NodeBuilder(expandedNodeInternal, successorDescription), "Node Builder for some child of " + expandedNodeInternal);
-				logger.debug("Starting computation of successor in thread {}", t);
-				t.start();
-				try {
-					t.join();
-				} catch (InterruptedException e) {
-					logger.debug("Search has been interrupted");
-					interrupted = true;
+				/* perform synchronized computation. The computation is outsourced, because it may receive an interrupt-signal, and we do not want the main-thread to be interrupted */
+				logger.debug("Starting computation of successor {}", successorDescription.getTo());
+				if (!runAndWait(new NodeBuilder(expandedNodeInternal, successorDescription)))
 					return;
-				}
-				logger.debug("Finished computation of successor", t);
-			});
+				logger.debug("Finished computation of successor {}", successorDescription.getTo());
+			}
 		} else {
 			successorDescriptions.stream().forEach(successorDescription -> {
 				if (interrupted)
@@ -582,8 +650,68 @@ public class ORGraphSearch<T, A, V extends Comparable<V>>
 		logger.debug("Finished expansion of node {}. Size of OPEN is now {}. Number of active jobs is {}", expandedNodeInternal, open.size(), activeJobs.get());
 
 		/* update statistics, send closed notifications, and possibly return a solution */
-		expandedCounter++;
-		graphEventBus.post(new NodeTypeSwitchEvent<Node<T, V>>(expandedNodeInternal, "or_closed"));
+		expandedCounter.incrementAndGet();
+		if (graphEventBus.hasSubscribers(NodeTypeSwitchEvent.class))
+			graphEventBus.post(new NodeTypeSwitchEvent<Node<T, V>>(expandedNodeInternal, "or_closed"));
+	}
+
+	private void insertNewNodeIntoOpen(Node<T, V> newNode) {
+		if (!newNode.isGoal()) {
+			open.add(newNode);
+			if (pool != null)
+				signalSearchThread();
+		}
+		if (graphEventBus.hasSubscribers(NodeTypeSwitchEvent.class))
+			graphEventBus.post(new NodeTypeSwitchEvent<>(newNode, "or_" + (newNode.isGoal() ? "solution" : "open")));
+		createdCounter.incrementAndGet();
+	}
+
+	/**
+	 * Wakes up the search thread if it waits for the helpers because OPEN is empty. Must be called after the state it waits for (OPEN, the solutions, the active jobs, or the
+	 * interrupt flag) has changed.
+	 */
+	protected void signalSearchThread() {
+		synchronized (jobSignal) {
+			jobSignal.notifyAll();
+		}
+	}
+
+	/**
+	 * Runs the given job in a thread of the expansion executor and waits for its termination. The job is not executed in the search thread itself, because it may receive an interrupt
+	 * from the {@link TimeoutTimer}, which must not reach the search thread.
+	 *
+	 * @param job
+	 *            The job to run
+	 * @return false if the search thread has been interrupted while waiting for the job and true otherwise
+	 */
+	private boolean runAndWait(Runnable job) {
+		FutureTask<Void> task = new FutureTask<>(job, null);
+		expansionExecutor.execute(task);
+		try {
+			task.get();
+		} catch (InterruptedException e) {
+			logger.debug("Search has been interrupted");
+			interrupted = true;
+			return false;
+		} catch (ExecutionException e) {
+			logger.error("Observed an exception during expansion:\n{}", LoggerUtil.getExceptionInfo(e.getCause()));
+		}
+		return true;
+	}
+
+	/**
+	 * Looks up the node on OPEN that has the given point. This is a hash lookup if OPEN is a {@link PointIndexedOpenCollection} and a linear scan otherwise,
+	 * which {@link #setOpen(OpenCollection)} warns about.
+	 *
+	 * @param point
+	 *            The point to look up
+	 * @return The node on OPEN with the given point or null if there is none
+	 */
+	@SuppressWarnings("unchecked")
+	private Node<T, V> getNodeOnOpenWithPoint(T point) {
+		if (open instanceof PointIndexedOpenCollection)
+			return ((PointIndexedOpenCollection<T, V>) open).getNodeWithPoint(point);
+		return open.stream().filter(n -> n.getPoint().equals(point)).findFirst().orElse(null);
 	}
 
 	public GraphEventBus<Node<T, V>> getEventBus() {
@@ -600,11 +728,11 @@ public class ORGraphSearch<T, A, V extends Comparable<V>>
 	 * @return A counter of how many times a node was expanded.
 	 */
 	public int getExpandedCounter() {
-		return expandedCounter;
+		return expandedCounter.get();
 	}
 
 	public int getCreatedCounter() {
-		return createdCounter;
+		return createdCounter.get();
 	}
 
 	public V getFValue(T node) {
@@ -653,12 +781,14 @@ public class ORGraphSearch<T, A, V extends Comparable<V>>
 		this.interrupted = true;
 		if (this.pool != null)
 			this.pool.shutdownNow();
+		signalSearchThread();
 		if (nodeEvaluator instanceof ICancelableNodeEvaluator) {
 			logger.info("Canceling node evaluator.");
 			((ICancelableNodeEvaluator) nodeEvaluator).cancel();
 		}
 		if (timeoutSubmitter != null)
 			timeoutSubmitter.close();
+		graphEventBus.shutdown();
 	}
 
 	public boolean isInterrupted() {
@@ -677,6 +807,42 @@ public class ORGraphSearch<T, A, V extends Comparable<V>>
 		return Collections.unmodifiableList(new ArrayList<>(open));
 	}
 
+	/**
+	 * Requests half of the nodes on OPEN, e.g. to let another search explore them. The nodes are removed by the search thread before it selects the next node,
+	 * so they are not expanded by this search anymore. Every second node in the order of their f-values is handed over, starting with the second one, so the
+	 * best node stays on OPEN. If OPEN contains less than two nodes, the future is completed with an empty list. If the future is canceled before the search
+	 * thread processes the request, the nodes remain on OPEN.
+	 *
+	 * @return The nodes that have been removed from OPEN
+	 */
+	public Future<List<Node<T, V>>> handOverHalfOfOpen() {
+		CompletableFuture<List<Node<T, V>>> request = new CompletableFuture<>();
+		handOverRequests.add(request);
+		return request;
+	}
+
+	private void handOverRequestedNodes() {
+		CompletableFuture<List<Node<T, V>>> request;
+		while ((request = handOverRequests.poll()) != null) {
+			if (request.isCancelled())
+				continue;
+			List<Node<T, V>> nodesOnOpen = new ArrayList<>(open);
+			Collections.sort(nodesOnOpen);
+			List<Node<T, V>> nodesToHandOver = new ArrayList<>();
+			for (int i = 1; i < nodesOnOpen.size(); i += 2)
+				nodesToHandOver.add(nodesOnOpen.get(i));
+			open.removeAll(nodesToHandOver);
+			if (request.complete(nodesToHandOver)) {
+				logger.info("Handed over {} of {} nodes on OPEN.", nodesToHandOver.size(), nodesOnOpen.size());
+				if (graphEventBus.hasSubscribers(NodeTypeSwitchEvent.class)) {
+					for (Node<T, V> node : nodesToHandOver)
+						graphEventBus.post(new NodeTypeSwitchEvent<>(node, "or_distributed"));
+				}
+			} else
+				open.addAll(nodesToHandOver);
+		}
+	}
+
 	protected synchronized Node<T, V> newNode(Node<T, V> parent, T t2) {
 		return newNode(parent, t2, null);
 	}
@@ -686,7 +852,7 @@ public class ORGraphSearch<T, A, V extends Comparable<V>>
 	}
 
 	protected synchronized Node<T, V> newNode(Node<T, V> parent, T t2, V evaluation) {
-		assert parent == null || expanded.contains(parent.getPoint()) : "Generating successors of an unexpanded node " + parent + ". List of expanded nodes:\n" + expanded.stream().map(n -> "\n\t" + n.toString()).collect(Collectors.joining());
+		assert parent == null || expanded.containsKey(parent.getPoint()) : "Generating successors of an unexpanded node " + parent + ". List of expanded nodes:\n" + expanded.keySet().stream().map(n -> "\n\t" + n.toString()).collect(Collectors.joining());
 		assert !open.contains(parent) : "Parent node " + parent + " is still on OPEN, which must not be the case!";
 
 		/* create new node and check whether it is a goal */
@@ -694,11 +860,11 @@ public class ORGraphSearch<T, A, V extends Comparable<V>>
 		if (evaluation != null)
 			newNode.setInternalLabel(evaluation);
 
-		/* check loop */
-		assert parent == null || !parent.externalPath().contains(t2) : "There is a loop in the underlying graph. The following path contains the last node twice: " + newNode.externalPath().stream().map(n -> n.toString()).reduce("", (s,t) -> s + "\n\t\t" + t);
+		/* check loop (with parent discarding, a loop is just another duplicate) */
+		assert parentDiscarding != ParentDiscarding.NONE || parent == null || !parent.externalPath().contains(t2) : "There is a loop in the underlying graph. The following path contains the last node twice: " + newNode.externalPath().stream().map(n -> n.toString()).reduce("", (s,t) -> s + "\n\t\t" + t);
 
-		/* currently, we only support tree search */
-		assert !ext2int.containsKey(t2) : "Reached node " + t2 + " for the second time.\nt\tFirst path:" + ext2int.get(t2).externalPath().stream().map(n -> n.toString()).reduce("", (s,t) -> s + "\n\t\t" + t)
+		/* currently, we only support tree search unless duplicates are resolved by parent discarding */
+		assert parentDiscarding != ParentDiscarding.NONE || !ext2int.containsKey(t2) : "Reached node " + t2 + " for the second time.\nt\tFirst path:" + ext2int.get(t2).externalPath().stream().map(n -> n.toString()).reduce("", (s,t) -> s + "\n\t\t" + t)
 				+ "\n\tSecond Path:" + newNode.externalPath().stream().map(n -> n.toString()).reduce("", (s,t) -> s + "\n\t\t" + t);
 
 		/* register node in map and create annotation object */
@@ -710,9 +876,11 @@ public class ORGraphSearch<T, A, V extends Comparable<V>>
 
 		/* send events for this new node */
 		if (parent == null) {
-			this.graphEventBus.post(new GraphInitializedEvent<Node<T, V>>(newNode));
+			if (this.graphEventBus.hasSubscribers(GraphInitializedEvent.class))
+				this.graphEventBus.post(new GraphInitializedEvent<Node<T, V>>(newNode));
 		} else {
-			this.graphEventBus.post(new NodeReachedEvent<Node<T, V>>(parent, newNode, "or_" + (newNode.isGoal() ? "solution" : "created")));
+			if (this.graphEventBus.hasSubscribers(NodeReachedEvent.class))
+				this.graphEventBus.post(new NodeReachedEvent<Node<T, V>>(parent, newNode, "or_" + (newNode.isGoal() ? "solution" : "created")));
 			logger.debug("Sent message for creation of node {} as a successor of {}", newNode, parent);
 		}
 		return newNode;
@@ -756,7 +924,7 @@ public class ORGraphSearch<T, A, V extends Comparable<V>>
 				assert nodeOnPath.getParent() != null : "Want to insert a new node that has no parent. That must not be the case! Affected node is: " + nodeOnPath.getPoint();
 				assert ext2int.containsKey(nodeOnPath.getParent().getPoint()) : "Want to insert a node whose parent is unknown locally";
 				Node<T, V> newNode = newNode(localVersionOfParent, nodeOnPath.getPoint(), nodeOnPath.getInternalLabel());
-				if (!newNode.isGoal() && !newNode.getPoint().equals(leaf.getPoint()))
+				if (graphEventBus.hasSubscribers(NodeTypeSwitchEvent.class) && !newNode.isGoal() && !newNode.getPoint().equals(leaf.getPoint()))
 					this.getEventBus().post(new NodeTypeSwitchEvent<Node<T, V>>(newNode, "or_closed"));
 				localVersionOfParent = newNode;
 			} else
@@ -828,6 +996,7 @@ public class ORGraphSearch<T, A, V extends Comparable<V>>
 			solutionAnnotations.put(solution.getSolution(), new HashMap<>());
 			solutionAnnotations.get(solution.getSolution()).put("f", solution.getF());
 			solutions.add(solution.getSolution());
+			signalSearchThread();
 		} catch (Throwable e) {
 			e.printStackTrace();
 		}
@@ -863,11 +1032,24 @@ public class ORGraphSearch<T, A, V extends Comparable<V>>
 		return additionalThreadsForExpansion;
 	}
 
+	/**
+	 * Computes the successors of expanded nodes and their f-values in the given number of threads. If OPEN is a {@link PriorityQueueOpen}, it is replaced by a
+	 * {@link ConcurrentPriorityQueueOpen} with the same ordering, because the node builders insert nodes concurrently. Likewise, the
+	 * {@link IndexedPriorityQueueOpen} used for parent discarding is replaced by a {@link ConcurrentIndexedPriorityQueueOpen}.
+	 *
+	 * @param threadsForExpansion
+	 *            The number of threads for the computation of successors
+	 */
+	@SuppressWarnings("unchecked")
 	public void parallelizeNodeExpansion(int threadsForExpansion) {
 		if (this.pool != null)
 			throw new UnsupportedOperationException("The number of additional threads can be only set once per search!");
 		if (threadsForExpansion < 1)
 			throw new IllegalArgumentException("Number of threads should be at least 1 for " + this.getClass().getName());
+		if (open instanceof PriorityQueueOpen)
+			setOpen(new ConcurrentPriorityQueueOpen<>(((PriorityQueueOpen<Node<T, V>>) open).getComparator()));
+		else if (open instanceof IndexedPriorityQueueOpen)
+			setOpen(new ConcurrentIndexedPriorityQueueOpen<>(((IndexedPriorityQueueOpen<T, V>) open).getComparator()));
 		this.fComputationTickets = new Semaphore(threadsForExpansion);
 		this.additionalThreadsForExpansion = threadsForExpansion;
 		AtomicInteger counter = new AtomicInteger(0);
@@ -878,6 +1060,24 @@ public class ORGraphSearch<T, A, V extends Comparable<V>>
 		});
 	}
 
+	public Executor getExpansionExecutor() {
+		return expansionExecutor;
+	}
+
+	/**
+	 * Sets the executor that runs the computation of successors and, if node expansion is not parallelized, the computation of their f-values. The search thread blocks until the
+	 * submitted job is finished, so the executor can be a bounded pool, a thread-per-task executor (e.g. one that starts virtual threads), or any other executor. It should not be
+	 * bounded if it is shared with searches that are run within the node evaluator. The executor is not shut down when the search is canceled.
+	 *
+	 * @param expansionExecutor
+	 *            The executor to use
+	 */
+	public void setExpansionExecutor(Executor expansionExecutor) {
+		if (expansionExecutor == null)
+			throw new IllegalArgumentException("The expansion executor must not be null.");
+		this.expansionExecutor = expansionExecutor;
+	}
+
 	public int getTimeoutForComputationOfF() {
 		return timeoutForComputationOfF;
 	}
@@ -899,6 +1099,9 @@ public class ORGraphSearch<T, A, V extends Comparable<V>>
 	 *            the openCollection to set
 	 */
 	public void setOpen(OpenCollection<Node<T, V>> collection) {
+		if (parentDiscarding != ParentDiscarding.NONE && !(collection instanceof PointIndexedOpenCollection))
+			logger.warn("Parent discarding is enabled, but {} is not a PointIndexedOpenCollection. Every successor will be looked up on OPEN by a linear scan.",
+					collection.getClass().getName());
 
 		collection.clear();
 		collection.addAll(open);
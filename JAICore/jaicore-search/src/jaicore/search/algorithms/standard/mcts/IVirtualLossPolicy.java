@@ -0,0 +1,14 @@
+package jaicore.search.algorithms.standard.mcts;
+
+import java.util.List;
+
+/**
+ * Policy that can take playouts into account that have been started but not been scored yet, so that playouts that run in parallel
+ * explore different paths.
+ */
+public interface IVirtualLossPolicy<T> {
+
+	public void addVirtualLoss(List<T> path);
+
+	public void removeVirtualLoss(List<T> path);
+}
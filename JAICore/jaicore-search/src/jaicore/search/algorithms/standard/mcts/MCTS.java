@@ -6,6 +6,11 @@ import java.util.HashMap;
 import java.util.Iterator;
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.CompletionService;
+import java.util.concurrent.ExecutorCompletionService;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
 
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -57,6 +62,27 @@ public class MCTS<T,A,V extends Comparable<V>> implements IObservableORGraphSear
 	private final T root;
 	protected final LabeledGraph<T, A> exploredGraph;
 	private int timeoutInS = -1;
+
+	/* parallel playouts */
+	private ExecutorService pool;
+	private CompletionService<Playout> completionService;
+	private int numberOfParallelPlayouts = 1;
+	private int numberOfPendingPlayouts = 0;
+
+	/**
+	 * A path of the explored graph together with its score or the exception that occurred when computing the score.
+	 */
+	private class Playout {
+		private final List<T> path;
+		private final V score;
+		private final Throwable exception;
+
+		private Playout(List<T> path, V score, Throwable exception) {
+			this.path = path;
+			this.score = score;
+			this.exception = exception;
+		}
+	}
 	
 	@SuppressWarnings("unchecked")
 	public MCTS(GraphGenerator<T, A> graphGenerator, IPathUpdatablePolicy<T,A,V> treePolicy, IPolicy<T,A,V> defaultPolicy, INodeEvaluator<T, V> playoutSimulator) {
@@ -98,11 +124,14 @@ public class MCTS<T,A,V extends Comparable<V>> implements IObservableORGraphSear
 		
 		if (!initialized) {
 			initialized = true;
-			graphEventBus.post(new GraphInitializedEvent<T>(root));
+			if (graphEventBus.hasSubscribers(GraphInitializedEvent.class))
+				graphEventBus.post(new GraphInitializedEvent<T>(root));
 		}
 		
 		/* iterate over playouts */
 		try {
+			if (pool != null)
+				return nextSolutionWithParallelPlayouts();
 			while (true) {
 				logger.info("Starting computation of next playout path.");
 				List<T> path = getPlayout();
@@ -121,6 +150,45 @@ public class MCTS<T,A,V extends Comparable<V>> implements IObservableORGraphSear
 		return null;
 	}
 	
+	/**
+	 * Keeps the configured number of playouts running until one of them reaches a goal. Paths are drawn and the policy is updated by the
+	 * calling thread only; just the scores of the paths are computed by the pool. Playouts that are still running when a solution is
+	 * returned are collected by the next call.
+	 */
+	@SuppressWarnings("unchecked")
+	private List<T> nextSolutionWithParallelPlayouts() throws Exception {
+		while (true) {
+			while (numberOfPendingPlayouts < numberOfParallelPlayouts) {
+				logger.info("Starting computation of next playout path.");
+				List<T> path = getPlayout();
+				if (treePolicy instanceof IVirtualLossPolicy)
+					((IVirtualLossPolicy<T>) treePolicy).addVirtualLoss(path);
+				logger.info("Obtained path {}. Now submitting computation of its playout.", path);
+				completionService.submit(() -> {
+					/* failures are returned instead of thrown so that the path is known when the virtual loss is removed */
+					try {
+						return new Playout(path, playoutSimulator.f(getFakeInternalNode(path)), null);
+					} catch (Throwable e) {
+						return new Playout(path, null, e);
+					}
+				});
+				numberOfPendingPlayouts++;
+			}
+			Playout playout = completionService.take().get();
+			numberOfPendingPlayouts--;
+			if (treePolicy instanceof IVirtualLossPolicy)
+				((IVirtualLossPolicy<T>) treePolicy).removeVirtualLoss(playout.path);
+			if (playout.exception != null)
+				throw new Exception("Could not compute the score of playout " + playout.path, playout.exception);
+			logger.info("Determined playout score {} of path {}. Now updating the path.", playout.score, playout.path);
+			treePolicy.updatePath(playout.path, playout.score);
+			if (isGoal(playout.path.get(playout.path.size() - 1))) {
+				playouts.put(playout.path, playout.score);
+				return playout.path;
+			}
+		}
+	}
+
 	private List<T> getPlayout() throws Exception {
 		logger.info("Computing a new playout ...");
 		T current = root;
@@ -148,7 +216,8 @@ public class MCTS<T,A,V extends Comparable<V>> implements IObservableORGraphSear
 				
 			logger.debug("Tree policy decides to expand {} taking action {} to {}", current, chosenAction, next);
 			current = next;
-			graphEventBus.post(new NodeTypeSwitchEvent<T>(next, "expanding"));
+			if (graphEventBus.hasSubscribers(NodeTypeSwitchEvent.class))
+				graphEventBus.post(new NodeTypeSwitchEvent<T>(next, "expanding"));
 			path.add(current);
 			logger.debug("Chosen action: {}. Successor: {}", chosenAction, current);
 		}
@@ -167,7 +236,8 @@ public class MCTS<T,A,V extends Comparable<V>> implements IObservableORGraphSear
 				logger.debug("Adding edge {} -> {} with label {}", d.getFrom(), d.getTo(), d.getAction());
 				exploredGraph.addItem(d.getTo());
 				exploredGraph.addEdge(d.getFrom(), d.getTo(), d.getAction());
-				graphEventBus.post(new NodeReachedEvent<>(d.getFrom(), d.getTo(), isGoal(d.getTo()) ? "or_solution" : "or_open"));
+				if (graphEventBus.hasSubscribers(NodeReachedEvent.class))
+					graphEventBus.post(new NodeReachedEvent<>(d.getFrom(), d.getTo(), isGoal(d.getTo()) ? "or_solution" : "or_open"));
 				actions.add(d.getAction());
 			}
 			current = successorStates.get(defaultPolicy.getAction(current, successorStates));
@@ -180,7 +250,8 @@ public class MCTS<T,A,V extends Comparable<V>> implements IObservableORGraphSear
 			if (exploredGraph.getPredecessors(current).isEmpty())
 				break;
 			current = exploredGraph.getPredecessors(current).iterator().next();
-			graphEventBus.post(new NodeTypeSwitchEvent<T>(current, "or_closed"));
+			if (graphEventBus.hasSubscribers(NodeTypeSwitchEvent.class))
+				graphEventBus.post(new NodeTypeSwitchEvent<T>(current, "or_closed"));
 		}
 		return path;
 	}
@@ -222,7 +293,36 @@ public class MCTS<T,A,V extends Comparable<V>> implements IObservableORGraphSear
 
 	@Override
 	public void cancel() {
-		
+		if (pool != null)
+			pool.shutdownNow();
+		graphEventBus.shutdown();
+	}
+
+	/**
+	 * Computes the scores of the given number of playouts in parallel. The playout simulator must be thread-safe. If the tree policy is an
+	 * {@link IVirtualLossPolicy}, it is informed about the playouts whose score is being computed, so that it can spread them over the tree.
+	 *
+	 * @param numberOfParallelPlayouts
+	 *            The number of threads that compute the scores of playouts
+	 */
+	public void parallelizePlayouts(int numberOfParallelPlayouts) {
+		if (this.pool != null)
+			throw new UnsupportedOperationException("The number of parallel playouts can be only set once per search!");
+		if (numberOfParallelPlayouts < 1)
+			throw new IllegalArgumentException("Number of parallel playouts should be at least 1 for " + this.getClass().getName());
+		this.numberOfParallelPlayouts = numberOfParallelPlayouts;
+		AtomicInteger counter = new AtomicInteger(0);
+		this.pool = Executors.newFixedThreadPool(numberOfParallelPlayouts, r -> {
+			Thread t = new Thread(r);
+			t.setName("MCTS-playout-" + counter.incrementAndGet());
+			t.setDaemon(true);
+			return t;
+		});
+		this.completionService = new ExecutorCompletionService<>(pool);
+	}
+
+	public int getNumberOfParallelPlayouts() {
+		return numberOfParallelPlayouts;
 	}
 
 	@Override
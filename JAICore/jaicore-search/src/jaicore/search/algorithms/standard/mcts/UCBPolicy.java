@@ -1,20 +1,19 @@
 package jaicore.search.algorithms.standard.mcts;
 
 import java.util.Collection;
-import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.stream.Collectors;
 
-import org.apache.commons.math.stat.descriptive.DescriptiveStatistics;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
-public class UCBPolicy<T,A> implements IPathUpdatablePolicy<T,A,Double> {
-	
+public class UCBPolicy<T,A> implements IPathUpdatablePolicy<T,A,Double>, IVirtualLossPolicy<T> {
+
 	private static final Logger logger = LoggerFactory.getLogger(UCBPolicy.class);
 	private final boolean maximize;
-
+	
 	public UCBPolicy() {
 		this(true);
 	}
@@ -23,22 +22,77 @@ public class UCBPolicy<T,A> implements IPathUpdatablePolicy<T,A,Double> {
 		this.maximize = maximize;
 	}
 	
+	/**
+	 * Statistics of the scores of a node. Mean and variance are updated incrementally (Welford's algorithm), so the memory of a label does
+	 * not grow with the number of playouts. Playouts that have been started but whose score is not known yet count as virtual losses,
+	 * i.e. as visits with the worst score observed so far.
+	 */
 	class NodeLabel {
-		private final DescriptiveStatistics scores = new DescriptiveStatistics();
 		private int visits;
+		private double mean;
+		private double sumOfSquaredDeviations;
+		private double worstScore;
+		private int pendingPlayouts;
+		
+		synchronized void addScore(double score) {
+			visits++;
+			double delta = score - mean;
+			mean += delta / visits;
+			sumOfSquaredDeviations += delta * (score - mean);
+			if (visits == 1 || (maximize ? score < worstScore : score > worstScore))
+				worstScore = score;
+		}
+		
+		synchronized int getVisits() {
+			return visits;
+		}
+		
+		synchronized double getMean() {
+			return visits > 0 ? mean : Double.NaN;
+		}
+		
+		synchronized double getVariance() {
+			return visits > 1 ? sumOfSquaredDeviations / (visits - 1) : 0;
+		}
+		
+		synchronized int getVisitsIncludingPendingPlayouts() {
+			return visits + pendingPlayouts;
+		}
+		
+		/**
+		 * @return The mean of the scores if all pending playouts had the worst score observed so far
+		 */
+		synchronized double getMeanIncludingVirtualLosses() {
+			if (visits == 0)
+				return Double.NaN;
+			return (mean * visits + worstScore * pendingPlayouts) / (visits + pendingPlayouts);
+		}
+		
+		synchronized void changePendingPlayouts(int delta) {
+			pendingPlayouts += delta;
+		}
 	}
 	
-	private final Map<T, NodeLabel> labels = new HashMap<>();
-
+	private final Map<T, NodeLabel> labels = new ConcurrentHashMap<>();
+	
 	public void updatePath(List<T> path, Double score) {
 		logger.info("Updating path {} with score {}", path, score);
 		for (T node : path) {
-			if (!labels.containsKey(node)) {
-				labels.put(node, new NodeLabel());
-			}
-			NodeLabel label = labels.get(node);
-			label.visits++;
-			label.scores.addValue(score);
+			labels.computeIfAbsent(node, n -> new NodeLabel()).addScore(score);
+		}
+	}
+	
+	@Override
+	public void addVirtualLoss(List<T> path) {
+		for (T node : path) {
+			labels.computeIfAbsent(node, n -> new NodeLabel()).changePendingPlayouts(1);
+		}
+	}
+	
+	@Override
+	public void removeVirtualLoss(List<T> path) {
+		for (T node : path) {
+			labels.computeIfAbsent(node, n -> new NodeLabel()).changePendingPlayouts(-1);
 		}
 	}
 	
@@ -57,20 +111,34 @@ public class UCBPolicy<T,A> implements IPathUpdatablePolicy<T,A,Double> {
 			return action;
 		}
 		
-		/* otherwise, play best action */
-		double best = maximize ? 0 : Double.MAX_VALUE;
-		int n = labels.get(node).visits;
+		/* otherwise, play best action. Successors whose playouts are all pending are only chosen if there is no other option, and then the one with the fewest pending playouts */
+		NodeLabel labelOfNode = labels.get(node);
+		int n = Math.max(1, labelOfNode != null ? labelOfNode.getVisitsIncludingPendingPlayouts() : 0);
+		double best = maximize ? Double.NEGATIVE_INFINITY : Double.POSITIVE_INFINITY;
 		A choice = null;
+		int fewestPendingPlayouts = Integer.MAX_VALUE;
+		A choiceWithoutScores = null;
 		for (A action : possibleActions) {
 			T child = actionsWithTheirSuccessors.get(action);
 			NodeLabel label = labels.get(child);
-			logger.info("Considering action {} whose successor state has stats {} and {} visits", action, label.scores.getMean(), label.visits);
-			double ucb = label.scores.getMean() + (maximize ? 1 : -1) * Math.sqrt(2 * Math.log(n) / label.visits);
-			if (maximize && (ucb > best) || !maximize && (ucb < best)) {
+			int visits = label.getVisitsIncludingPendingPlayouts();
+			if (label.getVisits() == 0) {
+				if (visits < fewestPendingPlayouts) {
+					fewestPendingPlayouts = visits;
+					choiceWithoutScores = action;
+				}
+				continue;
+			}
+			double mean = label.getMeanIncludingVirtualLosses();
+			logger.info("Considering action {} whose successor state has mean {}, variance {}, and {} visits", action, mean, label.getVariance(), visits);
+			double ucb = mean + (maximize ? 1 : -1) * Math.sqrt(2 * Math.log(n) / visits);
+			if (choice == null || maximize && (ucb > best) || !maximize && (ucb < best)) {
 				best = ucb;
 				choice = action;
 			}
 		}
+		if (choice == null)
+			choice = choiceWithoutScores;
 		
 		/* quick sanity check */
 		if (choice == null)
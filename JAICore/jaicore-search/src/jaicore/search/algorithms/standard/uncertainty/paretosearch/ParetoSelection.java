@@ -1,163 +1,299 @@
 package jaicore.search.algorithms.standard.uncertainty.paretosearch;
 
+import java.util.ArrayList;
 import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
 import java.util.Iterator;
-import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableSet;
 import java.util.Random;
-import java.util.concurrent.PriorityBlockingQueue;
+import java.util.TreeSet;
+
 import jaicore.search.structure.core.Node;
 import jaicore.search.structure.core.OpenCollection;
 
-public class ParetoSelection <T, V extends Comparable<V>> implements OpenCollection<Node<T, V>> {
-	
-	private PriorityBlockingQueue<Node<T, V>> open;
+/**
+ * OPEN collection that returns a random node from the pareto front of the nodes with respect to their "f" and "uncertainty" annotations
+ * (both minimized). A node p is dominated iff there exist a node q such that (q.f <= p.f and q.uncertainty < p.uncertainty) or (q.f
+ * < p.f and q.uncertainty <= p.uncertainty).
+ *
+ * The pareto front is maintained incrementally: it is sorted by f, so the uncertainty decreases along it, and whether a node is dominated
+ * can be decided by its predecessor in the front. Adding a node and removing a dominated node take logarithmic time, and peeking takes
+ * constant time. Removing a node of the front also checks the dominated nodes that may enter the front, i.e. those with an f between the
+ * ones of the neighbors of the removed node.
+ *
+ * The annotations of a node must not change while it is contained in the collection.
+ */
+public class ParetoSelection<T, V extends Comparable<V>> implements OpenCollection<Node<T, V>> {
+
+	/**
+	 * Entry of a node, which is ordered by f, uncertainty, and the time of insertion.
+	 */
+	private class Entry implements Comparable<Entry> {
+		private final Node<T, V> node;
+		private final V f;
+		private final double uncertainty;
+		private final long id;
+		private int indexInFront = -1;
+
+		private Entry(Node<T, V> node, V f, double uncertainty, long id) {
+			this.node = node;
+			this.f = f;
+			this.uncertainty = uncertainty;
+			this.id = id;
+		}
+
+		/**
+		 * @return true if this entry dominates the other one
+		 */
+		private boolean dominates(Entry other) {
+			int comparison = f.compareTo(other.f);
+			return (comparison < 0 && uncertainty <= other.uncertainty) || (comparison <= 0 && uncertainty < other.uncertainty);
+		}
+
+		@Override
+		public int compareTo(Entry o) {
+			int comparison = f.compareTo(o.f);
+			if (comparison != 0)
+				return comparison;
+			comparison = Double.compare(uncertainty, o.uncertainty);
+			if (comparison != 0)
+				return comparison;
+			return Long.compare(id, o.id);
+		}
+
+		@Override
+		public String toString() {
+			return node.toString();
+		}
+	}
+
+	private final Map<Node<T, V>, Entry> entries = new HashMap<>();
+	private final NavigableSet<Entry> front = new TreeSet<>();
+	private final List<Entry> frontList = new ArrayList<>();
+	private final NavigableSet<Entry> dominated = new TreeSet<>();
+	private final Random random = new Random();
+	private long nextId = 0;
+
 	boolean visualize;
 	ParetoFrontVisualizer visualizer;
-	
+
 	public ParetoSelection(boolean visualizeFront) {
-		open = new PriorityBlockingQueue<>();
 		visualize = visualizeFront;
 		if (visualizeFront) {
 			visualizer = new ParetoFrontVisualizer();
 			visualizer.show();
 		}
 	}
-	
+
+	@SuppressWarnings("unchecked")
 	@Override
-	public boolean add(Node<T, V> n) {
-		// Only add if the node isnt dominated
-		System.out.println("Add Node " + n);
+	public synchronized boolean add(Node<T, V> n) {
 		if (visualize) {
 			if (n.getInternalLabel() instanceof Double) {
-				visualizer.update((Double)n.getInternalLabel(), (Double) n.getAnnotation("uncertainty"));
+				visualizer.update((Double) n.getInternalLabel(), (Double) n.getAnnotation("uncertainty"));
 			}
 		}
-		return open.add(n);
+		if (entries.containsKey(n))
+			return false;
+		Entry entry = new Entry(n, (V) n.getAnnotation("f"), (double) n.getAnnotation("uncertainty"), nextId++);
+		entries.put(n, entry);
+		if (!addToFrontIfNotDominated(entry))
+			dominated.add(entry);
+		return true;
 	}
 
 	@Override
-	public boolean addAll(Collection<? extends Node<T, V>> c) {
-		if (visualize) {
-			for(Node<T, V> n: c) {
-				if (n.getInternalLabel() instanceof Double) {
-					visualizer.update((Double)n.getInternalLabel(), (Double) n.getAnnotation("uncertainty"));
-				}
-			}
+	public synchronized boolean addAll(Collection<? extends Node<T, V>> c) {
+		boolean changed = false;
+		for (Node<T, V> n : c) {
+			changed |= add(n);
 		}
-		return this.open.addAll(c);
+		return changed;
 	}
 
 	/**
-	 * Checks if a node is dominated by any other node contained in the pareto set.
-	 * Atm, this is harcoded for "f" and "uncertainty" of a node.
-	 * A node p is dominated iff there exist a point q in the pareto set, such that
-	 * (q.f <= p.f and q.uncertainty < p.uncertainty) or (q.f < p.f and q.uncertainty <= p.uncertainty)
-	 * @param p The node to check.
+	 * Adds the entry to the front unless it is dominated by an entry of the front, and moves the entries of the front that are dominated
+	 * by it to the dominated entries.
+	 *
+	 * @return true if the entry has been added to the front
 	 */
-	private boolean isDominated(Node<T, V> p) {
-		for (Node<T,V> q : this.open) {
-			V q_f = (V) q.getAnnotation("f");
-			V p_f = (V) p.getAnnotation("f");
+	private boolean addToFrontIfNotDominated(Entry entry) {
 
-			double q_uncertainty = (double) q.getAnnotation("uncertainty");
-			double p_uncertainty = (double) p.getAnnotation("uncertainty");
+		/* the entry with the largest f not greater than the one of the entry has the least uncertainty among those */
+		Entry predecessor = front.lower(entry);
+		if (predecessor != null && predecessor.dominates(entry))
+			return false;
 
-			if (((q_f.compareTo(p_f) < 0) && (q_uncertainty <= p_uncertainty)) || ((q_f.compareTo(p_f) <= 0) && (q_uncertainty < p_uncertainty))) {
-				return true;
-			}
+		/* the entries dominated by the new one have a greater or equal f and are a prefix of the succeeding entries, because their uncertainty decreases */
+		Iterator<Entry> successors = front.tailSet(entry, false).iterator();
+		while (successors.hasNext()) {
+			Entry successor = successors.next();
+			if (!entry.dominates(successor))
+				break;
+			successors.remove();
+			removeFromFrontList(successor);
+			dominated.add(successor);
+		}
+		front.add(entry);
+		entry.indexInFront = frontList.size();
+		frontList.add(entry);
+		return true;
+	}
 
+	private void removeFromFrontList(Entry entry) {
+		Entry last = frontList.remove(frontList.size() - 1);
+		if (last != entry) {
+			frontList.set(entry.indexInFront, last);
+			last.indexInFront = entry.indexInFront;
 		}
-		return false;
+		entry.indexInFront = -1;
 	}
 
 	/**
-	 * Calculates the pareto front from the open list.
-	 * @return Pareto front.
+	 * @return The nodes of the pareto front in the order of their f values
 	 */
-	private LinkedHashSet<Node<T, V>> calcParetoFront() {
-		LinkedHashSet<Node<T, V>> paretoFront = new LinkedHashSet<>();
-
-		// TODO: improve this algorithm, since runtime is quadratic atm.
-		for (Node<T, V> n : this.open) {
-			if (!isDominated(n)) {
-				paretoFront.add(n);
-			}
+	public synchronized List<Node<T, V>> getParetoFront() {
+		List<Node<T, V>> paretoFront = new ArrayList<>(front.size());
+		for (Entry entry : front) {
+			paretoFront.add(entry.node);
 		}
-
 		return paretoFront;
 	}
 
 	@Override
-	public void clear() {
-		open.clear();
+	public synchronized void clear() {
+		entries.clear();
+		front.clear();
+		frontList.clear();
+		dominated.clear();
 	}
 
 	@Override
-	public boolean contains(Object o) {
-		return open.contains(o);
+	public synchronized boolean contains(Object o) {
+		return entries.containsKey(o);
 	}
 
 	@Override
-	public boolean containsAll(Collection<?> c) {
-		return open.containsAll(c);
+	public synchronized boolean containsAll(Collection<?> c) {
+		return entries.keySet().containsAll(c);
 	}
 
 	@Override
-	public boolean isEmpty() {
-		return open.isEmpty();
+	public synchronized boolean isEmpty() {
+		return entries.isEmpty();
 	}
 
+	/**
+	 * @return An iterator over a snapshot of the nodes, whose remove operation removes the node from this collection
+	 */
 	@Override
-	public Iterator<Node<T, V>> iterator() {
-		return open.iterator();
+	public synchronized Iterator<Node<T, V>> iterator() {
+		Iterator<Node<T, V>> iterator = new ArrayList<>(entries.keySet()).iterator();
+		return new Iterator<Node<T, V>>() {
+			private Node<T, V> current;
+
+			@Override
+			public boolean hasNext() {
+				return iterator.hasNext();
+			}
+
+			@Override
+			public Node<T, V> next() {
+				current = iterator.next();
+				return current;
+			}
+
+			@Override
+			public void remove() {
+				ParetoSelection.this.remove(current);
+			}
+		};
 	}
 
 	@Override
-	public boolean removeAll(Collection<?> c) {
-		return open.removeAll(c);
+	public synchronized boolean removeAll(Collection<?> c) {
+		boolean changed = false;
+		for (Object o : c) {
+			changed |= remove(o);
+		}
+		return changed;
 	}
 
 	@Override
-	public boolean retainAll(Collection<?> c) {
-		return open.retainAll(c);
+	public synchronized boolean retainAll(Collection<?> c) {
+		boolean changed = false;
+		for (Node<T, V> n : new ArrayList<>(entries.keySet())) {
+			if (!c.contains(n))
+				changed |= remove(n);
+		}
+		return changed;
 	}
 
 	@Override
-	public int size() {
-		return open.size();
+	public synchronized int size() {
+		return entries.size();
 	}
 
 	@Override
-	public Object[] toArray() {
-		return open.toArray();
+	public synchronized Object[] toArray() {
+		return entries.keySet().toArray();
 	}
 
 	@Override
-	public <X> X[] toArray(X[] a) {
-		return open.toArray(a);
+	public synchronized <X> X[] toArray(X[] a) {
+		return entries.keySet().toArray(a);
 	}
 
 	@Override
 	/**
 	 * Return a node from pareto front.
 	 */
-	public Node<T, V> peek() {
-		// Calc pareto front.
-		LinkedHashSet<Node<T, V>> paretoFront = this.calcParetoFront();
+	public synchronized Node<T, V> peek() {
+		if (frontList.isEmpty())
+			return null;
 
 		// Pick element at random.
-		Random rand = new Random();
-		int index = rand.nextInt(paretoFront.size());
-		Iterator<Node<T, V>> iter = paretoFront.iterator();
-		for (int i = 0; i < index; i++) {
-			iter.next();
-		}
-		return iter.next();
+		return frontList.get(random.nextInt(frontList.size())).node;
 	}
 
 	@Override
-	public boolean remove(Object o) {
-		return open.remove(o);
-	}
+	public synchronized boolean remove(Object o) {
+		Entry entry = entries.remove(o);
+		if (entry == null)
+			return false;
+		if (entry.indexInFront < 0) {
+			dominated.remove(entry);
+			return true;
+		}
+
+		/* remove the entry from the front */
+		Entry predecessor = front.lower(entry);
+		Entry successor = front.higher(entry);
+		front.remove(entry);
+		removeFromFrontList(entry);
 
+		/*
+		 * dominated entries that are not dominated by the neighbors of the removed entry have an f between the f of the removed entry and
+		 * the f of its successor, so only these are candidates for the front
+		 */
+		Collection<Entry> candidates = successor != null ? dominated.subSet(entry, true, successor, false) : dominated.tailSet(entry, true);
+		List<Entry> newEntriesOfFront = new ArrayList<>();
+		for (Entry candidate : candidates) {
+			if (predecessor != null && predecessor.dominates(candidate))
+				continue;
+			if (successor != null && successor.dominates(candidate))
+				continue;
+			newEntriesOfFront.add(candidate);
+		}
+		Collections.sort(newEntriesOfFront);
+		for (Entry candidate : newEntriesOfFront) {
+			dominated.remove(candidate);
+			if (!addToFrontIfNotDominated(candidate))
+				dominated.add(candidate);
+		}
+		return true;
+	}
 }
@@ -1,5 +1,6 @@
 package jaicore.search.evaluationproblems;
 
+import java.io.Serializable;
 import java.util.ArrayList;
 import java.util.HashSet;
 import java.util.List;
@@ -49,11 +50,14 @@ import jaicore.search.structure.graphgenerator.SuccessorGenerator;
  * @author fmohr
  *
  */
-public class EnhancedTTSP {
+public class EnhancedTTSP implements Serializable {
 	
+	private static final long serialVersionUID = -1391240407216470435L;
 	private static final Logger logger = LoggerFactory.getLogger(EnhancedTTSP.class);
 
-	public class EnhancedTTSPNode {
+	public class EnhancedTTSPNode implements Serializable {
+
+		private static final long serialVersionUID = 4527301402413318862L;
 
 		private final short curLocation;
 		private final Set<Short> unvisitedLocations;
@@ -127,7 +131,7 @@ public class EnhancedTTSP {
 
 			@Override
 			public SingleRootGenerator<EnhancedTTSPNode> getRootGenerator() {
-				return () -> new EnhancedTTSPNode(startLocation, minTravelTimesGraph.getItems(), hourOfDeparture, 0, 0);
+				return () -> new EnhancedTTSPNode(startLocation, new HashSet<>(minTravelTimesGraph.getItems()), hourOfDeparture, 0, 0);
 			}
 
 			@Override
@@ -0,0 +1,75 @@
+package jaicore.search.structure.core;
+
+import java.util.Comparator;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+/**
+ * {@link ConcurrentPriorityQueueOpen} that additionally maintains an index from points to nodes, so a search with parallel expansion can
+ * use parent discarding without a linear scan of OPEN for every successor.
+ *
+ * If several nodes with the same point are inserted, the point index refers to the one inserted last. Inserting a node and looking up a
+ * node with the same point are not atomic, so node builders that insert depending on the result of a lookup must synchronize on the
+ * queue.
+ *
+ * @param <T>
+ *            type of the points
+ * @param <V>
+ *            type of the node labels
+ */
+public class ConcurrentIndexedPriorityQueueOpen<T, V extends Comparable<V>> extends ConcurrentPriorityQueueOpen<Node<T, V>> implements PointIndexedOpenCollection<T, V> {
+
+	private final ConcurrentMap<T, Node<T, V>> nodesByPoint = new ConcurrentHashMap<>();
+
+	public ConcurrentIndexedPriorityQueueOpen() {
+		this(null);
+	}
+
+	/**
+	 * @param comparator
+	 *            The comparator of the nodes or null if they are compared by their natural ordering
+	 */
+	public ConcurrentIndexedPriorityQueueOpen(Comparator<? super Node<T, V>> comparator) {
+		super(comparator);
+	}
+
+	@Override
+	public boolean add(Node<T, V> node) {
+
+		/* the node is indexed before it is inserted, so it cannot be removed (and unindexed) before it has been indexed */
+		Node<T, V> previousNode = nodesByPoint.put(node.getPoint(), node);
+		if (!super.add(node)) {
+			if (previousNode != null)
+				nodesByPoint.replace(node.getPoint(), node, previousNode);
+			else
+				nodesByPoint.remove(node.getPoint(), node);
+			return false;
+		}
+		return true;
+	}
+
+	@Override
+	@SuppressWarnings("unchecked")
+	public boolean remove(Object o) {
+		if (!super.remove(o))
+			return false;
+		Node<T, V> node = (Node<T, V>) o;
+		nodesByPoint.remove(node.getPoint(), node);
+		return true;
+	}
+
+	@Override
+	public Node<T, V> getNodeWithPoint(T point) {
+		return nodesByPoint.get(point);
+	}
+
+	public boolean containsPoint(T point) {
+		return nodesByPoint.containsKey(point);
+	}
+
+	@Override
+	public void clear() {
+		super.clear();
+		nodesByPoint.clear();
+	}
+}
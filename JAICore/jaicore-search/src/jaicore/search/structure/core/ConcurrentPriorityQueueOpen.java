@@ -0,0 +1,143 @@
+package jaicore.search.structure.core;
+
+import java.util.AbstractCollection;
+import java.util.Comparator;
+import java.util.Iterator;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.ConcurrentSkipListSet;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Lock-free OPEN list for many threads that insert nodes (e.g. the node builders of a search with parallel expansion) and one thread
+ * that selects and removes them. The elements are kept in a skip list, so insertions by different threads do not block each other, and
+ * an index of the elements allows to check membership, to remove elements, and to compute the size in constant time.
+ *
+ * Elements with the same priority are returned in the order of their insertion. An element can be contained only once, and its priority
+ * must not change while it is contained.
+ *
+ * The iterator is weakly consistent, i.e. it does not throw a {@link java.util.ConcurrentModificationException} and reflects the
+ * elements at some point of time since its creation.
+ *
+ * @param <E>
+ *            type of the elements
+ */
+public class ConcurrentPriorityQueueOpen<E> extends AbstractCollection<E> implements OpenCollection<E> {
+
+	private static class Entry<E> {
+		private final E element;
+		private final long sequenceNumber;
+
+		private Entry(E element, long sequenceNumber) {
+			this.element = element;
+			this.sequenceNumber = sequenceNumber;
+		}
+	}
+
+	private final ConcurrentSkipListSet<Entry<E>> queue;
+	private final ConcurrentMap<E, Entry<E>> entries = new ConcurrentHashMap<>();
+	private final AtomicLong sequence = new AtomicLong();
+
+	public ConcurrentPriorityQueueOpen() {
+		this(null);
+	}
+
+	/**
+	 * @param comparator
+	 *            The comparator of the elements or null if they are compared by their natural ordering
+	 */
+	@SuppressWarnings("unchecked")
+	public ConcurrentPriorityQueueOpen(Comparator<? super E> comparator) {
+		Comparator<? super E> elementComparator = comparator != null ? comparator : (e1, e2) -> ((Comparable<? super E>) e1).compareTo(e2);
+		this.queue = new ConcurrentSkipListSet<>((e1, e2) -> {
+			int comparison = elementComparator.compare(e1.element, e2.element);
+			return comparison != 0 ? comparison : Long.compare(e1.sequenceNumber, e2.sequenceNumber);
+		});
+	}
+
+	@Override
+	public boolean add(E e) {
+
+		/* the entry is inserted into the queue before it is indexed, so every indexed entry can be removed from the queue */
+		Entry<E> entry = new Entry<>(e, sequence.getAndIncrement());
+		queue.add(entry);
+		if (entries.putIfAbsent(e, entry) != null) {
+			queue.remove(entry);
+			return false;
+		}
+		return true;
+	}
+
+	@Override
+	public boolean remove(Object o) {
+		Entry<E> entry = entries.remove(o);
+		if (entry == null)
+			return false;
+		queue.remove(entry);
+		return true;
+	}
+
+	@Override
+	public boolean contains(Object o) {
+		return entries.containsKey(o);
+	}
+
+	@Override
+	public E peek() {
+		Iterator<Entry<E>> iterator = queue.iterator();
+		while (iterator.hasNext()) {
+			Entry<E> entry = iterator.next();
+
+			/* skip entries of elements that have been inserted twice, which are removed from the queue right away */
+			if (entries.get(entry.element) == entry)
+				return entry.element;
+		}
+		return null;
+	}
+
+	@Override
+	public boolean isEmpty() {
+		return entries.isEmpty();
+	}
+
+	@Override
+	public int size() {
+		return entries.size();
+	}
+
+	@Override
+	public void clear() {
+		entries.clear();
+		queue.clear();
+	}
+
+	/**
+	 * The iterator returns the elements in the order of their priority. Removing elements through it removes them from the queue.
+	 */
+	@Override
+	public Iterator<E> iterator() {
+		final Iterator<Entry<E>> entryIterator = queue.iterator();
+		return new Iterator<E>() {
+			private E last;
+
+			@Override
+			public boolean hasNext() {
+				return entryIterator.hasNext();
+			}
+
+			@Override
+			public E next() {
+				last = entryIterator.next().element;
+				return last;
+			}
+
+			@Override
+			public void remove() {
+				if (last == null)
+					throw new IllegalStateException();
+				ConcurrentPriorityQueueOpen.this.remove(last);
+				last = null;
+			}
+		};
+	}
+}
@@ -1,7 +1,246 @@
 package jaicore.search.structure.core;
 
+import java.lang.reflect.Method;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import com.google.common.eventbus.DeadEvent;
 import com.google.common.eventbus.EventBus;
+import com.google.common.eventbus.Subscribe;
+import com.google.common.util.concurrent.Uninterruptibles;
 
+/**
+ * Event bus of the graph searches. It keeps track of the event types for which subscribers are registered, so that searches can check with
+ * {@link #hasSubscribers(Class)} whether an event would be received by anyone before they create and post it.
+ *
+ * By default, events are dispatched synchronously on the thread that posts them. With {@link #enableAsynchronousDispatch(int)}, posted events are put into a
+ * bounded buffer instead and dispatched by a separate thread in the order in which they were posted, so slow subscribers do not slow down the search. Note
+ * that the nodes referenced by an event may have changed by the time the event is received. {@link #shutdown()} dispatches the remaining events and stops
+ * the thread; events posted afterwards are dispatched synchronously again.
+ *
+ * @param <T>
+ *            type of the nodes
+ */
 public class GraphEventBus<T> extends EventBus {
 
+	private static final Logger logger = LoggerFactory.getLogger(GraphEventBus.class);
+
+	/* marks the end of the events in the buffer */
+	private static final Object END_OF_EVENTS = new Object();
+
+	/**
+	 * The event types that are subscribed to together with the answers of {@link #hasSubscribers(Class)} computed for them. Both are replaced at once, so an
+	 * answer is never cached for other subscriptions than the ones it has been computed from.
+	 */
+	private static class Subscriptions {
+		private final Set<Class<?>> subscribedEventTypes;
+		private final Map<Class<?>, Boolean> knownEventTypes = new ConcurrentHashMap<>();
+
+		private Subscriptions(Set<Class<?>> subscribedEventTypes) {
+			this.subscribedEventTypes = subscribedEventTypes;
+		}
+	}
+
+	private final Map<Object, Set<Class<?>>> subscribers = new IdentityHashMap<>();
+	private volatile Subscriptions subscriptions = new Subscriptions(Collections.emptySet());
+
+	/* posting takes the read lock, so the dispatcher cannot be shut down while an event is put into its buffer */
+	private final ReadWriteLock bufferLock = new ReentrantReadWriteLock();
+	private volatile Dispatcher dispatcher;
+	private volatile Dispatcher stoppingDispatcher; // a dispatcher that has been shut down by a subscriber and dispatches the remaining events
+
+	@Override
+	public void register(Object object) {
+		super.register(object);
+		synchronized (subscribers) {
+			subscribers.put(object, getSubscribedEventTypes(object.getClass()));
+			updateSubscribedEventTypes();
+		}
+	}
+
+	@Override
+	public void unregister(Object object) {
+		super.unregister(object);
+		synchronized (subscribers) {
+			subscribers.remove(object);
+			updateSubscribedEventTypes();
+		}
+	}
+
+	/**
+	 * @param eventType
+	 *            The class of an event
+	 * @return true if an event of this class would be received by at least one subscriber
+	 */
+	public boolean hasSubscribers(Class<?> eventType) {
+		Subscriptions subscriptions = this.subscriptions;
+		Boolean hasSubscribers = subscriptions.knownEventTypes.get(eventType);
+		if (hasSubscribers == null) {
+			hasSubscribers = false;
+			for (Class<?> subscribedEventType : subscriptions.subscribedEventTypes) {
+				if (subscribedEventType.isAssignableFrom(eventType) || subscribedEventType == DeadEvent.class) {
+					hasSubscribers = true;
+					break;
+				}
+			}
+			subscriptions.knownEventTypes.put(eventType, hasSubscribers);
+		}
+		return hasSubscribers;
+	}
+
+	/**
+	 * Dispatches all events that are posted from now on in a separate thread.
+	 *
+	 * @param bufferSize
+	 *            The number of events that may wait for their dispatch; if the buffer is full, posting an event blocks until there is space again
+	 */
+	public synchronized void enableAsynchronousDispatch(int bufferSize) {
+		if (dispatcher != null)
+			throw new IllegalStateException("Asynchronous dispatch has already been enabled.");
+		Dispatcher dispatcher = new Dispatcher(new ArrayBlockingQueue<>(bufferSize));
+		dispatcher.start();
+		this.dispatcher = dispatcher;
+	}
+
+	/**
+	 * Dispatches the events that have been posted so far and stops the thread that dispatches events asynchronously, if any. Unless it is called by a
+	 * subscriber, the method returns once all events have been received.
+	 */
+	public void shutdown() {
+		Dispatcher dispatcher = this.dispatcher;
+		if (dispatcher == null) {
+			awaitStoppingDispatcher();
+			return;
+		}
+		if (Thread.currentThread() == dispatcher) {
+
+			/* the dispatcher is busy with the event of this subscriber and cannot wait for posts that wait for space in its buffer, so it stops on its own */
+			this.stoppingDispatcher = dispatcher;
+			this.dispatcher = null;
+			dispatcher.stopped = true;
+			return;
+		}
+		bufferLock.writeLock().lock();
+		try {
+			if (this.dispatcher != dispatcher)
+				return;
+			this.dispatcher = null;
+		} finally {
+			bufferLock.writeLock().unlock();
+		}
+		Uninterruptibles.putUninterruptibly(dispatcher.buffer, END_OF_EVENTS);
+		Uninterruptibles.joinUninterruptibly(dispatcher);
+	}
+
+	/**
+	 * Dispatches the event synchronously or puts it into the buffer of the asynchronous dispatcher. If the buffer is full, the method waits for space even if
+	 * the thread is interrupted, so no event gets lost; the interrupt flag is restored afterwards. Events that subscribers post are dispatched synchronously,
+	 * since the dispatcher would otherwise wait for itself if the buffer is full.
+	 */
+	@Override
+	public void post(Object event) {
+		if (dispatcher != null && Thread.currentThread() != dispatcher) {
+			bufferLock.readLock().lock();
+			try {
+				Dispatcher dispatcher = this.dispatcher;
+				if (dispatcher != null) {
+					Uninterruptibles.putUninterruptibly(dispatcher.buffer, event);
+					return;
+				}
+			} finally {
+				bufferLock.readLock().unlock();
+			}
+		}
+		awaitStoppingDispatcher();
+		super.post(event);
+	}
+
+	/**
+	 * Waits until a dispatcher that has been shut down by a subscriber has dispatched the remaining events, so that events are received in the order in which
+	 * they have been posted
+	 */
+	private void awaitStoppingDispatcher() {
+		Dispatcher stoppingDispatcher = this.stoppingDispatcher;
+		if (stoppingDispatcher != null && Thread.currentThread() != stoppingDispatcher)
+			Uninterruptibles.joinUninterruptibly(stoppingDispatcher);
+	}
+
+	private class Dispatcher extends Thread {
+		private final BlockingQueue<Object> buffer;
+		private volatile boolean stopped = false;
+
+		public Dispatcher(BlockingQueue<Object> buffer) {
+			super("GraphEventBus-dispatcher");
+			this.buffer = buffer;
+			setDaemon(true);
+		}
+
+		@Override
+		public void run() {
+			try {
+				while (true) {
+					Object event = buffer.poll();
+					if (event == null) {
+						if (stopped) {
+
+							/* wait until the posts that still use the buffer are done and dispatch their events */
+							bufferLock.writeLock().lock();
+							bufferLock.writeLock().unlock();
+							while ((event = buffer.poll()) != null)
+								GraphEventBus.super.post(event);
+							stoppingDispatcher = null;
+							return;
+						}
+						event = buffer.take();
+					}
+					if (event == END_OF_EVENTS)
+						return;
+					GraphEventBus.super.post(event);
+				}
+			} catch (InterruptedException e) {
+				logger.warn("Dispatcher has been interrupted, {} events are not dispatched.", buffer.size());
+			}
+		}
+	}
+
+	private void updateSubscribedEventTypes() {
+		Set<Class<?>> eventTypes = new HashSet<>();
+		for (Set<Class<?>> eventTypesOfSubscriber : subscribers.values())
+			eventTypes.addAll(eventTypesOfSubscriber);
+		subscriptions = new Subscriptions(eventTypes);
+	}
+
+	/**
+	 * Determines the parameter types of all methods annotated with {@link Subscribe} in the class and its super types, which is where the EventBus looks for
+	 * them
+	 */
+	private static Set<Class<?>> getSubscribedEventTypes(Class<?> clazz) {
+		Set<Class<?>> eventTypes = new HashSet<>();
+		List<Class<?>> types = new ArrayList<>();
+		types.add(clazz);
+		for (int i = 0; i < types.size(); i++) {
+			Class<?> type = types.get(i);
+			for (Method method : type.getDeclaredMethods()) {
+				if (method.isAnnotationPresent(Subscribe.class) && method.getParameterCount() == 1)
+					eventTypes.add(method.getParameterTypes()[0]);
+			}
+			if (type.getSuperclass() != null)
+				types.add(type.getSuperclass());
+			Collections.addAll(types, type.getInterfaces());
+		}
+		return eventTypes;
+	}
 }
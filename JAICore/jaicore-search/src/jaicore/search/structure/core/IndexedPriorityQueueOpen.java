@@ -0,0 +1,205 @@
+package jaicore.search.structure.core;
+
+import java.util.AbstractCollection;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.IdentityHashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * OPEN list based on a binary heap that additionally maintains the position of each node in the heap and an index from points to nodes.
+ * This allows to check membership, to remove nodes, and to look up the node of a given point in (amortized) constant or logarithmic time,
+ * which is what parent discarding needs. If the f-value of a node on OPEN changes, {@link #update(Node)} re-establishes its position
+ * (decrease-key).
+ *
+ * If several nodes with the same point are inserted, the point index refers to the one inserted last.
+ *
+ * All methods are synchronized, so nodes may be added by several node builders in parallel.
+ *
+ * @param <T>
+ *            type of the points
+ * @param <V>
+ *            type of the node labels
+ */
+public class IndexedPriorityQueueOpen<T, V extends Comparable<V>> extends AbstractCollection<Node<T, V>> implements PointIndexedOpenCollection<T, V> {
+
+	private final Comparator<Node<T, V>> comparator;
+	private final List<Node<T, V>> heap = new ArrayList<>();
+	private final Map<Node<T, V>, Integer> positions = new IdentityHashMap<>();
+	private final Map<T, Node<T, V>> nodesByPoint = new HashMap<>();
+
+	public IndexedPriorityQueueOpen() {
+		this((n1, n2) -> n1.compareTo(n2));
+	}
+
+	public IndexedPriorityQueueOpen(Comparator<Node<T, V>> comparator) {
+		this.comparator = comparator;
+	}
+
+	public Comparator<Node<T, V>> getComparator() {
+		return comparator;
+	}
+
+	@Override
+	public synchronized boolean add(Node<T, V> node) {
+		if (positions.containsKey(node))
+			return false;
+		heap.add(node);
+		positions.put(node, heap.size() - 1);
+		nodesByPoint.put(node.getPoint(), node);
+		siftUp(heap.size() - 1);
+		return true;
+	}
+
+	@Override
+	public synchronized boolean remove(Object o) {
+		Integer position = positions.get(o);
+		if (position == null)
+			return false;
+		removeAt(position);
+		return true;
+	}
+
+	@Override
+	public synchronized boolean contains(Object o) {
+		return positions.containsKey(o);
+	}
+
+	@Override
+	public synchronized Node<T, V> getNodeWithPoint(T point) {
+		return nodesByPoint.get(point);
+	}
+
+	public synchronized boolean containsPoint(T point) {
+		return nodesByPoint.containsKey(point);
+	}
+
+	/**
+	 * Re-establishes the position of a node in the queue after its label has changed.
+	 *
+	 * @param node
+	 *            The node whose label has been changed
+	 * @return false if the node is not on OPEN and true otherwise
+	 */
+	public synchronized boolean update(Node<T, V> node) {
+		Integer position = positions.get(node);
+		if (position == null)
+			return false;
+		siftDown(siftUp(position));
+		return true;
+	}
+
+	@Override
+	public synchronized Node<T, V> peek() {
+		return heap.isEmpty() ? null : heap.get(0);
+	}
+
+	@Override
+	public synchronized void clear() {
+		heap.clear();
+		positions.clear();
+		nodesByPoint.clear();
+	}
+
+	@Override
+	public synchronized int size() {
+		return heap.size();
+	}
+
+	/**
+	 * The iterator works on a snapshot of the queue, which is not in any particular order. Removing elements through it removes them from
+	 * the queue.
+	 */
+	@Override
+	public Iterator<Node<T, V>> iterator() {
+		final Iterator<Node<T, V>> snapshotIterator;
+		synchronized (this) {
+			snapshotIterator = new ArrayList<>(heap).iterator();
+		}
+		return new Iterator<Node<T, V>>() {
+			private Node<T, V> last;
+
+			@Override
+			public boolean hasNext() {
+				return snapshotIterator.hasNext();
+			}
+
+			@Override
+			public Node<T, V> next() {
+				last = snapshotIterator.next();
+				return last;
+			}
+
+			@Override
+			public void remove() {
+				if (last == null)
+					throw new IllegalStateException();
+				IndexedPriorityQueueOpen.this.remove(last);
+				last = null;
+			}
+		};
+	}
+
+	@Override
+	public synchronized Object[] toArray() {
+		return heap.toArray();
+	}
+
+	@Override
+	public synchronized <E> E[] toArray(E[] a) {
+		return heap.toArray(a);
+	}
+
+	private void removeAt(int position) {
+		Node<T, V> node = heap.get(position);
+		positions.remove(node);
+		if (nodesByPoint.get(node.getPoint()) == node)
+			nodesByPoint.remove(node.getPoint());
+		int lastPosition = heap.size() - 1;
+		Node<T, V> last = heap.remove(lastPosition);
+		if (position < lastPosition) {
+			heap.set(position, last);
+			positions.put(last, position);
+			siftDown(siftUp(position));
+		}
+	}
+
+	private int siftUp(int position) {
+		Node<T, V> node = heap.get(position);
+		while (position > 0) {
+			int parentPosition = (position - 1) / 2;
+			Node<T, V> parent = heap.get(parentPosition);
+			if (comparator.compare(node, parent) >= 0)
+				break;
+			heap.set(position, parent);
+			positions.put(parent, position);
+			position = parentPosition;
+		}
+		heap.set(position, node);
+		positions.put(node, position);
+		return position;
+	}
+
+	private int siftDown(int position) {
+		Node<T, V> node = heap.get(position);
+		int size = heap.size();
+		while (true) {
+			int child = 2 * position + 1;
+			if (child >= size)
+				break;
+			if (child + 1 < size && comparator.compare(heap.get(child + 1), heap.get(child)) < 0)
+				child++;
+			if (comparator.compare(heap.get(child), node) >= 0)
+				break;
+			heap.set(position, heap.get(child));
+			positions.put(heap.get(position), position);
+			position = child;
+		}
+		heap.set(position, node);
+		positions.put(node, position);
+		return position;
+	}
+}
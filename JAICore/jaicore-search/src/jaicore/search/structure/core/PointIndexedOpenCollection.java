@@ -0,0 +1,20 @@
+package jaicore.search.structure.core;
+
+/**
+ * OPEN collection of nodes that maintains an index from points to the nodes on OPEN, so that the node with a given point can be looked up
+ * without scanning OPEN. This is what parent discarding needs.
+ *
+ * @param <T>
+ *            type of the points
+ * @param <V>
+ *            type of the node labels
+ */
+public interface PointIndexedOpenCollection<T, V extends Comparable<V>> extends OpenCollection<Node<T, V>> {
+
+	/**
+	 * @param point
+	 *            The point to look up
+	 * @return The node on OPEN whose point is the given one or null if there is no such node
+	 */
+	public Node<T, V> getNodeWithPoint(T point);
+}
@@ -87,4 +87,11 @@ public class PriorityQueueOpen<E> implements OpenCollection<E> {
 		return open.peek();
 	}
 
+	/**
+	 * @return The comparator of the elements or null if they are compared by their natural ordering
+	 */
+	public Comparator<? super E> getComparator() {
+		return open.comparator();
+	}
+
 }
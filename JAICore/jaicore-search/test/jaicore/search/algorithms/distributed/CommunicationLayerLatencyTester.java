@@ -0,0 +1,110 @@
+package jaicore.search.algorithms.distributed;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertTrue;
+
+import java.io.IOException;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.List;
+
+import org.junit.Test;
+
+import jaicore.search.algorithms.parallel.parallelexploration.distributed.DistributedComputationResult;
+import jaicore.search.algorithms.parallel.parallelexploration.distributed.FolderBasedDistributedSearchCommunicationLayer;
+import jaicore.search.algorithms.parallel.parallelexploration.distributed.SocketBasedDistributedSearchCommunicationLayer;
+import jaicore.search.algorithms.parallel.parallelexploration.distributed.interfaces.DistributedSearchCommunicationLayer;
+import jaicore.search.structure.core.Node;
+
+/**
+ * Sends jobs from a master to a coworker that returns them right away and compares the round trip times of the folder based and the socket based
+ * communication layer. The master waits for results in the same way as the DistributedSearchManager.
+ */
+public class CommunicationLayerLatencyTester {
+
+	private static final String COWORKER = "cw1";
+	private static final int ROUND_TRIPS = 20;
+	private static final int NODES_PER_JOB = 100;
+
+	@Test
+	public void testFolderBasedLayer() throws Exception {
+		Path folder = Files.createTempDirectory("distsearch");
+		measure("folder", new FolderBasedDistributedSearchCommunicationLayer<>(folder, true), () -> new FolderBasedDistributedSearchCommunicationLayer<>(folder, false));
+	}
+
+	@Test
+	public void testSocketBasedLayer() throws Exception {
+		SocketBasedDistributedSearchCommunicationLayer<String, String, Integer> master = new SocketBasedDistributedSearchCommunicationLayer<>(
+				new InetSocketAddress(InetAddress.getLoopbackAddress(), 0), true);
+		measure("socket", master, () -> new SocketBasedDistributedSearchCommunicationLayer<>(master.getAddress(), false));
+	}
+
+	private interface LayerFactory {
+		public DistributedSearchCommunicationLayer<String, String, Integer> getLayer() throws IOException;
+	}
+
+	private void measure(String name, DistributedSearchCommunicationLayer<String, String, Integer> master, LayerFactory coworkerLayerFactory) throws Exception {
+		master.init();
+		master.setGraphGenerator(null);
+		master.setNodeEvaluator(null);
+
+		/* start a coworker that sends every job back as its result */
+		DistributedSearchCommunicationLayer<String, String, Integer> coworker = coworkerLayerFactory.getLayer();
+		Thread coworkerThread = new Thread(() -> {
+			try {
+				coworker.register(COWORKER);
+				while (true) {
+					Collection<Node<String, Integer>> job = coworker.nextJob(COWORKER);
+					if (job == null || job.isEmpty())
+						break;
+					coworker.reportResult(COWORKER, new DistributedComputationResult<>(COWORKER, job, Collections.emptyList()));
+				}
+			} catch (InterruptedException e) {
+			}
+		});
+		coworkerThread.setDaemon(true);
+		coworkerThread.start();
+
+		/* attach the coworker */
+		long start = System.currentTimeMillis();
+		Collection<String> newCoworkers;
+		while ((newCoworkers = master.detectNewCoworkers()).isEmpty())
+			master.awaitCoworkerChanges(1000);
+		assertEquals(Collections.singletonList(COWORKER), new ArrayList<>(newCoworkers));
+		master.attachCoworker(COWORKER);
+		System.out.println(name + ": coworker recognized after " + (System.currentTimeMillis() - start) + "ms");
+
+		/* send jobs and wait for the results */
+		List<Node<String, Integer>> job = new ArrayList<>();
+		Node<String, Integer> parent = null;
+		for (int i = 0; i < NODES_PER_JOB; i++) {
+			Node<String, Integer> node = new Node<>(parent, "n" + i);
+			node.setInternalLabel(i);
+			job.add(node);
+			parent = node;
+		}
+		long totalTime = 0;
+		for (int i = 0; i < ROUND_TRIPS; i++) {
+			start = System.currentTimeMillis();
+			master.createNewJobForCoworker(COWORKER, job);
+			DistributedComputationResult<String, Integer> result;
+			while ((result = master.readResult(COWORKER)) == null)
+				master.awaitResults(500);
+			totalTime += System.currentTimeMillis() - start;
+			assertNotNull(result);
+			assertEquals(NODES_PER_JOB, result.getOpen().size());
+			assertTrue(result.getSolutions().isEmpty());
+		}
+		System.out.println(name + ": average round trip time of a job with " + NODES_PER_JOB + " nodes is " + (totalTime / ROUND_TRIPS) + "ms");
+
+		master.detachCoworker(COWORKER);
+		coworker.close();
+		master.close();
+	}
+}
@@ -0,0 +1,150 @@
+package jaicore.search.algorithms.distributed;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import java.io.ByteArrayOutputStream;
+import java.io.DataInput;
+import java.io.DataOutput;
+import java.io.IOException;
+import java.io.ObjectOutputStream;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.junit.Test;
+
+import jaicore.search.algorithms.parallel.parallelexploration.distributed.DistributedComputationResult;
+import jaicore.search.algorithms.parallel.parallelexploration.distributed.FrontierCodec;
+import jaicore.search.algorithms.parallel.parallelexploration.distributed.interfaces.SerializablePointCodec;
+import jaicore.search.algorithms.standard.core.ORGraphSearch;
+import jaicore.search.graphgenerators.nqueens.NQueenGenerator;
+import jaicore.search.graphgenerators.nqueens.QueenNode;
+import jaicore.search.structure.core.Node;
+
+/**
+ * Encodes the OPEN list of a depth first search on the n-queens problem with the different encodings of the {@link FrontierCodec}, checks that the decoded
+ * nodes have the same paths and f-values, and compares the sizes with those of plain Java serialization.
+ */
+public class FrontierCodecTest {
+
+	private static final int DIMENSION = 12;
+	private static final int EXPANSIONS = 300;
+
+	/**
+	 * Encodes a queen node by the columns of its queens, one byte each
+	 */
+	@SuppressWarnings("serial")
+	private static class CompactNQueenGenerator extends NQueenGenerator implements SerializablePointCodec<QueenNode> {
+
+		private final int dimension;
+
+		public CompactNQueenGenerator(int dimension) {
+			super(dimension);
+			this.dimension = dimension;
+		}
+
+		@Override
+		public void encode(QueenNode point, DataOutput out) throws IOException {
+			out.writeByte(point.getPositions().size());
+			for (int position : point.getPositions())
+				out.writeByte(position);
+		}
+
+		@Override
+		public QueenNode decode(DataInput in) throws IOException {
+			int queens = in.readByte();
+			if (queens == 0)
+				return new QueenNode(dimension);
+			List<Integer> positions = new ArrayList<>();
+			for (int i = 0; i < queens - 1; i++)
+				positions.add((int) in.readByte());
+			return new QueenNode(positions, in.readByte(), dimension);
+		}
+	}
+
+	@Test
+	public void testEncodings() throws Exception {
+		NQueenGenerator gen = new NQueenGenerator(DIMENSION);
+		ORGraphSearch<QueenNode, String, Double> search = new ORGraphSearch<>(gen, n -> -1.0 * n.externalPath().size());
+		for (int i = 0; i < EXPANSIONS; i++)
+			search.nextExpansion();
+		List<Node<QueenNode, Double>> open = search.getOpenSnapshot();
+		int serializedSize = serialize(new ArrayList<>(open)).length;
+		System.out.println("Java serialization of " + open.size() + " nodes: " + serializedSize + " bytes");
+
+		check("successor indices", new FrontierCodec<>(gen), open, serializedSize);
+		check("point codec", new FrontierCodec<>(new CompactNQueenGenerator(DIMENSION)), open, serializedSize);
+		FrontierCodec<QueenNode, String, Double> serializingCodec = new FrontierCodec<>(null);
+		serializingCodec.allowClass(QueenNode.class);
+		serializingCodec.allowClass(ArrayList.class);
+		check("serialized points", serializingCodec, open, serializedSize);
+	}
+
+	@Test(expected = IOException.class)
+	public void testPointsOfClassesThatAreNotAllowedAreRejected() throws Exception {
+		FrontierCodec<QueenNode, String, Double> codec = new FrontierCodec<>(null);
+		codec.decode(codec.encode(getOpen(new NQueenGenerator(8))));
+	}
+
+	@Test(expected = IOException.class)
+	public void testSuccessorIndexOutOfRangeIsRejected() throws Exception {
+		byte[] encoding = new FrontierCodec<QueenNode, String, Double>(new NQueenGenerator(DIMENSION)).encode(getOpen(new NQueenGenerator(DIMENSION)));
+		new FrontierCodec<QueenNode, String, Double>(new NQueenGenerator(4)).decode(encoding);
+	}
+
+	@Test
+	public void testResult() throws Exception {
+		NQueenGenerator gen = new NQueenGenerator(8);
+		ORGraphSearch<QueenNode, String, Double> search = new ORGraphSearch<>(gen, n -> -1.0 * n.externalPath().size());
+		List<QueenNode> solution = search.nextSolution();
+		Node<QueenNode, Double> solutionNode = search.getInternalRepresentationOf(solution.get(solution.size() - 1));
+		DistributedComputationResult<QueenNode, Double> result = new DistributedComputationResult<>("cw1", search.getOpenSnapshot(),
+				Collections.singletonList(solutionNode), true, search.getExpandedCounter(), 42);
+
+		FrontierCodec<QueenNode, String, Double> codec = new FrontierCodec<>(gen);
+		DistributedComputationResult<QueenNode, Double> decoded = codec.decodeResult(codec.encodeResult(result));
+		assertEquals("cw1", decoded.getCoworker());
+		assertTrue(decoded.isPartial());
+		assertEquals(search.getExpandedCounter(), decoded.getNumberOfExpansions());
+		assertEquals(42, decoded.getComputationTime());
+		assertEquals(result.getOpen().size(), decoded.getOpen().size());
+		assertEquals(1, decoded.getSolutions().size());
+		Node<QueenNode, Double> decodedSolution = decoded.getSolutions().iterator().next();
+		assertEquals(solution, decodedSolution.externalPath());
+		assertTrue(decodedSolution.isGoal());
+	}
+
+	private List<Node<QueenNode, Double>> getOpen(NQueenGenerator gen) throws Exception {
+		ORGraphSearch<QueenNode, String, Double> search = new ORGraphSearch<>(gen, n -> -1.0 * n.externalPath().size());
+		for (int i = 0; i < 10; i++)
+			search.nextExpansion();
+		return search.getOpenSnapshot();
+	}
+
+	private void check(String name, FrontierCodec<QueenNode, String, Double> codec, List<Node<QueenNode, Double>> open, int serializedSize) throws IOException {
+		byte[] encoding = codec.encode(open);
+		System.out.println("Encoding with " + name + ": " + encoding.length + " bytes");
+		List<Node<QueenNode, Double>> decoded = codec.decode(encoding);
+		assertEquals(open.size(), decoded.size());
+		assertEquals(getLabelsOfPaths(open), getLabelsOfPaths(decoded));
+		assertTrue(encoding.length < serializedSize);
+	}
+
+	private Map<List<QueenNode>, Double> getLabelsOfPaths(List<Node<QueenNode, Double>> nodes) {
+		Map<List<QueenNode>, Double> labels = new HashMap<>();
+		for (Node<QueenNode, Double> node : nodes)
+			labels.put(node.externalPath(), node.getInternalLabel());
+		return labels;
+	}
+
+	private byte[] serialize(Object object) throws IOException {
+		ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+		try (ObjectOutputStream out = new ObjectOutputStream(bytes)) {
+			out.writeObject(object);
+		}
+		return bytes.toByteArray();
+	}
+}
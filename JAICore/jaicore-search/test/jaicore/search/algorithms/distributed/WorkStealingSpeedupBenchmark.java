@@ -0,0 +1,126 @@
+package jaicore.search.algorithms.distributed;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import java.io.File;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Random;
+
+import org.junit.Ignore;
+import org.junit.Test;
+
+import jaicore.basic.sets.SetUtil.Pair;
+import jaicore.graph.LabeledGraph;
+import jaicore.search.algorithms.parallel.parallelexploration.distributed.DistributedOrSearch;
+import jaicore.search.algorithms.parallel.parallelexploration.distributed.DistributedOrSearchCoworker;
+import jaicore.search.algorithms.parallel.parallelexploration.distributed.SocketBasedDistributedSearchCommunicationLayer;
+import jaicore.search.algorithms.parallel.parallelexploration.distributed.interfaces.SerializableGraphGenerator;
+import jaicore.search.algorithms.parallel.parallelexploration.distributed.interfaces.SerializableNodeEvaluator;
+import jaicore.search.evaluationproblems.EnhancedTTSP;
+import jaicore.search.graphgenerators.nqueens.NQueenGenerator;
+import jaicore.search.graphgenerators.nqueens.QueenNode;
+
+/**
+ * Enumerates all solutions of the n-queens problem and of a small EnhancedTTSP with 1 to 8 coworkers, each of which runs in its own local process and is
+ * connected to the master through the socket based communication layer, and reports the speedup over a single coworker.
+ *
+ * The benchmark runs for several minutes and spawns up to 8 processes, so it is not part of the regular tests and must be run explicitly.
+ */
+@Ignore("Long-running benchmark")
+public class WorkStealingSpeedupBenchmark {
+
+	private static final int MAX_COWORKERS = 8;
+	private static final int SEARCH_TIME_IN_S = 600;
+	private static final int UPTIME_IN_S = 900;
+	private static final long ATTACHMENT_TIMEOUT = 60000;
+
+	@Test
+	public void testNQueens() throws Exception {
+		int n = 10;
+		int numberOfSolutions = 724;
+		benchmark(n + "-Queens", new NQueenGenerator(n), node -> (double) node.getPoint().getNumberOfAttackedCellsInNextRow(), numberOfSolutions);
+	}
+
+	@Test
+	public void testEnhancedTTSP() throws Exception {
+		benchmark("EnhancedTTSP", createTTSP(8).getGraphGenerator(), node -> node.getPoint().getTime(), -1);
+	}
+
+	private <T> void benchmark(String name, SerializableGraphGenerator<T, String> gen, SerializableNodeEvaluator<T, Double> evaluator, int numberOfSolutions)
+			throws Exception {
+		long runtimeWithOneCoworker = 0;
+		for (int coworkers = 1; coworkers <= MAX_COWORKERS; coworkers++) {
+			SocketBasedDistributedSearchCommunicationLayer<T, String, Double> layer = new SocketBasedDistributedSearchCommunicationLayer<>(
+					new InetSocketAddress(InetAddress.getLoopbackAddress(), 0), true);
+			DistributedOrSearch<T, String, Double> master = new DistributedOrSearch<>(gen, evaluator, layer);
+			List<Process> processes = new ArrayList<>();
+			try {
+
+				/* launch the coworkers and wait until all of them are attached */
+				for (int i = 1; i <= coworkers; i++)
+					processes.add(launchCoworker(layer.getAddress(), "cw" + i));
+				long deadline = System.currentTimeMillis() + ATTACHMENT_TIMEOUT;
+				while (master.getNumberOfCoworkers() < coworkers && System.currentTimeMillis() < deadline)
+					Thread.sleep(100);
+				assertEquals(coworkers, master.getNumberOfCoworkers());
+
+				/* enumerate all solutions */
+				long start = System.currentTimeMillis();
+				int solutions = 0;
+				while (master.nextSolution() != null)
+					solutions++;
+				long runtime = System.currentTimeMillis() - start;
+				if (numberOfSolutions < 0)
+					numberOfSolutions = solutions;
+				assertEquals(numberOfSolutions, solutions);
+				if (coworkers == 1)
+					runtimeWithOneCoworker = runtime;
+				System.out.println(name + " with " + coworkers + " coworker(s): " + solutions + " solutions in " + runtime + "ms (speedup "
+						+ String.format("%.2f", runtimeWithOneCoworker * 1.0 / Math.max(1, runtime)) + ")");
+			} finally {
+				master.cancel();
+				layer.close();
+				for (Process p : processes)
+					p.destroyForcibly();
+			}
+		}
+	}
+
+	private Process launchCoworker(InetSocketAddress master, String id) throws Exception {
+		String java = System.getProperty("java.home") + File.separator + "bin" + File.separator + "java";
+		ProcessBuilder pb = new ProcessBuilder(java, "-cp", System.getProperty("java.class.path"), DistributedOrSearchCoworker.class.getName(),
+				"tcp://" + master.getHostString() + ":" + master.getPort(), id, String.valueOf(SEARCH_TIME_IN_S), String.valueOf(UPTIME_IN_S), "false");
+		File log = File.createTempFile("coworker-" + id, ".log");
+		pb.redirectErrorStream(true);
+		pb.redirectOutput(log);
+		Process p = pb.start();
+		assertTrue(p.isAlive());
+		return p;
+	}
+
+	private EnhancedTTSP createTTSP(int locations) {
+		Random r = new Random(0);
+		List<Boolean> blockedHours = Arrays.asList(new Boolean[] { true, true, true, true, true, true, false, false, false, false, false, false, false, false, false,
+				false, false, false, false, false, false, false, true, true });
+		LabeledGraph<Short, Double> travelGraph = new LabeledGraph<>();
+		List<Pair<Double, Double>> coordinates = new ArrayList<>();
+		for (short i = 0; i < locations; i++) {
+			coordinates.add(new Pair<>(r.nextDouble() * 12, r.nextDouble() * 12));
+			travelGraph.addItem(i);
+		}
+		for (short i = 0; i < locations; i++) {
+			for (short j = 0; j < i; j++) {
+				double minTravelTime = Math.sqrt(Math.pow(coordinates.get(i).getX() - coordinates.get(j).getX(), 2)
+						+ Math.pow(coordinates.get(i).getY() - coordinates.get(j).getY(), 2));
+				travelGraph.addEdge(i, j, minTravelTime);
+				travelGraph.addEdge(j, i, minTravelTime);
+			}
+		}
+		return new EnhancedTTSP(travelGraph, (short) 0, blockedHours, 8, 4.5, 1, 10);
+	}
+}
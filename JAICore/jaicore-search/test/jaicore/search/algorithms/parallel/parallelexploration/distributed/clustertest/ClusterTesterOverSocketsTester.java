@@ -0,0 +1,167 @@
+package jaicore.search.algorithms.parallel.parallelexploration.distributed.clustertest;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertTrue;
+
+import java.io.InputStream;
+import java.io.ObjectOutputStream;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.net.Socket;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+
+import org.junit.Test;
+
+import jaicore.search.algorithms.interfaces.IORGraphSearchFactory;
+import jaicore.search.algorithms.parallel.parallelexploration.distributed.DistributedOrSearch;
+import jaicore.search.algorithms.parallel.parallelexploration.distributed.DistributedOrSearchCoworker;
+import jaicore.search.algorithms.parallel.parallelexploration.distributed.FolderBasedDistributedSearchCommunicationLayer;
+import jaicore.search.algorithms.parallel.parallelexploration.distributed.SocketBasedDistributedSearchCommunicationLayer;
+import jaicore.search.algorithms.parallel.parallelexploration.distributed.interfaces.DistributedSearchCommunicationLayer;
+import jaicore.search.algorithms.parallel.parallelexploration.distributed.interfaces.SerializableNodeEvaluator;
+import jaicore.search.algorithms.standard.core.ORGraphSearch;
+
+/**
+ * Runs the cluster test with coworkers in the same process, once communicating through a folder and once through sockets on the loopback interface, and
+ * reports the time until the solution is found.
+ */
+public class ClusterTesterOverSocketsTester {
+
+	private static final int SIZE = (int) Math.pow(2, 16);
+	private static final int TARGET = 12345;
+	private static final int COWORKERS = 3;
+
+	private interface CoworkerLayerFactory {
+		public DistributedSearchCommunicationLayer<TestNode, String, Integer> getLayer() throws Exception;
+	}
+
+	@Test
+	public void testFolderBasedLayer() throws Exception {
+		Path folder = Files.createTempDirectory("distsearch");
+		run("folder", new FolderBasedDistributedSearchCommunicationLayer<>(folder, true), () -> new FolderBasedDistributedSearchCommunicationLayer<>(folder, false));
+	}
+
+	@Test
+	public void testSocketBasedLayer() throws Exception {
+		SocketBasedDistributedSearchCommunicationLayer<TestNode, String, Integer> masterLayer = new SocketBasedDistributedSearchCommunicationLayer<>(
+				new InetSocketAddress(InetAddress.getLoopbackAddress(), 0), true);
+		run("socket", masterLayer, () -> new SocketBasedDistributedSearchCommunicationLayer<>(masterLayer.getAddress(), false));
+	}
+
+	@Test
+	public void testRejectedConnections() throws Exception {
+		SocketBasedDistributedSearchCommunicationLayer<TestNode, String, Integer> masterLayer = new SocketBasedDistributedSearchCommunicationLayer<>(0);
+		assertTrue(masterLayer.getAddress().getAddress().isLoopbackAddress());
+		try {
+
+			/* objects other than messages are not deserialized, and the connection is closed */
+			try (Socket socket = new Socket()) {
+				socket.connect(masterLayer.getAddress());
+				socket.setSoTimeout(2000);
+				ObjectOutputStream out = new ObjectOutputStream(socket.getOutputStream());
+				out.writeObject(new HashMap<>());
+				out.flush();
+				assertConnectionClosed(socket.getInputStream());
+			}
+
+			/* connections that do not register a coworker are closed after a timeout */
+			try (Socket socket = new Socket()) {
+				socket.connect(masterLayer.getAddress());
+				socket.setSoTimeout(10000);
+				new ObjectOutputStream(socket.getOutputStream()).flush();
+				assertConnectionClosed(socket.getInputStream());
+			}
+		} finally {
+			masterLayer.close();
+		}
+	}
+
+	@Test
+	public void testDuplicateRegistrationIsRefused() throws Exception {
+		SocketBasedDistributedSearchCommunicationLayer<TestNode, String, Integer> masterLayer = new SocketBasedDistributedSearchCommunicationLayer<>(0);
+		SocketBasedDistributedSearchCommunicationLayer<TestNode, String, Integer> firstLayer = new SocketBasedDistributedSearchCommunicationLayer<>(masterLayer.getAddress(), false);
+		SocketBasedDistributedSearchCommunicationLayer<TestNode, String, Integer> secondLayer = new SocketBasedDistributedSearchCommunicationLayer<>(masterLayer.getAddress(), false);
+		try {
+			Thread firstRegistration = register(firstLayer, "cw");
+			assertEquals(1, awaitNewCoworkers(masterLayer, 1).size());
+
+			/* the second registration of the same name is refused, and the coworker is released because its connection is closed */
+			Thread secondRegistration = register(secondLayer, "cw");
+			secondRegistration.join(10000);
+			assertFalse(secondRegistration.isAlive());
+			assertFalse(secondLayer.isAttached("cw"));
+			assertTrue(masterLayer.detectNewCoworkers().isEmpty());
+
+			/* the coworker that has registered first can still be attached */
+			masterLayer.attachCoworker("cw");
+			firstRegistration.join(10000);
+			assertFalse(firstRegistration.isAlive());
+			assertTrue(firstLayer.isAttached("cw"));
+		} finally {
+			firstLayer.close();
+			secondLayer.close();
+			masterLayer.close();
+		}
+	}
+
+	private static Thread register(DistributedSearchCommunicationLayer<TestNode, String, Integer> layer, String coworker) {
+		Thread t = new Thread(() -> {
+			try {
+				layer.register(coworker);
+			} catch (InterruptedException e) {
+				Thread.currentThread().interrupt();
+			}
+		});
+		t.setDaemon(true);
+		t.start();
+		return t;
+	}
+
+	private static Collection<String> awaitNewCoworkers(DistributedSearchCommunicationLayer<TestNode, String, Integer> masterLayer, int number) throws InterruptedException {
+		Collection<String> coworkers = new ArrayList<>();
+		long deadline = System.currentTimeMillis() + 10000;
+		while (coworkers.size() < number && System.currentTimeMillis() < deadline) {
+			masterLayer.awaitCoworkerChanges(100);
+			coworkers.addAll(masterLayer.detectNewCoworkers());
+		}
+		return coworkers;
+	}
+
+	private static void assertConnectionClosed(InputStream in) throws Exception {
+		while (in.read() >= 0) {
+			/* skip the stream header and heartbeats until the master closes the connection */
+		}
+	}
+
+	private void run(String name, DistributedSearchCommunicationLayer<TestNode, String, Integer> masterLayer, CoworkerLayerFactory coworkerLayerFactory) throws Exception {
+		DistributedBestFirstClusterTesterGenerator gen = new DistributedBestFirstClusterTesterGenerator(SIZE, TARGET);
+		SerializableNodeEvaluator<TestNode, Integer> evaluator = n -> -1 * n.externalPath().size();
+		DistributedOrSearch<TestNode, String, Integer> master = new DistributedOrSearch<>(gen, evaluator, masterLayer);
+
+		/* setup coworkers */
+		IORGraphSearchFactory<TestNode, String, Integer> factory = (g, e) -> new ORGraphSearch<>(g, e);
+		for (int i = 1; i <= COWORKERS; i++) {
+			DistributedOrSearchCoworker<TestNode, String, Integer> coworker = new DistributedOrSearchCoworker<>(factory, coworkerLayerFactory.getLayer(), "cw" + i, 60000, 5000, false);
+			Thread t = new Thread(() -> coworker.cowork());
+			t.setDaemon(true);
+			t.start();
+		}
+
+		long start = System.currentTimeMillis();
+		List<TestNode> solution = master.nextSolution();
+		long end = System.currentTimeMillis();
+		master.cancel();
+		assertNotNull(solution);
+		TestNode goal = solution.get(solution.size() - 1);
+		assertEquals(TARGET, goal.min);
+		assertEquals(TARGET, goal.max);
+		System.out.println(name + ": found " + goal + " after " + (end - start) + "ms.");
+	}
+}
@@ -0,0 +1,70 @@
+package jaicore.search.algorithms.parallelized.bestfirst.nqueens;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import org.junit.Test;
+
+import jaicore.search.algorithms.standard.bestfirst.BestFirst;
+import jaicore.search.algorithms.standard.core.ParentDiscarding;
+import jaicore.search.structure.core.ConcurrentIndexedPriorityQueueOpen;
+import jaicore.search.graphgenerators.nqueens.NQueenGenerator;
+import jaicore.search.graphgenerators.nqueens.QueenNode;
+
+/**
+ * Runs the n-queens search with several threads for the node expansion, which insert nodes into OPEN concurrently, and reports the expansion throughput for 1, 4, and 16
+ * threads, both without and with parent discarding.
+ */
+public class ParallelExpansionStressTester {
+
+	private static final int[] THREADS = { 1, 4, 16 };
+
+	@Test
+	public void testNQueens() {
+		int n = 9;
+		int numberOfSolutions = 352;
+		for (int threads : THREADS) {
+			NQueenGenerator gen = new NQueenGenerator(n);
+			BestFirst<QueenNode, String> search = new BestFirst<>(gen, node -> (double) node.getPoint().getNumberOfAttackedCellsInNextRow());
+			search.parallelizeNodeExpansion(threads);
+			long start = System.currentTimeMillis();
+			int solutions = 0;
+			while (search.nextSolution() != null)
+				solutions++;
+			long runtime = System.currentTimeMillis() - start;
+			int expansions = search.getExpandedCounter();
+			System.out.println(n + "-Queens with " + threads + " threads: " + expansions + " expansions in " + runtime + "ms ("
+					+ Math.round(expansions * 1000.0 / Math.max(1, runtime)) + " expansions/s)");
+			assertEquals(numberOfSolutions, solutions);
+		}
+	}
+
+	@Test
+	public void testNQueensWithParentDiscarding() {
+		int n = 8;
+		int numberOfSolutions = 92;
+		for (int threads : THREADS) {
+			NQueenGenerator gen = new NQueenGenerator(n);
+			BestFirst<QueenNode, String> search = new BestFirst<>(gen, node -> (double) node.getPoint().getNumberOfAttackedCellsInNextRow(), ParentDiscarding.OPEN);
+			search.parallelizeNodeExpansion(threads);
+			assertTrue(search.getOpen() instanceof ConcurrentIndexedPriorityQueueOpen);
+			long start = System.currentTimeMillis();
+			int solutions = 0;
+			while (search.nextSolution() != null)
+				solutions++;
+			long runtime = System.currentTimeMillis() - start;
+			int expansions = search.getExpandedCounter();
+			System.out.println(n + "-Queens with parent discarding and " + threads + " threads: " + expansions + " expansions in " + runtime + "ms ("
+					+ Math.round(expansions * 1000.0 / Math.max(1, runtime)) + " expansions/s)");
+			assertEquals(numberOfSolutions, solutions);
+		}
+	}
+
+	@Test
+	public void testSolutionStream() {
+		NQueenGenerator gen = new NQueenGenerator(8);
+		BestFirst<QueenNode, String> search = new BestFirst<>(gen, node -> (double) node.getPoint().getNumberOfAttackedCellsInNextRow());
+		search.parallelizeNodeExpansion(4);
+		assertEquals(92, search.solutionStream().count());
+	}
+}
@@ -0,0 +1,70 @@
+package jaicore.search.algorithms.standard.awastar;
+
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertTrue;
+
+import java.util.List;
+import java.util.concurrent.TimeoutException;
+
+import org.junit.Ignore;
+import org.junit.Test;
+
+import jaicore.search.algorithms.standard.bestfirst.BestFirst;
+import jaicore.search.algorithms.standard.core.INodeEvaluator;
+import jaicore.search.algorithms.standard.core.ParentDiscarding;
+import jaicore.search.graphgenerators.npuzzle.standard.NPuzzleGenerator;
+import jaicore.search.graphgenerators.npuzzle.standard.NPuzzleNode;
+
+/**
+ * Compares runtime and number of expansions of AWA* with indexed lists ({@link AwaStarSearch}), AWA* with the former linear lists
+ * ({@link LinearListAwaStarSearch}), and best first search on the puzzles of {@link AwaStarSolutionTest} and a few more shuffled puzzles,
+ * using the same node evaluator for all of them. Like AWA*, best first search recognizes nodes that have been reached before.
+ *
+ * AWA* with linear lists may run into the timeout on the larger puzzles, so the benchmark is not part of the regular tests and must be run
+ * explicitly.
+ */
+@Ignore("Long-running benchmark")
+public class AwaStarBenchmark {
+
+	private static final int[] SHUFFLES = { 9, 20, 50, 100 };
+	private static final int TIMEOUT_IN_SECONDS = 60;
+
+	@Test
+	public void test() throws Throwable {
+		INodeEvaluator<NPuzzleNode, Double> nodeEvaluator = n -> (double) n.getPoint().getNumberOfWrongTiles();
+		for (int shuffle : SHUFFLES) {
+			NPuzzleGenerator generator = new NPuzzleGenerator(3, shuffle);
+			long start = System.currentTimeMillis();
+			AwaStarSearch<NPuzzleNode, String, Double> awaStar = new AwaStarSearch<>(generator, nodeEvaluator);
+			NPuzzleNode solution = awaStar.search(TIMEOUT_IN_SECONDS);
+			long runtime = System.currentTimeMillis() - start;
+			assertNotNull(solution);
+			assertTrue(generator.getGoalTester().isGoal(solution));
+			report("AWA* (indexed lists)", shuffle, awaStar.getExpandedCounter(), runtime);
+
+			start = System.currentTimeMillis();
+			LinearListAwaStarSearch<NPuzzleNode, String, Double> linearListAwaStar = new LinearListAwaStarSearch<>(generator, nodeEvaluator);
+			try {
+				solution = linearListAwaStar.search(TIMEOUT_IN_SECONDS);
+				runtime = System.currentTimeMillis() - start;
+				assertNotNull(solution);
+				assertTrue(generator.getGoalTester().isGoal(solution));
+				report("AWA* (linear lists)", shuffle, linearListAwaStar.getExpandedCounter(), runtime);
+			} catch (TimeoutException e) {
+				System.out.println("AWA* (linear lists) on 8-Puzzle with " + shuffle + " shuffles: timeout after " + TIMEOUT_IN_SECONDS + "s and "
+						+ linearListAwaStar.getExpandedCounter() + " expansions");
+			}
+
+			start = System.currentTimeMillis();
+			BestFirst<NPuzzleNode, String> bestFirst = new BestFirst<>(generator, nodeEvaluator, ParentDiscarding.ALL);
+			List<NPuzzleNode> path = bestFirst.nextSolution();
+			runtime = System.currentTimeMillis() - start;
+			assertNotNull(path);
+			report("Best First", shuffle, bestFirst.getExpandedCounter(), runtime);
+		}
+	}
+
+	private void report(String algorithm, int shuffle, int expansions, long runtime) {
+		System.out.println(algorithm + " on 8-Puzzle with " + shuffle + " shuffles: " + expansions + " expansions in " + runtime + "ms");
+	}
+}
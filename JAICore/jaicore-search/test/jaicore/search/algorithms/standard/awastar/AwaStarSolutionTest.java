@@ -1,6 +1,8 @@
 package jaicore.search.algorithms.standard.awastar;
 
+import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertTrue;
 
 import org.junit.Test;
 
@@ -22,4 +24,12 @@ public class AwaStarSolutionTest {
 		assertNotNull(solution);
 		System.out.println(solution);
 	}
+
+	@Test
+	public void testExpandedCounter() throws Throwable {
+		AwaStarSearch<NPuzzleNode, String, Double> search = new AwaStarSearch<>(new NPuzzleGenerator(3, 9), n-> (double)n.getPoint().getNumberOfWrongTiles());
+		assertEquals(0, search.getExpandedCounter());
+		search.search(60);
+		assertTrue(search.getExpandedCounter() > 0);
+	}
 }
@@ -0,0 +1,67 @@
+package jaicore.search.algorithms.standard.bestfirst;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotNull;
+
+import java.util.List;
+import java.util.concurrent.Executor;
+
+import org.junit.Test;
+
+import jaicore.search.algorithms.standard.astar.AStar;
+import jaicore.search.algorithms.standard.core.ORGraphSearch;
+import jaicore.search.graphgenerators.npuzzle.standard.NPuzzleGenerator;
+import jaicore.search.graphgenerators.npuzzle.standard.NPuzzleNode;
+import jaicore.search.graphgenerators.nqueens.NQueenGenerator;
+import jaicore.search.graphgenerators.nqueens.QueenNode;
+
+/**
+ * Compares the expansion throughput of the default (pooled) expansion executor with the executor that starts a new thread for every job, which was the behavior of
+ * {@link ORGraphSearch} before the expansion executor became configurable.
+ */
+public class ExpansionExecutorTester {
+
+	private static final Executor THREAD_PER_JOB = r -> new Thread(r).start();
+
+	@Test
+	public void testNQueens() {
+		int n = 8;
+		int numberOfSolutions = 92;
+		NQueenGenerator gen = new NQueenGenerator(n);
+		for (boolean pooled : new boolean[] { false, true }) {
+			BestFirst<QueenNode, String> search = new BestFirst<>(gen, node -> (double) node.getPoint().getNumberOfAttackedCellsInNextRow());
+			if (!pooled)
+				search.setExpansionExecutor(THREAD_PER_JOB);
+			long start = System.currentTimeMillis();
+			int solutions = 0;
+			while (search.nextSolution() != null)
+				solutions++;
+			report(n + "-Queens", pooled, search, System.currentTimeMillis() - start);
+			assertEquals(numberOfSolutions, solutions);
+		}
+	}
+
+	@Test
+	public void testNPuzzle() {
+		NPuzzleGenerator gen = new NPuzzleGenerator(3, 50);
+		int lengthOfSolution = -1;
+		for (boolean pooled : new boolean[] { false, true }) {
+			AStar<NPuzzleNode, String> search = new AStar<>(gen, (n1, n2) -> 1.0, n -> n.getPoint().getDistance());
+			if (!pooled)
+				search.setExpansionExecutor(THREAD_PER_JOB);
+			long start = System.currentTimeMillis();
+			List<NPuzzleNode> solution = search.nextSolution();
+			report("8-Puzzle", pooled, search, System.currentTimeMillis() - start);
+			assertNotNull(solution);
+			if (lengthOfSolution >= 0)
+				assertEquals(lengthOfSolution, solution.size());
+			lengthOfSolution = solution.size();
+		}
+	}
+
+	private void report(String problem, boolean pooled, ORGraphSearch<?, ?, ?> search, long runtime) {
+		int expansions = search.getExpandedCounter();
+		System.out.println(problem + " with " + (pooled ? "pooled expansion executor" : "new thread per job") + ": " + expansions + " expansions in " + runtime + "ms ("
+				+ Math.round(expansions * 1000.0 / Math.max(1, runtime)) + " expansions/s)");
+	}
+}
@@ -0,0 +1,110 @@
+package jaicore.search.algorithms.standard.bestfirst;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.Set;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.stream.Collectors;
+
+import org.junit.Test;
+
+import jaicore.search.algorithms.standard.core.ORGraphSearch;
+import jaicore.search.evaluationproblems.KnapsackProblem;
+import jaicore.search.evaluationproblems.KnapsackProblem.KnapsackNode;
+
+public class RandomCompletionEvaluatorTester {
+
+	private KnapsackProblem getKnapsackProblem() {
+		double[] weights = { 23, 31, 29, 44, 53, 38, 63, 85, 89, 82 };
+		double[] values = { 92, 57, 49, 68, 60, 43, 67, 84, 87, 72 };
+		Set<String> objects = new HashSet<>();
+		Map<String, Double> weightMap = new HashMap<>();
+		Map<String, Double> valueMap = new HashMap<>();
+		for (int i = 0; i < weights.length; i++) {
+			objects.add(String.valueOf(i));
+			weightMap.put(String.valueOf(i), weights[i]);
+			valueMap.put(String.valueOf(i), values[i]);
+		}
+		return new KnapsackProblem(objects, valueMap, weightMap, new HashMap<>(), 165);
+	}
+
+	private List<Double> getScoresOfSolutions(ExecutorService pool) {
+		KnapsackProblem knapsackProblem = getKnapsackProblem();
+		RandomCompletionEvaluator<KnapsackNode, Double> evaluator = new RandomCompletionEvaluator<>(new Random(123l), 3, (knownCompletions, path) -> null,
+				knapsackProblem.getSolutionEvaluator());
+		evaluator.setCompletionPool(pool);
+		ORGraphSearch<KnapsackNode, String, Double> search = new ORGraphSearch<>(knapsackProblem.getGraphGenerator(), evaluator);
+		List<Double> scores = new ArrayList<>();
+		List<KnapsackNode> solution;
+		while ((solution = search.nextSolution()) != null)
+			scores.add(search.getFOfReturnedSolution(solution));
+		Collections.sort(scores);
+		return scores;
+	}
+
+	/* knapsack nodes do not implement equals, so paths are compared by the objects packed in their nodes */
+	private static List<Set<String>> getPackedObjects(List<KnapsackNode> path) {
+		return path.stream().map(KnapsackNode::getPackedObjects).collect(Collectors.toList());
+	}
+
+	/**
+	 * Runs the search with parallel completions and returns the solutions in the order in which they are found together with the best completion of every
+	 * evaluated path
+	 */
+	private Map<List<Set<String>>, List<Set<String>>> getSolutionsAndCompletions(ExecutorService pool, List<List<Set<String>>> solutions) {
+		KnapsackProblem knapsackProblem = getKnapsackProblem();
+		RandomCompletionEvaluator<KnapsackNode, Double> evaluator = new RandomCompletionEvaluator<>(new Random(123l), 3, (knownCompletions, path) -> null,
+				knapsackProblem.getSolutionEvaluator());
+		evaluator.setCompletionPool(pool);
+		evaluator.setPathCachingActivated(true);
+		ORGraphSearch<KnapsackNode, String, Double> search = new ORGraphSearch<>(knapsackProblem.getGraphGenerator(), evaluator);
+		List<KnapsackNode> solution;
+		while ((solution = search.nextSolution()) != null)
+			solutions.add(getPackedObjects(solution));
+		Map<List<Set<String>>, List<Set<String>>> completions = new HashMap<>();
+		evaluator.completions.forEach((path, completion) -> completions.put(getPackedObjects(path), getPackedObjects(completion)));
+		return completions;
+	}
+
+	@Test
+	public void testParallelCompletionsAreReproducible() {
+		ExecutorService pool = Executors.newFixedThreadPool(4);
+		try {
+			List<List<Set<String>>> solutions = new ArrayList<>();
+			Map<List<Set<String>>, List<Set<String>>> completions = getSolutionsAndCompletions(pool, solutions);
+			assertFalse(solutions.isEmpty());
+			assertFalse(completions.isEmpty());
+
+			/* with the same seed, the same completions are drawn for every path, no matter in which order the samples finish */
+			for (int run = 0; run < 5; run++) {
+				List<List<Set<String>>> solutionsOfRun = new ArrayList<>();
+				assertEquals(completions, getSolutionsAndCompletions(pool, solutionsOfRun));
+				assertEquals(solutions, solutionsOfRun);
+			}
+		} finally {
+			pool.shutdownNow();
+		}
+	}
+
+	@Test
+	public void testParallelCompletionsYieldSameSolutionsAsSequentialOnes() {
+		ExecutorService pool = Executors.newFixedThreadPool(4);
+		try {
+			List<Double> sequentialScores = getScoresOfSolutions(null);
+			assertFalse(sequentialScores.isEmpty());
+			assertEquals(sequentialScores, getScoresOfSolutions(pool));
+			assertEquals(sequentialScores, getScoresOfSolutions(pool));
+		} finally {
+			pool.shutdownNow();
+		}
+	}
+}
@@ -0,0 +1,130 @@
+package jaicore.search.algorithms.standard.bestfirst.npuzzle.parentDiscarding;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotNull;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import org.junit.Test;
+
+import com.google.common.eventbus.Subscribe;
+
+import jaicore.graphvisualizer.events.graphEvents.NodeParentSwitchEvent;
+import jaicore.graphvisualizer.events.graphEvents.NodeTypeSwitchEvent;
+import jaicore.search.algorithms.standard.astar.AStar;
+import jaicore.search.algorithms.standard.core.ParentDiscarding;
+import jaicore.search.graphgenerators.npuzzle.parentDiscarding.PDPuzzleGenerator;
+import jaicore.search.graphgenerators.npuzzle.parentDiscarding.PDPuzzleNode;
+import jaicore.search.graphgenerators.npuzzle.standard.NPuzzleGenerator;
+import jaicore.search.graphgenerators.npuzzle.standard.NPuzzleNode;
+import jaicore.search.structure.core.Node;
+import jaicore.search.structure.core.PriorityQueueOpen;
+
+/**
+ * Checks parent discarding without GUI and compares the indexed OPEN list, which is used by default with parent discarding, with a linear scan of a {@link PriorityQueueOpen}.
+ */
+public class ParentDiscardingBenchmarkTest {
+
+	/**
+	 * Records the expansions of a node and the parent switches that are reported for it
+	 */
+	private static class ReopeningListener {
+		private final PDPuzzleNode point;
+		private int expansions;
+		private final List<Node<PDPuzzleNode, Double>> newParents = new ArrayList<>();
+
+		public ReopeningListener(PDPuzzleNode point) {
+			this.point = point;
+		}
+
+		@Subscribe
+		public void receiveNodeTypeSwitchEvent(NodeTypeSwitchEvent<Node<PDPuzzleNode, Double>> event) {
+			if (event.getNode().getPoint().equals(point) && event.getType().equals("or_expanding"))
+				expansions++;
+		}
+
+		@Subscribe
+		public void receiveNodeParentSwitchEvent(NodeParentSwitchEvent<Node<PDPuzzleNode, Double>> event) {
+			if (event.getNode().getPoint().equals(point))
+				newParents.add(event.getNewParent());
+		}
+	}
+
+	@Test
+	public void testReopeningOfClosedNode() {
+		int board[][] = { { 1, 1, 1, 1 }, { 1, 1, 1, 1 }, { 0, 1, 1, 1 }, { 1, 1, 1, 1 } };
+		int board2[][] = { { 1, 1, 1, 1 }, { 1, 1, 1, 1 }, { 1, 0, 1, 1 }, { 1, 1, 1, 1 } };
+		int board3[][] = { { 1, 1, 1, 1 }, { 1, 1, 1, 1 }, { 1, 1, 1, 1 }, { 0, 1, 1, 1 } };
+		int board4[][] = { { 1, 1, 1, 1 }, { 1, 1, 1, 1 }, { 1, 1, 1, 1 }, { 1, 0, 1, 1 } };
+		int board5[][] = { { 1, 1, 1, 1 }, { 1, 1, 1, 1 }, { 1, 1, 1, 1 }, { 1, 1, 0, 1 } };
+		int board6[][] = { { 1, 1, 1, 1 }, { 1, 1, 1, 1 }, { 1, 1, 1, 1 }, { 1, 1, 1, 0 } };
+		PDPuzzleNode p1 = new PDPuzzleNode(board, 0, 2, 0);
+		PDPuzzleNode p2 = new PDPuzzleNode(board2, 1, 2, 0);
+		PDPuzzleNode p3 = new PDPuzzleNode(board3, 0, 3, 0);
+		PDPuzzleNode p4 = new PDPuzzleNode(board4, 1, 3, 0);
+		PDPuzzleNode p5 = new PDPuzzleNode(board5, 2, 3, 0);
+		PDPuzzleNode p6 = new PDPuzzleNode(board6, 3, 3, 0);
+
+		/*
+		 * The heuristic is inconsistent: p4 is reached via p2 with f = 6 and expanded before p3 (f = 6.5), which then reaches p4 with g = 2. So p4 is on
+		 * CLOSED when the cheaper path is found, and it must be reopened with parent p3 and expanded again.
+		 */
+		PDPuzzleGenerator gen = new PDPuzzleGenerator(board, 0, 2);
+		AStar<PDPuzzleNode, String> search = new AStar<>(gen, (n1, n2) -> {
+			if (n1.getPoint().equals(p1) && n2.getPoint().equals(p2))
+				return 1.0;
+			if (n1.getPoint().equals(p1) && n2.getPoint().equals(p3))
+				return 1.0;
+			if (n1.getPoint().equals(p2) && n2.getPoint().equals(p4))
+				return 5.0;
+			if (n1.getPoint().equals(p3) && n2.getPoint().equals(p4))
+				return 1.0;
+			if (n1.getPoint().equals(p4) && n2.getPoint().equals(p5))
+				return 1.0;
+			if (n1.getPoint().equals(p5) && n2.getPoint().equals(p6))
+				return 1.0;
+			return Double.MAX_VALUE;
+		}, n -> {
+			if (n.getPoint().equals(p2))
+				return 1.0;
+			if (n.getPoint().equals(p3))
+				return 5.5;
+			if (n.getPoint().equals(p4) || n.getPoint().equals(p6))
+				return 0.0;
+			if (n.getPoint().equals(p5))
+				return 10.0;
+			return Double.MAX_VALUE;
+		}, ParentDiscarding.ALL);
+		ReopeningListener listener = new ReopeningListener(p4);
+		search.registerListener(listener);
+		List<PDPuzzleNode> solutionPath = search.nextSolution();
+
+		assertEquals(Arrays.asList(p1, p3, p4, p5, p6), solutionPath);
+		assertEquals(1, listener.newParents.size());
+		assertEquals(p3, listener.newParents.get(0).getPoint());
+		assertEquals(2, listener.expansions);
+	}
+
+	@Test
+	public void testIndexedOpenAgainstLinearScan() {
+		for (int i = 0; i < 5; i++) {
+			NPuzzleGenerator gen = new NPuzzleGenerator(3, 100);
+			int lengthOfSolution = -1;
+			for (boolean indexed : new boolean[] { false, true }) {
+				AStar<NPuzzleNode, String> search = new AStar<>(gen, (n1, n2) -> 1.0, n -> n.getPoint().getDistance(), ParentDiscarding.ALL);
+				if (!indexed)
+					search.setOpen(new PriorityQueueOpen<>());
+				long start = System.currentTimeMillis();
+				List<NPuzzleNode> solution = search.nextSolution();
+				long runtime = System.currentTimeMillis() - start;
+				assertNotNull(solution);
+				System.out.println((indexed ? "Indexed OPEN: " : "Linear scan:  ") + search.getExpandedCounter() + " expansions, solution length " + solution.size() + ", " + runtime + "ms");
+				if (lengthOfSolution >= 0)
+					assertEquals(lengthOfSolution, solution.size());
+				lengthOfSolution = solution.size();
+			}
+		}
+	}
+}
@@ -1,9 +1,12 @@
 package jaicore.search.algorithms.standard.mcts;
 
+import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNull;
 
 import java.util.List;
 import java.util.Random;
+import java.util.concurrent.atomic.AtomicInteger;
 
 import org.junit.Test;
 
@@ -35,6 +38,58 @@ public class NQueenTester {
 //		System.out.println("Generated " + search.get+ " nodes.");
 //		PerformanceLogger.printStatsAndClear(PerformanceMeasure.TIME);
 	}
+	
+	@Test
+	public void testParallelPlayouts() {
+		final int x = 10;
+		
+		NQueenGenerator gen = new NQueenGenerator(x);
+		
+		IPolicy<QueenNode, String, Double> randomPolicy = new UniformRandomPolicy<>(new Random(1));
+		IPathUpdatablePolicy<QueenNode, String, Double> ucb = new UCBPolicy<>();
+		
+		MCTS<QueenNode, String, Double> search = new MCTS<>(gen, ucb, randomPolicy, n-> (double)n.getPoint().getNumberOfQueens());
+		search.parallelizePlayouts(4);
+		
+		/* find several solutions, so that playouts that are still running when a solution is returned are collected by the next call */
+		for (int i = 0; i < 3; i++) {
+			List<QueenNode> solutionPath = search.nextSolution();
+			assertNotNull(solutionPath);
+			assertNotNull(search.getFOfReturnedSolution(solutionPath));
+		}
+		search.cancel();
+	}
+	
+	@Test
+	public void testFailingParallelPlayouts() {
+		NQueenGenerator gen = new NQueenGenerator(10);
+		IPolicy<QueenNode, String, Double> randomPolicy = new UniformRandomPolicy<>(new Random(1));
+		AtomicInteger virtualLosses = new AtomicInteger();
+		UCBPolicy<QueenNode, String> ucb = new UCBPolicy<QueenNode, String>() {
+			@Override
+			public void addVirtualLoss(List<QueenNode> path) {
+				super.addVirtualLoss(path);
+				virtualLosses.incrementAndGet();
+			}
+
+			@Override
+			public void removeVirtualLoss(List<QueenNode> path) {
+				super.removeVirtualLoss(path);
+				virtualLosses.decrementAndGet();
+			}
+		};
+		MCTS<QueenNode, String, Double> search = new MCTS<>(gen, ucb, randomPolicy, n -> {
+			throw new IllegalStateException("Playout fails");
+		});
+		search.parallelizePlayouts(4);
+		
+		/* each call collects one failed playout and removes its virtual loss, so the other ones remain pending */
+		for (int i = 0; i < 3; i++) {
+			assertNull(search.nextSolution());
+			assertEquals(search.getNumberOfParallelPlayouts() - 1, virtualLosses.get());
+		}
+		search.cancel();
+	}
 }
 
 
@@ -0,0 +1,82 @@
+package jaicore.search.algorithms.standard.uncertainty.paretosearch;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Random;
+import java.util.Set;
+
+import org.junit.Test;
+
+import jaicore.search.structure.core.Node;
+
+public class ParetoSelectionTest {
+
+	private Node<Integer, Double> createNode(int id, double f, double uncertainty) {
+		Node<Integer, Double> node = new Node<>(null, id);
+		node.setInternalLabel(f);
+		node.setAnnotation("uncertainty", uncertainty);
+		return node;
+	}
+
+	/* the front as computed by comparing all pairs of nodes */
+	private Set<Node<Integer, Double>> computeFront(List<Node<Integer, Double>> nodes) {
+		Set<Node<Integer, Double>> front = new HashSet<>();
+		for (Node<Integer, Double> p : nodes) {
+			boolean dominated = false;
+			double pf = p.getInternalLabel();
+			double pu = (double) p.getAnnotation("uncertainty");
+			for (Node<Integer, Double> q : nodes) {
+				double qf = q.getInternalLabel();
+				double qu = (double) q.getAnnotation("uncertainty");
+				if ((qf < pf && qu <= pu) || (qf <= pf && qu < pu)) {
+					dominated = true;
+					break;
+				}
+			}
+			if (!dominated)
+				front.add(p);
+		}
+		return front;
+	}
+
+	@Test
+	public void testFrontAfterRandomAddsAndRemoves() {
+		Random random = new Random(0);
+		ParetoSelection<Integer, Double> open = new ParetoSelection<>(false);
+		List<Node<Integer, Double>> nodes = new ArrayList<>();
+		for (int i = 0; i < 5000; i++) {
+
+			/* values from a small grid, so there are many nodes with the same f or uncertainty */
+			if (nodes.isEmpty() || random.nextDouble() < 0.55) {
+				Node<Integer, Double> node = createNode(i, random.nextInt(10), random.nextInt(10));
+				nodes.add(node);
+				assertTrue(open.add(node));
+			} else {
+				Node<Integer, Double> node = random.nextBoolean() ? nodes.remove(random.nextInt(nodes.size())) : open.peek();
+				nodes.remove(node);
+				assertTrue(open.remove(node));
+			}
+			assertEquals(nodes.size(), open.size());
+			Set<Node<Integer, Double>> front = computeFront(nodes);
+			assertEquals(front, new HashSet<>(open.getParetoFront()));
+			if (!nodes.isEmpty())
+				assertTrue(front.contains(open.peek()));
+		}
+	}
+
+	@Test
+	public void testEmptyCollection() {
+		ParetoSelection<Integer, Double> open = new ParetoSelection<>(false);
+		assertNull(open.peek());
+		Node<Integer, Double> node = createNode(0, 1, 1);
+		open.add(node);
+		open.clear();
+		assertTrue(open.isEmpty());
+		assertNull(open.peek());
+	}
+}
@@ -3,7 +3,7 @@ package jaicore.search.graphgenerators.nqueens;
 import java.util.ArrayList;
 import java.util.List;
 
-import jaicore.search.structure.core.GraphGenerator;
+import jaicore.search.algorithms.parallel.parallelexploration.distributed.interfaces.SerializableGraphGenerator;
 import jaicore.search.structure.core.NodeExpansionDescription;
 import jaicore.search.structure.core.NodeType;
 import jaicore.search.structure.graphgenerator.MultipleRootGenerator;
@@ -11,8 +11,9 @@ import jaicore.search.structure.graphgenerator.NodeGoalTester;
 import jaicore.search.structure.graphgenerator.SingleRootGenerator;
 import jaicore.search.structure.graphgenerator.SuccessorGenerator;
 
-public class NQueenGenerator implements GraphGenerator<QueenNode,String> {
+public class NQueenGenerator implements SerializableGraphGenerator<QueenNode,String> {
 	
+	private static final long serialVersionUID = 2812370358256373781L;
 	int dimension;
 	MultipleRootGenerator<QueenNode> root;
 	
@@ -1,9 +1,11 @@
 package jaicore.search.graphgenerators.nqueens;
 
+import java.io.Serializable;
 import java.util.ArrayList;
 import java.util.List;
 
-public class QueenNode {
+public class QueenNode implements Serializable {
+	private static final long serialVersionUID = -6154329543476253416L;
 	/*
 	 * Helperclass to store the positions of the queen.
 	 */
@@ -0,0 +1,60 @@
+package jaicore.search.structure.core;
+
+import static org.junit.Assert.assertEquals;
+
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.Ignore;
+import org.junit.Test;
+
+import com.google.common.eventbus.Subscribe;
+
+import jaicore.graphvisualizer.events.graphEvents.GraphEvent;
+import jaicore.search.algorithms.standard.core.ORGraphSearch;
+import jaicore.search.graphgenerators.nqueens.NQueenGenerator;
+import jaicore.search.graphgenerators.nqueens.QueenNode;
+
+/**
+ * Compares the throughput of a search on the n-queens problem without listeners, with a listener that is notified synchronously, and with the same
+ * listener being notified asynchronously.
+ *
+ * The benchmark only reports runtimes, so it is not part of the regular tests and must be run explicitly.
+ */
+@Ignore("Long-running benchmark")
+public class GraphEventBusBenchmark {
+
+	private static final int DIMENSION = 10;
+	private static final int RUNS = 5;
+
+	private static class GraphListener {
+		private final AtomicInteger events = new AtomicInteger();
+
+		@Subscribe
+		public void receiveGraphEvent(GraphEvent event) {
+			events.incrementAndGet();
+		}
+	}
+
+	@Test
+	public void testThroughput() throws InterruptedException {
+		for (int run = 0; run < RUNS; run++) {
+			System.out.println("Run " + (run + 1) + ": " + search(null, false) + "ms without listener, " + search(new GraphListener(), false)
+					+ "ms with synchronous listener, " + search(new GraphListener(), true) + "ms with asynchronous listener");
+		}
+	}
+
+	private long search(GraphListener listener, boolean asynchronous) throws InterruptedException {
+		ORGraphSearch<QueenNode, String, Double> search = new ORGraphSearch<>(new NQueenGenerator(DIMENSION), n -> (double) n.getPoint().getNumberOfAttackedCellsInNextRow());
+		if (asynchronous)
+			search.getEventBus().enableAsynchronousDispatch(1024);
+		if (listener != null)
+			search.registerListener(listener);
+		long start = System.currentTimeMillis();
+		int solutions = 0;
+		while (search.nextSolution() != null)
+			solutions++;
+		long runtime = System.currentTimeMillis() - start;
+		assertEquals(724, solutions);
+		return runtime;
+	}
+}
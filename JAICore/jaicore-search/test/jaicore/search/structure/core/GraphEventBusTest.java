@@ -0,0 +1,108 @@
+package jaicore.search.structure.core;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.Test;
+
+import com.google.common.eventbus.Subscribe;
+
+import jaicore.graphvisualizer.events.graphEvents.GraphEvent;
+import jaicore.graphvisualizer.events.graphEvents.NodeReachedEvent;
+import jaicore.graphvisualizer.events.graphEvents.NodeTypeSwitchEvent;
+
+/**
+ * Checks which event types the GraphEventBus reports to have subscribers for and how it dispatches events asynchronously. The throughput of searches
+ * with listeners is measured by {@link GraphEventBusBenchmark}.
+ */
+public class GraphEventBusTest {
+
+	private static class NodeTypeListener {
+		private final AtomicInteger events = new AtomicInteger();
+
+		@Subscribe
+		public void receiveNodeTypeSwitchEvent(NodeTypeSwitchEvent<?> event) {
+			events.incrementAndGet();
+		}
+	}
+
+	private static class GraphListener {
+		private final AtomicInteger events = new AtomicInteger();
+
+		@Subscribe
+		public void receiveGraphEvent(GraphEvent event) {
+			events.incrementAndGet();
+		}
+	}
+
+	@Test
+	public void testSubscriberTracking() {
+		GraphEventBus<String> bus = new GraphEventBus<>();
+		assertFalse(bus.hasSubscribers(NodeTypeSwitchEvent.class));
+
+		NodeTypeListener nodeTypeListener = new NodeTypeListener();
+		bus.register(nodeTypeListener);
+		assertTrue(bus.hasSubscribers(NodeTypeSwitchEvent.class));
+		assertFalse(bus.hasSubscribers(NodeReachedEvent.class));
+
+		GraphListener graphListener = new GraphListener();
+		bus.register(graphListener);
+		assertTrue(bus.hasSubscribers(NodeReachedEvent.class));
+
+		bus.unregister(graphListener);
+		assertFalse(bus.hasSubscribers(NodeReachedEvent.class));
+		bus.unregister(nodeTypeListener);
+		assertFalse(bus.hasSubscribers(NodeTypeSwitchEvent.class));
+	}
+
+	@Test
+	public void testAsynchronousDispatch() throws InterruptedException {
+		GraphEventBus<String> bus = new GraphEventBus<>();
+		NodeTypeListener listener = new NodeTypeListener();
+		bus.register(listener);
+		bus.enableAsynchronousDispatch(16);
+		for (int i = 0; i < 1000; i++)
+			bus.post(new NodeTypeSwitchEvent<>("n" + i, "or_open"));
+
+		/* shutting down dispatches the remaining events, and later events are dispatched synchronously */
+		bus.shutdown();
+		assertEquals(1000, listener.events.get());
+		bus.post(new NodeTypeSwitchEvent<>("n", "or_open"));
+		assertEquals(1001, listener.events.get());
+	}
+
+	@Test
+	public void testPostingWhileInterrupted() throws InterruptedException {
+		GraphEventBus<String> bus = new GraphEventBus<>();
+		NodeTypeListener listener = new NodeTypeListener();
+		bus.register(listener);
+		bus.enableAsynchronousDispatch(1);
+		Thread.currentThread().interrupt();
+		for (int i = 0; i < 100; i++)
+			bus.post(new NodeTypeSwitchEvent<>("n" + i, "or_open"));
+		assertTrue(Thread.interrupted());
+		bus.shutdown();
+		assertEquals(100, listener.events.get());
+	}
+
+	@Test
+	public void testShutdownBySubscriber() throws InterruptedException {
+		GraphEventBus<String> bus = new GraphEventBus<>();
+		AtomicInteger events = new AtomicInteger();
+		bus.register(new Object() {
+			@Subscribe
+			public void receiveNodeTypeSwitchEvent(NodeTypeSwitchEvent<?> event) {
+				if (events.incrementAndGet() == 10)
+					bus.shutdown();
+			}
+		});
+		bus.enableAsynchronousDispatch(4);
+		for (int i = 0; i < 100; i++)
+			bus.post(new NodeTypeSwitchEvent<>("n" + i, "or_open"));
+		bus.shutdown();
+		assertEquals(100, events.get());
+	}
+}
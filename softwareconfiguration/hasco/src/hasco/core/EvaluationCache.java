@@ -0,0 +1,195 @@
+package hasco.core;
+
+import java.io.BufferedReader;
+import java.io.BufferedWriter;
+import java.io.Closeable;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.function.Function;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import hasco.model.ComponentInstance;
+
+/**
+ * Bounded cache for the scores of compositions. Different search paths may yield the same composition, and this cache avoids that
+ * such a composition is benchmarked again. Compositions are addressed by their canonical description (see
+ * {@link ComponentInstance#getCanonicalDescription()}), so the order in which parameters and required interfaces have been resolved
+ * does not matter.
+ *
+ * If the cache is full, the least recently used entry is evicted (or the least recently inserted one if the eviction policy is
+ * {@link EvictionPolicy#FIFO}).
+ *
+ * Optionally, the cache is backed by a file. Entries in the file are loaded on creation, and every new entry is appended to it, so
+ * a restarted run can reuse the evaluations of earlier runs. Since the file only grows, it may contain more entries than the cache
+ * holds in memory; the most recent ones are kept.
+ *
+ * @param <V>
+ *            type of the scores
+ */
+public class EvaluationCache<V extends Comparable<V>> implements Closeable {
+
+	public enum EvictionPolicy {
+		LRU, FIFO
+	}
+
+	private static final char SEPARATOR = '\t';
+
+	private final Logger logger = LoggerFactory.getLogger(EvaluationCache.class);
+	private final int maxSize;
+	private final Map<String, V> scores;
+	private Writer persistentStore;
+	private int hits;
+	private int misses;
+
+	/**
+	 * Creates a cache that is only held in memory.
+	 *
+	 * @param maxSize
+	 *            The maximum number of compositions whose scores are held
+	 * @param evictionPolicy
+	 *            The policy to decide which entry is evicted if the cache is full
+	 */
+	public EvaluationCache(final int maxSize, final EvictionPolicy evictionPolicy) {
+		if (maxSize <= 0) {
+			throw new IllegalArgumentException("The size of the evaluation cache must be positive but is " + maxSize);
+		}
+		this.maxSize = maxSize;
+		this.scores = new LinkedHashMap<String, V>(16, 0.75f, evictionPolicy == EvictionPolicy.LRU) {
+			private static final long serialVersionUID = 6153592375574484371L;
+
+			@Override
+			protected boolean removeEldestEntry(final Map.Entry<String, V> eldest) {
+				return this.size() > EvaluationCache.this.maxSize;
+			}
+		};
+	}
+
+	/**
+	 * Creates a cache that is backed by the given file. If the file exists, its entries are loaded into the cache.
+	 *
+	 * @param maxSize
+	 *            The maximum number of compositions whose scores are held
+	 * @param evictionPolicy
+	 *            The policy to decide which entry is evicted if the cache is full
+	 * @param file
+	 *            The file to which entries are appended
+	 * @param scoreParser
+	 *            Converts the string representation (obtained by toString) of a score back into a score, e.g. Double::valueOf
+	 * @throws IOException
+	 */
+	public EvaluationCache(final int maxSize, final EvictionPolicy evictionPolicy, final File file, final Function<String, V> scoreParser) throws IOException {
+		this(maxSize, evictionPolicy);
+		if (file.exists()) {
+			try (BufferedReader reader = new BufferedReader(new InputStreamReader(new FileInputStream(file), StandardCharsets.UTF_8))) {
+				String line;
+				while ((line = reader.readLine()) != null) {
+					int separatorIndex = line.lastIndexOf(SEPARATOR);
+					if (separatorIndex < 0) {
+						this.logger.warn("Ignoring malformed line \"{}\" in evaluation cache file {}", line, file);
+						continue;
+					}
+					this.scores.put(unescape(line.substring(0, separatorIndex)), scoreParser.apply(line.substring(separatorIndex + 1)));
+				}
+			}
+			this.logger.info("Loaded {} evaluations from {}", this.scores.size(), file);
+		}
+		this.persistentStore = new BufferedWriter(new OutputStreamWriter(new FileOutputStream(file, true), StandardCharsets.UTF_8));
+	}
+
+	/**
+	 * @param composition
+	 *            The composition to look up
+	 * @return The cached score of the composition or null if it is not in the cache
+	 */
+	public synchronized V get(final ComponentInstance composition) {
+		V score = this.scores.get(composition.getCanonicalDescription());
+		if (score != null) {
+			this.hits++;
+		} else {
+			this.misses++;
+		}
+		return score;
+	}
+
+	public synchronized void put(final ComponentInstance composition, final V score) {
+		if (score == null) {
+			throw new IllegalArgumentException("Cannot cache null score of composition " + composition);
+		}
+		String key = composition.getCanonicalDescription();
+		if (score.equals(this.scores.put(key, score)) || this.persistentStore == null) {
+			return;
+		}
+		try {
+			this.persistentStore.write(escape(key));
+			this.persistentStore.write(SEPARATOR);
+			this.persistentStore.write(score.toString());
+			this.persistentStore.write('\n');
+			this.persistentStore.flush();
+		} catch (IOException e) {
+			this.logger.error("Could not persist score {} of composition {}: {}", score, key, e.getMessage());
+		}
+	}
+
+	public synchronized int size() {
+		return this.scores.size();
+	}
+
+	public int getMaxSize() {
+		return this.maxSize;
+	}
+
+	public synchronized int getHits() {
+		return this.hits;
+	}
+
+	public synchronized int getMisses() {
+		return this.misses;
+	}
+
+	@Override
+	public synchronized void close() throws IOException {
+		if (this.persistentStore != null) {
+			this.persistentStore.close();
+		}
+	}
+
+	private static String escape(final String key) {
+		return key.replace("\\", "\\\\").replace("\t", "\\t").replace("\n", "\\n").replace("\r", "\\r");
+	}
+
+	private static String unescape(final String key) {
+		StringBuilder sb = new StringBuilder(key.length());
+		for (int i = 0; i < key.length(); i++) {
+			char c = key.charAt(i);
+			if (c != '\\' || i + 1 == key.length()) {
+				sb.append(c);
+				continue;
+			}
+			char next = key.charAt(++i);
+			switch (next) {
+			case 't':
+				sb.append('\t');
+				break;
+			case 'n':
+				sb.append('\n');
+				break;
+			case 'r':
+				sb.append('\r');
+				break;
+			default:
+				sb.append(next);
+			}
+		}
+		return sb.toString();
+	}
+}
@@ -16,6 +16,7 @@ import org.slf4j.LoggerFactory;
 
 import com.google.common.eventbus.EventBus;
 
+import hasco.events.HASCOEvaluationCacheEvent;
 import hasco.events.HASCORunStartedEvent;
 import hasco.events.HASCORunTerminatedEvent;
 import hasco.events.HASCOSolutionEvaluationEvent;
@@ -92,6 +93,9 @@ public class HASCO<T, N, A, V extends Comparable<V>, R extends IPlanningSolution
 	private final INodeEvaluator<N, V> nodeEvaluator;
 	private final RandomCompletionEvaluator<N, V> randomCompletionEvaluator;
 
+	/* cache for scores of compositions that have already been benchmarked (null if there is no cache) */
+	private EvaluationCache<V> evaluationCache;
+
 	/* event buses for evaluation events */
 	private final EventBus solutionEvaluationEventBus = new EventBus();
 
@@ -124,7 +128,24 @@ public class HASCO<T, N, A, V extends Comparable<V>, R extends IPlanningSolution
 			ComponentInstance composition = Util.getSolutionCompositionForPlan(HASCO.this.components,
 					HASCO.this.getInitState(), plan);
 			T solution = HASCO.this.getObjectFromPlan(plan);
-			V scoreOfSolution = HASCO.this.benchmark.evaluate(solution);
+			V scoreOfSolution = null;
+			EvaluationCache<V> cache = HASCO.this.evaluationCache;
+			if (cache != null) {
+				int hits;
+				int misses;
+				synchronized (cache) {
+					scoreOfSolution = cache.get(composition);
+					hits = cache.getHits();
+					misses = cache.getMisses();
+				}
+				HASCO.this.solutionEvaluationEventBus.post(new HASCOEvaluationCacheEvent(composition, scoreOfSolution != null, hits, misses));
+			}
+			if (scoreOfSolution == null) {
+				scoreOfSolution = HASCO.this.benchmark.evaluate(solution);
+				if (cache != null && scoreOfSolution != null) {
+					cache.put(composition, scoreOfSolution);
+				}
+			}
 			if (HASCO.this.scoreOfBestRecognizedSolution == null
 					|| HASCO.this.scoreOfBestRecognizedSolution.compareTo(scoreOfSolution) > 0) {
 				HASCO.this.bestRecognizedSolution = solution;
@@ -567,6 +588,21 @@ public class HASCO<T, N, A, V extends Comparable<V>, R extends IPlanningSolution
 		return this.benchmark;
 	}
 
+	public EvaluationCache<V> getEvaluationCache() {
+		return this.evaluationCache;
+	}
+
+	/**
+	 * Sets a cache that is consulted before a composition is benchmarked, so that compositions obtained through different search paths
+	 * are only evaluated once. HASCO does not close the cache, so it may be shared among several runs.
+	 *
+	 * @param evaluationCache
+	 *            The cache to use or null if every solution should be benchmarked
+	 */
+	public void setEvaluationCache(final EvaluationCache<V> evaluationCache) {
+		this.evaluationCache = evaluationCache;
+	}
+
 	@Override
 	public HASCOSolutionIterator iterator() {
 		return new HASCOSolutionIterator();
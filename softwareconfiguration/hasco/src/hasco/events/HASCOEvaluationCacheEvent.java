@@ -0,0 +1,37 @@
+package hasco.events;
+
+import hasco.model.ComponentInstance;
+
+/**
+ * Posted whenever the evaluation cache of HASCO has been consulted for a composition.
+ */
+public class HASCOEvaluationCacheEvent {
+	private final ComponentInstance composition;
+	private final boolean hit;
+	private final int hits;
+	private final int misses;
+
+	public HASCOEvaluationCacheEvent(ComponentInstance composition, boolean hit, int hits, int misses) {
+		super();
+		this.composition = composition;
+		this.hit = hit;
+		this.hits = hits;
+		this.misses = misses;
+	}
+
+	public ComponentInstance getComposition() {
+		return composition;
+	}
+
+	public boolean isHit() {
+		return hit;
+	}
+
+	public int getHits() {
+		return hits;
+	}
+
+	public int getMisses() {
+		return misses;
+	}
+}
@@ -1,6 +1,8 @@
 package hasco.model;
 
 import java.util.Map;
+import java.util.Map.Entry;
+import java.util.TreeMap;
 
 /**
  * For a given component, a composition defines all parameter values and the required interfaces
@@ -37,6 +39,88 @@ public class ComponentInstance {
     return this.satisfactionOfRequiredInterfaces;
   }
 
+  /**
+   * @return A description of the composition that does not depend on the order of the parameters and required interfaces. Two component
+   *         instances are equal if and only if their canonical descriptions are equal.
+   */
+  public String getCanonicalDescription() {
+    StringBuilder sb = new StringBuilder();
+    this.appendCanonicalDescription(sb);
+    return sb.toString();
+  }
+
+  private void appendCanonicalDescription(final StringBuilder sb) {
+    appendEscaped(sb, this.component.getName());
+    sb.append("{");
+    boolean first = true;
+    for (Entry<String, String> parameterValue : new TreeMap<>(this.parameterValues).entrySet()) {
+      if (!first) {
+        sb.append(",");
+      }
+      first = false;
+      appendEscaped(sb, parameterValue.getKey());
+      sb.append("=");
+      appendEscaped(sb, parameterValue.getValue());
+    }
+    sb.append("}(");
+    first = true;
+    for (Entry<String, ComponentInstance> requiredInterface : new TreeMap<>(this.satisfactionOfRequiredInterfaces).entrySet()) {
+      if (!first) {
+        sb.append(",");
+      }
+      first = false;
+      appendEscaped(sb, requiredInterface.getKey());
+      sb.append("=");
+      requiredInterface.getValue().appendCanonicalDescription(sb);
+    }
+    sb.append(")");
+  }
+
+  /**
+   * Appends a name or value to the canonical description. The characters that structure the description are escaped by a backslash, so
+   * names and values that contain them cannot be confused with the structure. null is written as \0.
+   */
+  private static void appendEscaped(final StringBuilder sb, final String value) {
+    if (value == null) {
+      sb.append("\\0");
+      return;
+    }
+    for (int i = 0; i < value.length(); i++) {
+      char c = value.charAt(i);
+      if ("\\{}()=,".indexOf(c) >= 0) {
+        sb.append('\\');
+      }
+      sb.append(c);
+    }
+  }
+
+  @Override
+  public int hashCode() {
+    final int prime = 31;
+    int result = 1;
+    result = prime * result + this.component.getName().hashCode();
+    result = prime * result + this.parameterValues.hashCode();
+    result = prime * result + this.satisfactionOfRequiredInterfaces.hashCode();
+    return result;
+  }
+
+  /**
+   * Component instances are equal if they instantiate components with the same name, with the same parameter values, and if the
+   * required interfaces are satisfied by equal component instances.
+   */
+  @Override
+  public boolean equals(final Object obj) {
+    if (this == obj) {
+      return true;
+    }
+    if (obj == null || this.getClass() != obj.getClass()) {
+      return false;
+    }
+    ComponentInstance other = (ComponentInstance) obj;
+    return this.component.getName().equals(other.component.getName()) && this.parameterValues.equals(other.parameterValues)
+        && this.satisfactionOfRequiredInterfaces.equals(other.satisfactionOfRequiredInterfaces);
+  }
+
   @Override
   public String toString() {
     StringBuilder sb = new StringBuilder();
@@ -0,0 +1,117 @@
+package hasco.test;
+
+import static org.junit.Assert.*;
+
+import java.io.File;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+import org.junit.Test;
+
+import hasco.core.EvaluationCache;
+import hasco.core.EvaluationCache.EvictionPolicy;
+import hasco.model.Component;
+import hasco.model.ComponentInstance;
+
+public class EvaluationCacheTest {
+
+	private ComponentInstance getComposition(String classifier, String c, boolean reverseOrder) {
+		Map<String, String> parameterValues = reverseOrder ? new LinkedHashMap<>() : new HashMap<>();
+		if (reverseOrder) {
+			parameterValues.put("K", "3");
+			parameterValues.put("C", c);
+		} else {
+			parameterValues.put("C", c);
+			parameterValues.put("K", "3");
+		}
+		Map<String, ComponentInstance> sat = new LinkedHashMap<>();
+		ComponentInstance preprocessor = new ComponentInstance(new Component("PCA"), new HashMap<>(), new HashMap<>());
+		ComponentInstance classifierInstance = new ComponentInstance(new Component(classifier), parameterValues, new HashMap<>());
+		if (reverseOrder) {
+			sat.put("classifier", classifierInstance);
+			sat.put("preprocessor", preprocessor);
+		} else {
+			sat.put("preprocessor", preprocessor);
+			sat.put("classifier", classifierInstance);
+		}
+		return new ComponentInstance(new Component("Pipeline"), new HashMap<>(), sat);
+	}
+
+	@Test
+	public void testCanonicalDescription() {
+		ComponentInstance c1 = getComposition("SMO", "1.0", false);
+		ComponentInstance c2 = getComposition("SMO", "1.0", true);
+		ComponentInstance c3 = getComposition("SMO", "2.0", false);
+		assertEquals(c1, c2);
+		assertEquals(c1.hashCode(), c2.hashCode());
+		assertEquals(c1.getCanonicalDescription(), c2.getCanonicalDescription());
+		assertNotEquals(c1, c3);
+		assertNotEquals(c1.getCanonicalDescription(), c3.getCanonicalDescription());
+	}
+
+	@Test
+	public void testCanonicalDescriptionOfValuesWithSeparators() {
+		Map<String, String> oneParameter = new HashMap<>();
+		oneParameter.put("C", "1, K=3");
+		Map<String, String> twoParameters = new HashMap<>();
+		twoParameters.put("C", "1");
+		twoParameters.put("K", "3");
+		Map<String, String> nullParameter = new HashMap<>();
+		nullParameter.put("C", null);
+		Map<String, String> nullStringParameter = new HashMap<>();
+		nullStringParameter.put("C", "null");
+		Map<String, String> closingParameter = new HashMap<>();
+		closingParameter.put("C", "1}(");
+		Map<String, ComponentInstance> sat = new HashMap<>();
+		sat.put("classifier", new ComponentInstance(new Component("SMO"), new HashMap<>(), new HashMap<>()));
+
+		ComponentInstance[] compositions = { new ComponentInstance(new Component("SMO"), oneParameter, new HashMap<>()),
+				new ComponentInstance(new Component("SMO"), twoParameters, new HashMap<>()), new ComponentInstance(new Component("SMO"), nullParameter, new HashMap<>()),
+				new ComponentInstance(new Component("SMO"), nullStringParameter, new HashMap<>()),
+				new ComponentInstance(new Component("SMO{C=1}"), new HashMap<>(), new HashMap<>()),
+				new ComponentInstance(new Component("SMO"), closingParameter, sat) };
+		for (int i = 0; i < compositions.length; i++) {
+			for (int j = i + 1; j < compositions.length; j++)
+				assertNotEquals(compositions[i].getCanonicalDescription(), compositions[j].getCanonicalDescription());
+		}
+	}
+
+	@Test
+	public void testEviction() {
+		EvaluationCache<Double> lru = new EvaluationCache<>(2, EvictionPolicy.LRU);
+		EvaluationCache<Double> fifo = new EvaluationCache<>(2, EvictionPolicy.FIFO);
+		for (EvaluationCache<Double> cache : new EvaluationCache[] { lru, fifo }) {
+			cache.put(getComposition("SMO", "1.0", false), 0.1);
+			cache.put(getComposition("SMO", "2.0", false), 0.2);
+			assertEquals(0.1, cache.get(getComposition("SMO", "1.0", true)), 0);
+			cache.put(getComposition("SMO", "3.0", false), 0.3);
+			assertEquals(2, cache.size());
+		}
+		assertNotNull(lru.get(getComposition("SMO", "1.0", false)));
+		assertNull(lru.get(getComposition("SMO", "2.0", false)));
+		assertNull(fifo.get(getComposition("SMO", "1.0", false)));
+		assertNotNull(fifo.get(getComposition("SMO", "2.0", false)));
+		assertEquals(2, lru.getHits());
+		assertEquals(1, lru.getMisses());
+	}
+
+	@Test
+	public void testPersistence() throws Exception {
+		File file = File.createTempFile("evaluationcache", ".txt");
+		file.delete();
+		try {
+			try (EvaluationCache<Double> cache = new EvaluationCache<>(10, EvictionPolicy.LRU, file, Double::valueOf)) {
+				cache.put(getComposition("SMO", "1.0", false), 0.1);
+				cache.put(getComposition("J48", "1.0", false), 0.2);
+			}
+			try (EvaluationCache<Double> cache = new EvaluationCache<>(10, EvictionPolicy.LRU, file, Double::valueOf)) {
+				assertEquals(2, cache.size());
+				assertEquals(0.1, cache.get(getComposition("SMO", "1.0", true)), 0);
+				assertEquals(0.2, cache.get(getComposition("J48", "1.0", true)), 0);
+			}
+		} finally {
+			file.delete();
+		}
+	}
+}
@@ -0,0 +1,71 @@
+package hasco.test;
+
+import java.io.File;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Random;
+
+import org.junit.Test;
+
+import hasco.core.HASCOFD;
+import hasco.serialization.ComponentLoader;
+import jaicore.planning.graphgenerators.task.ApplicabilityCache;
+import jaicore.planning.graphgenerators.task.TaskPlannerUtil;
+import jaicore.planning.graphgenerators.task.tfd.TFDGraphGenerator;
+import jaicore.planning.graphgenerators.task.tfd.TFDNode;
+import jaicore.search.structure.core.GraphGenerator;
+import jaicore.search.structure.core.NodeExpansionDescription;
+import jaicore.search.structure.graphgenerator.SingleRootGenerator;
+
+/**
+ * Measures the time to expand nodes of the search graph of HASCO for the WEKA search space of ML-Plan on random paths from the root to
+ * a goal, which is how random completions explore the graph. Most of this time is spent on computing the applicable methods and
+ * actions, i.e. on forward chaining in the state, so the expansions are measured with and without caching these.
+ */
+public class ForwardChainingBenchmark {
+
+  private static final File WEKA_COMPONENTS = new File("../mlplan/model/weka/weka-all-autoweka.json");
+  private static final int EXPANSIONS = 2000;
+
+  @Test
+  public void benchmarkExpansionsInWekaDomain() throws Exception {
+    ComponentLoader loader = new ComponentLoader();
+    loader.loadComponents(WEKA_COMPONENTS);
+    HASCOFD<Object, Double> hasco = new HASCOFD<>(loader.getComponents(), loader.getParamConfigs(), groundComponent -> groundComponent, null, "AbstractClassifier", null);
+    GraphGenerator<TFDNode, String> graphGenerator = hasco.getGraphGenerator();
+    TaskPlannerUtil util = ((TFDGraphGenerator) graphGenerator).getTaskPlannerUtil();
+
+    util.setCacheSize(0);
+    System.out.println("Without cache:");
+    this.runDives(graphGenerator);
+    util.setCacheSize(TaskPlannerUtil.DEFAULT_CACHE_SIZE);
+    System.out.println("With cache:");
+    this.runDives(graphGenerator);
+    for (ApplicabilityCache<?> cache : Arrays.asList(util.getMethodInstanceCache(), util.getActionCache())) {
+      System.out.println("Cache has " + cache.size() + " entries with " + cache.getNumberOfLiterals() + " literals in their states. Hit rate is " + cache.getHitRate());
+    }
+  }
+
+  private void runDives(final GraphGenerator<TFDNode, String> graphGenerator) throws Exception {
+    for (int run = 0; run < 3; run++) {
+      Random random = new Random(run);
+      long start = System.currentTimeMillis();
+      int expansions = 0;
+      int dives = 0;
+      while (expansions < EXPANSIONS) {
+        TFDNode node = ((SingleRootGenerator<TFDNode>) graphGenerator.getRootGenerator()).getRoot();
+        while (!node.getRemainingTasks().isEmpty() && expansions < EXPANSIONS) {
+          List<NodeExpansionDescription<TFDNode, String>> successors = graphGenerator.getSuccessorGenerator().generateSuccessors(node);
+          expansions++;
+          if (successors.isEmpty()) {
+            break;
+          }
+          node = successors.get(random.nextInt(successors.size())).getTo();
+        }
+        dives++;
+      }
+      long time = System.currentTimeMillis() - start;
+      System.out.println("Run " + run + ": Expanded " + expansions + " nodes in " + dives + " dives in " + time + "ms (" + (time * 1000.0 / expansions) + "us per expansion).");
+    }
+  }
+}
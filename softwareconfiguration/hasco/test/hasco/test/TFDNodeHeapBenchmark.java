@@ -0,0 +1,83 @@
+package hasco.test;
+
+import static org.junit.Assert.assertEquals;
+
+import java.io.File;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import org.junit.Test;
+
+import hasco.core.HASCOFD;
+import hasco.serialization.ComponentLoader;
+import jaicore.logic.fol.structure.Monom;
+import jaicore.planning.graphgenerators.task.tfd.TFDNode;
+import jaicore.search.structure.core.GraphGenerator;
+import jaicore.search.structure.core.NodeExpansionDescription;
+import jaicore.search.structure.graphgenerator.SingleRootGenerator;
+
+/**
+ * Measures the heap used by the nodes of the search graph of HASCO for the WEKA search space of ML-Plan. All successors generated on
+ * random paths from the root to a goal are kept, as in the OPEN list of a search, and the heap they use is compared to the heap used by
+ * copies of them that store their state and remaining tasks explicitly.
+ */
+public class TFDNodeHeapBenchmark {
+
+  private static final File WEKA_COMPONENTS = new File("../mlplan/model/weka/weka-all-autoweka.json");
+  private static final int EXPANSIONS = 2000;
+
+  @Test
+  public void benchmarkHeapOfNodesInWekaDomain() throws Exception {
+    ComponentLoader loader = new ComponentLoader();
+    loader.loadComponents(WEKA_COMPONENTS);
+    HASCOFD<Object, Double> hasco = new HASCOFD<>(loader.getComponents(), loader.getParamConfigs(), groundComponent -> groundComponent, null, "AbstractClassifier", null);
+    GraphGenerator<TFDNode, String> graphGenerator = hasco.getGraphGenerator();
+
+    /* generate nodes */
+    Random random = new Random(0);
+    List<TFDNode> nodes = new ArrayList<>();
+    int expansions = 0;
+    while (expansions < EXPANSIONS) {
+      TFDNode node = ((SingleRootGenerator<TFDNode>) graphGenerator.getRootGenerator()).getRoot();
+      nodes.add(node);
+      while (!node.getRemainingTasks().isEmpty() && expansions < EXPANSIONS) {
+        List<NodeExpansionDescription<TFDNode, String>> successors = graphGenerator.getSuccessorGenerator().generateSuccessors(node);
+        expansions++;
+        if (successors.isEmpty()) {
+          break;
+        }
+        for (NodeExpansionDescription<TFDNode, String> successor : successors) {
+          nodes.add(successor.getTo());
+        }
+        node = successors.get(random.nextInt(successors.size())).getTo();
+      }
+    }
+    long heapOfNodes = getUsedHeap();
+
+    /* create copies that store their state and remaining tasks explicitly */
+    List<TFDNode> copies = new ArrayList<>(nodes.size());
+    for (TFDNode node : nodes) {
+      copies.add(new TFDNode(new Monom(node.getState()), new ArrayList<>(node.getRemainingTasks()), node.getAppliedMethodInstance(), node.getAppliedAction()));
+    }
+    long heapOfNodesAndCopies = getUsedHeap();
+    for (int i = 0; i < nodes.size(); i += 100) {
+      assertEquals(copies.get(i).getProblem(), nodes.get(i).getProblem());
+    }
+    long heapOfCopies = heapOfNodesAndCopies - heapOfNodes;
+    nodes.clear();
+    long heapOfShared = heapOfNodesAndCopies - getUsedHeap();
+    System.out.println("Generated " + copies.size() + " nodes in " + expansions + " expansions.");
+    System.out.println("Heap of nodes with shared states and task lists: " + heapOfShared / 1024 + "KB (" + heapOfShared / copies.size() + " bytes per node)");
+    System.out.println("Heap of nodes with explicit states and task lists: " + heapOfCopies / 1024 + "KB (" + heapOfCopies / copies.size() + " bytes per node)");
+  }
+
+  private static long getUsedHeap() throws InterruptedException {
+    Runtime runtime = Runtime.getRuntime();
+    for (int i = 0; i < 3; i++) {
+      System.gc();
+      Thread.sleep(100);
+    }
+    return runtime.totalMemory() - runtime.freeMemory();
+  }
+}